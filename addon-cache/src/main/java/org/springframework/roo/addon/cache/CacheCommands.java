@@ -69,7 +69,7 @@ public class CacheCommands implements CommandMarker {
    * @return a List<String> with the possible and allowed values.
    */
   @CliOptionAutocompleteIndicator(command = "cache setup", param = "provider",
-      help = "'--provider' value should be a supported provider (GUAVA).")
+      help = "'--provider' value should be a supported provider (GUAVA, CAFFEINE).")
   public List<String> getProviderPossibleValues(ShellContext shellContext) {
     List<String> possibleValues = new ArrayList<String>();
     for (CacheProvider provider : getCacheProviders()) {
@@ -96,7 +96,7 @@ public class CacheCommands implements CommandMarker {
       help = "Installs support for using intermediate memory in generated project by using Spring Cache abstraction. Users can specify different providers to use for managing it.")
   public void cacheSetup(@CliOption(key = "provider", mandatory = false,
       help = "Parameter that indicates the provider to use for managing intermediate memory. "
-          + "Possible values are: `GUAVA`.") String provider, ShellContext shellContext) {
+          + "Possible values are: `GUAVA` and `CAFFEINE`.") String provider, ShellContext shellContext) {
 
     // Check for provider value
     CacheProvider selectedCacheProvider = null;
@@ -0,0 +1,89 @@
+package org.springframework.roo.addon.cache.providers.caffeine;
+
+import org.apache.felix.scr.annotations.Component;
+import org.apache.felix.scr.annotations.Reference;
+import org.apache.felix.scr.annotations.Service;
+import org.springframework.roo.addon.cache.providers.CacheProvider;
+import org.springframework.roo.application.config.ApplicationConfigService;
+import org.springframework.roo.classpath.ModuleFeatureName;
+import org.springframework.roo.classpath.TypeLocationService;
+import org.springframework.roo.project.Dependency;
+import org.springframework.roo.project.ProjectOperations;
+import org.springframework.roo.project.maven.Pom;
+
+import java.util.List;
+
+/**
+ * Provides implementation of {@link CacheProvider} interface by installing Caffeine 
+ * as intermediate memory manager.
+ * 
+ * The size and expiration of the caches are configured with the Caffeine spec 
+ * property, which Spring Boot applies to every cache.
+ *
+ * @since 2.0
+ */
+@Component
+@Service
+public class CaffeineCacheProvider implements CacheProvider {
+
+  private static final String CAFFEINE_PROVIDER_NAME = "CAFFEINE";
+  private static final Dependency CAFFEINE_DEPENDENCY = new Dependency(
+      "com.github.ben-manes.caffeine", "caffeine", null);
+  private static final String CAFFEINE_CACHE_SPEC_PROPERTY_KEY = "spring.cache.caffeine.spec";
+  private static final String CAFFEINE_CACHE_SPEC_PROPERTY_VALUE =
+      "maximumSize=500,expireAfterWrite=10m";
+  private static final String CACHE_TYPE_PROPERTY_VALUE = "caffeine";
+
+  @Reference
+  private ProjectOperations projectOperations;
+  @Reference
+  private TypeLocationService typeLocationService;
+  @Reference
+  private ApplicationConfigService applicationConfigService;
+
+  List<Pom> applicationModules = null;
+
+  @Override
+  public String getName() {
+    return CAFFEINE_PROVIDER_NAME;
+  }
+
+  @Override
+  public boolean isInstalled() {
+    if (this.applicationModules == null) {
+      this.applicationModules =
+          (List<Pom>) typeLocationService.getModules(ModuleFeatureName.APPLICATION);
+    }
+
+    // Look if the Caffeine dependency has been installed
+    for (Pom module : applicationModules) {
+      if (module.hasDependencyExcludingVersion(CAFFEINE_DEPENDENCY)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  @Override
+  public void setup(String profile) {
+    if (this.applicationModules == null) {
+      this.applicationModules =
+          (List<Pom>) typeLocationService.getModules(ModuleFeatureName.APPLICATION);
+    }
+
+    // Add Caffeine dependency to each application module
+    for (Pom module : applicationModules) {
+      projectOperations.addDependency(module.getModuleName(), CAFFEINE_DEPENDENCY);
+
+      // Add Caffeine specific application properties: the maximum number of
+      // entries of each cache and how long they're kept after being written
+      applicationConfigService.addProperty(module.getModuleName(), CACHE_TYPE_PROPERTY_KEY,
+          CACHE_TYPE_PROPERTY_VALUE, profile, false);
+      applicationConfigService.addProperty(module.getModuleName(),
+          CAFFEINE_CACHE_SPEC_PROPERTY_KEY, CAFFEINE_CACHE_SPEC_PROPERTY_VALUE, profile, false);
+    }
+
+  }
+
+}
@@ -124,11 +124,13 @@ public class JmsCommands implements CommandMarker {
           help = "The service where include the method that receives JMS messages.") final JavaType endpointService,
       @CliOption(key = {"jndiConnectionFactory"}, mandatory = true,
           help = "The jndi name for which the JMS receiver configuration has been defined.") final String jndiConnectionFactory,
+      @CliOption(key = {"concurrency"}, mandatory = false,
+          help = "The number of concurrent consumers of the destination, as 'min-max' (e.g. '5-10') or as a fixed number. It is added to the properties file if it is not set there yet, so it can be tuned without changing the code.") final String concurrency,
       @CliOption(key = {"profile"}, mandatory = false,
           help = "The profile where the properties will be set.") final String profile,
       ShellContext shellContext) {
-    jmsOperations.addJmsReceiver(destinationName, endpointService, jndiConnectionFactory, profile,
-        shellContext.isForce());
+    jmsOperations.addJmsReceiver(destinationName, endpointService, jndiConnectionFactory,
+        concurrency, profile, shellContext.isForce());
   }
 
   @CliAvailabilityIndicator("jms sender")
@@ -171,12 +173,17 @@ public class JmsCommands implements CommandMarker {
           help = "The class where include a reference to the JMS which sends messages.") final JavaType classSelected,
       @CliOption(key = {"jndiConnectionFactory"}, mandatory = true,
           help = "The jndi name where the JMS sender configuration has been defined.") final String jndiConnectionFactory,
+      @CliOption(key = {"sessionCacheSize"}, mandatory = false,
+          help = "The number of JMS sessions cached by the template that sends the messages, instead of opening a connection and a session for each message. It is added to the properties file if it is not set there yet.") final Integer sessionCacheSize,
+      @CliOption(key = {"async"}, mandatory = false, specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Whether to generate a method that sends the messages asynchronously, using a dedicated thread pool whose sizes are set in the properties file.") final boolean async,
       @CliOption(key = {"profile"}, mandatory = false,
           help = "The profile where the properties will be set.") final String profile,
       ShellContext shellContext) {
 
-    jmsOperations.addJmsSender(destinationName, classSelected, jndiConnectionFactory, profile,
-        shellContext.isForce());
+    jmsOperations.addJmsSender(destinationName, classSelected, jndiConnectionFactory,
+        sessionCacheSize, async, profile, shellContext.isForce());
   }
 
 }
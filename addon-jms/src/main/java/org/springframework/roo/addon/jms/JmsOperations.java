@@ -19,11 +19,14 @@ public interface JmsOperations {
    * @param destinationName Name of the queue or topic
    * @param endpointService Service that has a method to get JMS messages of the destination
    * @param jndiConnectionFactory Name of the JNDI where is configured JMS connection
+   * @param concurrency Number of concurrent consumers of the destination, as
+   *            "min-max" or "max" (can be null to use a single consumer). It's
+   *            not written if the properties file already sets it
    * @param profile Indicate the profile where the properties will be set
    * @param force Indicate if the properties or service will be overwritten
    */
   void addJmsReceiver(String destinationName, JavaType endpointService,
-      String jndiConnectionFactory, String profile, boolean force);
+      String jndiConnectionFactory, String concurrency, String profile, boolean force);
 
   /**
    * Creates a service to send JMS messages.
@@ -32,9 +35,14 @@ public interface JmsOperations {
    * @param destinationName Name of the queue or topic
    * @param classSelected Class where put the service that can send JMS messages
    * @param jndiConnectionFactory Name of the JNDI where is configured JMS connection
+   * @param sessionCacheSize Number of JMS sessions cached for sending
+   *            messages (can be null to open a session per message). It's not
+   *            written if the properties file already sets it
+   * @param async Indicate if the messages will be sent asynchronously, by a
+   *            dedicated executor
    * @param profile Indicate the profile where the properties will be set
    * @param force Indicate if the properties will be overwritten
    */
   void addJmsSender(String destinationName, JavaType classSelected, String jndiConnectionFactory,
-      String profile, boolean force);
+      Integer sessionCacheSize, boolean async, String profile, boolean force);
 }
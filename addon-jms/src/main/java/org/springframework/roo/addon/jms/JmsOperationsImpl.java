@@ -15,11 +15,13 @@ import org.springframework.roo.classpath.TypeManagementService;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetailsBuilder;
 import org.springframework.roo.classpath.details.FieldMetadataBuilder;
+import org.springframework.roo.classpath.details.ImportMetadataBuilder;
 import org.springframework.roo.classpath.details.MethodMetadataBuilder;
 import org.springframework.roo.classpath.details.annotations.AnnotatedJavaType;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
 import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
+import org.springframework.roo.model.DataType;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.SpringJavaType;
@@ -65,9 +67,16 @@ public class JmsOperationsImpl implements JmsOperations {
   private static final String JMS_PROPERTY_DESTINATION_NAME_SUFIX = ".jndi-name";
   private static final String JMS_VAR_DESTINATION_NAME_PREFIX = "destination";
   private static final String JMS_VAR_DESTINATION_NAME_SUFIX = "JndiName";
+  private static final String JMS_PROPERTY_CONCURRENCY_SUFIX = ".concurrency";
   private static final String JMS_PROPERTY_JNDI_NAME = "spring.jms.jndi-name";
+  private static final String JMS_PROPERTY_SESSION_CACHE_SIZE = "jms.sender.session-cache-size";
+  private static final String JMS_PROPERTY_EXECUTOR_PREFIX = "jms.sender.executor.";
+  private static final String JMS_SENDING_EXECUTOR = "jmsSendingExecutor";
   private static final String JNDI_PREFIX = "java:comp/env/";
 
+  private static final JavaType JMS_CONNECTION_FACTORY = new JavaType(
+      "javax.jms.ConnectionFactory");
+
   // Dependencies
   private static final Dependency DEPENDENCY_JMS = new Dependency("org.springframework",
       "spring-jms", null);
@@ -81,6 +90,10 @@ public class JmsOperationsImpl implements JmsOperations {
   private static final Property PROPERTY_SPRINGLETS_VERSION = new Property("springlets.version",
       "1.2.0.RELEASE");
 
+  // Sizes of the thread pool that sends the messages asynchronously
+  private static final String[][] EXECUTOR_PROPERTIES = { {"core-pool-size", "4"},
+      {"max-pool-size", "16"}, {"queue-capacity", "1000"}};
+
   private BundleContext context;
 
   private ServiceInstaceManager serviceInstaceManager = new ServiceInstaceManager();
@@ -96,7 +109,9 @@ public class JmsOperationsImpl implements JmsOperations {
 
   @Override
   public void addJmsReceiver(String destinationName, JavaType endpointService,
-      String jndiConnectionFactory, String profile, boolean force) {
+      String jndiConnectionFactory, String concurrency, String profile, boolean force) {
+
+    validateConcurrency(concurrency);
 
     boolean isApplicationModule = false;
     // Check that the module of the service is type application
@@ -139,8 +154,19 @@ public class JmsOperationsImpl implements JmsOperations {
     setProperties(destinationName, destinationNamePropertyName.toString(), jndiConnectionFactory,
         endpointService.getModule(), profile, force);
 
+    // Set the number of consumers, so it can be tuned for each environment
+    String concurrencyPropertyName = null;
+    if (concurrency != null) {
+      concurrencyPropertyName =
+          JMS_PROPERTY_DESTINATION_NAME_PREFIX.concat(destinationName.replaceAll("/", "."))
+              .concat(JMS_PROPERTY_CONCURRENCY_SUFIX);
+      addPropertyIfAbsent(endpointService.getModule(), concurrencyPropertyName, concurrency,
+          profile);
+    }
+
     // Create service
-    createReceiverJmsService(endpointService, destinationNamePropertyName.toString());
+    createReceiverJmsService(endpointService, destinationNamePropertyName.toString(),
+        concurrencyPropertyName);
 
     // Add jms dependecy in module
     getProjectOperations().addDependency(endpointService.getModule(), DEPENDENCY_JMS);
@@ -173,7 +199,35 @@ public class JmsOperationsImpl implements JmsOperations {
     }
   }
 
-  private void createReceiverJmsService(JavaType service, String destinationProperty) {
+  /**
+   * Checks that the concurrency of a listener is a number of consumers or a
+   * range of consumers whose lower bound isn't greater than its upper bound
+   *
+   * @param concurrency the concurrency to check (may be null)
+   * @throws IllegalArgumentException if it isn't a valid concurrency
+   */
+  static void validateConcurrency(String concurrency) {
+    if (concurrency == null) {
+      return;
+    }
+    Validate.isTrue(concurrency.matches("\\d+(-\\d+)?"),
+        "Concurrency '%s' must be a number of consumers or a range like '5-10'", concurrency);
+    String[] bounds = concurrency.split("-");
+    try {
+      int minConsumers = Integer.parseInt(bounds[0]);
+      int maxConsumers = Integer.parseInt(bounds[bounds.length - 1]);
+      Validate.isTrue(minConsumers > 0, "Concurrency '%s' must have at least one consumer",
+          concurrency);
+      Validate.isTrue(minConsumers <= maxConsumers,
+          "Concurrency '%s' must not have more minimum than maximum consumers", concurrency);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(String.format("Concurrency '%s' is too large",
+          concurrency), e);
+    }
+  }
+
+  private void createReceiverJmsService(JavaType service, String destinationProperty,
+      String concurrencyProperty) {
     // Create new service class
     final String serviceClassIdentifier =
         getPathResolver().getCanonicalPath(service.getModule(), Path.SRC_MAIN_JAVA, service);
@@ -215,6 +269,10 @@ public class JmsOperationsImpl implements JmsOperations {
         new AnnotationMetadataBuilder(SpringJavaType.JMS_LISTENER);
     jmsListenerAnnotation.addStringAttribute("destination", "${".concat(destinationProperty)
         .concat("}"));
+    if (concurrencyProperty != null) {
+      jmsListenerAnnotation.addStringAttribute("concurrency", "${".concat(concurrencyProperty)
+          .concat("}"));
+    }
     annotations.add(jmsListenerAnnotation);
 
     // Generate body
@@ -235,7 +293,11 @@ public class JmsOperationsImpl implements JmsOperations {
 
   @Override
   public void addJmsSender(String destinationName, JavaType classSelected,
-      String jndiConnectionFactory, String profile, boolean force) {
+      String jndiConnectionFactory, Integer sessionCacheSize, boolean async, String profile,
+      boolean force) {
+
+    Validate.isTrue(sessionCacheSize == null || sessionCacheSize > 0,
+        "Session cache size must be greater than 0");
 
     // Check that module included in destionationName is an application module
     String module = "";
@@ -333,18 +395,14 @@ public class JmsOperationsImpl implements JmsOperations {
     destinationNamePropertyName.append(destination.replaceAll("/", "."));
     destinationNamePropertyName.append(JMS_PROPERTY_DESTINATION_NAME_SUFIX);
 
-    StringBuffer destionationNameVar = new StringBuffer(JMS_VAR_DESTINATION_NAME_PREFIX);
-    if (destination.contains("/")) {
-
-      // Delete char '/' and each word
-      String[] destinationNameArray = destination.split("/");
-      for (String destinationFragment : destinationNameArray) {
-        destionationNameVar.append(StringUtils.capitalize(destinationFragment));
-      }
-
-    } else {
-      destionationNameVar.append(StringUtils.capitalize(destination));
+    // Delete char '/' and capitalize each word
+    StringBuffer destinationSimpleName = new StringBuffer();
+    for (String destinationFragment : destination.split("/")) {
+      destinationSimpleName.append(StringUtils.capitalize(destinationFragment));
     }
+
+    StringBuffer destionationNameVar = new StringBuffer(JMS_VAR_DESTINATION_NAME_PREFIX);
+    destionationNameVar.append(destinationSimpleName);
     destionationNameVar.append(JMS_VAR_DESTINATION_NAME_SUFIX);
 
     // Adding @Value annotation
@@ -357,6 +415,13 @@ public class JmsOperationsImpl implements JmsOperations {
         .asList(valueAnnotation), new JavaSymbolName(destionationNameVar.toString()),
         JavaType.STRING));
 
+    // Add method that sends messages in the executor threads
+    if (async) {
+      addAsyncSendMethod(cidBuilder, declaredByMetadataId,
+          new JavaSymbolName("sendTo".concat(destinationSimpleName.toString())),
+          destionationNameVar.toString());
+    }
+
     // Write both, springlets service and destination instance
     getTypeManagementService().createOrUpdateTypeOnDisk(cidBuilder.build());
 
@@ -364,6 +429,255 @@ public class JmsOperationsImpl implements JmsOperations {
     setProperties(destination, destinationNamePropertyName.toString(), jndiConnectionFactory,
         module, profile, force);
 
+    setSenderProperties(module, sessionCacheSize, async, profile);
+
+    if (sessionCacheSize != null || async) {
+      addJmsConfiguration(module, sessionCacheSize != null, async);
+    }
+  }
+
+  /**
+   * Sets the sizes of the session cache and the executor used to send
+   * messages, keeping the values already tuned for existing senders
+   *
+   * @param module Application module where the properties file is located
+   * @param sessionCacheSize Size of the session cache (may be null)
+   * @param async Indicate if the messages are sent asynchronously
+   * @param profile The profile where the properties will be set
+   */
+  void setSenderProperties(String module, Integer sessionCacheSize, boolean async,
+      String profile) {
+    if (sessionCacheSize != null) {
+      addPropertyIfAbsent(module, JMS_PROPERTY_SESSION_CACHE_SIZE, sessionCacheSize.toString(),
+          profile);
+    }
+    if (async) {
+      for (String[] property : EXECUTOR_PROPERTIES) {
+        addPropertyIfAbsent(module, JMS_PROPERTY_EXECUTOR_PREFIX.concat(property[0]),
+            property[1], profile);
+      }
+    }
+  }
+
+  /**
+   * Adds a property to the properties file unless it's already set, so the
+   * values tuned for each environment are never overwritten
+   *
+   * @param module Application module where the properties file is located
+   * @param propertyName Name of the property
+   * @param value Value of the property
+   * @param profile The profile where the property will be set
+   */
+  private void addPropertyIfAbsent(String module, String propertyName, String value,
+      String profile) {
+    String currentValue = getApplicationConfigService().getProperty(module, propertyName, profile);
+    if (currentValue == null) {
+      getApplicationConfigService().addProperty(module, propertyName, value, profile, false);
+    } else if (!currentValue.equals(value)) {
+      LOGGER.warning(String.format("Property '%s' is already set to '%s' and will not be changed",
+          propertyName, currentValue));
+    }
+  }
+
+  /**
+   * Adds a method that sends a message to the destination asynchronously,
+   * using the executor defined in the JMS configuration class.
+   *
+   * @param cidBuilder Builder of the class that sends the messages
+   * @param declaredByMetadataId Metadata identifier of the class
+   * @param methodName Name of the method
+   * @param destinationNameVar Name of the field with the destination name
+   */
+  private void addAsyncSendMethod(ClassOrInterfaceTypeDetailsBuilder cidBuilder,
+      String declaredByMetadataId, JavaSymbolName methodName, String destinationNameVar) {
+
+    if (hasMethod(cidBuilder, methodName)) {
+      return;
+    }
+
+    // @Async("jmsSendingExecutor")
+    // public void sendToQueue(Object message) {
+    //   jmsSendingService.sendMessage(destinationQueueJndiName, message);
+    // }
+    AnnotationMetadataBuilder asyncAnnotation = new AnnotationMetadataBuilder(SpringJavaType.ASYNC);
+    asyncAnnotation.addStringAttribute("value", JMS_SENDING_EXECUTOR);
+
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+    bodyBuilder.appendFormalLine(String.format("jmsSendingService.sendMessage(%s, message);",
+        destinationNameVar));
+
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(declaredByMetadataId, Modifier.PUBLIC, methodName,
+            JavaType.VOID_PRIMITIVE, AnnotatedJavaType.convertFromJavaTypes(JavaType.OBJECT),
+            Arrays.asList(new JavaSymbolName("message")), bodyBuilder);
+    methodBuilder.addAnnotation(asyncAnnotation);
+    cidBuilder.addMethod(methodBuilder);
+  }
+
+  /**
+   * Creates or updates the JMS configuration class of the application
+   * module, which defines the beans used to send messages. Their sizes are
+   * read from the properties file.
+   *
+   * @param module Application module where the class is located
+   * @param cacheSessions Indicate if the JMS template caches the sessions
+   * @param async Indicate if the executor of the asynchronous sends is defined
+   */
+  private void addJmsConfiguration(String module, boolean cacheSessions, boolean async) {
+    final JavaType configuration =
+        new JavaType(getProjectOperations().getTopLevelPackage(module)
+            .getFullyQualifiedPackageName().concat(".config.JmsConfiguration"), module);
+
+    // Create the class or update the existing one
+    final ClassOrInterfaceTypeDetails configurationDetails =
+        getTypeLocationService().getTypeDetails(configuration);
+    final ClassOrInterfaceTypeDetailsBuilder cidBuilder;
+    final String mid;
+    if (configurationDetails == null) {
+      mid =
+          PhysicalTypeIdentifier.createIdentifier(configuration,
+              getPathResolver().getPath(module, Path.SRC_MAIN_JAVA));
+      cidBuilder =
+          new ClassOrInterfaceTypeDetailsBuilder(mid, Modifier.PUBLIC, configuration,
+              PhysicalTypeCategory.CLASS);
+      cidBuilder.addAnnotation(new AnnotationMetadataBuilder(SpringJavaType.CONFIGURATION));
+    } else {
+      mid = configurationDetails.getDeclaredByMetadataId();
+      cidBuilder = new ClassOrInterfaceTypeDetailsBuilder(configurationDetails);
+    }
+
+    // @Bean
+    // public JmsTemplate jmsTemplate(ConnectionFactory connectionFactory,
+    //     JmsProperties properties,
+    //     ObjectProvider<MessageConverter> messageConverterProvider,
+    //     @Value("${jms.sender.session-cache-size}") int sessionCacheSize) {
+    //   ...
+    // }
+    final JavaSymbolName jmsTemplateMethod = new JavaSymbolName("jmsTemplate");
+    if (cacheSessions && !hasMethod(cidBuilder, jmsTemplateMethod)) {
+      InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+      appendJmsTemplateBody(bodyBuilder);
+
+      List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+      parameterTypes.add(new AnnotatedJavaType(JMS_CONNECTION_FACTORY));
+      parameterTypes.add(new AnnotatedJavaType(SpringJavaType.JMS_PROPERTIES));
+      parameterTypes.add(new AnnotatedJavaType(new JavaType(SpringJavaType.OBJECT_PROVIDER
+          .getFullyQualifiedTypeName(), 0, DataType.TYPE, null, Arrays
+          .asList(SpringJavaType.JMS_MESSAGE_CONVERTER))));
+      parameterTypes.add(getValueParameter(JMS_PROPERTY_SESSION_CACHE_SIZE));
+
+      MethodMetadataBuilder methodBuilder =
+          new MethodMetadataBuilder(mid, Modifier.PUBLIC, jmsTemplateMethod,
+              SpringJavaType.JMS_TEMPLATE, parameterTypes, Arrays.asList(new JavaSymbolName(
+                  "connectionFactory"), new JavaSymbolName("properties"), new JavaSymbolName(
+                  "messageConverterProvider"), new JavaSymbolName("sessionCacheSize")),
+              bodyBuilder);
+      methodBuilder.addAnnotation(new AnnotationMetadataBuilder(SpringJavaType.BEAN));
+      cidBuilder.addMethod(methodBuilder);
+      cidBuilder.add(ImportMetadataBuilder.getImport(mid,
+          SpringJavaType.CACHING_CONNECTION_FACTORY));
+      cidBuilder.add(ImportMetadataBuilder.getImport(mid, SpringJavaType.JMS_MESSAGE_CONVERTER));
+    }
+
+    // @Bean
+    // public ThreadPoolTaskExecutor jmsSendingExecutor(
+    //     @Value("${jms.sender.executor.core-pool-size}") int corePoolSize, ...) {
+    //   ...
+    // }
+    final JavaSymbolName executorMethod = new JavaSymbolName(JMS_SENDING_EXECUTOR);
+    if (async && !hasMethod(cidBuilder, executorMethod)) {
+      if (cidBuilder.getDeclaredTypeAnnotation(SpringJavaType.ENABLE_ASYNC) == null) {
+        cidBuilder.addAnnotation(new AnnotationMetadataBuilder(SpringJavaType.ENABLE_ASYNC));
+      }
+
+      InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+      bodyBuilder
+          .appendFormalLine("ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();");
+      bodyBuilder.appendFormalLine("executor.setCorePoolSize(corePoolSize);");
+      bodyBuilder.appendFormalLine("executor.setMaxPoolSize(maxPoolSize);");
+      bodyBuilder.appendFormalLine("executor.setQueueCapacity(queueCapacity);");
+      bodyBuilder.appendFormalLine("executor.setThreadNamePrefix(\"jms-sending-\");");
+      bodyBuilder.appendFormalLine("return executor;");
+
+      List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+      List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
+      for (String[] property : EXECUTOR_PROPERTIES) {
+        parameterTypes.add(getValueParameter(JMS_PROPERTY_EXECUTOR_PREFIX.concat(property[0])));
+        String[] words = property[0].split("-");
+        StringBuilder parameterName = new StringBuilder(words[0]);
+        for (int i = 1; i < words.length; i++) {
+          parameterName.append(StringUtils.capitalize(words[i]));
+        }
+        parameterNames.add(new JavaSymbolName(parameterName.toString()));
+      }
+
+      MethodMetadataBuilder methodBuilder =
+          new MethodMetadataBuilder(mid, Modifier.PUBLIC, executorMethod,
+              SpringJavaType.THREAD_POOL_TASK_EXECUTOR, parameterTypes, parameterNames,
+              bodyBuilder);
+      methodBuilder.addAnnotation(new AnnotationMetadataBuilder(SpringJavaType.BEAN));
+      cidBuilder.addMethod(methodBuilder);
+    }
+
+    getTypeManagementService().createOrUpdateTypeOnDisk(cidBuilder.build());
+  }
+
+  /**
+   * Appends the body of the JmsTemplate bean, which replaces the one defined
+   * by Spring Boot, so it's configured like Boot's one: it uses the message
+   * converter of the application, if there's only one.
+   * <p>
+   * Only the template caches the sessions: listener containers keep the
+   * connection factory, so they can scale their consumers.
+   *
+   * @param bodyBuilder Builder of the method body
+   */
+  static void appendJmsTemplateBody(InvocableMemberBodyBuilder bodyBuilder) {
+    bodyBuilder.appendFormalLine("CachingConnectionFactory cachingConnectionFactory = "
+        + "new CachingConnectionFactory(connectionFactory);");
+    bodyBuilder
+        .appendFormalLine("cachingConnectionFactory.setSessionCacheSize(sessionCacheSize);");
+    bodyBuilder
+        .appendFormalLine("JmsTemplate jmsTemplate = new JmsTemplate(cachingConnectionFactory);");
+    bodyBuilder.appendFormalLine("jmsTemplate.setPubSubDomain(properties.isPubSubDomain());");
+    bodyBuilder.appendFormalLine("MessageConverter messageConverter = "
+        + "messageConverterProvider.getIfUnique();");
+    bodyBuilder.appendFormalLine("if (messageConverter != null) {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("jmsTemplate.setMessageConverter(messageConverter);");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.appendFormalLine("return jmsTemplate;");
+  }
+
+  /**
+   * Checks if the class already declares a method with the given name
+   *
+   * @param cidBuilder Builder of the class
+   * @param methodName Name of the method
+   * @return true if the method exists
+   */
+  private boolean hasMethod(ClassOrInterfaceTypeDetailsBuilder cidBuilder,
+      JavaSymbolName methodName) {
+    for (MethodMetadataBuilder method : cidBuilder.getDeclaredMethods()) {
+      if (method.getMethodName().equals(methodName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns an int parameter annotated with @Value, to inject the given
+   * property.
+   *
+   * @param propertyName Name of the property
+   * @return the parameter type
+   */
+  private AnnotatedJavaType getValueParameter(String propertyName) {
+    AnnotationMetadataBuilder valueAnnotation = new AnnotationMetadataBuilder(SpringJavaType.VALUE);
+    valueAnnotation.addStringAttribute("value", "${".concat(propertyName).concat("}"));
+    return new AnnotatedJavaType(JavaType.INT_PRIMITIVE, Arrays.asList(valueAnnotation.build()));
   }
 
   /**
@@ -0,0 +1,117 @@
+package org.springframework.roo.addon.jms;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.application.config.ApplicationConfigService;
+import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
+
+/**
+ * Unit test of {@link JmsOperationsImpl}
+ *
+ * @since 2.0
+ */
+public class JmsOperationsImplTest {
+
+  private static final String MODULE = "";
+  private static final String SESSION_CACHE_SIZE = "jms.sender.session-cache-size";
+  private static final String CORE_POOL_SIZE = "jms.sender.executor.core-pool-size";
+
+  private ApplicationConfigService mockApplicationConfigService;
+  private JmsOperationsImpl jmsOperations;
+
+  @Before
+  public void setUp() throws InvalidSyntaxException {
+    mockApplicationConfigService = mock(ApplicationConfigService.class);
+
+    final BundleContext mockBundleContext = mock(BundleContext.class);
+    final ServiceReference<?> mockReference = mock(ServiceReference.class);
+    when(
+        mockBundleContext.getAllServiceReferences(ApplicationConfigService.class.getName(), null))
+        .thenReturn(new ServiceReference<?>[] {mockReference});
+    doReturn(mockApplicationConfigService).when(mockBundleContext).getService(mockReference);
+    final ComponentContext mockComponentContext = mock(ComponentContext.class);
+    when(mockComponentContext.getBundleContext()).thenReturn(mockBundleContext);
+
+    jmsOperations = new JmsOperationsImpl();
+    jmsOperations.activate(mockComponentContext);
+  }
+
+  @Test
+  public void testValidConcurrency() {
+    JmsOperationsImpl.validateConcurrency(null);
+    JmsOperationsImpl.validateConcurrency("5");
+    JmsOperationsImpl.validateConcurrency("5-5");
+    JmsOperationsImpl.validateConcurrency("5-10");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConcurrencyWithMinGreaterThanMaxIsRejected() {
+    JmsOperationsImpl.validateConcurrency("10-5");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConcurrencyWithoutConsumersIsRejected() {
+    JmsOperationsImpl.validateConcurrency("0-5");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMalformedConcurrencyIsRejected() {
+    JmsOperationsImpl.validateConcurrency("5-");
+  }
+
+  @Test
+  public void testSenderPropertiesAreAddedIfAbsent() {
+    // Invoke
+    jmsOperations.setSenderProperties(MODULE, 10, true, null);
+
+    // Check
+    verify(mockApplicationConfigService).addProperty(MODULE, SESSION_CACHE_SIZE, "10", null,
+        false);
+    verify(mockApplicationConfigService).addProperty(MODULE, CORE_POOL_SIZE, "4", null, false);
+  }
+
+  @Test
+  public void testExistingSenderPropertiesAreKept() {
+    // Set up
+    when(mockApplicationConfigService.getProperty(MODULE, SESSION_CACHE_SIZE, null)).thenReturn(
+        "25");
+    when(mockApplicationConfigService.getProperty(MODULE, CORE_POOL_SIZE, null)).thenReturn("8");
+
+    // Invoke
+    jmsOperations.setSenderProperties(MODULE, 10, true, null);
+
+    // Check
+    verify(mockApplicationConfigService, never()).addProperty(eq(MODULE),
+        eq(SESSION_CACHE_SIZE), anyString(), anyString(), anyBoolean());
+    verify(mockApplicationConfigService, never()).addProperty(eq(MODULE), eq(CORE_POOL_SIZE),
+        anyString(), anyString(), anyBoolean());
+  }
+
+  @Test
+  public void testJmsTemplateUsesMessageConverter() {
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+    JmsOperationsImpl.appendJmsTemplateBody(bodyBuilder);
+    String output = bodyBuilder.getOutput();
+
+    assertTrue(output.contains("cachingConnectionFactory.setSessionCacheSize(sessionCacheSize);"));
+    assertTrue(output
+        .contains("MessageConverter messageConverter = messageConverterProvider.getIfUnique();"));
+    int setConverter = output.indexOf("jmsTemplate.setMessageConverter(messageConverter);");
+    assertTrue(setConverter >= 0);
+    assertTrue(setConverter < output.indexOf("return jmsTemplate;"));
+  }
+}
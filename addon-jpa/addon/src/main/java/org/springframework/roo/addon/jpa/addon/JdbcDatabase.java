@@ -70,6 +70,17 @@ public enum JdbcDatabase {
 
   }
 
+  /**
+   * Indicates whether the database supports sequences, so identifiers can be
+   * generated in blocks with a pooled optimizer instead of an identity
+   * column, which prevents batch inserts.
+   * 
+   * @return true if the database supports sequences
+   */
+  public boolean isSequenceSupported() {
+    return this != MSSQL && this != MYSQL && this != SYBASE;
+  }
+
   @Override
   public String toString() {
     final ToStringBuilder builder = new ToStringBuilder(this);
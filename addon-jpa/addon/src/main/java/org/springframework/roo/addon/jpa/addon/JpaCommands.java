@@ -18,6 +18,7 @@ import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.Service;
 import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.addon.jpa.addon.entity.CacheConcurrencyStrategy;
 import org.springframework.roo.addon.jpa.addon.entity.IdentifierStrategy;
 import org.springframework.roo.addon.propfiles.PropFileOperations;
 import org.springframework.roo.classpath.ModuleFeatureName;
@@ -292,6 +293,18 @@ public class JpaCommands implements CommandMarker {
       @CliOption(key = "password", mandatory = false, help = "The password to use. "
           + "This option is available if `--database` has already been specified and its value is"
           + " not `HYPERSONIC` or `H2_IN_MEMORY` and `--jndiDatasource` has not been specified.") final String password,
+      @CliOption(key = "secondLevelCache", mandatory = false, specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Whether to enable the Hibernate second-level and query caches, backed by a "
+              + "local Ehcache, for the entities created with `--cacheStrategy`. "
+              + "This option is only supported by the `HIBERNATE` provider. "
+              + "Default if option present: `true`; default if option not present: `false`.") final boolean secondLevelCache,
+      @CliOption(key = "batchSize", mandatory = false,
+          help = "The number of inserts and updates Hibernate sends to the database in each JDBC "
+              + "batch. If the database supports sequences, new entities will generate their "
+              + "identifiers from a sequence with a pooled optimizer, allocating as many "
+              + "identifiers as the batch size. "
+              + "This option is only supported by the `HIBERNATE` provider.") final Integer batchSize,
       ShellContext shellContext) {
 
     if (jdbcDatabase != null && jdbcDatabase == JdbcDatabase.FIREBIRD && !isJdk6OrHigher()) {
@@ -300,7 +313,8 @@ public class JpaCommands implements CommandMarker {
     }
 
     jpaOperations.configureJpa(ormProvider, jdbcDatabase, module, jndi, hostName, databaseName,
-        userName, password, shellContext.getProfile(), shellContext.isForce());
+        userName, password, secondLevelCache, batchSize, shellContext.getProfile(),
+        shellContext.isForce());
   }
 
   /**
@@ -531,7 +545,8 @@ public class JpaCommands implements CommandMarker {
           specifiedDefaultValue = "AUTO",
           help = "The generation value strategy to be used."
               + " This option is mandatory if `spring.roo.jpa.require.schema-object-name` configuration setting it’s `true`. "
-              + "Default if option present: `AUTO`.") final IdentifierStrategy identifierStrategy,
+              + "Default if option present: `AUTO`; default if option not present: the "
+              + "`spring.roo.jpa.identifier.strategy` configuration setting, or `AUTO`.") final IdentifierStrategy identifierStrategy,
       @CliOption(key = "extends", mandatory = false, unspecifiedDefaultValue = "java.lang.Object",
           optionContext = SUPERCLASS, help = "The fully qualified name of the superclass. "
               + "Default if option not present: `java.lang.Object`.") final JavaType superclass,
@@ -589,6 +604,23 @@ public class JpaCommands implements CommandMarker {
               + "`io.springlets.format.EntityFormat` annotation and creates a message in all message bundles "
               + "with the provided key. Message value should be  modified by developer. This kind of format "
               + "has more priority that 'expression' format added with `--entityFormatExpression`.") String formatMessage,
+      @CliOption(
+          key = "cacheStrategy",
+          mandatory = false,
+          help = "The concurrency strategy used to keep this entity and its collection relations in the "
+              + "Hibernate second-level cache. It adds `javax.persistence.Cacheable` and "
+              + "`org.hibernate.annotations.Cache` annotations. Possible values are: `READ_ONLY`, "
+              + "`NONSTRICT_READ_WRITE`, `READ_WRITE` and `TRANSACTIONAL`. The cache should be enabled "
+              + "with `jpa setup --secondLevelCache`.") final CacheConcurrencyStrategy cacheStrategy,
+      @CliOption(
+          key = "fetchReferences",
+          mandatory = false,
+          unspecifiedDefaultValue = "false",
+          specifiedDefaultValue = "true",
+          help = "Whether the many-to-one and one-to-one relations of this entity should be "
+              + "fetched along with it. It adds a `javax.persistence.NamedEntityGraph` with these "
+              + "relations and the generated repositories fetch them with the entity. "
+              + "Default if option present: `true`; default if option not present: `false`.") final boolean fetchReferences,
       ShellContext shellContext) {
 
     Validate.isTrue(!identifierType.isPrimitive(), "Identifier type cannot be a primitive");
@@ -687,7 +719,8 @@ public class JpaCommands implements CommandMarker {
     annotationBuilder.add(javaBeanAnnotationBuilder);
     annotationBuilder.add(ROO_TO_STRING_BUILDER);
     annotationBuilder.add(getEntityAnnotationBuilder(table, schema, catalog, inheritanceType,
-        mappedSuperclass, entityName, readOnly, formatExpression, formatMessage));
+        mappedSuperclass, entityName, readOnly, formatExpression, formatMessage, cacheStrategy,
+        fetchReferences));
 
     // Add @RooEquals only if it's superclass is not an entity
     ClassOrInterfaceTypeDetails superclassCid = typeLocationService.getTypeDetails(superclass);
@@ -731,12 +764,17 @@ public class JpaCommands implements CommandMarker {
    * @param mappedSuperclass
    * @param entityName
    * @param readOnly
+   * @param formatExpression
+   * @param formatMessage
+   * @param cacheStrategy
+   * @param fetchReferences
    * @return a non-<code>null</code> builder
    */
   private AnnotationMetadataBuilder getEntityAnnotationBuilder(final String table,
       final String schema, final String catalog, final InheritanceType inheritanceType,
       final boolean mappedSuperclass, final String entityName, final boolean readOnly,
-      final String formatExpression, final String formatMessage) {
+      final String formatExpression, final String formatMessage,
+      final CacheConcurrencyStrategy cacheStrategy, final boolean fetchReferences) {
     final AnnotationMetadataBuilder entityAnnotationBuilder =
         new AnnotationMetadataBuilder(ROO_JPA_ENTITY);
 
@@ -773,6 +811,14 @@ public class JpaCommands implements CommandMarker {
       entityAnnotationBuilder.addBooleanAttribute("readOnly", true);
     }
 
+    if (cacheStrategy != null) {
+      entityAnnotationBuilder.addStringAttribute("cacheConcurrencyStrategy", cacheStrategy.name());
+    }
+
+    if (fetchReferences) {
+      entityAnnotationBuilder.addBooleanAttribute("fetchReferences", true);
+    }
+
     return entityAnnotationBuilder;
   }
 
@@ -38,12 +38,16 @@ public interface JpaOperations extends Feature {
    * @param databaseName the name of the database
    * @param userName the username to connect to the database
    * @param password the password to connect to the database
+   * @param secondLevelCache whether to enable the Hibernate second-level and
+   *            query caches
+   * @param batchSize the number of statements sent to the database in each
+   *            JDBC batch, or null to disable batching
    * @param profile string with profile where current jpa persistence will be applied.
    * @param force boolean that forces configuration if exists some previous configuration
    */
   void configureJpa(OrmProvider ormProvider, JdbcDatabase database, Pom module, String jndi,
-      String hostName, String databaseName, String userName, String password, String profile,
-      boolean force);
+      String hostName, String databaseName, String userName, String password,
+      boolean secondLevelCache, Integer batchSize, String profile, boolean force);
 
   /**
    * Indicates whether JPA can be installed in the currently focused module.
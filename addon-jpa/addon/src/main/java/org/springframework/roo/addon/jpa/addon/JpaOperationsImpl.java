@@ -53,6 +53,7 @@ import org.springframework.roo.project.PathResolver;
 import org.springframework.roo.project.ProjectOperations;
 import org.springframework.roo.project.Property;
 import org.springframework.roo.project.maven.Pom;
+import org.springframework.roo.settings.project.ProjectSettingsService;
 import org.springframework.roo.support.logging.HandlerUtils;
 import org.springframework.roo.support.osgi.ServiceInstaceManager;
 import org.springframework.roo.support.util.XmlUtils;
@@ -65,6 +66,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -104,6 +106,17 @@ public class JpaOperationsImpl implements JpaOperations {
   private static final String HIBERNATE_NAMING_STRATEGY = "spring.jpa.hibernate.naming.strategy";
   private static final String HIBERNATE_NAMING_STRATEGY_VALUE =
       "org.hibernate.cfg.ImprovedNamingStrategy";
+  private static final String HIBERNATE_PROPERTIES_PREFIX = "spring.jpa.properties.";
+  private static final String EHCACHE_REGION_FACTORY =
+      "org.hibernate.cache.ehcache.SingletonEhCacheRegionFactory";
+  private static final String HIBERNATE_NEW_ID_GENERATOR_MAPPINGS =
+      "spring.jpa.hibernate.use-new-id-generator-mappings";
+
+  // Project Settings
+  private static final String SPRING_ROO_JPA_IDENTIFIER_STRATEGY =
+      "spring.roo.jpa.identifier.strategy";
+  private static final String SPRING_ROO_JPA_IDENTIFIER_ALLOCATION_SIZE =
+      "spring.roo.jpa.identifier.allocation-size";
   static final String POM_XML = "pom.xml";
 
   private ServiceInstaceManager serviceManager = new ServiceInstaceManager();
@@ -116,6 +129,8 @@ public class JpaOperationsImpl implements JpaOperations {
       "springlets-data-commons", "${springlets.version}");
   private static final Dependency SPRINGLETS_CONTEXT_DEPENDENCY = new Dependency("io.springlets",
       "springlets-context", "${springlets.version}");
+  private static final Dependency HIBERNATE_EHCACHE_DEPENDENCY = new Dependency("org.hibernate",
+      "hibernate-ehcache", null);
 
   protected void activate(final ComponentContext context) {
     this.context = context.getBundleContext();
@@ -125,10 +140,16 @@ public class JpaOperationsImpl implements JpaOperations {
   @Override
   public void configureJpa(final OrmProvider ormProvider, final JdbcDatabase jdbcDatabase,
       final Pom module, final String jndi, final String hostName, final String databaseName,
-      final String userName, final String password, final String profile, final boolean force) {
+      final String userName, final String password, final boolean secondLevelCache,
+      final Integer batchSize, final String profile, final boolean force) {
 
     Validate.notNull(module, "Module required");
     Validate.notNull(ormProvider, "ORM provider required");
+    Validate.isTrue(!secondLevelCache || ormProvider == OrmProvider.HIBERNATE,
+        "Second-level cache is only supported by the HIBERNATE provider");
+    Validate.isTrue(batchSize == null || ormProvider == OrmProvider.HIBERNATE,
+        "Batch size is only supported by the HIBERNATE provider");
+    Validate.isTrue(batchSize == null || batchSize > 0, "Batch size must be greater than 0");
     if (StringUtils.isBlank(jndi)) {
       Validate.notNull(jdbcDatabase, "JDBC database or JNDI data source required");
     }
@@ -152,6 +173,76 @@ public class JpaOperationsImpl implements JpaOperations {
     updateApplicationProperties(module.getModuleName(), ormProvider, jdbcDatabase, hostName,
         databaseName, userName, password, jndi, profile, force);
 
+    if (secondLevelCache) {
+      configureSecondLevelCache(module.getModuleName(), profile, force);
+    }
+
+    if (batchSize != null) {
+      configureBatching(module.getModuleName(), jdbcDatabase, batchSize, profile, force);
+    }
+  }
+
+  /**
+   * Enables Hibernate JDBC batching. If the database supports sequences, the
+   * new entities will also generate their identifiers from a sequence with
+   * a pooled optimizer, as identity columns disable batch inserts.
+   *
+   * @param moduleName the module where the persistence is installed
+   * @param jdbcDatabase the database, or null if it's a JNDI data source
+   * @param batchSize the number of statements of each batch
+   * @param profile the profile of the persistence configuration
+   * @param force whether to overwrite the existing properties
+   */
+  void configureBatching(final String moduleName, final JdbcDatabase jdbcDatabase,
+      final int batchSize, final String profile, final boolean force) {
+    final Map<String, String> props = new LinkedHashMap<String, String>();
+    props.put("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+    props.put("hibernate.order_inserts", "true");
+    props.put("hibernate.order_updates", "true");
+    props.put("hibernate.jdbc.batch_versioned_data", "true");
+    props.put("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
+    for (Entry<String, String> prop : props.entrySet()) {
+      getApplicationConfigService().addProperty(moduleName,
+          HIBERNATE_PROPERTIES_PREFIX.concat(prop.getKey()), prop.getValue(), profile, force);
+    }
+
+    if (jdbcDatabase != null && jdbcDatabase.isSequenceSupported()) {
+      // Use SequenceStyleGenerator, which honours the allocation size,
+      // instead of the legacy hi/lo generator, unless the developer has
+      // already chosen one of them
+      if (getApplicationConfigService().getProperty(moduleName,
+          HIBERNATE_NEW_ID_GENERATOR_MAPPINGS, profile) == null) {
+        getApplicationConfigService().addProperty(moduleName,
+            HIBERNATE_NEW_ID_GENERATOR_MAPPINGS, "true", profile, false);
+      }
+      getProjectSettingsService().addProperty(SPRING_ROO_JPA_IDENTIFIER_STRATEGY,
+          IdentifierStrategy.SEQUENCE.name(), force);
+      getProjectSettingsService().addProperty(SPRING_ROO_JPA_IDENTIFIER_ALLOCATION_SIZE,
+          String.valueOf(batchSize), force);
+    }
+  }
+
+  /**
+   * Enables the Hibernate second-level and query caches, backed by a local
+   * Ehcache, for the entities annotated with @Cacheable
+   *
+   * @param moduleName the module where the persistence is installed
+   * @param profile the profile of the persistence configuration
+   * @param force whether to overwrite the existing properties
+   */
+  private void configureSecondLevelCache(final String moduleName, final String profile,
+      final boolean force) {
+    getProjectOperations().addDependency(moduleName, HIBERNATE_EHCACHE_DEPENDENCY);
+
+    final Map<String, String> props = new LinkedHashMap<String, String>();
+    props.put("hibernate.cache.use_second_level_cache", "true");
+    props.put("hibernate.cache.use_query_cache", "true");
+    props.put("hibernate.cache.region.factory_class", EHCACHE_REGION_FACTORY);
+    props.put("javax.persistence.sharedCache.mode", "ENABLE_SELECTIVE");
+    for (Entry<String, String> prop : props.entrySet()) {
+      getApplicationConfigService().addProperty(moduleName,
+          HIBERNATE_PROPERTIES_PREFIX.concat(prop.getKey()), prop.getValue(), profile, force);
+    }
   }
 
   @Override
@@ -892,7 +983,7 @@ public class JpaOperationsImpl implements JpaOperations {
         }
 
         if (!isValidIdentifierStrategy) {
-          identifierStrategy = IdentifierStrategy.AUTO;
+          identifierStrategy = getDefaultIdentifierStrategy();
         }
 
         // ROO-746: Use @GeneratedValue(strategy = GenerationType.TABLE)
@@ -911,13 +1002,25 @@ public class JpaOperationsImpl implements JpaOperations {
         generatedValueBuilder.addEnumAttribute("strategy", new EnumDetails(GENERATION_TYPE,
             new JavaSymbolName(identifierStrategy.name())));
 
-        if (StringUtils.isNotBlank(sequenceName)) {
+        // Identifiers are allocated in blocks if the project is configured
+        // for JDBC batching
+        final String allocationSize =
+            IdentifierStrategy.SEQUENCE.name().equals(identifierStrategy.name())
+                ? getProjectSettingsService().getProperty(
+                    SPRING_ROO_JPA_IDENTIFIER_ALLOCATION_SIZE) : null;
+
+        if (StringUtils.isNotBlank(sequenceName) || StringUtils.isNotBlank(allocationSize)) {
           final String sequenceKey = StringUtils.uncapitalize(entity.getSimpleTypeName()) + "Gen";
           generatedValueBuilder.addStringAttribute("generator", sequenceKey);
           final AnnotationMetadataBuilder sequenceGeneratorBuilder =
               new AnnotationMetadataBuilder(SEQUENCE_GENERATOR);
           sequenceGeneratorBuilder.addStringAttribute("name", sequenceKey);
-          sequenceGeneratorBuilder.addStringAttribute("sequenceName", sequenceName);
+          sequenceGeneratorBuilder.addStringAttribute("sequenceName",
+              StringUtils.defaultIfBlank(sequenceName, getDefaultSequenceName(entity)));
+          if (StringUtils.isNotBlank(allocationSize)) {
+            sequenceGeneratorBuilder.addIntegerAttribute("allocationSize",
+                Integer.valueOf(allocationSize));
+          }
           annotations.add(sequenceGeneratorBuilder);
         }
         annotations.add(generatedValueBuilder);
@@ -940,6 +1043,42 @@ public class JpaOperationsImpl implements JpaOperations {
     return new FieldMetadataBuilder(identifierFieldDetails).build();
   }
 
+  /**
+   * Returns the identifier strategy to use when none has been specified,
+   * which is set in the project settings by <code>jpa setup</code> when
+   * batching is enabled.
+   *
+   * @return the strategy of the project settings, or AUTO if there isn't a
+   *         valid one
+   */
+  IdentifierStrategy getDefaultIdentifierStrategy() {
+    final String strategy = getProjectSettingsService().getProperty(
+        SPRING_ROO_JPA_IDENTIFIER_STRATEGY);
+    if (StringUtils.isBlank(strategy)) {
+      return IdentifierStrategy.AUTO;
+    }
+    try {
+      return IdentifierStrategy.valueOf(strategy.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      LOGGER.warning(String.format("Unknown identifier strategy '%s' in '%s'. Using %s.",
+          strategy, SPRING_ROO_JPA_IDENTIFIER_STRATEGY, IdentifierStrategy.AUTO.name()));
+      return IdentifierStrategy.AUTO;
+    }
+  }
+
+  /**
+   * Returns the name of the sequence of an entity, following the naming
+   * strategy of the tables, e.g. <code>order_line_seq</code> for
+   * <code>OrderLine</code>.
+   *
+   * @param entity
+   * @return
+   */
+  private String getDefaultSequenceName(final JavaType entity) {
+    return StringUtils.join(StringUtils.splitByCharacterTypeCamelCase(entity.getSimpleTypeName()),
+        "_").toLowerCase().concat("_seq");
+  }
+
   /**
    * This method generates the version field using the provided values
    *
@@ -1025,6 +1164,10 @@ public class JpaOperationsImpl implements JpaOperations {
     return serviceManager.getServiceInstance(this, ApplicationConfigService.class);
   }
 
+  private ProjectSettingsService getProjectSettingsService() {
+    return serviceManager.getServiceInstance(this, ProjectSettingsService.class);
+  }
+
   /**
    * FEATURE Methods
    */
@@ -0,0 +1,22 @@
+package org.springframework.roo.addon.jpa.addon.entity;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * This enum type represents org.hibernate.annotations.CacheConcurrencyStrategy
+ * on Spring Roo Shell
+ * 
+ * @since 2.0
+ */
+public enum CacheConcurrencyStrategy {
+
+  READ_ONLY, NONSTRICT_READ_WRITE, READ_WRITE, TRANSACTIONAL;
+
+  @Override
+  public String toString() {
+    final ToStringBuilder builder = new ToStringBuilder(this);
+    builder.append("name", name());
+    return builder.toString();
+  }
+
+}
@@ -35,6 +35,10 @@ public class JpaEntityAnnotationValues extends AbstractAnnotationValues {
   private String entityFormatMessage = "";
   @AutoPopulate
   private String entityFormatExpression = "";
+  @AutoPopulate
+  private String cacheConcurrencyStrategy = "";
+  @AutoPopulate
+  private boolean fetchReferences;
 
   /**
    * Constructor for reading the values of the given annotation
@@ -87,4 +91,12 @@ public class JpaEntityAnnotationValues extends AbstractAnnotationValues {
     return entityFormatMessage;
   }
 
+  public String getCacheConcurrencyStrategy() {
+    return cacheConcurrencyStrategy;
+  }
+
+  public boolean isFetchReferences() {
+    return fetchReferences;
+  }
+
 }
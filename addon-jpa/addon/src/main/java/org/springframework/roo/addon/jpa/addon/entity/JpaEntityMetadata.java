@@ -1,10 +1,15 @@
 package org.springframework.roo.addon.jpa.addon.entity;
 
+import static org.springframework.roo.model.HibernateJavaType.CACHE;
+import static org.springframework.roo.model.HibernateJavaType.CACHE_CONCURRENCY_STRATEGY;
+import static org.springframework.roo.model.JpaJavaType.CACHEABLE;
 import static org.springframework.roo.model.JpaJavaType.DISCRIMINATOR_COLUMN;
 import static org.springframework.roo.model.JpaJavaType.ENTITY;
 import static org.springframework.roo.model.JpaJavaType.INHERITANCE;
 import static org.springframework.roo.model.JpaJavaType.INHERITANCE_TYPE;
 import static org.springframework.roo.model.JpaJavaType.MAPPED_SUPERCLASS;
+import static org.springframework.roo.model.JpaJavaType.NAMED_ATTRIBUTE_NODE;
+import static org.springframework.roo.model.JpaJavaType.NAMED_ENTITY_GRAPH;
 import static org.springframework.roo.model.JpaJavaType.TABLE;
 
 import java.lang.reflect.Modifier;
@@ -15,6 +20,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
@@ -26,6 +32,7 @@ import org.springframework.roo.classpath.PhysicalTypeMetadata;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.classpath.details.ConstructorMetadata;
 import org.springframework.roo.classpath.details.ConstructorMetadataBuilder;
+import org.springframework.roo.classpath.details.DeclaredFieldAnnotationDetails;
 import org.springframework.roo.classpath.details.FieldMetadata;
 import org.springframework.roo.classpath.details.FieldMetadataBuilder;
 import org.springframework.roo.classpath.details.MethodMetadata;
@@ -34,6 +41,8 @@ import org.springframework.roo.classpath.details.annotations.AnnotatedJavaType;
 import org.springframework.roo.classpath.details.annotations.AnnotationAttributeValue;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
+import org.springframework.roo.classpath.details.annotations.ArrayAttributeValue;
+import org.springframework.roo.classpath.details.annotations.NestedAnnotationAttributeValue;
 import org.springframework.roo.classpath.details.annotations.StringAttributeValue;
 import org.springframework.roo.classpath.itd.AbstractItdTypeDetailsProvidingMetadataItem;
 import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
@@ -86,6 +95,11 @@ public class JpaEntityMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
   private static final String REMOVE_PARAMETER_SUFFIX = "ToRemove";
   private static final String ADD_PARAMETER_SUFFIX = "ToAdd";
 
+  /**
+   * Suffix for the name of the generated entity graph
+   */
+  private static final String ENTITY_GRAPH_SUFFIX = ".references";
+
 
 
   private final JavaType annotatedEntity;
@@ -107,6 +121,12 @@ public class JpaEntityMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
 
   private final FieldMetadata compositionRelationField;
 
+  private final List<String> entityGraphAttributes;
+
+  private final String entityGraphName;
+
+  private final boolean cacheable;
+
   public static JavaType getJavaType(final String metadataIdentificationString) {
     return PhysicalTypeIdentifierNamingUtils.getJavaType(PROVIDES_TYPE_STRING,
         metadataIdentificationString);
@@ -286,6 +306,40 @@ public class JpaEntityMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
     relationInfosByMappedBy = Collections.unmodifiableMap(fieldInfosMappedByTemporal);
     this.compositionRelationField = compositionRelationField;
 
+    // Add @NamedEntityGraph with the single-valued relations, which are
+    // rendered by the generated views and JSON mixins along with the entity,
+    // if the entity requests it
+    if (annotationValues.isFetchReferences()) {
+      this.entityGraphAttributes = getSingleValuedRelationFields();
+    } else {
+      this.entityGraphAttributes = Collections.emptyList();
+    }
+    if (entityGraphAttributes.isEmpty() || annotationValues.isMappedSuperclass()
+        || governorTypeDetails.getAnnotation(NAMED_ENTITY_GRAPH) != null) {
+      this.entityGraphName = null;
+    } else {
+      this.entityGraphName =
+          StringUtils.defaultIfBlank(annotationValues.getEntityName(),
+              annotatedEntity.getSimpleTypeName()).concat(ENTITY_GRAPH_SUFFIX);
+      builder.addAnnotation(getEntityGraphAnnotation());
+    }
+
+    // Add @Cacheable and @Cache to the entity and its collection relations
+    // if a second-level cache concurrency strategy has been set
+    this.cacheable =
+        (StringUtils.isNotBlank(annotationValues.getCacheConcurrencyStrategy()) && !annotationValues
+            .isMappedSuperclass()) || governorTypeDetails.getAnnotation(CACHEABLE) != null;
+    if (StringUtils.isNotBlank(annotationValues.getCacheConcurrencyStrategy())
+        && !annotationValues.isMappedSuperclass()) {
+      builder.addAnnotation(getTypeAnnotation(CACHEABLE));
+      builder.addAnnotation(getCacheAnnotation(governorTypeDetails.getAnnotation(CACHE)));
+      for (FieldMetadata field : getCollectionRelationFields()) {
+        final AnnotationMetadata cacheAnnotation = getCacheAnnotation(field.getAnnotation(CACHE));
+        if (cacheAnnotation != null) {
+          builder.addFieldAnnotation(new DeclaredFieldAnnotationDetails(field, cacheAnnotation));
+        }
+      }
+    }
 
     // Build the ITD based on what we added to the builder above
     itdTypeDetails = builder.build();
@@ -330,6 +384,46 @@ public class JpaEntityMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
     return methodName;
   }
 
+  /**
+   * Generates the Hibernate @Cache annotation with the concurrency strategy
+   * of the entity
+   *
+   * @param existing the @Cache annotation already declared by the annotated
+   *            element, if any
+   * @return the annotation or <code>null</code> if it's already declared
+   */
+  private AnnotationMetadata getCacheAnnotation(final AnnotationMetadata existing) {
+    if (existing != null) {
+      return null;
+    }
+    final AnnotationMetadataBuilder cacheBuilder = new AnnotationMetadataBuilder(CACHE);
+    cacheBuilder.addEnumAttribute("usage", new EnumDetails(CACHE_CONCURRENCY_STRATEGY,
+        new JavaSymbolName(CacheConcurrencyStrategy.valueOf(
+            annotationValues.getCacheConcurrencyStrategy()).name())));
+    return cacheBuilder.build();
+  }
+
+  /**
+   * Returns the fields which hold a collection of entities, i.e. the
+   * one-to-many and many-to-many relations of both sides.
+   *
+   * @return the fields (never null)
+   */
+  private List<FieldMetadata> getCollectionRelationFields() {
+    final List<FieldMetadata> fields = new ArrayList<FieldMetadata>();
+    for (RelationInfo info : relationInfos.values()) {
+      if (info.cardinality != Cardinality.ONE_TO_ONE) {
+        fields.add(info.fieldMetadata);
+      }
+    }
+    for (FieldMetadata field : relationsAsChild.values()) {
+      if (field.getAnnotation(JpaJavaType.MANY_TO_MANY) != null) {
+        fields.add(field);
+      }
+    }
+    return fields;
+  }
+
   private AnnotationMetadata getDiscriminatorColumnAnnotation() {
     if (StringUtils.isNotBlank(annotationValues.getInheritanceType())
         && InheritanceType.SINGLE_TABLE.name().equals(annotationValues.getInheritanceType())) {
@@ -361,6 +455,53 @@ public class JpaEntityMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
     return entityAnnotation;
   }
 
+  /**
+   * Returns the names of the fields which reference a single entity, i.e.
+   * the many-to-one and one-to-one relations of both sides.
+   *
+   * @return the field names, sorted (never null)
+   */
+  private List<String> getSingleValuedRelationFields() {
+    final TreeSet<String> attributes = new TreeSet<String>();
+    for (FieldMetadata field : relationsAsChild.values()) {
+      if (field.getAnnotation(JpaJavaType.MANY_TO_ONE) != null
+          || field.getAnnotation(JpaJavaType.ONE_TO_ONE) != null) {
+        attributes.add(field.getFieldName().getSymbolName());
+      }
+    }
+    for (RelationInfo info : relationInfos.values()) {
+      if (info.cardinality == Cardinality.ONE_TO_ONE) {
+        attributes.add(info.fieldName);
+      }
+    }
+    return Collections.unmodifiableList(new ArrayList<String>(attributes));
+  }
+
+  /**
+   * Generates the JPA @NamedEntityGraph annotation which fetches the
+   * {@link #getSingleValuedRelationFields() single-valued relations} of the entity
+   *
+   * @return AnnotationMetadata
+   */
+  private AnnotationMetadata getEntityGraphAnnotation() {
+    final List<AnnotationAttributeValue<?>> attributeNodes =
+        new ArrayList<AnnotationAttributeValue<?>>();
+    for (String attribute : entityGraphAttributes) {
+      final AnnotationMetadataBuilder attributeNode =
+          new AnnotationMetadataBuilder(NAMED_ATTRIBUTE_NODE);
+      attributeNode.addStringAttribute("value", attribute);
+      attributeNodes.add(new NestedAnnotationAttributeValue(new JavaSymbolName("attributeNodes"),
+          attributeNode.build()));
+    }
+
+    final AnnotationMetadataBuilder entityGraphBuilder =
+        new AnnotationMetadataBuilder(NAMED_ENTITY_GRAPH);
+    entityGraphBuilder.addStringAttribute("name", entityGraphName);
+    entityGraphBuilder.addAttribute(new ArrayAttributeValue<AnnotationAttributeValue<?>>(
+        new JavaSymbolName("attributeNodes"), attributeNodes));
+    return entityGraphBuilder.build();
+  }
+
   /**
    * Generates the Springlets `@EntityFormat` annotation to be applied to the entity
   *
@@ -965,6 +1106,23 @@ public class JpaEntityMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
     return relationsAsChild;
   }
 
+  /**
+   * @return the names of the fields which reference a single entity, which
+   *         queries returning the entity should fetch along with it, or an
+   *         empty list if the entity doesn't fetch its references
+   */
+  public List<String> getEntityGraphAttributes() {
+    return entityGraphAttributes;
+  }
+
+  /**
+   * @return the name of the generated @NamedEntityGraph, or null if it isn't
+   *         generated
+   */
+  public String getEntityGraphName() {
+    return entityGraphName;
+  }
+
   /**
    * @return information about current identifier field
    */
@@ -1005,6 +1163,14 @@ public class JpaEntityMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
     return annotationValues.isReadOnly();
   }
 
+  /**
+   * @return true if the entity is stored in the second-level cache, which
+   *         the query cache requires
+   */
+  public boolean isCacheable() {
+    return cacheable;
+  }
+
   /**
    * @return true if this entity is the child part of a composition relation
    */
@@ -10,6 +10,7 @@ import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.classpath.details.DefaultPhysicalTypeMetadata;
 import org.springframework.roo.metadata.MetadataDependencyRegistry;
 import org.springframework.roo.metadata.MetadataService;
+import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.RooJavaType;
 
@@ -27,6 +28,8 @@ import java.util.Collection;
 @Service
 public class JpaEntityFactoryLocatorImpl implements JpaEntityFactoryLocator {
 
+  private static final JavaSymbolName ENTITY_ATTRIBUTE = new JavaSymbolName("entity");
+
   @Reference
   private TypeLocationService typeLocationService;
   @Reference
@@ -72,6 +75,11 @@ public class JpaEntityFactoryLocatorImpl implements JpaEntityFactoryLocator {
       super(typeLocationService);
     }
 
+    @Override
+    protected JavaSymbolName getKeyAttribute(JavaType context) {
+      return ENTITY_ATTRIBUTE;
+    }
+
     @Override
     public boolean evaluateForKey(JavaType key, ClassOrInterfaceTypeDetails valueToEvalueate,
         JavaType context) {
@@ -1,7 +1,12 @@
 package org.springframework.roo.addon.jpa.addon;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,12 +20,19 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.component.ComponentContext;
 import org.powermock.api.support.membermodification.MemberModifier;
+import org.springframework.roo.addon.jpa.addon.entity.IdentifierStrategy;
 import org.springframework.roo.addon.propfiles.PropFileOperations;
+import org.springframework.roo.application.config.ApplicationConfigService;
 import org.springframework.roo.process.manager.FileManager;
 import org.springframework.roo.project.Path;
 import org.springframework.roo.project.PathResolver;
 import org.springframework.roo.project.ProjectOperations;
+import org.springframework.roo.settings.project.ProjectSettingsService;
 
 /**
  * Unit test of {@link JpaOperationsImpl}
@@ -39,6 +51,12 @@ public class JpaOperationsImplTest {
   private static final String DB_NAME = "myDbName";
   private static final String DB_PASSWORD = "myDbPassword";
   private static final String DB_USER_NAME = "myDbUserName";
+  private static final String MODULE = "";
+  private static final String NEW_ID_GENERATOR_MAPPINGS =
+      "spring.jpa.hibernate.use-new-id-generator-mappings";
+  private static final String IDENTIFIER_STRATEGY = "spring.roo.jpa.identifier.strategy";
+  private static final String IDENTIFIER_ALLOCATION_SIZE =
+      "spring.roo.jpa.identifier.allocation-size";
   private static final String EXPECTED_APPLICATION_CONTEXT =
       "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n"
           + "<beans>\n"
@@ -120,6 +138,12 @@ public class JpaOperationsImplTest {
   @Mock
   private PropFileOperations mockPropFileOperations;
 
+  @Mock
+  private ApplicationConfigService mockApplicationConfigService;
+
+  @Mock
+  private ProjectSettingsService mockProjectSettingsService;
+
   /**
    * Creates a new {@link InputStream} each time we need to read from the
    * Spring application context
@@ -222,6 +246,91 @@ public class JpaOperationsImplTest {
             PERSISTENCE_PATH);*/
   }
 
+  /**
+   * Creates a {@link JpaOperationsImpl} whose OSGi services are the mock
+   * application config and project settings services
+   */
+  private JpaOperationsImpl getActivatedJpaOperations() throws InvalidSyntaxException {
+    final BundleContext mockBundleContext = mock(BundleContext.class);
+    registerService(mockBundleContext, ApplicationConfigService.class,
+        mockApplicationConfigService);
+    registerService(mockBundleContext, ProjectSettingsService.class, mockProjectSettingsService);
+    final ComponentContext mockComponentContext = mock(ComponentContext.class);
+    when(mockComponentContext.getBundleContext()).thenReturn(mockBundleContext);
+
+    final JpaOperationsImpl operations = new JpaOperationsImpl();
+    operations.activate(mockComponentContext);
+    return operations;
+  }
+
+  private void registerService(final BundleContext mockBundleContext,
+      final Class<?> serviceClass, final Object service) throws InvalidSyntaxException {
+    final ServiceReference<?> mockReference = mock(ServiceReference.class);
+    when(mockBundleContext.getAllServiceReferences(serviceClass.getName(), null)).thenReturn(
+        new ServiceReference<?>[] {mockReference});
+    doReturn(service).when(mockBundleContext).getService(mockReference);
+  }
+
+  @Test
+  public void testConfigureBatchingForSequenceDatabase() throws Exception {
+    // Invoke
+    getActivatedJpaOperations().configureBatching(MODULE, JdbcDatabase.POSTGRES, 50, null,
+        false);
+
+    // Check
+    verify(mockApplicationConfigService).addProperty(MODULE,
+        "spring.jpa.properties.hibernate.jdbc.batch_size", "50", null, false);
+    verify(mockApplicationConfigService).addProperty(MODULE, NEW_ID_GENERATOR_MAPPINGS, "true",
+        null, false);
+    verify(mockProjectSettingsService).addProperty(IDENTIFIER_STRATEGY,
+        IdentifierStrategy.SEQUENCE.name(), false);
+    verify(mockProjectSettingsService).addProperty(IDENTIFIER_ALLOCATION_SIZE, "50", false);
+  }
+
+  @Test
+  public void testConfigureBatchingForNonSequenceDatabase() throws Exception {
+    // Invoke
+    getActivatedJpaOperations().configureBatching(MODULE, JdbcDatabase.MYSQL, 50, null, false);
+
+    // Check
+    verify(mockApplicationConfigService).addProperty(MODULE,
+        "spring.jpa.properties.hibernate.jdbc.batch_size", "50", null, false);
+    verify(mockApplicationConfigService, never()).addProperty(eq(MODULE),
+        eq(NEW_ID_GENERATOR_MAPPINGS), anyString(), anyString(), anyBoolean());
+    verify(mockProjectSettingsService, never()).addProperty(eq(IDENTIFIER_STRATEGY),
+        anyString(), anyBoolean());
+    verify(mockProjectSettingsService, never()).addProperty(eq(IDENTIFIER_ALLOCATION_SIZE),
+        anyString(), anyBoolean());
+  }
+
+  @Test
+  public void testConfigureBatchingKeepsExistingIdGeneratorMappings() throws Exception {
+    // Set up
+    when(mockApplicationConfigService.getProperty(MODULE, NEW_ID_GENERATOR_MAPPINGS, null))
+        .thenReturn("false");
+
+    // Invoke
+    getActivatedJpaOperations().configureBatching(MODULE, JdbcDatabase.POSTGRES, 50, null, true);
+
+    // Check
+    verify(mockApplicationConfigService, never()).addProperty(eq(MODULE),
+        eq(NEW_ID_GENERATOR_MAPPINGS), anyString(), anyString(), anyBoolean());
+  }
+
+  @Test
+  public void testDefaultIdentifierStrategy() throws Exception {
+    final JpaOperationsImpl operations = getActivatedJpaOperations();
+
+    when(mockProjectSettingsService.getProperty(IDENTIFIER_STRATEGY)).thenReturn(null);
+    assertEquals(IdentifierStrategy.AUTO, operations.getDefaultIdentifierStrategy());
+
+    when(mockProjectSettingsService.getProperty(IDENTIFIER_STRATEGY)).thenReturn("SEQUENCE");
+    assertEquals(IdentifierStrategy.SEQUENCE, operations.getDefaultIdentifierStrategy());
+
+    when(mockProjectSettingsService.getProperty(IDENTIFIER_STRATEGY)).thenReturn("UNKNOWN");
+    assertEquals(IdentifierStrategy.AUTO, operations.getDefaultIdentifierStrategy());
+  }
+
   /**
    * Verifies that the mock {@link FileManager} was asked to write the given
    * contents to the given file
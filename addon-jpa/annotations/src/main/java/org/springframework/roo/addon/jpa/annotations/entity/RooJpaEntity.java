@@ -87,4 +87,25 @@ public @interface RooJpaEntity {
    * @return the SpEL (defaults to "").
    */
   String entityFormatExpression() default "";
+
+  /**
+   * Specifies the Hibernate concurrency strategy used to keep the entity and
+   * its collection relations in the second-level cache, i.e. "READ_ONLY",
+   * "NONSTRICT_READ_WRITE", "READ_WRITE" or "TRANSACTIONAL".
+   * 
+   * @return the concurrency strategy, or "" if the entity isn't cacheable
+   *         (defaults to "")
+   */
+  String cacheConcurrencyStrategy() default "";
+
+  /**
+   * Specifies whether to fetch the many-to-one and one-to-one relations of
+   * the entity along with it. It adds a @NamedEntityGraph with these
+   * relations, which is used by the repository findOne method, and the
+   * queries of the custom repository which return the entity fetch-join them.
+   * 
+   * @return true if the references are fetched with the entity (defaults to
+   *         false)
+   */
+  boolean fetchReferences() default false;
 }
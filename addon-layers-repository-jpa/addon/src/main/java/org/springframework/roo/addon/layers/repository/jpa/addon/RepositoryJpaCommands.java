@@ -351,7 +351,38 @@ public class RepositoryJpaCommands implements CommandMarker {
               + "the Roo Shell focused module will be used. "
               + "This option is not available if `--all` option has not been specified. "
               + "Default value if not present: `~.repository` package, or 'repository:~.' if multi-module "
-              + "project.") JavaPackage repositoriesPackage) {
+              + "project.") JavaPackage repositoriesPackage,
+      @CliOption(
+          key = "keysetPagination",
+          mandatory = false,
+          specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Indicates if the custom repositories should include a `findAllAfter` method, which "
+              + "returns the slice of entities following a given identifier without skipping an "
+              + "offset nor counting the results. Not available for repositories which use a "
+              + "projection as default return type. "
+              + "Default if option present: `true`; default if option not present: `false`.") boolean keysetPagination,
+      @CliOption(
+          key = "skipCount",
+          mandatory = false,
+          specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Indicates if the custom repositories should include a `findAllSlice` method, which "
+              + "returns a page of entities without counting the results. Generated controllers "
+              + "use it to list the entities without a count query. "
+              + "Default if option present: `true`; default if option not present: `false`.") boolean skipCount,
+      @CliOption(
+          key = "queryCache",
+          mandatory = false,
+          specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Indicates if the queries of the custom repositories should be stored in the "
+              + "Hibernate query cache. Use it for entities which are read much more often than "
+              + "they are modified. The cache should be enabled with "
+              + "`jpa setup --secondLevelCache` and the entity should be cacheable, i.e. created "
+              + "with `entity jpa --cacheStrategy`. With `--all`, only the repositories of the "
+              + "cacheable entities use the query cache. "
+              + "Default if option present: `true`; default if option not present: `false`.") boolean queryCache) {
 
     if (all) {
 
@@ -382,9 +413,11 @@ public class RepositoryJpaCommands implements CommandMarker {
                   projectOperations.getFocusedModuleName());
         }
       }
-      repositoryJpaOperations.generateAllRepositories(repositoriesPackage);
+      repositoryJpaOperations.generateAllRepositories(repositoriesPackage, keysetPagination,
+          skipCount, queryCache);
     } else {
-      repositoryJpaOperations.addRepository(interfaceType, domainType, defaultReturnType, true);
+      repositoryJpaOperations.addRepository(interfaceType, domainType, defaultReturnType, true,
+          keysetPagination, skipCount, queryCache);
     }
   }
 
@@ -19,6 +19,15 @@ public class RepositoryJpaCustomAnnotationValues extends AbstractAnnotationValue
   @AutoPopulate
   private JavaType entity;
 
+  @AutoPopulate
+  private boolean keysetPagination = false;
+
+  @AutoPopulate
+  private boolean skipCount = false;
+
+  @AutoPopulate
+  private boolean queryCache = false;
+
   /**
    * Constructor
    *
@@ -37,4 +46,31 @@ public class RepositoryJpaCustomAnnotationValues extends AbstractAnnotationValue
   public JavaType getEntity() {
     return entity;
   }
+
+  /**
+   * Returns whether the repository has a keyset pagination method
+   *
+   * @return see above
+   */
+  public boolean isKeysetPagination() {
+    return keysetPagination;
+  }
+
+  /**
+   * Returns whether the repository has a count-free pagination method
+   *
+   * @return see above
+   */
+  public boolean isSkipCount() {
+    return skipCount;
+  }
+
+  /**
+   * Returns whether the queries of the repository are cacheable
+   *
+   * @return see above
+   */
+  public boolean isQueryCache() {
+    return queryCache;
+  }
 }
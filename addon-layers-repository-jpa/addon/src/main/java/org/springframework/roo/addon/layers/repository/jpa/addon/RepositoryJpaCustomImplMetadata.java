@@ -63,6 +63,9 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
   private static final JavaType QUERYDSL_PROJECTIONS = new JavaType(
       "com.querydsl.core.types.Projections");
   private static final JavaType QUERYDSL_JPQLQUERY = new JavaType("com.querydsl.jpa.JPQLQuery");
+  private static final JavaType QUERYDSL_ABSTRACT_JPA_QUERY = new JavaType(
+      "com.querydsl.jpa.impl.AbstractJPAQuery");
+  private static final String HIBERNATE_CACHEABLE_HINT = "org.hibernate.cacheable";
 
 
   final private ImportRegistrationResolver importResolver;
@@ -73,6 +76,7 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
   final private Map<JavaType, Boolean> typesAreProjections;
   final private JavaType entityQtype;
   final private JpaEntityMetadata entityMetadata;
+  final private boolean queryCache;
 
   private Map<String, FieldMetadata> constantsForFields;
 
@@ -122,6 +126,11 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
    * @param idFields entity id fields
    * @param validFields entity fields to search for (excluded id, reference and collection fields)
    * @param findAllGlobalSearchMethod the findAll metadata
+   * @param findAllByIdsInGlobalSearchMethod the findAllByIdsIn metadata
+   * @param findAllAfterGlobalSearchMethod the findAllAfter metadata, or null
+   *            if the repository doesn't use keyset pagination
+   * @param findAllSliceGlobalSearchMethod the findAllSlice metadata, or null
+   *            if the repository doesn't skip the count queries
    * @param defaultReturnType to use in finders
    * @param allFindReferencedFieldsMethods the metadata for all findByReference methods.
    * @param referencedFieldsIdentifierNames
@@ -134,20 +143,24 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
    *            the fields of each domain type.
    * @param typesAreProjections the Map<JavaType, Boolean> which tells if each type is
    *            a projection and must use a ConstructorExpression in finders implementations.
+   * @param queryCache whether the generated queries are stored in the
+   *            Hibernate query cache
    */
   public RepositoryJpaCustomImplMetadata(final String identifier, final JavaType aspectName,
       final PhysicalTypeMetadata governorPhysicalTypeMetadata,
       final RepositoryJpaCustomImplAnnotationValues annotationValues, final JavaType domainType,
       JpaEntityMetadata entityMetadata, final FieldMetadata idField,
       final List<FieldMetadata> validFields, final MethodMetadata findAllGlobalSearchMethod,
-      final MethodMetadata findAllByIdsInGlobalSearchMethod, final JavaType defaultReturnType,
+      final MethodMetadata findAllByIdsInGlobalSearchMethod,
+      final MethodMetadata findAllAfterGlobalSearchMethod,
+      final MethodMetadata findAllSliceGlobalSearchMethod, final JavaType defaultReturnType,
       final Map<FieldMetadata, MethodMetadata> allFindReferencedFieldsMethods,
       final Map<FieldMetadata, String> referencedFieldsIdentifierNames,
       final Map<JavaType, List<Pair<String, String>>> typesFieldMaps,
       final List<Pair<MethodMetadata, PartTree>> customFinderMethods,
       final List<Pair<MethodMetadata, PartTree>> customCountMethods,
       final Map<JavaType, Map<String, FieldMetadata>> typesFieldsMetadata,
-      final Map<JavaType, Boolean> typesAreProjections) {
+      final Map<JavaType, Boolean> typesAreProjections, final boolean queryCache) {
     super(identifier, aspectName, governorPhysicalTypeMetadata);
     Validate.notNull(annotationValues, "Annotation values required");
 
@@ -157,6 +170,7 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
     this.typesFieldMaps = typesFieldMaps;
     this.typesFieldsMetadata = typesFieldsMetadata;
     this.typesAreProjections = typesAreProjections;
+    this.queryCache = queryCache;
     this.entityQtype = getQJavaTypeFor(domainType);
 
     // Get inner parameter of default return type (enclosed inside Page);
@@ -213,6 +227,18 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
           findAllByIdsInGlobalSearchMethod, idField, validFields)));
     }
 
+    // Generate findAllAfter implementation method
+    if (findAllAfterGlobalSearchMethod != null) {
+      ensureGovernorHasMethod(new MethodMetadataBuilder(getFindAllAfterImpl(
+          findAllAfterGlobalSearchMethod, idField)));
+    }
+
+    // Generate findAllSlice implementation method
+    if (findAllSliceGlobalSearchMethod != null) {
+      ensureGovernorHasMethod(new MethodMetadataBuilder(getFindAllSliceImpl(
+          findAllSliceGlobalSearchMethod, validFields)));
+    }
+
     // ROO-3765: Prevent ITD regeneration applying the same sort to provided map. If this sort is not applied, maybe some
     // method is not in the same order and ITD will be regenerated.
     Map<FieldMetadata, MethodMetadata> allFindByReferencedFieldsMethodsOrderedByFieldName =
@@ -246,6 +272,23 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
     itdTypeDetails = builder.build();
   }
 
+  /**
+   * Makes the query built by {@link #buildQuery} cacheable, if the
+   * repository uses the query cache. The hint is also applied to the
+   * count query of the pagination.
+   *
+   * @param bodyBuilder method body builder
+   */
+  private void buildQueryCacheHint(InvocableMemberBodyBuilder bodyBuilder) {
+    if (!queryCache) {
+      return;
+    }
+
+    // ((AbstractJPAQuery<?, ?>) query).setHint("org.hibernate.cacheable", true);
+    bodyBuilder.appendFormalLine(String.format("((%s<?, ?>) query).setHint(\"%s\", true);",
+        getNameOfJavaType(QUERYDSL_ABSTRACT_JPA_QUERY), HIBERNATE_CACHEABLE_HINT));
+  }
+
   /**
    * Method that generates the findAll implementation method
    * @param findAllGlobalSearchMethod
@@ -354,6 +397,268 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
     // instance
   }
 
+  /**
+   * Method that generates the findAllSlice implementation method, which
+   * applies the same filter, pagination and sorting as findAll, but reads
+   * one more element than the page size instead of counting the results.
+   *
+   * @param findAllSliceGlobalSearchMethod
+   * @param fields the entity fields to search for
+   *
+   * @return
+   */
+  private MethodMetadata getFindAllSliceImpl(MethodMetadata findAllSliceGlobalSearchMethod,
+      List<FieldMetadata> fields) {
+
+    // Define method name
+    JavaSymbolName methodName = findAllSliceGlobalSearchMethod.getMethodName();
+
+    // Define method parameter types
+    List<AnnotatedJavaType> parameterTypes = findAllSliceGlobalSearchMethod.getParameterTypes();
+
+    // Define method parameter names
+    List<JavaSymbolName> parameterNames = findAllSliceGlobalSearchMethod.getParameterNames();
+
+    MethodMetadata existingMethod =
+        getGovernorMethod(methodName,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    // Use provided findAllSlice method to generate its implementation
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName,
+            findAllSliceGlobalSearchMethod.getReturnType(), parameterTypes, parameterNames, null);
+
+    // Generate body
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    // Getting variable name to use in the code
+    JavaSymbolName globalSearch = parameterNames.get(0);
+    JavaSymbolName pageable = parameterNames.get(1);
+    String entity = this.entity.getSimpleTypeName();
+    String entityVariable = StringUtils.uncapitalize(entity);
+
+    bodyBuilder.newLine();
+
+    // QEntity qEntity = QEntity.entity;
+    bodyBuilder.appendFormalLine(String.format("%1$s %2$s = %1$s.%2$s;",
+        entityQtype.getNameIncludingTypeParameters(false, importResolver), entityVariable));
+    bodyBuilder.newLine();
+
+    // Construct query
+    buildQuery(bodyBuilder, entityVariable, globalSearch, null, null, null, null, null,
+        this.defaultReturnType, null, null);
+    bodyBuilder.newLine();
+
+    // AttributeMappingBuilder mapping = buildMapper()
+    StringBuffer mappingBuilderLine = new StringBuffer();
+    mappingBuilderLine
+        .append(String
+            .format(
+                "%s mapping = buildMapper()",
+                getNameOfJavaType(SpringletsJavaType.SPRINGLETS_QUERYDSL_REPOSITORY_SUPPORT_ATTRIBUTE_BUILDER)));
+
+    String selection;
+    if (!this.typesAreProjections.get(this.defaultReturnType)) {
+
+      // Return type is the same entity
+      Iterator<FieldMetadata> iterator = fields.iterator();
+      while (iterator.hasNext()) {
+        FieldMetadata field = iterator.next();
+        String fieldName = field.getFieldName().getSymbolName();
+        mappingBuilderLine.append(String.format("\n\t\t\t.map(%s, %s.%s)",
+            getConstantForField(fieldName).getFieldName(), entityVariable, fieldName));
+      }
+      selection = "query";
+    } else {
+
+      // Return type is a projection
+      List<Pair<String, String>> projectionFields = this.typesFieldMaps.get(this.defaultReturnType);
+      Iterator<Pair<String, String>> iterator = projectionFields.iterator();
+      while (iterator.hasNext()) {
+        Entry<String, String> entry = iterator.next();
+        mappingBuilderLine.append(String.format("\n\t\t\t.map(%s, %s)",
+            getConstantForField(entry.getKey()).getFieldName(), entry.getValue()));
+      }
+
+      // query.select(Projections.constructor(MyProjection.class, myEntity.field1, ...))
+      selection =
+          String.format("query.select(%s.constructor(%s.class, %s))",
+              getNameOfJavaType(QUERYDSL_PROJECTIONS), getNameOfJavaType(this.defaultReturnType),
+              StringUtils.join(getListRightValueOfPair(projectionFields), ", "));
+    }
+    mappingBuilderLine.append(";");
+    bodyBuilder.appendFormalLine(mappingBuilderLine.toString());
+    bodyBuilder.newLine();
+
+    // applyPagination(pageable, query, mapping);
+    bodyBuilder.appendFormalLine(String.format("applyPagination(%s, query, mapping);", pageable));
+
+    //applyOrderById(query);
+    bodyBuilder.appendFormalLine("applyOrderById(query);");
+    bodyBuilder.newLine();
+
+    appendFindAllSliceResult(bodyBuilder, pageable.getSymbolName(),
+        getNameOfJavaType(JavaType.LIST), getNameOfJavaType(this.defaultReturnType), selection,
+        getNameOfJavaType(SpringJavaType.SLICE_IMPL));
+
+    // Sets body to generated method
+    methodBuilder.setBodyBuilder(bodyBuilder);
+
+    return methodBuilder.build(); // Build and return a MethodMetadata
+    // instance
+  }
+
+  /**
+   * Appends the statements of the findAllSlice implementation which read
+   * the requested slice. One more element than the page size is read to know
+   * if there is a next slice, instead of running a count query.
+   *
+   * @param bodyBuilder
+   * @param pageable the name of the Pageable parameter
+   * @param listType the name of the List type
+   * @param elementType the name of the type of the read elements
+   * @param selection the expression of the query to fetch
+   * @param sliceImplType the name of the SliceImpl type
+   */
+  static void appendFindAllSliceResult(InvocableMemberBodyBuilder bodyBuilder, String pageable,
+      String listType, String elementType, String selection, String sliceImplType) {
+
+    // Read one more element than the page size to know if there is a next page
+    bodyBuilder.appendFormalLine("// Read one more element than the page size to know if there "
+        + "is a next page,");
+    bodyBuilder.appendFormalLine("// without a count query");
+    // query.limit(pageable.getPageSize() + 1L);
+    bodyBuilder.appendFormalLine("query.limit(%s.getPageSize() + 1L);", pageable);
+    // List<MyEntity> content = query.fetch();
+    bodyBuilder.appendFormalLine("%s<%s> content = %s.fetch();", listType, elementType,
+        selection);
+    // boolean hasNext = content.size() > pageable.getPageSize();
+    bodyBuilder.appendFormalLine("boolean hasNext = content.size() > %s.getPageSize();",
+        pageable);
+    bodyBuilder.appendFormalLine("if (hasNext) {");
+    bodyBuilder.indent();
+    // content = content.subList(0, pageable.getPageSize());
+    bodyBuilder.appendFormalLine("content = content.subList(0, %s.getPageSize());", pageable);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    // return new SliceImpl<MyEntity>(content, pageable, hasNext);
+    bodyBuilder.appendFormalLine("return new %s<%s>(content, %s, hasNext);", sliceImplType,
+        elementType, pageable);
+  }
+
+  /**
+   * Method that generates the findAllAfter implementation method, which
+   * seeks past the given identifier instead of skipping an offset, and reads
+   * one more entity than requested instead of counting the results.
+   *
+   * @param findAllAfterGlobalSearchMethod
+   * @param idField the entity id field
+   *
+   * @return
+   */
+  private MethodMetadata getFindAllAfterImpl(MethodMetadata findAllAfterGlobalSearchMethod,
+      FieldMetadata idField) {
+
+    // Define method name
+    JavaSymbolName methodName = findAllAfterGlobalSearchMethod.getMethodName();
+
+    // Define method parameter types
+    List<AnnotatedJavaType> parameterTypes = findAllAfterGlobalSearchMethod.getParameterTypes();
+
+    // Define method parameter names
+    List<JavaSymbolName> parameterNames = findAllAfterGlobalSearchMethod.getParameterNames();
+
+    MethodMetadata existingMethod =
+        getGovernorMethod(methodName,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    // Use provided findAllAfter method to generate its implementation
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName,
+            findAllAfterGlobalSearchMethod.getReturnType(), parameterTypes, parameterNames, null);
+
+    // Generate body
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    // Getting variable name to use in the code
+    JavaSymbolName globalSearch = parameterNames.get(0);
+    JavaSymbolName after = parameterNames.get(1);
+    JavaSymbolName size = parameterNames.get(2);
+    String entity = this.entity.getSimpleTypeName();
+    String entityVariable = StringUtils.uncapitalize(entity);
+    String idPath = entityVariable + "." + idField.getFieldName();
+
+    bodyBuilder.newLine();
+
+    // if (size < 1) {
+    // throw new IllegalArgumentException("The size must be greater than 0");
+    // }
+    bodyBuilder.appendFormalLine("if (%s < 1) {", size);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine(
+        "throw new IllegalArgumentException(\"The size must be greater than 0\");");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.newLine();
+
+    // QEntity qEntity = QEntity.entity;
+    bodyBuilder.appendFormalLine(String.format("%1$s %2$s = %1$s.%2$s;",
+        entityQtype.getNameIncludingTypeParameters(false, importResolver), entityVariable));
+    bodyBuilder.newLine();
+
+    // Construct query
+    buildQuery(bodyBuilder, entityVariable, globalSearch, null, null, null, null, null,
+        this.defaultReturnType, null, null);
+    bodyBuilder.newLine();
+
+    // Seek past the last entity of the previous slice
+    bodyBuilder.appendFormalLine("// Seek past the last element of the previous slice instead of "
+        + "skipping an offset,");
+    bodyBuilder.appendFormalLine("// so the deepest slices are as fast as the first one");
+    // if (after != null) {
+    bodyBuilder.appendFormalLine("if (%s != null) {", after);
+    bodyBuilder.indent();
+    // query.where(myEntity.id.gt(after));
+    bodyBuilder.appendFormalLine("query.where(%s.gt(%s));", idPath, after);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    // query.orderBy(myEntity.id.asc());
+    bodyBuilder.appendFormalLine("query.orderBy(%s.asc());", idPath);
+    bodyBuilder.newLine();
+
+    // Read one more entity to know if there is a next slice
+    bodyBuilder.appendFormalLine("// Read one more element than requested to know if there is a "
+        + "next slice,");
+    bodyBuilder.appendFormalLine("// without a count query");
+    // List<MyEntity> content = query.limit(size + 1L).fetch();
+    bodyBuilder.appendFormalLine("%s<%s> content = query.limit(%s + 1L).fetch();",
+        getNameOfJavaType(JavaType.LIST), getNameOfJavaType(this.entity), size);
+    // boolean hasNext = content.size() > size;
+    bodyBuilder.appendFormalLine("boolean hasNext = content.size() > %s;", size);
+    bodyBuilder.appendFormalLine("if (hasNext) {");
+    bodyBuilder.indent();
+    // content = content.subList(0, size);
+    bodyBuilder.appendFormalLine("content = content.subList(0, %s);", size);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    // return new SliceImpl<MyEntity>(content, new PageRequest(0, size), hasNext);
+    bodyBuilder.appendFormalLine("return new %s<%s>(content, new %s(0, %s), hasNext);",
+        getNameOfJavaType(SpringJavaType.SLICE_IMPL), getNameOfJavaType(this.entity),
+        getNameOfJavaType(SpringJavaType.PAGE_REQUEST), size);
+
+    // Sets body to generated method
+    methodBuilder.setBodyBuilder(bodyBuilder);
+
+    return methodBuilder.build(); // Build and return a MethodMetadata
+    // instance
+  }
+
   /**
    * Method that generates the findAllByIdsIn implementation method
    * @param findAllByIdsInGlobalSearchMethod
@@ -857,6 +1162,7 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
     // JPQLQuery query = from(qEntity);
     bodyBuilder.appendFormalLine(String.format("%s query = from(%s);",
         getNameOfJavaType(getJPQLQueryFor(this.entity)), entityVariable));
+    buildQueryCacheHint(bodyBuilder);
     bodyBuilder.newLine();
 
     buildFormBeanFilterBody(bodyBuilder, finderParamType, finderParamName, entityVariable,
@@ -874,6 +1180,29 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
   }
 
 
+  /**
+   * Returns the joins to add to the query of the entity. The fields to fetch
+   * are joined with a fetch join and the others with a left join.
+   *
+   * @param entityVariable name of the variable that contains the Q entity
+   * @param joinedFields the fields to join
+   * @param fetchedFields the fields to fetch along with the entity
+   * @return the joins, or an empty String if there are no fields to join
+   */
+  static String getJoins(String entityVariable, List<String> joinedFields,
+      List<String> fetchedFields) {
+    StringBuilder joins = new StringBuilder();
+    for (String field : joinedFields) {
+      if (!fetchedFields.contains(field)) {
+        joins.append(String.format(".leftJoin(%s.%s)", entityVariable, field));
+      }
+    }
+    for (String field : fetchedFields) {
+      joins.append(String.format(".leftJoin(%s.%s).fetchJoin()", entityVariable, field));
+    }
+    return joins.toString();
+  }
+
   /**
    * Return JPQLQuery JavaType for required entity
    *
@@ -908,21 +1237,26 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
       JavaSymbolName finderName, PartTree partTree) {
 
     // Prepare leftJoin for compositions oneToOne
-    StringBuilder fetchJoins = new StringBuilder();
+    List<String> joinedFields = new ArrayList<String>();
     for (RelationInfo relationInfo : entityMetadata.getRelationInfos().values()) {
       if (relationInfo.type == JpaRelationType.COMPOSITION
           && relationInfo.cardinality == Cardinality.ONE_TO_ONE) {
-        fetchJoins.append(".leftJoin(");
-        fetchJoins.append(entityVariable);
-        fetchJoins.append(".");
-        fetchJoins.append(relationInfo.fieldName);
-        fetchJoins.append(")");
+        joinedFields.add(relationInfo.fieldName);
       }
     }
 
+    // Fetch the references of the entity graph, if the entity fetches them,
+    // so rendering the results doesn't load them one by one
+    List<String> fetchedFields = new ArrayList<String>();
+    if (returnType != null && !this.typesAreProjections.get(returnType)) {
+      fetchedFields.addAll(entityMetadata.getEntityGraphAttributes());
+    }
+
     //JPQLQuery query = from(qEntity);
     bodyBuilder.appendFormalLine(String.format("%s query = from(%s)%s;",
-        getNameOfJavaType(getJPQLQueryFor(entity)), entityVariable, fetchJoins));
+        getNameOfJavaType(getJPQLQueryFor(entity)), entityVariable,
+        getJoins(entityVariable, joinedFields, fetchedFields)));
+    buildQueryCacheHint(bodyBuilder);
     bodyBuilder.newLine();
 
     if (formBeanType != null) {
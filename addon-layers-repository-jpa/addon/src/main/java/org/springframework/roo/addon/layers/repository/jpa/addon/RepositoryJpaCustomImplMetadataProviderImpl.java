@@ -356,9 +356,37 @@ public class RepositoryJpaCustomImplMetadataProviderImpl extends
         entityMetadata.getCurrentIndentifierField(), validFields,
         repositoryCustomMetadata.getCurrentFindAllGlobalSearchMethod(),
         repositoryCustomMetadata.getCurrentFindAllByIdsInGlobalSearchMethod(),
+        repositoryCustomMetadata.getCurrentFindAllAfterGlobalSearchMethod(),
+        repositoryCustomMetadata.getCurrentFindAllSliceGlobalSearchMethod(),
         repositoryCustomMetadata.getDefaultReturnType(), referencedFieldsMethods,
         referencedFieldsIdentifierNames, typesFieldMaps, customFinderMethods, customCountMethods,
-        typesFieldsMetadataMap, typesAreProjections);
+        typesFieldsMetadataMap, typesAreProjections, isQueryCache(repositoryCustomMetadata,
+            entityMetadata));
+  }
+
+  /**
+   * Returns whether the generated queries should be cacheable. The query
+   * cache only keeps the identifiers of the results, so the entity must be
+   * in the second-level cache too. Otherwise, each cached result would be
+   * loaded with a query per entity.
+   *
+   * @param repositoryCustomMetadata the custom repository metadata
+   * @param entityMetadata the metadata of the repository entity
+   * @return true if the repository uses the query cache and the entity is
+   *         cacheable
+   */
+  private boolean isQueryCache(RepositoryJpaCustomMetadata repositoryCustomMetadata,
+      JpaEntityMetadata entityMetadata) {
+    if (!repositoryCustomMetadata.isQueryCache()) {
+      return false;
+    }
+    if (!entityMetadata.isCacheable()) {
+      LOGGER.warning(String.format(
+          "Query cache ignored in the repository of '%s', as the entity isn't cacheable",
+          entityMetadata.getAnnotatedEntity().getSimpleTypeName()));
+      return false;
+    }
+    return true;
   }
 
   private JavaType getDomainTypeOfFinderMethod(MethodMetadata method) {
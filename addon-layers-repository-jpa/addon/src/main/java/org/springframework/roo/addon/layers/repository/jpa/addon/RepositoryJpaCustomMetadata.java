@@ -63,6 +63,9 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
 
   private final MethodMetadata findAllGlobalSearchMethod;
   private final MethodMetadata findAllByIdsInGlobalSearchMethod;
+  private final MethodMetadata findAllAfterGlobalSearchMethod;
+  private final MethodMetadata findAllSliceGlobalSearchMethod;
+  private final boolean queryCache;
 
   private Map<JavaSymbolName, MethodMetadata> finderMethodsAndCounts;
 
@@ -121,6 +124,7 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
 
     this.defaultReturnType = repositoryMetadata.getDefaultReturnType();
     this.identifierType = identifierType;
+    this.queryCache = annotationValues.isQueryCache();
     this.finderMethodsAndCounts = new HashMap<JavaSymbolName, MethodMetadata>();
 
     ArrayList<Pair<MethodMetadata, PartTree>> tmpCustomFinderMethods =
@@ -155,9 +159,27 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
       ensureGovernorHasMethod(new MethodMetadataBuilder(findAllGlobalSearchMethod));
       findAllByIdsInGlobalSearchMethod = getFindAllByIdsInGlobalSearchMethod();
       ensureGovernorHasMethod(new MethodMetadataBuilder(findAllByIdsInGlobalSearchMethod));
+
+      // Keyset pagination is only generated for entities, as projections
+      // don't always include the identifier
+      if (annotationValues.isKeysetPagination() && defaultReturnType.equals(domainType)) {
+        findAllAfterGlobalSearchMethod = getFindAllAfterGlobalSearchMethod();
+        ensureGovernorHasMethod(new MethodMetadataBuilder(findAllAfterGlobalSearchMethod));
+      } else {
+        findAllAfterGlobalSearchMethod = null;
+      }
+
+      if (annotationValues.isSkipCount()) {
+        findAllSliceGlobalSearchMethod = getFindAllSliceGlobalSearchMethod();
+        ensureGovernorHasMethod(new MethodMetadataBuilder(findAllSliceGlobalSearchMethod));
+      } else {
+        findAllSliceGlobalSearchMethod = null;
+      }
     } else {
       findAllGlobalSearchMethod = null;
       findAllByIdsInGlobalSearchMethod = null;
+      findAllAfterGlobalSearchMethod = null;
+      findAllSliceGlobalSearchMethod = null;
     }
 
     // Prepare a list of all finder and count methods already declared on
@@ -287,6 +309,78 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
     return methodBuilder.build(); // Build and return a MethodMetadata
   }
 
+  /**
+   * Method that generates the findAllSlice method on current interface, which
+   * returns the same results as findAll without counting them.
+   *
+   * @return
+   */
+  private MethodMetadata getFindAllSliceGlobalSearchMethod() {
+
+    // Define method parameter types and parameter names
+    List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+    List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
+
+    //Global search parameter
+    parameterTypes.add(GLOBAL_SEARCH_PARAMETER);
+    parameterNames.add(GOBAL_SEARCH_PARAMETER_NAME);
+
+    // Pageable parameter
+    parameterTypes.add(PAGEABLE_PARAMETER);
+    parameterNames.add(PAGEABLE_PARAMETER_NAME);
+
+    // Method name
+    JavaSymbolName methodName = new JavaSymbolName("findAllSlice");
+
+    // Return type
+    JavaType returnType = JavaType.wrapperOf(SpringJavaType.SLICE, defaultReturnType);
+
+    // Use the MethodMetadataBuilder for easy creation of MethodMetadata
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC + Modifier.ABSTRACT, methodName,
+            returnType, parameterTypes, parameterNames, null);
+
+    return methodBuilder.build(); // Build and return a MethodMetadata
+  }
+
+  /**
+   * Method that generates the findAllAfter method on current interface, which
+   * returns the slice of entities following the given identifier.
+   *
+   * @return
+   */
+  private MethodMetadata getFindAllAfterGlobalSearchMethod() {
+
+    // Define method parameter types and parameter names
+    List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+    List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
+
+    //Global search parameter
+    parameterTypes.add(GLOBAL_SEARCH_PARAMETER);
+    parameterNames.add(GOBAL_SEARCH_PARAMETER_NAME);
+
+    // Identifier of the last entity of the previous slice
+    parameterTypes.add(AnnotatedJavaType.convertFromJavaType(identifierType));
+    parameterNames.add(new JavaSymbolName("after"));
+
+    // Size parameter
+    parameterTypes.add(AnnotatedJavaType.convertFromJavaType(JavaType.INT_PRIMITIVE));
+    parameterNames.add(new JavaSymbolName("size"));
+
+    // Method name
+    JavaSymbolName methodName = new JavaSymbolName("findAllAfter");
+
+    // Return type
+    JavaType returnType = JavaType.wrapperOf(SpringJavaType.SLICE, defaultReturnType);
+
+    // Use the MethodMetadataBuilder for easy creation of MethodMetadata
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC + Modifier.ABSTRACT, methodName,
+            returnType, parameterTypes, parameterNames, null);
+
+    return methodBuilder.build(); // Build and return a MethodMetadata
+  }
+
   /**
    * Method that generates the findAll method for provided referenced field on current interface.
    *
@@ -474,4 +568,30 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
   public MethodMetadata getCurrentFindAllByIdsInGlobalSearchMethod() {
     return findAllByIdsInGlobalSearchMethod;
   }
+
+  /**
+   *
+   * @return method findAllAfter declared for this repository, or null if it
+   *         doesn't use keyset pagination
+   */
+  public MethodMetadata getCurrentFindAllAfterGlobalSearchMethod() {
+    return findAllAfterGlobalSearchMethod;
+  }
+
+  /**
+   *
+   * @return method findAllSlice declared for this repository, or null if it
+   *         doesn't skip the count queries
+   */
+  public MethodMetadata getCurrentFindAllSliceGlobalSearchMethod() {
+    return findAllSliceGlobalSearchMethod;
+  }
+
+  /**
+   *
+   * @return whether the queries implementing this repository are cacheable
+   */
+  public boolean isQueryCache() {
+    return queryCache;
+  }
 }
@@ -5,12 +5,14 @@ import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.Service;
 import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.addon.layers.repository.jpa.annotations.RooJpaRepository;
 import org.springframework.roo.classpath.MetadataLocatorUtils;
 import org.springframework.roo.classpath.TypeLocationService;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.classpath.details.DefaultPhysicalTypeMetadata;
 import org.springframework.roo.metadata.MetadataDependencyRegistry;
 import org.springframework.roo.metadata.MetadataService;
+import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.RooJavaType;
 
@@ -28,6 +30,9 @@ import java.util.Collection;
 @Service
 public class RepositoryJpaLocatorImpl implements RepositoryJpaLocator {
 
+  private static final JavaSymbolName ENTITY_ATTRIBUTE = new JavaSymbolName(
+      RooJpaRepository.ENTITY_ATTRIBUTE);
+
   @Reference
   private TypeLocationService typeLocationService;
   @Reference
@@ -87,6 +92,11 @@ public class RepositoryJpaLocatorImpl implements RepositoryJpaLocator {
       super(typeLocationService);
     }
 
+    @Override
+    protected JavaSymbolName getKeyAttribute(JavaType context) {
+      return ENTITY_ATTRIBUTE;
+    }
+
     @Override
     public boolean evaluateForKey(JavaType key, ClassOrInterfaceTypeDetails valueToEvalueate,
         JavaType context) {
@@ -154,7 +154,8 @@ public class RepositoryJpaMetadata extends AbstractItdTypeDetailsProvidingMetada
             "Entity %s has defined more than one relations as child part whit type composition.",
             aspectName);
         composition = true;
-        ensureGovernorHasMethod(new MethodMetadataBuilder(getFindOneMethod(entity, identifierField)));
+        ensureGovernorHasMethod(new MethodMetadataBuilder(getFindOneMethod(entity,
+            identifierField, entityMetadata.getEntityGraphName())));
         ensureGovernorHasMethod(new MethodMetadataBuilder(getFindAllIteratorMethod(entity,
             identifierField)));
         ensureGovernorHasMethod(new MethodMetadataBuilder(getSaveMethod(entity)));
@@ -170,6 +171,12 @@ public class RepositoryJpaMetadata extends AbstractItdTypeDetailsProvidingMetada
       this.compositionField = null;
       this.compositionInfo = null;
       this.compositionCountMethod = null;
+
+      // Load the references rendered by the show views with the entity
+      if (entityMetadata.getEntityGraphName() != null) {
+        ensureGovernorHasMethod(new MethodMetadataBuilder(getFindOneMethod(entity,
+            identifierField, entityMetadata.getEntityGraphName())));
+      }
     }
 
     // Add Repository interface
@@ -240,7 +247,17 @@ public class RepositoryJpaMetadata extends AbstractItdTypeDetailsProvidingMetada
     return false;
   }
 
-  private MethodMetadata getFindOneMethod(JavaType entity, FieldMetadata identifierFieldMetadata) {
+  /**
+   * Method that generates the findOne method, annotated with @EntityGraph
+   * when the entity declares one
+   *
+   * @param entity
+   * @param identifierFieldMetadata
+   * @param entityGraphName the name of the entity graph to load, or null
+   * @return
+   */
+  private MethodMetadata getFindOneMethod(JavaType entity, FieldMetadata identifierFieldMetadata,
+      String entityGraphName) {
     // Define method parameter type and name
     List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
     List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
@@ -256,8 +273,18 @@ public class RepositoryJpaMetadata extends AbstractItdTypeDetailsProvidingMetada
     }
 
     // Use the MethodMetadataBuilder for easy creation of MethodMetadata
-    return new MethodMetadataBuilder(getId(), Modifier.PUBLIC + Modifier.ABSTRACT,
-        FIND_ONE_METHOD_NAME, entity, parameterTypes, parameterNames, null).build();
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC + Modifier.ABSTRACT,
+            FIND_ONE_METHOD_NAME, entity, parameterTypes, parameterNames, null);
+
+    // @EntityGraph("Entity.references")
+    if (entityGraphName != null) {
+      AnnotationMetadataBuilder entityGraphAnnotation =
+          new AnnotationMetadataBuilder(SpringJavaType.ENTITY_GRAPH);
+      entityGraphAnnotation.addStringAttribute("value", entityGraphName);
+      methodBuilder.addAnnotation(entityGraphAnnotation);
+    }
+    return methodBuilder.build();
   }
 
 
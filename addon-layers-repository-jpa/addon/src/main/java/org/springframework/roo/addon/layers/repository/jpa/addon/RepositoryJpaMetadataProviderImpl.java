@@ -28,6 +28,7 @@ import org.springframework.roo.addon.layers.repository.jpa.addon.finder.parser.F
 import org.springframework.roo.addon.layers.repository.jpa.addon.finder.parser.FinderMethod;
 import org.springframework.roo.addon.layers.repository.jpa.addon.finder.parser.FinderParameter;
 import org.springframework.roo.addon.layers.repository.jpa.addon.finder.parser.PartTree;
+import org.springframework.roo.addon.layers.repository.jpa.addon.finder.parser.PartTreeCache;
 import org.springframework.roo.addon.layers.repository.jpa.annotations.RooJpaRepository;
 import org.springframework.roo.addon.layers.repository.jpa.annotations.finder.RooFinder;
 import org.springframework.roo.classpath.PhysicalTypeIdentifier;
@@ -81,6 +82,9 @@ public class RepositoryJpaMetadataProviderImpl extends AbstractMemberDiscovering
   //Map where entity details will be cached
   private Map<JavaType, MemberDetails> entitiesDetails = new HashMap<JavaType, MemberDetails>();
 
+  // Parsed finders, reused while entities don't change
+  private final PartTreeCache partTreeCache = new PartTreeCache();
+
 
   /**
    * This service is being activated so setup it:
@@ -345,7 +349,8 @@ public class RepositoryJpaMetadataProviderImpl extends AbstractMemberDiscovering
           }
 
           // Create FinderMethods
-          PartTree finder = new PartTree(finderName, entityMemberDetails, this, finderReturnType);
+          PartTree finder =
+              partTreeCache.get(finderName, entityMemberDetails, this, finderReturnType);
 
           Validate
               .notNull(
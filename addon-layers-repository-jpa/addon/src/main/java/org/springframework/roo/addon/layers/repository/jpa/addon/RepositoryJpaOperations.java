@@ -26,16 +26,25 @@ public interface RepositoryJpaOperations {
    * @param domainType the JavaType representing the domain entity this repository should expose.
    * @param defaultReturnType the JavaType of the findAll search results.
    * @param failOnComposition whatever should fail if a should-not-generate-repository-entity is received as parameter
+   * @param keysetPagination whether the custom repository should include a keyset pagination method
+   * @param skipCount whether the custom repository should include a count-free pagination method
+   * @param queryCache whether the queries of the custom repository should be cacheable, which
+   *            requires a cacheable entity
    */
   void addRepository(JavaType interfaceType, JavaType domainType, JavaType defaultReturnType,
-      boolean failOnComposition);
+      boolean failOnComposition, boolean keysetPagination, boolean skipCount, boolean queryCache);
 
   /**
    * Add new repository for all existing entities.
    *
    * @param repositoriesPackage package where repositories will be generated
+   * @param keysetPagination whether the custom repositories should include a keyset pagination method
+   * @param skipCount whether the custom repositories should include a count-free pagination method
+   * @param queryCache whether the queries of the custom repositories of the cacheable entities
+   *            should be cacheable
    */
-  void generateAllRepositories(JavaPackage repositoriesPackage);
+  void generateAllRepositories(JavaPackage repositoriesPackage, boolean keysetPagination,
+      boolean skipCount, boolean queryCache);
 
   /**
    * Informs a DomainType (entity) should or shouldn't has a repository.
@@ -4,6 +4,7 @@ import static java.lang.reflect.Modifier.PUBLIC;
 import static org.springframework.roo.model.RooJavaType.ROO_READ_ONLY_REPOSITORY;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.felix.scr.annotations.Component;
@@ -30,6 +31,7 @@ import org.springframework.roo.metadata.MetadataService;
 import org.springframework.roo.model.JavaPackage;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
+import org.springframework.roo.model.JpaJavaType;
 import org.springframework.roo.model.RooJavaType;
 import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.model.SpringletsJavaType;
@@ -89,7 +91,8 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
   }
 
   @Override
-  public void generateAllRepositories(JavaPackage repositoriesPackage) {
+  public void generateAllRepositories(JavaPackage repositoriesPackage, boolean keysetPagination,
+      boolean skipCount, boolean queryCache) {
     // Getting all project entities
     Set<ClassOrInterfaceTypeDetails> entities =
         getTypeLocationService().findClassesOrInterfaceDetailsWithAnnotation(
@@ -109,15 +112,18 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
               .concat(entity.getType().getSimpleTypeName()).concat("Repository"),
               repositoriesPackage.getModule());
 
-      // Delegate on simple add repository method
-      addRepository(interfaceType, entity.getType(), null, false);
+      // Delegate on simple add repository method. The query cache is only
+      // used by the cacheable entities
+      addRepository(interfaceType, entity.getType(), null, false, keysetPagination, skipCount,
+          queryCache && isCacheable(entity));
     }
 
   }
 
   @Override
   public void addRepository(JavaType interfaceType, final JavaType domainType,
-      JavaType defaultReturnType, boolean failOnComposition) {
+      JavaType defaultReturnType, boolean failOnComposition, boolean keysetPagination,
+      boolean skipCount, boolean queryCache) {
     Validate.notNull(domainType, "ERROR: You must specify a valid Entity. ");
 
     if (getProjectOperations().isMultimoduleProject()) {
@@ -140,6 +146,13 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
     Validate.notNull(entityAnnotation,
         "ERROR: Provided entity should be annotated with @RooJpaEntity");
 
+    // The query cache only keeps the identifiers of the results, so the
+    // entities must be in the second-level cache too
+    Validate.isTrue(!queryCache || isCacheable(entityDetails),
+        "ERROR: The query cache requires a cacheable entity. Create '%s' with "
+            + "`entity jpa --cacheStrategy` or annotate it with @Cacheable",
+        domainType.getSimpleTypeName());
+
     if (!shouldGenerateRepository(entityDetails)) {
       if (failOnComposition) {
         throw new IllegalArgumentException(
@@ -219,7 +232,7 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
     // By default, generate RepositoryCustom interface and its
     // implementation that allow developers to include its dynamic queries
     // using QueryDSL
-    addRepositoryCustom(domainType, interfaceType);
+    addRepositoryCustom(domainType, interfaceType, keysetPagination, skipCount, queryCache);
 
     // Add dependencies between modules
     getProjectOperations().addModuleDependency(interfaceType.getModule(), domainType.getModule());
@@ -286,10 +299,14 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
    * @param repositoryType
    * @param repositoryPackage
    * @param defaultReturnType
+   * @param keysetPagination
+   * @param skipCount
+   * @param queryCache
    *
    * @return JavaType with new RepositoryCustom interface.
    */
-  private JavaType addRepositoryCustom(JavaType domainType, JavaType repositoryType) {
+  private JavaType addRepositoryCustom(JavaType domainType, JavaType repositoryType,
+      boolean keysetPagination, boolean skipCount, boolean queryCache) {
 
     // Getting RepositoryCustom interface JavaType
     JavaType interfaceType = getCustomRepositoryJavaTypeFor(repositoryType);
@@ -316,6 +333,15 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
         new AnnotationMetadataBuilder(RooJavaType.ROO_REPOSITORY_JPA_CUSTOM);
     repositoryCustomAnnotationMetadata.addAttribute(new ClassAttributeValue(new JavaSymbolName(
         "entity"), domainType));
+    if (keysetPagination) {
+      repositoryCustomAnnotationMetadata.addBooleanAttribute("keysetPagination", true);
+    }
+    if (skipCount) {
+      repositoryCustomAnnotationMetadata.addBooleanAttribute("skipCount", true);
+    }
+    if (queryCache) {
+      repositoryCustomAnnotationMetadata.addBooleanAttribute("queryCache", true);
+    }
 
     interfaceBuilder.addAnnotation(repositoryCustomAnnotationMetadata);
 
@@ -677,6 +703,27 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
     return shouldGenerateRepository(entityDetails);
   }
 
+  /**
+   * Returns whether the given entity is stored in the second-level cache,
+   * i.e. it has a cache concurrency strategy in its @RooJpaEntity annotation
+   * or it is annotated with @Cacheable
+   *
+   * @param entity the entity details (required)
+   * @return true if the entity is cacheable
+   */
+  static boolean isCacheable(ClassOrInterfaceTypeDetails entity) {
+    if (entity.getAnnotation(JpaJavaType.CACHEABLE) != null) {
+      return true;
+    }
+    AnnotationMetadata entityAnnotation = entity.getAnnotation(RooJavaType.ROO_JPA_ENTITY);
+    if (entityAnnotation == null) {
+      return false;
+    }
+    AnnotationAttributeValue<String> cacheStrategy =
+        entityAnnotation.getAttribute("cacheConcurrencyStrategy");
+    return cacheStrategy != null && StringUtils.isNotBlank(cacheStrategy.getValue());
+  }
+
   private boolean shouldGenerateRepository(ClassOrInterfaceTypeDetails entity) {
     Pair<FieldMetadata, RelationInfo> compositionRelation =
         getJpaOperations().getFieldChildPartOfCompositionRelation(entity);
@@ -20,6 +20,7 @@ import org.springframework.roo.addon.layers.repository.jpa.addon.RepositoryJpaLo
 import org.springframework.roo.addon.layers.repository.jpa.addon.RepositoryJpaMetadata;
 import org.springframework.roo.addon.layers.repository.jpa.addon.finder.parser.FinderAutocomplete;
 import org.springframework.roo.addon.layers.repository.jpa.addon.finder.parser.PartTree;
+import org.springframework.roo.addon.layers.repository.jpa.addon.finder.parser.PartTreeCache;
 import org.springframework.roo.classpath.TypeLocationService;
 import org.springframework.roo.classpath.TypeManagementService;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
@@ -76,6 +77,9 @@ public class FinderCommands implements CommandMarker, FinderAutocomplete {
   // Map where entity details will be cached
   private Map<JavaType, MemberDetails> entitiesDetails;
 
+  // Parsed finder names, reused while autocompleting and adding finders
+  private final PartTreeCache partTreeCache = new PartTreeCache();
+
 
   protected void activate(final ComponentContext context) {
     this.context = context.getBundleContext();
@@ -163,7 +167,8 @@ public class FinderCommands implements CommandMarker, FinderAutocomplete {
     try {
 
       // Use PartTree class to obtain all possible values
-      PartTree part = new PartTree(name, getEntityDetails(contextParameters.get("entity")), this);
+      PartTree part =
+          partTreeCache.get(name, getEntityDetails(contextParameters.get("entity")), this, null);
 
       // Check if part has value
       if (part != null) {
@@ -374,7 +379,8 @@ public class FinderCommands implements CommandMarker, FinderAutocomplete {
               + "which can be specified with `--defaultReturnType` parameter in `repository jpa` command.") JavaType returnType) {
 
     // Check if specified finderName follows Spring Data nomenclature
-    PartTree partTree = new PartTree(finderName.getSymbolName(), getEntityDetails(entity), this);
+    PartTree partTree =
+        partTreeCache.get(finderName.getSymbolName(), getEntityDetails(entity), this, null);
 
     // If generated partTree is not valid, shows an exception
     Validate
@@ -31,7 +31,7 @@ import org.springframework.roo.classpath.details.FieldMetadata;
  */
 public class OrderBySource {
 
-  private static final String BLOCK_SPLIT = "(?<=Asc|Desc)(?=\\p{Lu}|\\z)";
+  private static final Pattern BLOCK_SPLIT = Pattern.compile("(?<=Asc|Desc)(?=\\p{Lu}|\\z)");
   private static final Pattern DIRECTION_SPLIT = Pattern.compile("(.*?)(Asc|Desc)?$");
   private static final String INVALID_ORDER_SYNTAX = "Invalid order syntax for part %s!";
   private static final Set<String> DIRECTION_KEYWORDS = new HashSet<String>(Arrays.asList("Asc",
@@ -62,7 +62,7 @@ public class OrderBySource {
     this.fields = fields;
 
     // Extract order properties
-    for (String part : clause.split(BLOCK_SPLIT, -1)) {
+    for (String part : BLOCK_SPLIT.split(clause, -1)) {
 
       Matcher matcher = DIRECTION_SPLIT.matcher(part);
 
@@ -4,7 +4,10 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -13,6 +16,7 @@ import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.roo.classpath.details.FieldMetadata;
 import org.springframework.roo.classpath.details.MemberHoldingTypeDetails;
+import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
 import org.springframework.roo.classpath.scanner.MemberDetails;
 import org.springframework.roo.model.DataType;
 import org.springframework.roo.model.JavaType;
@@ -41,6 +45,13 @@ import org.springframework.roo.model.JpaJavaType;
 public class PartTree {
 
   private static final String KEYWORD_TEMPLATE = "(%s)(?=(\\p{Lu}|\\z))";
+
+  /**
+   * Compiled patterns used to split queries, by keyword. Keywords are a few
+   * constants, so patterns are compiled once instead of on every split.
+   */
+  private static final Map<String, Pattern> KEYWORD_PATTERNS =
+      new ConcurrentHashMap<String, Pattern>();
   private static final Pattern PREFIX_TEMPLATE = Pattern.compile("^(" + Subject.QUERY_PATTERN + "|"
       + Subject.COUNT_PATTERN + ")((\\p{Lu}.*?))??By");
 
@@ -82,6 +93,13 @@ public class PartTree {
    */
   List<FinderParameter> finderParameters;
 
+  /**
+   * Fingerprints of the related entities whose properties have been used
+   * by this PartTree, by entity type. Used by {@link PartTreeCache} to
+   * check if this PartTree is still valid.
+   */
+  private final Map<JavaType, String> relatedEntities = new ConcurrentHashMap<JavaType, String>();
+
   /**
    * Creates a new {@link PartTree} by parsing the given {@link String}.
    *
@@ -272,6 +290,7 @@ public class PartTree {
     if (finderAutocomplete != null) {
 
       final MemberDetails entityDetails = finderAutocomplete.getEntityDetails(javaType);
+      relatedEntities.put(javaType, getFingerprint(entityDetails));
 
       if (entityDetails != null) {
         return getValidProperties((List<FieldMetadata>) entityDetails.getFields());
@@ -437,10 +456,58 @@ public class PartTree {
    */
   static String[] split(String text, String keyword, int limit) {
 
-    Pattern pattern = Pattern.compile(String.format(KEYWORD_TEMPLATE, keyword));
+    Pattern pattern = KEYWORD_PATTERNS.get(keyword);
+    if (pattern == null) {
+      pattern = Pattern.compile(String.format(KEYWORD_TEMPLATE, keyword));
+      KEYWORD_PATTERNS.put(keyword, pattern);
+    }
     return pattern.split(text, limit);
   }
 
+  /**
+   * Returns a value which changes when the properties of the given entity
+   * details that are used to parse queries change: the entity types and
+   * the name, type, modifier and annotations of every field.
+   *
+   * @param memberDetails the entity details (can be null)
+   * @return the fingerprint, or an empty String if details are null
+   */
+  static String getFingerprint(MemberDetails memberDetails) {
+    if (memberDetails == null) {
+      return "";
+    }
+    StringBuilder fingerprint = new StringBuilder();
+    for (MemberHoldingTypeDetails detail : memberDetails.getDetails()) {
+      fingerprint.append(detail.getType()).append(';');
+    }
+    for (FieldMetadata field : memberDetails.getFields()) {
+      fingerprint.append(field.getFieldName()).append(':').append(field.getFieldType())
+          .append(':').append(field.getModifier());
+      for (AnnotationMetadata annotation : field.getAnnotations()) {
+        fingerprint.append('@').append(annotation.getAnnotationType());
+      }
+      fingerprint.append(';');
+    }
+    return fingerprint.toString();
+  }
+
+  /**
+   * Returns true if the related entities used by this PartTree haven't
+   * changed since they were used, so this PartTree can be reused for the
+   * same query and entity.
+   *
+   * @return
+   */
+  boolean isRelatedEntitiesUnchanged() {
+    for (Entry<JavaType, String> relatedEntity : relatedEntities.entrySet()) {
+      if (!relatedEntity.getValue().equals(
+          getFingerprint(finderAutocomplete.getEntityDetails(relatedEntity.getKey())))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Returns true if PartTree query is well-defined and the query generated is the same that the one used to build its structure.
    * @return
@@ -0,0 +1,89 @@
+package org.springframework.roo.addon.layers.repository.jpa.addon.finder.parser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.Validate;
+import org.springframework.roo.classpath.scanner.MemberDetails;
+import org.springframework.roo.model.JavaType;
+
+/**
+ * Least recently used cache of parsed {@link PartTree}s, so finders are not
+ * parsed again every time repository metadata is generated or every time
+ * finder names are autocompleted.
+ *
+ * PartTrees are cached by query, return type and a fingerprint of the entity
+ * details. A cached PartTree is only reused if the related entities whose
+ * properties were used to parse it haven't changed either.
+ *
+ * @since 2.0
+ */
+public class PartTreeCache {
+
+  private static final int DEFAULT_MAX_SIZE = 256;
+
+  private final Map<String, PartTree> cache;
+
+  public PartTreeCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * @param maxSize maximum number of cached PartTrees
+   */
+  public PartTreeCache(final int maxSize) {
+    Validate.isTrue(maxSize > 0, "Cache size must be positive");
+    this.cache = new LinkedHashMap<String, PartTree>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, PartTree> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the {@link PartTree} of the given query, parsing it only if it
+   * isn't cached or the entities it uses have changed.
+   *
+   * @param source the query to parse
+   * @param memberDetails the member details of the entity
+   * @param finderAutocomplete provider of the related entities details
+   * @param providedReturnType return type of the finder. Can be null.
+   * @return the PartTree
+   * @see PartTree#PartTree(String, MemberDetails, FinderAutocomplete, JavaType)
+   */
+  public PartTree get(final String source, final MemberDetails memberDetails,
+      final FinderAutocomplete finderAutocomplete, final JavaType providedReturnType) {
+    Validate.notNull(source, "Source must not be null");
+    Validate.notNull(memberDetails, "MemberDetails must not be null");
+
+    final String key =
+        new StringBuilder(source).append('|').append(providedReturnType).append('|')
+            .append(PartTree.getFingerprint(memberDetails)).toString();
+    PartTree partTree;
+    synchronized (cache) {
+      partTree = cache.get(key);
+    }
+    if (partTree != null && partTree.isRelatedEntitiesUnchanged()) {
+      return partTree;
+    }
+
+    partTree = new PartTree(source, memberDetails, finderAutocomplete, providedReturnType);
+    synchronized (cache) {
+      cache.put(key, partTree);
+    }
+    return partTree;
+  }
+
+  /**
+   * Removes all cached PartTrees.
+   */
+  public void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package org.springframework.roo.addon.layers.repository.jpa.addon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
+
+/**
+ * Unit test of the queries generated by {@link RepositoryJpaCustomImplMetadata}
+ *
+ * @since 2.0
+ */
+public class RepositoryJpaCustomImplMetadataTest {
+
+  private static final List<String> NONE = Collections.emptyList();
+
+  @Test
+  public void testQueryWithoutRelationsHasNoJoins() {
+    assertEquals("", RepositoryJpaCustomImplMetadata.getJoins("owner", NONE, NONE));
+  }
+
+  @Test
+  public void testCompositionsAreLeftJoined() {
+    assertEquals(".leftJoin(owner.address)",
+        RepositoryJpaCustomImplMetadata.getJoins("owner", Arrays.asList("address"), NONE));
+  }
+
+  @Test
+  public void testFetchedReferencesAreFetchJoined() {
+    assertEquals(".leftJoin(pet.owner).fetchJoin().leftJoin(pet.type).fetchJoin()",
+        RepositoryJpaCustomImplMetadata.getJoins("pet", NONE, Arrays.asList("owner", "type")));
+  }
+
+  @Test
+  public void testFetchedCompositionIsJoinedOnce() {
+    assertEquals(".leftJoin(owner.address).fetchJoin()", RepositoryJpaCustomImplMetadata.getJoins(
+        "owner", Arrays.asList("address"), Arrays.asList("address")));
+  }
+
+  @Test
+  public void testSliceReadsOneMoreElementWithoutCount() {
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+    RepositoryJpaCustomImplMetadata.appendFindAllSliceResult(bodyBuilder, "pageable", "List",
+        "Owner", "query", "SliceImpl");
+    String output = bodyBuilder.getOutput();
+
+    // The limit is a long, so the largest page size doesn't overflow
+    int limit = output.indexOf("query.limit(pageable.getPageSize() + 1L);");
+    int fetch = output.indexOf("List<Owner> content = query.fetch();");
+    assertTrue(limit >= 0);
+    assertTrue(limit < fetch);
+    assertTrue(output.contains("boolean hasNext = content.size() > pageable.getPageSize();"));
+    assertTrue(output.contains("content = content.subList(0, pageable.getPageSize());"));
+    assertTrue(output.contains("return new SliceImpl<Owner>(content, pageable, hasNext);"));
+    assertFalse(output.contains("fetchCount"));
+  }
+}
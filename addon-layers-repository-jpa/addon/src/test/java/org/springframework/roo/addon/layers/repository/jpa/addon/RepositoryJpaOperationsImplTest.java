@@ -0,0 +1,114 @@
+package org.springframework.roo.addon.layers.repository.jpa.addon;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Modifier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.classpath.PhysicalTypeCategory;
+import org.springframework.roo.classpath.PhysicalTypeIdentifier;
+import org.springframework.roo.classpath.TypeLocationService;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetailsBuilder;
+import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
+import org.springframework.roo.model.JavaType;
+import org.springframework.roo.model.JpaJavaType;
+import org.springframework.roo.model.RooJavaType;
+import org.springframework.roo.project.LogicalPath;
+import org.springframework.roo.project.Path;
+import org.springframework.roo.project.ProjectOperations;
+
+/**
+ * Unit test of {@link RepositoryJpaOperationsImpl}
+ *
+ * @since 2.0
+ */
+public class RepositoryJpaOperationsImplTest {
+
+  private static final JavaType ENTITY = new JavaType("com.foo.domain.Foo");
+
+  private static final String MID = PhysicalTypeIdentifier.createIdentifier(ENTITY,
+      LogicalPath.getInstance(Path.SRC_MAIN_JAVA, ""));
+
+  private TypeLocationService mockTypeLocationService;
+  private RepositoryJpaOperationsImpl repositoryJpaOperations;
+
+  @Before
+  public void setUp() throws InvalidSyntaxException {
+    mockTypeLocationService = mock(TypeLocationService.class);
+
+    final BundleContext mockBundleContext = mock(BundleContext.class);
+    registerService(mockBundleContext, TypeLocationService.class, mockTypeLocationService);
+    registerService(mockBundleContext, ProjectOperations.class, mock(ProjectOperations.class));
+    final ComponentContext mockComponentContext = mock(ComponentContext.class);
+    when(mockComponentContext.getBundleContext()).thenReturn(mockBundleContext);
+
+    repositoryJpaOperations = new RepositoryJpaOperationsImpl();
+    repositoryJpaOperations.activate(mockComponentContext);
+  }
+
+  private void registerService(final BundleContext mockBundleContext, final Class<?> serviceClass,
+      final Object service) throws InvalidSyntaxException {
+    final ServiceReference<?> mockReference = mock(ServiceReference.class);
+    when(mockBundleContext.getAllServiceReferences(serviceClass.getName(), null)).thenReturn(
+        new ServiceReference<?>[] {mockReference});
+    doReturn(service).when(mockBundleContext).getService(mockReference);
+  }
+
+  /**
+   * Creates the details of an entity with the given annotations
+   *
+   * @param annotationBuilders the annotations of the entity
+   */
+  private ClassOrInterfaceTypeDetails getEntityDetails(
+      final AnnotationMetadataBuilder... annotationBuilders) {
+    final ClassOrInterfaceTypeDetailsBuilder cidBuilder =
+        new ClassOrInterfaceTypeDetailsBuilder(MID, Modifier.PUBLIC, ENTITY,
+            PhysicalTypeCategory.CLASS);
+    for (final AnnotationMetadataBuilder annotationBuilder : annotationBuilders) {
+      cidBuilder.addAnnotation(annotationBuilder);
+    }
+    return cidBuilder.build();
+  }
+
+  @Test
+  public void testEntityWithoutCacheStrategyIsNotCacheable() {
+    assertFalse(RepositoryJpaOperationsImpl.isCacheable(getEntityDetails(
+        new AnnotationMetadataBuilder(RooJavaType.ROO_JPA_ENTITY))));
+  }
+
+  @Test
+  public void testEntityWithCacheStrategyIsCacheable() {
+    final AnnotationMetadataBuilder entityAnnotation =
+        new AnnotationMetadataBuilder(RooJavaType.ROO_JPA_ENTITY);
+    entityAnnotation.addStringAttribute("cacheConcurrencyStrategy", "READ_WRITE");
+
+    assertTrue(RepositoryJpaOperationsImpl.isCacheable(getEntityDetails(entityAnnotation)));
+  }
+
+  @Test
+  public void testEntityAnnotatedWithCacheableIsCacheable() {
+    assertTrue(RepositoryJpaOperationsImpl.isCacheable(getEntityDetails(
+        new AnnotationMetadataBuilder(RooJavaType.ROO_JPA_ENTITY), new AnnotationMetadataBuilder(
+            JpaJavaType.CACHEABLE))));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testQueryCacheOfEntityNotCacheableIsRejected() {
+    // Set up
+    when(mockTypeLocationService.getTypeDetails(ENTITY)).thenReturn(
+        getEntityDetails(new AnnotationMetadataBuilder(RooJavaType.ROO_JPA_ENTITY)));
+
+    // Invoke
+    repositoryJpaOperations.addRepository(null, ENTITY, null, true, false, false, true);
+  }
+}
@@ -0,0 +1,113 @@
+package org.springframework.roo.addon.layers.repository.jpa.addon.finder.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.springframework.roo.classpath.PhysicalTypeCategory;
+import org.springframework.roo.classpath.details.DefaultClassOrInterfaceTypeDetails;
+import org.springframework.roo.classpath.details.DefaultFieldMetadata;
+import org.springframework.roo.classpath.details.FieldMetadata;
+import org.springframework.roo.classpath.details.MemberHoldingTypeDetails;
+import org.springframework.roo.classpath.scanner.MemberDetails;
+import org.springframework.roo.classpath.scanner.MemberDetailsImpl;
+import org.springframework.roo.model.CustomDataImpl;
+import org.springframework.roo.model.JavaSymbolName;
+import org.springframework.roo.model.JavaType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link PartTreeCache}.
+ */
+public class PartTreeCacheTest {
+
+  private static final JavaType OWNER = new JavaType("Owner");
+  private static final JavaType PET = new JavaType("Pet");
+
+  private final Map<JavaType, MemberDetails> entities = new HashMap<JavaType, MemberDetails>();
+
+  private final FinderAutocomplete finderAutocomplete = new FinderAutocomplete() {
+
+    @Override
+    public MemberDetails getEntityDetails(JavaType entity) {
+      return entities.get(entity);
+    }
+  };
+
+  private MemberDetails createEntity(JavaType entity, String... fields) {
+    List<FieldMetadata> declaredFields = new ArrayList<FieldMetadata>();
+    for (int i = 0; i < fields.length; i += 2) {
+      declaredFields.add(new DefaultFieldMetadata(new CustomDataImpl(
+          new HashMap<Object, Object>()), entity.getSimpleTypeName(), 0, null, new JavaSymbolName(
+          fields[i]), new JavaType(fields[i + 1]), null));
+    }
+    List<MemberHoldingTypeDetails> details = new ArrayList<MemberHoldingTypeDetails>();
+    details.add(new DefaultClassOrInterfaceTypeDetails(new CustomDataImpl(
+        new HashMap<Object, Object>()), entity.getSimpleTypeName(), 0, null, entity,
+        PhysicalTypeCategory.CLASS, null, declaredFields, null, null, null, null, null, null,
+        null, null));
+    MemberDetails memberDetails = new MemberDetailsImpl(details);
+    entities.put(entity, memberDetails);
+    return memberDetails;
+  }
+
+  @Test
+  public void reusesPartTreeOfUnchangedEntity() {
+    PartTreeCache cache = new PartTreeCache();
+
+    PartTree partTree =
+        cache.get("findByName", createEntity(OWNER, "name", "java.lang.String"),
+            finderAutocomplete, null);
+
+    assertTrue(partTree.isValid());
+    assertSame(partTree, cache.get("findByName",
+        createEntity(OWNER, "name", "java.lang.String"), finderAutocomplete, null));
+  }
+
+  @Test
+  public void parsesAgainWhenEntityChanges() {
+    PartTreeCache cache = new PartTreeCache();
+
+    PartTree partTree =
+        cache.get("findByName", createEntity(OWNER, "name", "java.lang.String"),
+            finderAutocomplete, null);
+    PartTree changed =
+        cache.get("findByName", createEntity(OWNER, "name", "java.lang.Integer"),
+            finderAutocomplete, null);
+
+    assertNotSame(partTree, changed);
+  }
+
+  @Test
+  public void parsesAgainWhenRelatedEntityChanges() {
+    PartTreeCache cache = new PartTreeCache();
+    MemberDetails owner = createEntity(OWNER, "pet", "Pet");
+    createEntity(PET, "name", "java.lang.String");
+
+    PartTree partTree = cache.get("findByPetName", owner, finderAutocomplete, null);
+    assertTrue(partTree.isValid());
+
+    createEntity(PET, "age", "java.lang.Integer");
+    PartTree changed = cache.get("findByPetName", owner, finderAutocomplete, null);
+
+    assertNotSame(partTree, changed);
+    assertEquals(false, changed.isValid());
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsed() {
+    PartTreeCache cache = new PartTreeCache(1);
+    MemberDetails owner = createEntity(OWNER, "name", "java.lang.String");
+
+    PartTree partTree = cache.get("findByName", owner, finderAutocomplete, null);
+    cache.get("countByName", owner, finderAutocomplete, null);
+
+    assertNotSame(partTree, cache.get("findByName", owner, finderAutocomplete, null));
+  }
+}
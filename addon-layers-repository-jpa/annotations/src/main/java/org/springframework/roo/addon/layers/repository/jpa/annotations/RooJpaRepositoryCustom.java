@@ -29,4 +29,38 @@ public @interface RooJpaRepositoryCustom {
    */
   Class<?> entity(); // No default => mandatory
 
+  /**
+   * Whether to generate a <code>findAllAfter</code> method, which returns
+   * the slice of entities following the given identifier. Unlike
+   * <code>findAll</code>, it doesn't skip an offset nor count the results,
+   * so its cost doesn't grow with the depth of the slice.
+   *
+   * @return true to generate the keyset pagination method
+   */
+  boolean keysetPagination() default false;
+
+  /**
+   * Whether to generate a <code>findAllSlice</code> method, which returns the
+   * same elements as <code>findAll</code> in a <code>Slice</code>. It reads
+   * one more element than the page size to know if there is a next page,
+   * instead of running a count query.
+   *
+   * @return true to generate the count-free pagination method
+   */
+  boolean skipCount() default false;
+
+  /**
+   * Whether the queries of the generated <code>findAll</code> and finder
+   * implementations are stored in the Hibernate query cache. It only pays
+   * off for entities which are read much more often than they are
+   * modified, as any change to the entity table invalidates the cached
+   * results. The query cache only keeps the identifiers of the results, so
+   * the entity must be in the second-level cache too, i.e. it must have a
+   * cache concurrency strategy or be annotated with @Cacheable. Otherwise,
+   * this attribute is ignored.
+   *
+   * @return true to make the generated queries cacheable
+   */
+  boolean queryCache() default false;
+
 }
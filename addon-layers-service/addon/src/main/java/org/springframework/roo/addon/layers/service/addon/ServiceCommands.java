@@ -386,7 +386,27 @@ public class ServiceCommands implements CommandMarker {
               + "focused module will be used. "
               + "This option is available only when `--all` parameter has been specified. "
               + "Default value if not present: `~.service.impl` package, or 'service-impl:~.' if "
-              + "multi-module project.") JavaPackage implPackage) {
+              + "multi-module project.") JavaPackage implPackage,
+      @CliOption(
+          key = "cacheable",
+          mandatory = false,
+          specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Indicates if the service implementations should cache the entities read by "
+              + "their identifiers, evicting them when they are saved, deleted or their relations "
+              + "change. Use `cache setup` to configure the cache provider. The cached entities "
+              + "are detached, so entities with lazy references must fetch them along with the "
+              + "entity (see the `--fetchReferences` option of `entity jpa`). "
+              + "Default if option present: `true`; default if option not present: `false`.") boolean cacheable,
+      @CliOption(
+          key = "batchSize",
+          mandatory = false,
+          help = "The number of entities the batch save method of the service implementations "
+              + "persists before flushing and clearing the persistence context. Clearing it "
+              + "detaches every entity managed by the caller's transaction, not only the saved "
+              + "ones, so they must be reloaded before being used again. Use the same "
+              + "value as `jpa setup --batchSize` so every chunk is sent in a single JDBC batch. "
+              + "Default if option not present: the whole batch is saved at once.") Integer batchSize) {
 
     if (all) {
 
@@ -446,9 +466,10 @@ public class ServiceCommands implements CommandMarker {
         }
       }
 
-      serviceOperations.addAllServices(apiPackage, implPackage);
+      serviceOperations.addAllServices(apiPackage, implPackage, cacheable, batchSize);
     } else {
-      serviceOperations.addService(domainType, repositoryType, interfaceType, implType);
+      serviceOperations.addService(domainType, repositoryType, interfaceType, implType,
+          cacheable, batchSize);
     }
   }
 
@@ -19,6 +19,12 @@ public class ServiceImplAnnotationValues extends AbstractAnnotationValues {
   @AutoPopulate
   private JavaType service;
 
+  @AutoPopulate
+  private boolean cacheable;
+
+  @AutoPopulate
+  private int batchSize;
+
   /**
    * Constructor
    * 
@@ -29,8 +35,16 @@ public class ServiceImplAnnotationValues extends AbstractAnnotationValues {
     AutoPopulationUtils.populate(this, annotationMetadata);
   }
 
+  public int getBatchSize() {
+    return batchSize;
+  }
+
   public JavaType getService() {
     return service;
   }
 
+  public boolean isCacheable() {
+    return cacheable;
+  }
+
 }
@@ -19,7 +19,11 @@ import org.springframework.roo.classpath.details.MethodMetadata;
 import org.springframework.roo.classpath.details.MethodMetadataBuilder;
 import org.springframework.roo.classpath.details.annotations.AnnotatedJavaType;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
+import org.springframework.roo.classpath.details.annotations.AnnotationAttributeValue;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
+import org.springframework.roo.classpath.details.annotations.ArrayAttributeValue;
+import org.springframework.roo.classpath.details.annotations.NestedAnnotationAttributeValue;
+import org.springframework.roo.classpath.details.annotations.StringAttributeValue;
 import org.springframework.roo.classpath.itd.AbstractItdTypeDetailsProvidingMetadataItem;
 import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
 import org.springframework.roo.classpath.operations.Cardinality;
@@ -28,6 +32,7 @@ import org.springframework.roo.model.ImportRegistrationResolver;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.JdkJavaType;
+import org.springframework.roo.model.JpaJavaType;
 import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.model.SpringletsJavaType;
 import org.springframework.roo.project.LogicalPath;
@@ -61,6 +66,9 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
   private static final AnnotationMetadata LAZY_ANNOTATION = new AnnotationMetadataBuilder(
       SpringJavaType.LAZY).build();
   private static final JavaSymbolName FIND_ONE_DETACHED = new JavaSymbolName("findOneDetached");
+  private static final String FIND_ALL_CACHE_SUFFIX = ".findAll";
+  private static final JavaSymbolName ENTITY_MANAGER_FIELD_NAME = new JavaSymbolName(
+      "entityManager");
 
   private ImportRegistrationResolver importResolver;
 
@@ -75,6 +83,9 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
   private final JpaEntityMetadata entityMetadata;
   private final List<Pair<FieldMetadata, RelationInfo>> childRelationsInfo;
   private final JavaType entityIdentifierType;
+  private final boolean cacheable;
+  private final int batchSize;
+  private final FieldMetadata entityManagerField;
 
   // Temporal arrays don't share
   private ArrayList<MethodMetadata> pendingTransactionalMethodToAdd;
@@ -120,13 +131,19 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
    * @param serviceMetadata
    * @param requiredServicesByEntity
    * @param childRelationsInfo
+   * @param cacheable whether the service caches the entities read by their
+   *            identifiers
+   * @param batchSize the number of entities the batch save method persists
+   *            before flushing and clearing the persistence context, or 0 to
+   *            save the whole batch at once
    */
   public ServiceImplMetadata(final String identifier, final JavaType aspectName,
       final PhysicalTypeMetadata governorPhysicalTypeMetadata, final JavaType serviceInterface,
       final JavaType repository, RepositoryJpaMetadata repositoryMetadata, final JavaType entity,
       JpaEntityMetadata entityMetadata, ServiceMetadata serviceMetadata,
       Map<JavaType, ServiceMetadata> requiredServicesByEntity,
-      List<Pair<FieldMetadata, RelationInfo>> childRelationsInfo) {
+      List<Pair<FieldMetadata, RelationInfo>> childRelationsInfo, boolean cacheable,
+      int batchSize) {
     super(identifier, aspectName, governorPhysicalTypeMetadata);
 
     this.importResolver = builder.getImportRegistrationResolver();
@@ -141,6 +158,8 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
     this.entityMetadata = entityMetadata;
     this.childRelationsInfo = childRelationsInfo;
     this.entityIdentifierType = serviceMetadata.getIdType();
+    this.cacheable = cacheable;
+    this.batchSize = batchSize;
 
     // All services should include @Service annotation
     AnnotationMetadataBuilder serviceAnnotation =
@@ -172,6 +191,15 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
     this.requiredServiceFieldByEntity =
         Collections.unmodifiableMap(requiredServiceFieldByEntityTemp);
 
+    // The batch save method flushes and clears the persistence context
+    // every batchSize entities
+    if (batchSize > 0) {
+      this.entityManagerField = getEntityManagerField();
+      ensureGovernorHasField(new FieldMetadataBuilder(this.entityManagerField));
+    } else {
+      this.entityManagerField = null;
+    }
+
     // Check if there is an @Autowired constructor declared in type
     List<? extends ConstructorMetadata> constructors =
         governorTypeDetails.getDeclaredConstructors();
@@ -306,6 +334,8 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
     final String saveMethod =
         serviceMetadata.getCurrentSaveMethod().getMethodName().getSymbolName();
 
+    buildReloadCachedEntity(bodyBuilder, param0);
+
     String childListVariable;
 
     if (childType.equals(param1TypeWrapped)) {
@@ -404,6 +434,8 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
     final String saveMethod =
         serviceMetadata.getCurrentSaveMethod().getMethodName().getSymbolName();
 
+    buildReloadCachedEntity(bodyBuilder, param0);
+
     String childListVariable = "items";
     // List<{childType}> {parentFieldName} =
     // {childService}.findAll({param1});
@@ -640,6 +672,9 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
         methodToBeImplemented.equals(this.serviceMetadata.getCurrentSaveMethod());
     boolean isFindOneForUpdate =
         methodToBeImplemented.getMethodName().getSymbolName().equals("findOneForUpdate");
+    boolean isChunkedSaveBatch =
+        batchSize > 0
+            && methodToBeImplemented.equals(this.serviceMetadata.getCurrentSaveBatchMethod());
 
     InvocableMemberBodyBuilder bodyBuilder;
     if (isDelete) {
@@ -648,6 +683,8 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
       bodyBuilder = builSaveMethodBody(methodToBeImplemented);
     } else if (isFindOneForUpdate) {
       bodyBuilder = buildFindOneForUpdateBody(methodToBeImplemented);
+    } else if (isChunkedSaveBatch) {
+      bodyBuilder = buildChunkedSaveBatchMethodBody(methodToBeImplemented);
     } else {
       bodyBuilder = builMethodBody(methodToBeImplemented);
     }
@@ -690,10 +727,277 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
       methodBuilder.addAnnotation(transactionalAnnotation);
     }
 
+    // Adding @Cacheable or @CacheEvict
+    if (cacheable) {
+      addCacheAnnotation(methodBuilder, methodToBeImplemented);
+    }
+
     // Build and return a MethodMetadata instance
     return methodBuilder.build();
   }
 
+  /**
+   * Annotates the implementation of the given method to cache the entities
+   * read by their identifiers, and to evict them from the cache when they
+   * are modified
+   *
+   * @param methodBuilder the implementation of the method
+   * @param methodToBeImplemented
+   */
+  private void addCacheAnnotation(MethodMetadataBuilder methodBuilder,
+      MethodMetadata methodToBeImplemented) {
+    final String cacheName = getCacheName(entity);
+    final String findAllCacheName = cacheName.concat(FIND_ALL_CACHE_SUFFIX);
+    final String identifierField =
+        entityMetadata.getCurrentIndentifierField().getFieldName().getSymbolName();
+
+    if (methodToBeImplemented.equals(serviceMetadata.getCurrentFindOneMethod())) {
+
+      // @Cacheable(cacheNames = "Entity", key = "#p0", unless = "#result == null")
+      methodBuilder.addAnnotation(getCacheableAnnotation(cacheName, true));
+    } else if (methodToBeImplemented.equals(serviceMetadata.getCurrentFindAllIterableMethod())) {
+
+      // The entity graph only fetches the references of the entities read
+      // one by one, so the lists are cached if there are no references
+      // @Cacheable(cacheNames = "Entity.findAll", key = "#p0")
+      if (entityMetadata.getEntityGraphAttributes().isEmpty()) {
+        methodBuilder.addAnnotation(getCacheableAnnotation(findAllCacheName, false));
+      }
+    } else if (methodToBeImplemented.equals(serviceMetadata.getCurrentSaveMethod())
+        || methodToBeImplemented.equals(serviceMetadata.getCurrentDeleteMethod())) {
+
+      // @Caching(evict = {
+      //     @CacheEvict(cacheNames = "Entity", key = "#p0.id", condition = "#p0.id != null"),
+      //     @CacheEvict(cacheNames = "Entity.findAll", allEntries = true)})
+      methodBuilder.addAnnotation(getCachingEvictAnnotation(
+          getCacheEvictByIdAnnotation(cacheName, identifierField),
+          getCacheEvictAllAnnotation(findAllCacheName)));
+    } else if (methodToBeImplemented.equals(serviceMetadata.getCurrentSaveBatchMethod())
+        || methodToBeImplemented.equals(serviceMetadata.getCurrentDeleteBatchMethod())) {
+
+      // @CacheEvict(cacheNames = {"Entity", "Entity.findAll"}, allEntries = true)
+      methodBuilder.addAnnotation(getCacheEvictAllAnnotation(cacheName, findAllCacheName));
+    } else {
+      final RelationInfo relationInfo = getRelationInfoFor(methodToBeImplemented);
+      if (relationInfo != null) {
+
+        // The children of the relation change too, so they are evicted as well
+        // @Caching(evict = {
+        //     @CacheEvict(cacheNames = "Entity", key = "#p0.id", condition = "#p0.id != null"),
+        //     @CacheEvict(cacheNames = {"Entity.findAll", "Child", "Child.findAll"},
+        //         allEntries = true)})
+        final String childCacheName = getCacheName(relationInfo.childType);
+        methodBuilder.addAnnotation(getCachingEvictAnnotation(
+            getCacheEvictByIdAnnotation(cacheName, identifierField),
+            getCacheEvictAllAnnotation(findAllCacheName, childCacheName,
+                childCacheName.concat(FIND_ALL_CACHE_SUFFIX))));
+      }
+    }
+  }
+
+  /**
+   * Returns the relation managed by the given addTo, removeFrom or set
+   * method
+   *
+   * @param method
+   * @return the relation, or null if the method doesn't manage a relation
+   */
+  private RelationInfo getRelationInfoFor(MethodMetadata method) {
+    List<Map<RelationInfo, MethodMetadata>> relationMethods =
+        new ArrayList<Map<RelationInfo, MethodMetadata>>();
+    relationMethods.add(serviceMetadata.getAddToRelationMethods());
+    relationMethods.add(serviceMetadata.getRemoveFromRelationMethods());
+    relationMethods.add(serviceMetadata.getSetRelationMethods());
+    for (Map<RelationInfo, MethodMetadata> methods : relationMethods) {
+      for (Entry<RelationInfo, MethodMetadata> entry : methods.entrySet()) {
+        if (entry.getValue().equals(method)) {
+          return entry.getKey();
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Generates a @Cacheable annotation which caches the result of a method
+   * by its first parameter
+   *
+   * @param cacheName
+   * @param skipNull whether null results are not cached
+   * @return AnnotationMetadataBuilder
+   */
+  static AnnotationMetadataBuilder getCacheableAnnotation(String cacheName, boolean skipNull) {
+    AnnotationMetadataBuilder cacheableAnnotation =
+        new AnnotationMetadataBuilder(SpringJavaType.CACHEABLE);
+    cacheableAnnotation.addStringAttribute("cacheNames", cacheName);
+    cacheableAnnotation.addStringAttribute("key", "#p0");
+    if (skipNull) {
+      cacheableAnnotation.addStringAttribute("unless", "#result == null");
+    }
+    return cacheableAnnotation;
+  }
+
+  /**
+   * Generates a @CacheEvict annotation which evicts the entity received as
+   * first parameter, unless it hasn't been persisted yet
+   *
+   * @param cacheName
+   * @param identifierField the name of the identifier field of the entity
+   * @return AnnotationMetadataBuilder
+   */
+  static AnnotationMetadataBuilder getCacheEvictByIdAnnotation(String cacheName,
+      String identifierField) {
+    final String idProperty = "#p0.".concat(identifierField);
+    AnnotationMetadataBuilder cacheEvictAnnotation =
+        new AnnotationMetadataBuilder(SpringJavaType.CACHE_EVICT);
+    cacheEvictAnnotation.addStringAttribute("cacheNames", cacheName);
+    cacheEvictAnnotation.addStringAttribute("key", idProperty);
+    cacheEvictAnnotation.addStringAttribute("condition", idProperty.concat(" != null"));
+    return cacheEvictAnnotation;
+  }
+
+  /**
+   * Generates a @CacheEvict annotation which clears the given caches
+   *
+   * @param cacheNames
+   * @return AnnotationMetadataBuilder
+   */
+  static AnnotationMetadataBuilder getCacheEvictAllAnnotation(String... cacheNames) {
+    AnnotationMetadataBuilder cacheEvictAnnotation =
+        new AnnotationMetadataBuilder(SpringJavaType.CACHE_EVICT);
+    if (cacheNames.length == 1) {
+      cacheEvictAnnotation.addStringAttribute("cacheNames", cacheNames[0]);
+    } else {
+      List<StringAttributeValue> names = new ArrayList<StringAttributeValue>();
+      for (String cacheName : cacheNames) {
+        names.add(new StringAttributeValue(new JavaSymbolName("cacheNames"), cacheName));
+      }
+      cacheEvictAnnotation.addAttribute(new ArrayAttributeValue<StringAttributeValue>(
+          new JavaSymbolName("cacheNames"), names));
+    }
+    cacheEvictAnnotation.addBooleanAttribute("allEntries", true);
+    return cacheEvictAnnotation;
+  }
+
+  /**
+   * Generates a @Caching annotation which groups the given @CacheEvict
+   * annotations
+   *
+   * @param cacheEvictAnnotations
+   * @return AnnotationMetadataBuilder
+   */
+  static AnnotationMetadataBuilder getCachingEvictAnnotation(
+      AnnotationMetadataBuilder... cacheEvictAnnotations) {
+    List<AnnotationAttributeValue<?>> evicts = new ArrayList<AnnotationAttributeValue<?>>();
+    for (AnnotationMetadataBuilder cacheEvictAnnotation : cacheEvictAnnotations) {
+      evicts.add(new NestedAnnotationAttributeValue(new JavaSymbolName("evict"),
+          cacheEvictAnnotation.build()));
+    }
+    AnnotationMetadataBuilder cachingAnnotation =
+        new AnnotationMetadataBuilder(SpringJavaType.CACHING);
+    cachingAnnotation.addAttribute(new ArrayAttributeValue<AnnotationAttributeValue<?>>(
+        new JavaSymbolName("evict"), evicts));
+    return cachingAnnotation;
+  }
+
+  /**
+   * Returns the name of the cache of the entities of the given type, read
+   * by their identifiers. The lists of entities read by their identifiers
+   * are cached in another cache, named after this one plus ".findAll".
+   *
+   * @param entity
+   * @return the simple name of the entity
+   */
+  static String getCacheName(JavaType entity) {
+    return entity.getSimpleTypeName();
+  }
+
+  /**
+   * Reloads the entity received as first parameter, if the service is
+   * cacheable. The instances read from the cache are detached, so their lazy
+   * relations can't be modified.
+   *
+   * @param bodyBuilder
+   * @param param0 the name of the entity parameter
+   */
+  private void buildReloadCachedEntity(InvocableMemberBodyBuilder bodyBuilder,
+      JavaSymbolName param0) {
+    if (!cacheable) {
+      return;
+    }
+    appendReloadEntity(bodyBuilder, param0, getAccessorMethod(repositoryFieldMetadata)
+        .getMethodName(), entityMetadata.getCurrentIdentifierAccessor().getMethodName());
+  }
+
+  /**
+   * Reloads the given entity parameter from the repository, by its
+   * identifier
+   *
+   * @param bodyBuilder
+   * @param param0 the name of the entity parameter
+   * @param repositoryAccessor the name of the accessor of the repository
+   * @param identifierAccessor the name of the accessor of the entity identifier
+   */
+  static void appendReloadEntity(InvocableMemberBodyBuilder bodyBuilder, JavaSymbolName param0,
+      JavaSymbolName repositoryAccessor, JavaSymbolName identifierAccessor) {
+
+    // {param0} = {repoField}.findOne({param0}.getId());
+    bodyBuilder.appendFormalLine("// Reload the entity, as the cached instances are detached");
+    bodyBuilder.appendFormalLine("%1$s = %2$s().findOne(%1$s.%3$s());", param0,
+        repositoryAccessor, identifierAccessor);
+    bodyBuilder.appendFormalLine("");
+  }
+
+  /**
+   * Build the body of the batch save method, which saves the entities one by
+   * one, flushing and clearing the persistence context every
+   * {@link #batchSize} entities. This way each chunk is sent to the database
+   * in a JDBC batch and the saved entities don't stay managed until the
+   * transaction commits. Clearing the persistence context detaches every
+   * entity of the caller's transaction too, as documented on
+   * {@code RooServiceImpl.batchSize}.
+   *
+   * @param methodToBeImplemented
+   * @return
+   */
+  private InvocableMemberBodyBuilder buildChunkedSaveBatchMethodBody(
+      final MethodMetadata methodToBeImplemented) {
+    final InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    final JavaSymbolName param0 = methodToBeImplemented.getParameterNames().get(0);
+    final String entity = getNameOfJavaType(this.entity);
+    final JavaSymbolName entityManagerAccessor =
+        getAccessorMethod(this.entityManagerField).getMethodName();
+
+    // List<Entity> saved = new ArrayList<Entity>();
+    bodyBuilder.appendFormalLine("%s<%s> saved = new %s<%s>();",
+        getNameOfJavaType(JavaType.LIST), entity, getNameOfJavaType(JdkJavaType.ARRAY_LIST),
+        entity);
+
+    // for (Entity item : entities) {
+    bodyBuilder.appendFormalLine("for (%s item : %s) {", entity, param0);
+    bodyBuilder.indent();
+
+    // saved.add(getRepository().save(item));
+    bodyBuilder.appendFormalLine("saved.add(%s().save(item));",
+        getAccessorMethod(repositoryFieldMetadata).getMethodName());
+
+    // if (saved.size() % 50 == 0) {
+    bodyBuilder.appendFormalLine("if (saved.size() %% %s == 0) {", batchSize);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("// Send the pending statements and detach the saved entities");
+    bodyBuilder.appendFormalLine("%s().flush();", entityManagerAccessor);
+    bodyBuilder.appendFormalLine("%s().clear();", entityManagerAccessor);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+
+    // return saved;
+    bodyBuilder.appendFormalLine("return saved;");
+    return bodyBuilder;
+  }
+
   /**
    * Build method body which delegates on repository
    *
@@ -750,6 +1054,8 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
           methodToBeImplemented.getMethodName());
 
     } else {
+      buildReloadCachedEntity(bodyBuilder, param0);
+
       // Clear relations as child part
       for (Pair<FieldMetadata, RelationInfo> item : childRelationsInfo) {
         final RelationInfo info = item.getRight();
@@ -943,6 +1249,19 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
         new ArrayList<AnnotationMetadataBuilder>(), fieldName, type).build();
   }
 
+  /**
+   * This method returns the EntityManager field used by the batch save
+   * method to flush and clear the persistence context
+   *
+   * @return
+   */
+  private FieldMetadata getEntityManagerField() {
+    List<AnnotationMetadataBuilder> annotations = new ArrayList<AnnotationMetadataBuilder>();
+    annotations.add(new AnnotationMetadataBuilder(JpaJavaType.PERSISTENCE_CONTEXT));
+    return new FieldMetadataBuilder(getId(), Modifier.PRIVATE, annotations,
+        ENTITY_MANAGER_FIELD_NAME, JpaJavaType.ENTITY_MANAGER).build();
+  }
+
   public JavaType getEntity() {
     return entity;
   }
@@ -230,7 +230,7 @@ public class ServiceImplMetadataProviderImpl extends AbstractMemberDiscoveringIt
     return new ServiceImplMetadata(metadataIdentificationString, aspectName,
         governorPhysicalTypeMetadata, serviceInterface, repositoryDetails.getType(),
         repositoryMetadata, entity, entityMetadata, serviceMetadata, requiredServicesByEntity,
-        childRelationsInfo);
+        childRelationsInfo, annotationValues.isCacheable(), annotationValues.getBatchSize());
   }
 
   /**
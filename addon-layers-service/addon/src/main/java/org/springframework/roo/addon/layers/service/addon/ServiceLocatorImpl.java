@@ -5,11 +5,13 @@ import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.Service;
 import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.addon.layers.service.annotations.RooService;
 import org.springframework.roo.classpath.MetadataLocatorUtils;
 import org.springframework.roo.classpath.TypeLocationService;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.classpath.details.DefaultPhysicalTypeMetadata;
 import org.springframework.roo.metadata.MetadataDependencyRegistry;
+import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.RooJavaType;
 
@@ -25,6 +27,10 @@ import java.util.Collection;
 @Service
 public class ServiceLocatorImpl implements ServiceLocator {
 
+  private static final JavaSymbolName ENTITY_ATTRIBUTE = new JavaSymbolName(
+      RooService.ENTITY_ATTRIBUTE);
+  private static final JavaSymbolName SERVICE_ATTRIBUTE = new JavaSymbolName("service");
+
   @Reference
   private TypeLocationService typeLocationService;
   @Reference
@@ -97,6 +103,17 @@ public class ServiceLocatorImpl implements ServiceLocator {
       super(typeLocationService);
     }
 
+    @Override
+    protected JavaSymbolName getKeyAttribute(JavaType context) {
+      if (RooJavaType.ROO_SERVICE.equals(context)) {
+        return ENTITY_ATTRIBUTE;
+      }
+      if (RooJavaType.ROO_SERVICE_IMPL.equals(context)) {
+        return SERVICE_ATTRIBUTE;
+      }
+      return null;
+    }
+
     @Override
     public boolean evaluateForKey(JavaType key, ClassOrInterfaceTypeDetails valueToEvalueate,
         JavaType context) {
@@ -57,6 +57,8 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
   private final List<MethodMetadata> finders;
   private final MethodMetadata findAllGlobalSearchMethod;
   private final MethodMetadata findAllByIdsInGlobalSearchMethod;
+  private final MethodMetadata findAllAfterGlobalSearchMethod;
+  private final MethodMetadata findAllSliceGlobalSearchMethod;
   private final List<MethodMetadata> transactionalDefinedMethod;
   private final List<MethodMetadata> notTransactionalDefinedMethod;
   private final Map<FieldMetadata, MethodMetadata> countByReferenceFieldDefinedMethod;
@@ -75,6 +77,8 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
   private final MethodMetadata countMethod;
   private final MethodMetadata findAllWithGlobalSearchMethod;
   private final MethodMetadata findAllByIdsInWithGlobalSearchMethod;
+  private final MethodMetadata findAllAfterWithGlobalSearchMethod;
+  private final MethodMetadata findAllSliceWithGlobalSearchMethod;
   private final Map<JavaType, JpaEntityMetadata> relatedEntitiesMetadata;
   private final Set<MethodMetadata> allMethods;
   private final Map<RelationInfo, MethodMetadata> addToRelationMethods;
@@ -128,6 +132,12 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
    * @param repositoryMetadata
    * @param finders list of finders added to current entity
    * @param findAllGlobalSearchMethod MethodMetadata with findAllGlobalSearch method
+   * @param findAllByIdsInGlobalSearchMethod MethodMetadata with findAllByIdsIn method
+   * @param findAllAfterGlobalSearchMethod MethodMetadata with the keyset
+   *            pagination findAllAfter method, or null if the repository
+   *            doesn't have it
+   * @param findAllSliceGlobalSearchMethod MethodMetadata with the count-free
+   *            findAllSlice method, or null if the repository doesn't have it
    * @param referencedFieldsFindAllMethods
    * @param countByReferencedFieldsMethods
    * @param customCountMethods
@@ -141,6 +151,8 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
       RepositoryJpaMetadata repositoryMetadata, final List<MethodMetadata> finders,
       final MethodMetadata findAllGlobalSearchMethod,
       final MethodMetadata findAllByIdsInGlobalSearchMethod,
+      final MethodMetadata findAllAfterGlobalSearchMethod,
+      final MethodMetadata findAllSliceGlobalSearchMethod,
       final Map<FieldMetadata, MethodMetadata> referencedFieldsFindAllMethods,
       final Map<FieldMetadata, MethodMetadata> countByReferencedFieldsMethods,
       final List<MethodMetadata> customCountMethods,
@@ -162,6 +174,8 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
     this.finders = finders;
     this.findAllGlobalSearchMethod = findAllGlobalSearchMethod;
     this.findAllByIdsInGlobalSearchMethod = findAllByIdsInGlobalSearchMethod;
+    this.findAllAfterGlobalSearchMethod = findAllAfterGlobalSearchMethod;
+    this.findAllSliceGlobalSearchMethod = findAllSliceGlobalSearchMethod;
     this.repositoryFindersAndCounts = repositoryFindersAndCounts;
     this.repositoryCustomFindersAndCounts = repositoryCustomFindersAndCounts;
     this.relatedInfosWithServiceLayer = relatedInfosWithServiceLayer;
@@ -235,6 +249,8 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
       this.countMethod = null;
       this.findAllWithGlobalSearchMethod = null;
       this.findAllByIdsInWithGlobalSearchMethod = null;
+      this.findAllAfterWithGlobalSearchMethod = null;
+      this.findAllSliceWithGlobalSearchMethod = null;
 
     } else {
       // Add standard finders methods
@@ -255,6 +271,24 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
       this.findAllByIdsInWithGlobalSearchMethod = getFindAllByIdsInGlobalSearchMethod();
       notTransactionalDefinedMethod.add(findAllByIdsInWithGlobalSearchMethod);
       ensureGovernorHasMethod(new MethodMetadataBuilder(findAllByIdsInWithGlobalSearchMethod));
+
+      // Generating findAllAfter method if the repository uses keyset pagination
+      if (findAllAfterGlobalSearchMethod != null) {
+        this.findAllAfterWithGlobalSearchMethod = getFindAllAfterGlobalSearchMethod();
+        notTransactionalDefinedMethod.add(findAllAfterWithGlobalSearchMethod);
+        ensureGovernorHasMethod(new MethodMetadataBuilder(findAllAfterWithGlobalSearchMethod));
+      } else {
+        this.findAllAfterWithGlobalSearchMethod = null;
+      }
+
+      // Generating findAllSlice method if the repository skips the count queries
+      if (findAllSliceGlobalSearchMethod != null) {
+        this.findAllSliceWithGlobalSearchMethod = getFindAllSliceGlobalSearchMethod();
+        notTransactionalDefinedMethod.add(findAllSliceWithGlobalSearchMethod);
+        ensureGovernorHasMethod(new MethodMetadataBuilder(findAllSliceWithGlobalSearchMethod));
+      } else {
+        this.findAllSliceWithGlobalSearchMethod = null;
+      }
     }
 
     // Add relation management methods
@@ -589,6 +623,74 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
     // instance
   }
 
+  /**
+   * Method that generates method "findAllSlice" method, which returns the
+   * same entities as "findAll" without counting them.
+   *
+   * @return MethodMetadata
+   */
+  private MethodMetadata getFindAllSliceGlobalSearchMethod() {
+    // Define method name
+    JavaSymbolName methodName = this.findAllSliceGlobalSearchMethod.getMethodName();
+
+    // Define method parameter types
+    List<AnnotatedJavaType> parameterTypes =
+        this.findAllSliceGlobalSearchMethod.getParameterTypes();
+
+    // Define method parameter names
+    List<JavaSymbolName> parameterNames = this.findAllSliceGlobalSearchMethod.getParameterNames();
+
+    MethodMetadata existingMethod =
+        getGovernorMethod(methodName,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    // Use the MethodMetadataBuilder for easy creation of MethodMetadata
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC + Modifier.ABSTRACT, methodName,
+            this.findAllSliceGlobalSearchMethod.getReturnType(), parameterTypes, parameterNames,
+            null);
+
+    return methodBuilder.build(); // Build and return a MethodMetadata
+    // instance
+  }
+
+  /**
+   * Method that generates method "findAllAfter" method, which returns the
+   * slice of entities following the given identifier.
+   *
+   * @return MethodMetadata
+   */
+  private MethodMetadata getFindAllAfterGlobalSearchMethod() {
+    // Define method name
+    JavaSymbolName methodName = this.findAllAfterGlobalSearchMethod.getMethodName();
+
+    // Define method parameter types
+    List<AnnotatedJavaType> parameterTypes =
+        this.findAllAfterGlobalSearchMethod.getParameterTypes();
+
+    // Define method parameter names
+    List<JavaSymbolName> parameterNames = this.findAllAfterGlobalSearchMethod.getParameterNames();
+
+    MethodMetadata existingMethod =
+        getGovernorMethod(methodName,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    // Use the MethodMetadataBuilder for easy creation of MethodMetadata
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC + Modifier.ABSTRACT, methodName,
+            this.findAllAfterGlobalSearchMethod.getReturnType(), parameterTypes, parameterNames,
+            null);
+
+    return methodBuilder.build(); // Build and return a MethodMetadata
+    // instance
+  }
+
   /**
    * Method that generates method "findAll" method.
    *
@@ -1172,6 +1274,22 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
     return this.findAllByIdsInWithGlobalSearchMethod;
   }
 
+  /**
+   * @return method findAllAfter(GlobalSearch, ID, int) implemented in service,
+   *         or null if the repository doesn't use keyset pagination
+   */
+  public MethodMetadata getCurrentFindAllAfterWithGlobalSearchMethod() {
+    return this.findAllAfterWithGlobalSearchMethod;
+  }
+
+  /**
+   * @return method findAllSlice(GlobalSearch, Pageable) implemented in
+   *         service, or null if the repository doesn't skip the count queries
+   */
+  public MethodMetadata getCurrentFindAllSliceWithGlobalSearchMethod() {
+    return this.findAllSliceWithGlobalSearchMethod;
+  }
+
   /**
    * @return methods addToRelation generated in service
    */
@@ -316,6 +316,8 @@ public class ServiceMetadataProviderImpl extends AbstractMemberDiscoveringItdMet
         governorPhysicalTypeMetadata, entity, identifierType, entityMetadata, repositoryMetadata,
         finders, repositoryCustomMetadata.getCurrentFindAllGlobalSearchMethod(),
         repositoryCustomMetadata.getCurrentFindAllByIdsInGlobalSearchMethod(),
+        repositoryCustomMetadata.getCurrentFindAllAfterGlobalSearchMethod(),
+        repositoryCustomMetadata.getCurrentFindAllSliceGlobalSearchMethod(),
         repositoryCustomMetadata.getReferencedFieldsFindAllMethods(),
         countByReferencedFieldMethods, countMethods, relatedEntities, repositoryFindersAndCounts,
         repositoryCustomFindersAndCounts, relatedInfosWithServiceLayer);
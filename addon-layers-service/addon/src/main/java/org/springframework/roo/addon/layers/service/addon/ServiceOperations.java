@@ -27,9 +27,14 @@ public interface ServiceOperations {
    * @param repositoryType repository related with service
    * @param interfaceType service interface to generate
    * @param implType service implementation to generate. 
+   * @param cacheable whether the service caches the entities read by their
+   *            identifiers
+   * @param batchSize the number of entities the batch save method persists
+   *            before flushing and clearing the persistence context (can be
+   *            null)
    */
   void addService(JavaType domainType, JavaType repositoryType, JavaType interfaceType,
-      JavaType implType);
+      JavaType implType, boolean cacheable, Integer batchSize);
 
   /**
    * Generates new service interface and its implementation for some specific
@@ -47,7 +52,13 @@ public interface ServiceOperations {
    * 
    * @param apiPackage
    * @param implPackage
+   * @param cacheable whether the services cache the entities read by their
+   *            identifiers
+   * @param batchSize the number of entities the batch save methods persist
+   *            before flushing and clearing the persistence context (can be
+   *            null)
    */
-  void addAllServices(JavaPackage apiPackage, JavaPackage implPackage);
+  void addAllServices(JavaPackage apiPackage, JavaPackage implPackage, boolean cacheable,
+      Integer batchSize);
 
 }
@@ -17,9 +17,12 @@ import org.springframework.roo.classpath.TypeManagementService;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetailsBuilder;
 import org.springframework.roo.classpath.details.FieldMetadata;
+import org.springframework.roo.classpath.details.annotations.AnnotationAttributeValue;
+import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
 import org.springframework.roo.classpath.details.annotations.ClassAttributeValue;
 import org.springframework.roo.model.DataType;
+import org.springframework.roo.model.EnumDetails;
 import org.springframework.roo.model.JavaPackage;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
@@ -36,7 +39,9 @@ import org.springframework.roo.project.PathResolver;
 import org.springframework.roo.project.ProjectOperations;
 import org.springframework.roo.support.logging.HandlerUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -74,7 +79,8 @@ public class ServiceOperationsImpl implements ServiceOperations {
   }
 
   @Override
-  public void addAllServices(JavaPackage apiPackage, JavaPackage implPackage) {
+  public void addAllServices(JavaPackage apiPackage, JavaPackage implPackage,
+      boolean cacheable, Integer batchSize) {
     Validate.notNull(apiPackage.getModule(), "ApiPackage module is required");
     Validate.notNull(implPackage.getModule(), "ImplPackage module is required");
 
@@ -101,7 +107,8 @@ public class ServiceOperationsImpl implements ServiceOperations {
                   implPackage.getModule());
 
           // Delegates on individual service creator
-          addService(domainType.getType(), repository.getName(), interfaceType, implType);
+          addService(domainType.getType(), repository.getName(), interfaceType, implType,
+              cacheable, batchSize);
         }
       }
     }
@@ -150,13 +157,29 @@ public class ServiceOperationsImpl implements ServiceOperations {
       return;
     }
 
-    addService(domainType, repository.getName(), interfaceType, implType);
+    addService(domainType, repository.getName(), interfaceType, implType, false, null);
   }
 
   @Override
   public void addService(final JavaType domainType, JavaType repositoryType,
-      JavaType interfaceType, JavaType implType) {
+      JavaType interfaceType, JavaType implType, boolean cacheable, Integer batchSize) {
     Validate.notNull(domainType, "ERROR: Domain type required to be able to generate service.");
+    Validate.isTrue(batchSize == null || batchSize > 0, "ERROR: Batch size must be positive.");
+
+    // The cached entities are detached, so they must be read along with
+    // the references used by the application
+    if (cacheable) {
+      final ClassOrInterfaceTypeDetails entityDetails =
+          typeLocationService.getTypeDetails(domainType);
+      Validate.notNull(entityDetails, "ERROR: Entity '%s' not found.",
+          domainType.getFullyQualifiedTypeName());
+      final List<String> lazyReferences = getLazyReferences(entityDetails);
+      Validate
+          .isTrue(
+              lazyReferences.isEmpty(),
+              "ERROR: The service of '%s' can't be cacheable, as its references %s are loaded lazily and can't be loaded from the detached cached entities. Set 'fetchReferences = true' in its @RooJpaEntity annotation to fetch them along with the entity.",
+              domainType.getSimpleTypeName(), lazyReferences);
+    }
     if (projectOperations.isMultimoduleProject()) {
       Validate
           .notNull(repositoryType,
@@ -204,7 +227,47 @@ public class ServiceOperationsImpl implements ServiceOperations {
     createServiceInterface(domainType, interfaceType);
 
     // Generating service implementation
-    createServiceImplementation(interfaceType, implType, repository, domainType);
+    createServiceImplementation(interfaceType, implType, repository, domainType, cacheable,
+        batchSize);
+  }
+
+  /**
+   * Returns the references of the given entity which are loaded lazily. The
+   * entities read from the cache of a cacheable service are detached, so
+   * these references can't be loaded from them, unless the entity fetches
+   * them along with it using its "fetchReferences" attribute.
+   *
+   * @param entityDetails
+   * @return the names of the lazy references, or an empty list if the entity
+   *         fetches its references (never null)
+   */
+  static List<String> getLazyReferences(final ClassOrInterfaceTypeDetails entityDetails) {
+    final List<String> lazyReferences = new ArrayList<String>();
+    final AnnotationMetadata entityAnnotation = entityDetails.getAnnotation(ROO_JPA_ENTITY);
+    if (entityAnnotation != null) {
+      final AnnotationAttributeValue<?> fetchReferences =
+          entityAnnotation.getAttribute("fetchReferences");
+      if (fetchReferences != null && Boolean.TRUE.equals(fetchReferences.getValue())) {
+        return lazyReferences;
+      }
+    }
+    for (final FieldMetadata field : entityDetails.getDeclaredFields()) {
+      AnnotationMetadata relationAnnotation = field.getAnnotation(JpaJavaType.MANY_TO_ONE);
+      if (relationAnnotation == null) {
+        relationAnnotation = field.getAnnotation(JpaJavaType.ONE_TO_ONE);
+      }
+      if (relationAnnotation == null) {
+        continue;
+      }
+
+      // Single-valued relations are eager unless they set "fetch = LAZY"
+      final AnnotationAttributeValue<?> fetch = relationAnnotation.getAttribute("fetch");
+      if (fetch != null && fetch.getValue() instanceof EnumDetails
+          && "LAZY".equals(((EnumDetails) fetch.getValue()).getField().getSymbolName())) {
+        lazyReferences.add(field.getFieldName().getSymbolName());
+      }
+    }
+    return lazyReferences;
   }
 
   /**
@@ -283,9 +346,12 @@ public class ServiceOperationsImpl implements ServiceOperations {
    * @param interfaceType
    * @param implType
    * @param domainType
+   * @param cacheable
+   * @param batchSize
    */
   private void createServiceImplementation(final JavaType interfaceType, JavaType implType,
-      ClassOrInterfaceTypeDetails repository, JavaType domainType) {
+      ClassOrInterfaceTypeDetails repository, JavaType domainType, boolean cacheable,
+      Integer batchSize) {
     Validate.notNull(interfaceType,
         "ERROR: Interface should be provided to be able to generate its implementation");
     Validate.notNull(interfaceType.getModule(), "ERROR: Interface module is required");
@@ -312,6 +378,12 @@ public class ServiceOperationsImpl implements ServiceOperations {
         new AnnotationMetadataBuilder(ROO_SERVICE_IMPL);
     implAnnotationMetadata.addAttribute(new ClassAttributeValue(new JavaSymbolName("service"),
         interfaceType));
+    if (cacheable) {
+      implAnnotationMetadata.addBooleanAttribute("cacheable", true);
+    }
+    if (batchSize != null) {
+      implAnnotationMetadata.addIntegerAttribute("batchSize", batchSize);
+    }
 
     // Creating class builder
     final String implMid =
@@ -340,6 +412,13 @@ public class ServiceOperationsImpl implements ServiceOperations {
     if (projectOperations.isMultimoduleProject()) {
       projectOperations.addDependency(implType.getModule(), new Dependency("org.springframework",
           "spring-tx", "", DependencyType.JAR, DependencyScope.COMPILE));
+
+      // The cache annotations are included in spring-context
+      if (cacheable) {
+        projectOperations.addDependency(implType.getModule(), new Dependency(
+            "org.springframework", "spring-context", "", DependencyType.JAR,
+            DependencyScope.COMPILE));
+      }
     }
 
   }
@@ -0,0 +1,193 @@
+package org.springframework.roo.addon.layers.service.addon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata;
+import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata.RelationInfo;
+import org.springframework.roo.addon.layers.repository.jpa.addon.RepositoryJpaMetadata;
+import org.springframework.roo.classpath.PhysicalTypeCategory;
+import org.springframework.roo.classpath.PhysicalTypeIdentifier;
+import org.springframework.roo.classpath.PhysicalTypeMetadata;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetailsBuilder;
+import org.springframework.roo.classpath.details.FieldMetadata;
+import org.springframework.roo.classpath.details.FieldMetadataBuilder;
+import org.springframework.roo.classpath.details.MethodMetadata;
+import org.springframework.roo.classpath.details.MethodMetadataBuilder;
+import org.springframework.roo.classpath.details.annotations.AnnotatedJavaType;
+import org.springframework.roo.classpath.details.annotations.AnnotationAttributeValue;
+import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
+import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
+import org.springframework.roo.model.JavaSymbolName;
+import org.springframework.roo.model.JavaType;
+import org.springframework.roo.model.SpringJavaType;
+import org.springframework.roo.project.LogicalPath;
+import org.springframework.roo.project.Path;
+
+/**
+ * Unit test of the cache annotations and statements generated by
+ * {@link ServiceImplMetadata}
+ *
+ * @since 2.0
+ */
+public class ServiceImplMetadataTest {
+
+  private static final JavaType ENTITY = new JavaType("com.foo.domain.Pet");
+  private static final JavaType SERVICE = new JavaType("com.foo.service.api.PetService");
+  private static final JavaType SERVICE_IMPL = new JavaType("com.foo.service.impl.PetServiceImpl");
+  private static final LogicalPath PATH = LogicalPath.getInstance(Path.SRC_MAIN_JAVA, "");
+
+  private static Object getValue(AnnotationMetadata annotation, String attributeName) {
+    AnnotationAttributeValue<?> attribute = annotation.getAttribute(attributeName);
+    return attribute == null ? null : attribute.getValue();
+  }
+
+  private static List<Object> getValues(AnnotationMetadata annotation, String attributeName) {
+    List<Object> values = new ArrayList<Object>();
+    for (Object value : (List<?>) getValue(annotation, attributeName)) {
+      values.add(((AnnotationAttributeValue<?>) value).getValue());
+    }
+    return values;
+  }
+
+  /**
+   * Creates the metadata of a service implementation whose service only
+   * declares the batch save method
+   *
+   * @param saveBatchMethod the batch save method of the service
+   * @param cacheable
+   * @param batchSize
+   */
+  private ServiceImplMetadata getMetadata(final MethodMetadata saveBatchMethod,
+      final boolean cacheable, final int batchSize) {
+    final String mid = PhysicalTypeIdentifier.createIdentifier(SERVICE_IMPL, PATH);
+    final PhysicalTypeMetadata governor = mock(PhysicalTypeMetadata.class);
+    when(governor.getMemberHoldingTypeDetails()).thenReturn(
+        new ClassOrInterfaceTypeDetailsBuilder(mid, Modifier.PUBLIC, SERVICE_IMPL,
+            PhysicalTypeCategory.CLASS).build());
+
+    final JpaEntityMetadata entityMetadata = mock(JpaEntityMetadata.class);
+    final FieldMetadata identifierField =
+        new FieldMetadataBuilder(mid, Modifier.PRIVATE, new JavaSymbolName("id"),
+            JavaType.LONG_OBJECT, null).build();
+    when(entityMetadata.getCurrentIndentifierField()).thenReturn(identifierField);
+
+    final ServiceMetadata serviceMetadata = mock(ServiceMetadata.class);
+    when(serviceMetadata.getIdType()).thenReturn(JavaType.LONG_OBJECT);
+    when(serviceMetadata.getCurrentSaveBatchMethod()).thenReturn(saveBatchMethod);
+    when(serviceMetadata.getTransactionalDefinedMethods()).thenReturn(
+        Arrays.asList(saveBatchMethod));
+
+    return new ServiceImplMetadata(ServiceImplMetadata.createIdentifier(SERVICE_IMPL, PATH),
+        new JavaType("com.foo.service.impl.PetServiceImpl_Roo_Service_Impl"), governor,
+        SERVICE, new JavaType("com.foo.repository.PetRepository"),
+        mock(RepositoryJpaMetadata.class), ENTITY, entityMetadata, serviceMetadata,
+        Collections.<JavaType, ServiceMetadata>emptyMap(),
+        Collections.<Pair<FieldMetadata, RelationInfo>>emptyList(), cacheable, batchSize);
+  }
+
+  @Test
+  public void testChunkedSaveBatchEvictsEveryCache() {
+    // Set up
+    final MethodMetadata saveBatchMethod =
+        new MethodMetadataBuilder(PhysicalTypeIdentifier.createIdentifier(SERVICE, PATH),
+            Modifier.PUBLIC, new JavaSymbolName("save"), JavaType.listOf(ENTITY),
+            Arrays.asList(AnnotatedJavaType.convertFromJavaType(JavaType.iterableOf(ENTITY))),
+            Arrays.asList(new JavaSymbolName("entities")), null).build();
+
+    // Invoke
+    final MethodMetadata save =
+        getMetadata(saveBatchMethod, true, 50).getMemberHoldingTypeDetails().getMethod(
+            new JavaSymbolName("save"), Arrays.asList(JavaType.iterableOf(ENTITY)));
+
+    // Check
+    assertTrue(save.getBody().contains("if (saved.size() % 50 == 0) {"));
+    assertTrue(save.getBody().contains("getEntityManager().clear();"));
+    assertNotNull(save.getAnnotation(SpringJavaType.TRANSACTIONAL));
+    final AnnotationMetadata evictAll = save.getAnnotation(SpringJavaType.CACHE_EVICT);
+    assertEquals(Arrays.asList("Pet", "Pet.findAll"), getValues(evictAll, "cacheNames"));
+    assertEquals(Boolean.TRUE, getValue(evictAll, "allEntries"));
+  }
+
+  @Test
+  public void testCacheNameIsTheEntityName() {
+    assertEquals("Pet", ServiceImplMetadata.getCacheName(new JavaType("com.foo.domain.Pet")));
+  }
+
+  @Test
+  public void testFindOneDoesNotCacheMissingEntities() {
+    AnnotationMetadata cacheable = ServiceImplMetadata.getCacheableAnnotation("Pet", true).build();
+
+    assertEquals(SpringJavaType.CACHEABLE, cacheable.getAnnotationType());
+    assertEquals("Pet", getValue(cacheable, "cacheNames"));
+    assertEquals("#p0", getValue(cacheable, "key"));
+    assertEquals("#result == null", getValue(cacheable, "unless"));
+  }
+
+  @Test
+  public void testFindAllIsCachedByIdentifiers() {
+    AnnotationMetadata cacheable =
+        ServiceImplMetadata.getCacheableAnnotation("Pet.findAll", false).build();
+
+    assertEquals("Pet.findAll", getValue(cacheable, "cacheNames"));
+    assertEquals("#p0", getValue(cacheable, "key"));
+    assertNull(cacheable.getAttribute("unless"));
+  }
+
+  @Test
+  public void testSaveEvictsEntityAndLists() {
+    AnnotationMetadata caching =
+        ServiceImplMetadata.getCachingEvictAnnotation(
+            ServiceImplMetadata.getCacheEvictByIdAnnotation("Pet", "id"),
+            ServiceImplMetadata.getCacheEvictAllAnnotation("Pet.findAll")).build();
+
+    assertEquals(SpringJavaType.CACHING, caching.getAnnotationType());
+    List<Object> evicts = getValues(caching, "evict");
+    assertEquals(2, evicts.size());
+
+    AnnotationMetadata evictById = (AnnotationMetadata) evicts.get(0);
+    assertEquals(SpringJavaType.CACHE_EVICT, evictById.getAnnotationType());
+    assertEquals("Pet", getValue(evictById, "cacheNames"));
+    assertEquals("#p0.id", getValue(evictById, "key"));
+    assertEquals("#p0.id != null", getValue(evictById, "condition"));
+
+    AnnotationMetadata evictAll = (AnnotationMetadata) evicts.get(1);
+    assertEquals("Pet.findAll", getValue(evictAll, "cacheNames"));
+    assertEquals(Boolean.TRUE, getValue(evictAll, "allEntries"));
+  }
+
+  @Test
+  public void testBatchOperationsEvictEveryCache() {
+    AnnotationMetadata evictAll =
+        ServiceImplMetadata.getCacheEvictAllAnnotation("Pet", "Pet.findAll").build();
+
+    assertEquals(SpringJavaType.CACHE_EVICT, evictAll.getAnnotationType());
+    List<Object> cacheNames = getValues(evictAll, "cacheNames");
+    assertEquals(2, cacheNames.size());
+    assertEquals("Pet", cacheNames.get(0));
+    assertEquals("Pet.findAll", cacheNames.get(1));
+    assertEquals(Boolean.TRUE, getValue(evictAll, "allEntries"));
+  }
+
+  @Test
+  public void testCachedEntityIsReloadedFromRepository() {
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+    ServiceImplMetadata.appendReloadEntity(bodyBuilder, new JavaSymbolName("pet"),
+        new JavaSymbolName("getPetRepository"), new JavaSymbolName("getId"));
+
+    assertTrue(bodyBuilder.getOutput().contains(
+        "pet = getPetRepository().findOne(pet.getId());"));
+  }
+}
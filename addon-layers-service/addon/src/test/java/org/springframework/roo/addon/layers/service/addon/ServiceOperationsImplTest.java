@@ -0,0 +1,100 @@
+package org.springframework.roo.addon.layers.service.addon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.roo.classpath.PhysicalTypeCategory;
+import org.springframework.roo.classpath.PhysicalTypeIdentifier;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetailsBuilder;
+import org.springframework.roo.classpath.details.FieldMetadataBuilder;
+import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
+import org.springframework.roo.model.JavaSymbolName;
+import org.springframework.roo.model.JavaType;
+import org.springframework.roo.model.JpaJavaType;
+import org.springframework.roo.model.RooJavaType;
+import org.springframework.roo.project.LogicalPath;
+import org.springframework.roo.project.Path;
+
+/**
+ * Unit test of the entities accepted by the cacheable services of
+ * {@link ServiceOperationsImpl}
+ *
+ * @since 2.0
+ */
+public class ServiceOperationsImplTest {
+
+  private static final JavaType ENTITY = new JavaType("com.foo.domain.Pet");
+
+  private static final String MID = PhysicalTypeIdentifier.createIdentifier(ENTITY,
+      LogicalPath.getInstance(Path.SRC_MAIN_JAVA, ""));
+
+  private final AnnotationMetadataBuilder entityAnnotation = new AnnotationMetadataBuilder(
+      RooJavaType.ROO_JPA_ENTITY);
+  private final ClassOrInterfaceTypeDetailsBuilder entityBuilder =
+      new ClassOrInterfaceTypeDetailsBuilder(MID, Modifier.PUBLIC, ENTITY,
+          PhysicalTypeCategory.CLASS);
+
+  /**
+   * Adds a reference to the entity
+   *
+   * @param fieldName
+   * @param relation the relation annotation
+   * @param fetch the fetch type of the relation, or null to use the default
+   */
+  private void addReference(final String fieldName, final JavaType relation, final String fetch) {
+    final AnnotationMetadataBuilder relationAnnotation = new AnnotationMetadataBuilder(relation);
+    if (fetch != null) {
+      relationAnnotation.addEnumAttribute("fetch", JpaJavaType.FETCH_TYPE, fetch);
+    }
+    entityBuilder.addField(new FieldMetadataBuilder(MID, Modifier.PRIVATE, Arrays
+        .asList(relationAnnotation), new JavaSymbolName(fieldName), new JavaType(
+        "com.foo.domain.Owner")));
+  }
+
+  private void addCollection(final String fieldName) {
+    entityBuilder.addField(new FieldMetadataBuilder(MID, Modifier.PRIVATE, Arrays
+        .asList(new AnnotationMetadataBuilder(JpaJavaType.ONE_TO_MANY)), new JavaSymbolName(
+        fieldName), JavaType.listOf(new JavaType("com.foo.domain.Visit"))));
+  }
+
+  private List<String> getLazyReferences() {
+    entityBuilder.addAnnotation(entityAnnotation);
+    return ServiceOperationsImpl.getLazyReferences(entityBuilder.build());
+  }
+
+  @Test
+  public void testLazyReferencesAreFound() {
+    // Set up
+    addReference("owner", JpaJavaType.MANY_TO_ONE, "LAZY");
+    addReference("passport", JpaJavaType.ONE_TO_ONE, "LAZY");
+    addCollection("visits");
+
+    // Invoke and check
+    assertEquals(Arrays.asList("owner", "passport"), getLazyReferences());
+  }
+
+  @Test
+  public void testEagerReferencesCanBeCached() {
+    // Set up
+    addReference("owner", JpaJavaType.MANY_TO_ONE, null);
+    addReference("passport", JpaJavaType.ONE_TO_ONE, "EAGER");
+
+    // Invoke and check
+    assertTrue(getLazyReferences().isEmpty());
+  }
+
+  @Test
+  public void testFetchedReferencesCanBeCached() {
+    // Set up
+    addReference("owner", JpaJavaType.MANY_TO_ONE, "LAZY");
+    entityAnnotation.addBooleanAttribute("fetchReferences", true);
+
+    // Invoke and check
+    assertTrue(getLazyReferences().isEmpty());
+  }
+}
@@ -28,4 +28,30 @@ public @interface RooServiceImpl {
    */
   Class<?> service();
 
+  /**
+   * Indicates if the service caches the entities read by their identifiers,
+   * evicting them when they're saved, deleted or their relations change.
+   * The cached entities are detached, so an entity with lazy references must
+   * fetch them along with it ("fetchReferences" attribute of the entity). In
+   * that case, only the entities read one by one are cached, as the lists of
+   * entities are read without their references.
+   *
+   * @return true if the read methods are cached
+   */
+  boolean cacheable() default false;
+
+  /**
+   * The number of entities the batch save method persists before flushing
+   * and clearing the persistence context, so large batches don't keep every
+   * entity managed until the transaction commits.
+   * <p>
+   * Clearing the persistence context detaches every entity managed by the
+   * transaction, not only the saved ones, so callers that save a batch
+   * within a wider transaction must not use the entities they loaded before
+   * without merging or reloading them.
+   *
+   * @return the size of each chunk, or 0 to save the whole batch at once
+   */
+  int batchSize() default 0;
+
 }
@@ -373,7 +373,18 @@ public class ControllerCommands implements CommandMarker {
           unspecifiedDefaultValue = "",
           help = "Indicates `@RequestMapping` prefix to be used on this controller. It is not necessary "
               + "to specify '/' as Spring Roo shell will include it automatically. "
-              + "This option is available only if `--all` or `--entity` option has been specified.") String pathPrefix) {
+              + "This option is available only if `--all` or `--entity` option has been specified.") String pathPrefix,
+      @CliOption(
+          key = "listProjection",
+          mandatory = false,
+          specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Indicates if a projection with only the fields shown by the list views should be "
+              + "generated for each entity and used as the `defaultReturnType` of its repository, "
+              + "so the list and datatables queries select those columns instead of loading whole "
+              + "entities. Repositories which already return a projection are not changed. "
+              + "This option is available only if `--all` or `--entity` option has been specified. "
+              + "Default if option present: `true`; default if option not present: `false`.") boolean listProjection) {
 
     // Getting --responseType service
     Map<String, ControllerMVCResponseService> responseTypeServices =
@@ -393,10 +404,10 @@ public class ControllerCommands implements CommandMarker {
     // Check --all parameter
     if (all) {
       getControllerOperations().createOrUpdateControllerForAllEntities(
-          responseTypeServices.get(responseType), controllersPackage, pathPrefix);
+          responseTypeServices.get(responseType), controllersPackage, pathPrefix, listProjection);
     } else {
       getControllerOperations().createOrUpdateControllerForEntity(entity,
-          responseTypeServices.get(responseType), controllersPackage, pathPrefix);
+          responseTypeServices.get(responseType), controllersPackage, pathPrefix, listProjection);
     }
   }
 
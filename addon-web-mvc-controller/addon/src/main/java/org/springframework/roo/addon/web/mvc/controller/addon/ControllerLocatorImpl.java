@@ -12,6 +12,7 @@ import org.springframework.roo.classpath.details.annotations.AnnotationAttribute
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
 import org.springframework.roo.classpath.details.annotations.EnumAttributeValue;
 import org.springframework.roo.metadata.MetadataDependencyRegistry;
+import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.RooJavaType;
 
@@ -31,6 +32,8 @@ import java.util.Set;
 @Service
 public class ControllerLocatorImpl implements ControllerLocator {
 
+  private static final JavaSymbolName ENTITY_ATTRIBUTE = new JavaSymbolName("entity");
+
   @Reference
   private TypeLocationService typeLocationService;
   @Reference
@@ -77,7 +80,8 @@ public class ControllerLocatorImpl implements ControllerLocator {
   }
 
 
-  private class Evaluator implements MetadataLocatorUtils.LocatorEvaluator<ControllerType> {
+  private class Evaluator implements
+      MetadataLocatorUtils.IndexedLocatorEvaluator<ControllerType> {
 
     @Override
     public boolean evaluateForKey(JavaType key, ClassOrInterfaceTypeDetails valueToEvalueate,
@@ -118,8 +122,22 @@ public class ControllerLocatorImpl implements ControllerLocator {
       Set<ClassOrInterfaceTypeDetails> found =
           typeLocationService
               .findClassesOrInterfaceDetailsWithAnnotation(RooJavaType.ROO_CONTROLLER);
+      return filterByType(found, context);
+    }
+
+    @Override
+    public Set<ClassOrInterfaceTypeDetails> getPosibilitiesForKey(JavaType key,
+        ControllerType context) {
+      Set<ClassOrInterfaceTypeDetails> found =
+          typeLocationService.findClassesOrInterfaceDetailsWithAnnotationAttribute(
+              RooJavaType.ROO_CONTROLLER, ENTITY_ATTRIBUTE, key);
+      return filterByType(found, context);
+    }
+
+    private Set<ClassOrInterfaceTypeDetails> filterByType(
+        Set<ClassOrInterfaceTypeDetails> controllers, ControllerType context) {
       Set<ClassOrInterfaceTypeDetails> result = new HashSet<ClassOrInterfaceTypeDetails>();
-      for (ClassOrInterfaceTypeDetails item : found) {
+      for (ClassOrInterfaceTypeDetails item : controllers) {
         ControllerAnnotationValues values = new ControllerAnnotationValues(item);
         if (values.getType() == context) {
           result.add(item);
@@ -76,9 +76,13 @@ public interface ControllerOperations extends Feature {
    *            Package where is situated the controller
    * @param pathPrefix
    *            Prefix to use in RequestMapping
+   * @param listProjection
+   *            Whether to generate a projection with the fields shown by the
+   *            list views, and use it as default return type of the
+   *            repositories
    */
   void createOrUpdateControllerForAllEntities(ControllerMVCResponseService responseType,
-      JavaPackage controllerPackage, String pathPrefix);
+      JavaPackage controllerPackage, String pathPrefix, boolean listProjection);
 
   /**
    * This operation will generate or update a controller for a specified
@@ -92,9 +96,14 @@ public interface ControllerOperations extends Feature {
    *            Package where is situated the controller
    * @param pathPrefix
    *            Prefix to use in RequestMapping
+   * @param listProjection
+   *            Whether to generate a projection with the fields shown by the
+   *            list views, and use it as default return type of the
+   *            repository
    */
   void createOrUpdateControllerForEntity(JavaType entity,
-      ControllerMVCResponseService responseType, JavaPackage controllerPackage, String pathPrefix);
+      ControllerMVCResponseService responseType, JavaPackage controllerPackage, String pathPrefix,
+      boolean listProjection);
 
   /**
    * This operation will generate or update a first level detail controller
@@ -23,9 +23,11 @@ import org.osgi.framework.BundleContext;
 import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.addon.dto.addon.DtoOperations;
 import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata;
 import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata.RelationInfo;
 import org.springframework.roo.addon.jpa.annotations.entity.JpaRelationType;
+import org.springframework.roo.addon.layers.repository.jpa.addon.RepositoryJpaLocator;
 import org.springframework.roo.addon.layers.service.addon.ServiceLocator;
 import org.springframework.roo.addon.layers.service.addon.ServiceMetadata;
 import org.springframework.roo.addon.plural.addon.PluralService;
@@ -62,6 +64,7 @@ import org.springframework.roo.model.JavaPackage;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.JpaJavaType;
+import org.springframework.roo.model.Jsr303JavaType;
 import org.springframework.roo.model.RooJavaType;
 import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.process.manager.FileManager;
@@ -102,6 +105,12 @@ public class ControllerOperationsImpl implements ControllerOperations {
 
   private static final Logger LOGGER = HandlerUtils.getLogger(ControllerOperationsImpl.class);
 
+  // Same number of fields as the columns of the generated list views
+  private static final int LIST_PROJECTION_MAX_FIELDS = 5;
+  private static final String LIST_PROJECTION_SUFFIX = "ListProjection";
+  private static final JavaSymbolName DEFAULT_RETURN_TYPE_SYM = new JavaSymbolName(
+      "defaultReturnType");
+
   // ------------ OSGi component attributes ----------------
   private BundleContext context;
 
@@ -329,10 +338,12 @@ public class ControllerOperationsImpl implements ControllerOperations {
    *            Package where is situated the controller
    * @param pathPrefix
    *            Prefix to use in RequestMapping
+   * @param listProjection
+   *            Whether to generate the list projections of the entities
    */
   @Override
   public void createOrUpdateControllerForAllEntities(ControllerMVCResponseService responseType,
-      JavaPackage controllerPackage, String pathPrefix) {
+      JavaPackage controllerPackage, String pathPrefix, boolean listProjection) {
 
     // Getting all entities annotated with @RooJpaEntity
     Set<ClassOrInterfaceTypeDetails> entities =
@@ -341,7 +352,7 @@ public class ControllerOperationsImpl implements ControllerOperations {
     for (ClassOrInterfaceTypeDetails entity : entities) {
       if (!entity.isAbstract()) {
         createOrUpdateControllerForEntity(entity.getType(), responseType, controllerPackage,
-            pathPrefix);
+            pathPrefix, listProjection);
       }
     }
 
@@ -349,7 +360,8 @@ public class ControllerOperationsImpl implements ControllerOperations {
 
   @Override
   public void createOrUpdateControllerForEntity(JavaType entity,
-      ControllerMVCResponseService responseType, JavaPackage controllerPackage, String pathPrefix) {
+      ControllerMVCResponseService responseType, JavaPackage controllerPackage, String pathPrefix,
+      boolean listProjection) {
 
     // Getting entity details to obtain information about it
     ClassOrInterfaceTypeDetails entityDetails = getTypeLocationService().getTypeDetails(entity);
@@ -433,6 +445,11 @@ public class ControllerOperationsImpl implements ControllerOperations {
       }
     }
 
+    // Select only the listed fields in the list queries
+    if (listProjection) {
+      createListProjection(entityDetails);
+    }
+
     // Generate Collection controller JavaType
     String entityPluralCapitalized = StringUtils.capitalize(getPluralService().getPlural(entity));
     JavaType collectionController =
@@ -1759,6 +1776,105 @@ public class ControllerOperationsImpl implements ControllerOperations {
     return false;
   }
 
+  /**
+   * Generates a projection of the given entity with the fields shown by the
+   * list views, and sets it as the default return type of the entity
+   * repository. This way, the list and datatables queries select only those
+   * columns instead of loading whole entities.
+   *
+   * If the repository already returns a projection, it is kept.
+   *
+   * @param entityDetails
+   */
+  private void createListProjection(ClassOrInterfaceTypeDetails entityDetails) {
+    final JavaType entity = entityDetails.getType();
+    ClassOrInterfaceTypeDetails repositoryDetails =
+        getRepositoryJpaLocator().getFirstRepository(entity);
+    if (repositoryDetails == null) {
+      return;
+    }
+
+    final JavaType projection =
+        new JavaType(entity.getFullyQualifiedTypeName().concat(LIST_PROJECTION_SUFFIX),
+            entity.getModule());
+
+    AnnotationMetadata repositoryAnnotation =
+        repositoryDetails.getAnnotation(RooJavaType.ROO_REPOSITORY_JPA);
+    AnnotationAttributeValue<JavaType> defaultReturnType =
+        repositoryAnnotation.getAttribute(DEFAULT_RETURN_TYPE_SYM);
+    if (defaultReturnType != null && !defaultReturnType.getValue().equals(entity)) {
+      if (!defaultReturnType.getValue().equals(projection) && LOGGER.isLoggable(Level.INFO)) {
+        LOGGER.log(Level.INFO, String.format(
+            "INFO: The repository of '%s' already returns the projection '%s', so it is kept.",
+            entity.getSimpleTypeName(), defaultReturnType.getValue().getSimpleTypeName()));
+      }
+      return;
+    }
+
+    // The projection is created in the entity module, which changes the
+    // focused one
+    if (getTypeLocationService().getTypeDetails(projection) == null) {
+      final Pom focusedModule = getProjectOperations().getFocusedModule();
+      getDtoOperations().createProjection(entity, projection,
+          StringUtils.join(getListProjectionFields(entityDetails), ","), null, null, null);
+      getProjectOperations().setModule(focusedModule);
+    }
+
+    // Prevent errors validating if the projection contains a valid module
+    if (projection.getModule() != null) {
+      getProjectOperations().addModuleDependency(repositoryDetails.getType().getModule(),
+          projection.getModule());
+    }
+
+    // Update @RooJpaRepository
+    AnnotationMetadataBuilder repositoryAnnotationBuilder =
+        new AnnotationMetadataBuilder(repositoryAnnotation);
+    repositoryAnnotationBuilder.addClassAttribute(DEFAULT_RETURN_TYPE_SYM.getSymbolName(),
+        projection);
+    final ClassOrInterfaceTypeDetailsBuilder cidBuilder =
+        new ClassOrInterfaceTypeDetailsBuilder(repositoryDetails);
+    cidBuilder.updateTypeAnnotation(repositoryAnnotationBuilder);
+    getTypeManagementService().createOrUpdateTypeOnDisk(cidBuilder.build());
+  }
+
+  /**
+   * Returns the fields of the given entity shown by the list views: the
+   * first persistent fields, excluding the identifier, the version and the
+   * collections.
+   *
+   * Optional references are excluded too, as selecting them in a projection
+   * would discard the rows without them.
+   *
+   * @param entityDetails
+   * @return the names of the fields
+   */
+  private List<String> getListProjectionFields(ClassOrInterfaceTypeDetails entityDetails) {
+    List<String> fieldNames = new ArrayList<String>();
+    for (FieldMetadata field : entityDetails.getDeclaredFields()) {
+      if (fieldNames.size() == LIST_PROJECTION_MAX_FIELDS) {
+        break;
+      }
+      int modifier = field.getModifier();
+      if (Modifier.isStatic(modifier) || Modifier.isFinal(modifier)
+          || Modifier.isTransient(modifier) || field.getAnnotation(JpaJavaType.TRANSIENT) != null
+          || field.getAnnotation(JpaJavaType.ID) != null
+          || field.getAnnotation(JpaJavaType.EMBEDDED_ID) != null
+          || field.getAnnotation(JpaJavaType.VERSION) != null
+          || field.getFieldType().isCommonCollectionType()) {
+        continue;
+      }
+      ClassOrInterfaceTypeDetails fieldTypeDetails =
+          getTypeLocationService().getTypeDetails(field.getFieldType());
+      if (fieldTypeDetails != null
+          && fieldTypeDetails.getAnnotation(RooJavaType.ROO_JPA_ENTITY) != null
+          && field.getAnnotation(Jsr303JavaType.NOT_NULL) == null) {
+        continue;
+      }
+      fieldNames.add(field.getFieldName().getSymbolName());
+    }
+    return fieldNames;
+  }
+
   // Methods to obtain OSGi Services
 
   private TypeLocationService getTypeLocationService() {
@@ -1805,4 +1921,12 @@ public class ControllerOperationsImpl implements ControllerOperations {
     return serviceInstaceManager.getServiceInstance(this, ClasspathOperations.class);
   }
 
+  private RepositoryJpaLocator getRepositoryJpaLocator() {
+    return serviceInstaceManager.getServiceInstance(this, RepositoryJpaLocator.class);
+  }
+
+  private DtoOperations getDtoOperations() {
+    return serviceInstaceManager.getServiceInstance(this, DtoOperations.class);
+  }
+
 }
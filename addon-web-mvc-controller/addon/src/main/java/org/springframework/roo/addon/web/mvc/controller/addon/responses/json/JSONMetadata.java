@@ -4,6 +4,7 @@ import static org.springframework.roo.model.SpringJavaType.DELETE_MAPPING;
 import static org.springframework.roo.model.SpringJavaType.GET_MAPPING;
 import static org.springframework.roo.model.SpringJavaType.POST_MAPPING;
 import static org.springframework.roo.model.SpringJavaType.PUT_MAPPING;
+import static org.springframework.roo.model.SpringJavaType.REQUEST_PARAM;
 import static org.springframework.roo.model.SpringJavaType.RESPONSE_ENTITY;
 import static org.springframework.roo.model.SpringletsJavaType.SPRINGLETS_GLOBAL_SEARCH;
 
@@ -76,6 +77,8 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
   private static final JavaSymbolName PAGEABLE_PARAM_NAME = new JavaSymbolName("pageable");
   private static final JavaSymbolName GLOBAL_SEARCH_NAME = new JavaSymbolName("globalSearch");
   private static final JavaSymbolName GLOBAL_SEARCH_PARAM_NAME = new JavaSymbolName("search");
+  // Same maximum as the pageable requests of the Spring Data web support
+  static final int MAX_PAGE_SIZE = 2000;
 
   private static final String PROVIDES_TYPE_STRING = JSONMetadata.class.getName();
   private static final String PROVIDES_TYPE = MetadataIdentificationUtils
@@ -232,6 +235,11 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
         this.listMethod = addAndGet(getListMethod(), allMethods);
         this.listURIMethod = addAndGet(getListURIMethod(), allMethods);
 
+        // Keyset pagination, if the service provides it
+        if (serviceMetadata.getCurrentFindAllAfterWithGlobalSearchMethod() != null) {
+          addAndGet(getListAfterMethod(), allMethods);
+        }
+
         if (readOnly) {
           this.createMethod = null;
           this.createBatchMethod = null;
@@ -1448,7 +1456,12 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
     annotations.add(getMappingAnnotation);
 
 
-    final MethodMetadata findAllMethod = serviceMetadata.getCurrentFindAllWithGlobalSearchMethod();
+    // Returns a Slice instead of a Page when the repository skips the count
+    // queries
+    MethodMetadata findAllMethod = serviceMetadata.getCurrentFindAllSliceWithGlobalSearchMethod();
+    if (findAllMethod == null) {
+      findAllMethod = serviceMetadata.getCurrentFindAllWithGlobalSearchMethod();
+    }
     // Generating returnType
     JavaType serviceReturnType = findAllMethod.getReturnType();
     JavaType returnType = JavaType.wrapperOf(RESPONSE_ENTITY, serviceReturnType);
@@ -1482,6 +1495,116 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
     return methodBuilder.build();
   }
 
+  /**
+   * This method provides the "listAfter" method using JSON response type,
+   * which returns the slice of elements following the given identifier
+   * instead of a page number.
+   *
+   * @return MethodMetadata
+   */
+  private MethodMetadata getListAfterMethod() {
+
+    // Define methodName
+    final JavaSymbolName methodName = new JavaSymbolName("listAfter");
+
+    final MethodMetadata findAllAfterMethod =
+        serviceMetadata.getCurrentFindAllAfterWithGlobalSearchMethod();
+    final JavaSymbolName afterParamName = findAllAfterMethod.getParameterNames().get(1);
+    final JavaSymbolName sizeParamName = findAllAfterMethod.getParameterNames().get(2);
+
+    // @RequestParam(value = "after", required = false)
+    AnnotationMetadataBuilder afterParamAnnotation = new AnnotationMetadataBuilder(REQUEST_PARAM);
+    afterParamAnnotation.addStringAttribute("value", afterParamName.getSymbolName());
+    afterParamAnnotation.addBooleanAttribute("required", false);
+
+    // @RequestParam(value = "size", defaultValue = "20")
+    AnnotationMetadataBuilder sizeParamAnnotation = new AnnotationMetadataBuilder(REQUEST_PARAM);
+    sizeParamAnnotation.addStringAttribute("value", sizeParamName.getSymbolName());
+    sizeParamAnnotation.addStringAttribute("defaultValue", "20");
+
+    List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+    parameterTypes.add(new AnnotatedJavaType(SpringletsJavaType.SPRINGLETS_GLOBAL_SEARCH));
+    parameterTypes.add(new AnnotatedJavaType(findAllAfterMethod.getParameterTypes().get(1)
+        .getJavaType(), afterParamAnnotation.build()));
+    parameterTypes.add(new AnnotatedJavaType(JavaType.INT_PRIMITIVE, sizeParamAnnotation
+        .build()));
+
+    MethodMetadata existingMethod =
+        getGovernorMethod(methodName,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    final List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
+    parameterNames.add(GLOBAL_SEARCH_NAME);
+    parameterNames.add(afterParamName);
+    parameterNames.add(sizeParamName);
+
+    // Adding annotations
+    final List<AnnotationMetadataBuilder> annotations = new ArrayList<AnnotationMetadataBuilder>();
+
+    // Adding @GetMapping annotation
+    AnnotationMetadataBuilder getMappingAnnotation = new AnnotationMetadataBuilder(GET_MAPPING);
+    getMappingAnnotation.addStringAttribute("name", methodName.getSymbolName());
+    getMappingAnnotation.addStringAttribute("value", "/after");
+    annotations.add(getMappingAnnotation);
+
+    // Generating returnType
+    JavaType serviceReturnType = findAllAfterMethod.getReturnType();
+    JavaType returnType = JavaType.wrapperOf(RESPONSE_ENTITY, serviceReturnType);
+
+    // Generate body
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    appendListAfterBody(bodyBuilder, getNameOfJavaType(serviceReturnType),
+        StringUtils.uncapitalize(this.entityPlural),
+        getAccessorMethod(controllerMetadata.getServiceField()).getMethodName().getSymbolName()
+            .concat("().").concat(findAllAfterMethod.getMethodName().getSymbolName()),
+        afterParamName.getSymbolName(), sizeParamName.getSymbolName(),
+        getNameOfJavaType(RESPONSE_ENTITY));
+
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName, returnType, parameterTypes,
+            parameterNames, bodyBuilder);
+    methodBuilder.setAnnotations(annotations);
+
+    return methodBuilder.build();
+  }
+
+  /**
+   * Appends the body of the "listAfter" method. The requested size is kept
+   * between 1 and {@link #MAX_PAGE_SIZE}, as any other value would fail or
+   * read too many elements at once.
+   *
+   * @param bodyBuilder the InvocableMemberBodyBuilder of the method
+   * @param sliceType the name of the type returned by the service
+   * @param itemNames the name of the variable with the elements
+   * @param findAllAfter the invocation of the service findAllAfter method,
+   *            without arguments
+   * @param after the name of the parameter with the last identifier
+   * @param size the name of the parameter with the requested size
+   * @param responseEntity the name of the ResponseEntity type
+   */
+  static void appendListAfterBody(InvocableMemberBodyBuilder bodyBuilder, String sliceType,
+      String itemNames, String findAllAfter, String after, String size, String responseEntity) {
+    bodyBuilder.newLine();
+
+    // int pageSize = Math.max(1, Math.min(size, 2000));
+    bodyBuilder.appendFormalLine(
+        "// Keep the requested size between 1 and the maximum size of a page");
+    bodyBuilder.appendFormalLine("int pageSize = Math.max(1, Math.min(%s, %s));", size,
+        MAX_PAGE_SIZE);
+
+    // Slice<Customer> customers = getCustomerService().findAllAfter(globalSearch, after,
+    // pageSize);
+    bodyBuilder.appendFormalLine("%s %s = %s(%s, %s, pageSize);", sliceType, itemNames,
+        findAllAfter, GLOBAL_SEARCH_NAME, after);
+
+    // return ResponseEntity.ok(customers);
+    bodyBuilder.appendFormalLine("return %s.ok(%s);", responseEntity, itemNames);
+  }
+
   /**
    * This method provides the "show" method using JSON response type
    *
@@ -20,6 +20,7 @@ import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
 import org.springframework.roo.metadata.MetadataIdentificationUtils;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
+import org.springframework.roo.model.JdkJavaType;
 import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.model.SpringletsJavaType;
 import org.springframework.roo.project.LogicalPath;
@@ -39,9 +40,22 @@ public class JsonControllerIntegrationTestMetadata extends
       .create(PROVIDES_TYPE_STRING);
 
   private static final JavaSymbolName MOCK_MVC_FIELD_NAME = new JavaSymbolName("mvc");
+  private static final JavaSymbolName OBJECT_MAPPER_FIELD_NAME = new JavaSymbolName(
+      "objectMapper");
 
   private static final JavaType RUN_WITH = new JavaType("org.junit.runner.RunWith");
   private static final JavaType TEST = new JavaType("org.junit.Test");
+  private static final JavaType OBJECT_MAPPER = new JavaType(
+      "com.fasterxml.jackson.databind.ObjectMapper");
+  private static final JavaType ANY_COLLECTION_OF = new JavaType(
+      "org.mockito.Matchers.anyCollectionOf");
+  private static final JavaType VERIFY = new JavaType("org.mockito.Mockito.verify");
+  private static final JavaType RESULT_ACTIONS = new JavaType(
+      "org.springframework.test.web.servlet.ResultActions");
+  private static final JavaType STATUS = new JavaType(
+      "org.springframework.test.web.servlet.result.MockMvcResultMatchers.status");
+  private static final String REQUEST_BUILDERS =
+      "org.springframework.test.web.servlet.request.MockMvcRequestBuilders.";
 
   public static String createIdentifier(final JavaType javaType, final LogicalPath path) {
     return PhysicalTypeIdentifierNamingUtils.createIdentifier(PROVIDES_TYPE_STRING, javaType, path);
@@ -67,6 +81,7 @@ public class JsonControllerIntegrationTestMetadata extends
   }
 
   private final JavaType controller;
+  private final JavaType managedEntity;
   private final JavaType entityService;
   private final JavaType entityFactory;
   private final JavaSymbolName serviceFieldName;
@@ -83,18 +98,21 @@ public class JsonControllerIntegrationTestMetadata extends
    * @param managedEntity
    * @param entityFactory 
    * @param entityService
+   * @param batchPath the path of the batch endpoints of the controller, or
+   *            null if the controller doesn't publish them
    */
   public JsonControllerIntegrationTestMetadata(final String identifier, final JavaType aspectName,
       final PhysicalTypeMetadata governorPhysicalTypeMetadata,
       final JsonControllerIntegrationTestAnnotationValues annotationValues,
       final JavaType controller, final JavaType managedEntity, final JavaType entityFactory,
-      final JavaType entityService) {
+      final JavaType entityService, final String batchPath) {
     super(identifier, aspectName, governorPhysicalTypeMetadata);
     Validate.isTrue(isValid(identifier),
         "Metadata identification string '%s' does not appear to be a valid", identifier);
     Validate.notNull(annotationValues, "Annotation values required");
 
     this.controller = controller;
+    this.managedEntity = managedEntity;
     this.entityService = entityService;
     this.entityFactory = entityFactory;
     this.serviceFieldName =
@@ -120,6 +138,15 @@ public class JsonControllerIntegrationTestMetadata extends
     // Add test method example
     ensureGovernorHasMethod(new MethodMetadataBuilder(getTestExampleMethod()));
 
+    // Add tests of the batch endpoints
+    if (batchPath != null) {
+      ensureGovernorHasField(getObjectMapperField());
+      ensureGovernorHasMethod(new MethodMetadataBuilder(getBatchTestMethod("createBatch",
+          "post", batchPath, "isCreated")));
+      ensureGovernorHasMethod(new MethodMetadataBuilder(getBatchTestMethod("updateBatch",
+          "put", batchPath, "isOk")));
+    }
+
     itdTypeDetails = builder.build();
   }
 
@@ -169,6 +196,82 @@ public class JsonControllerIntegrationTestMetadata extends
     return methodBuilder.build();
   }
 
+  /**
+   * Builds and returns a test of a batch endpoint, which sends two entities
+   * created by the entity factory and checks they are saved by the service
+   * in a single call.
+   * 
+   * @param controllerMethod the name of the controller method to test
+   * @param httpMethod the name of the <code>MockMvcRequestBuilders</code>
+   *            method of the HTTP method of the endpoint
+   * @param path the path of the endpoint
+   * @param status the name of the <code>StatusResultMatchers</code> method
+   *            of the expected response status
+   * @return {@link MethodMetadata}
+   */
+  private MethodMetadata getBatchTestMethod(String controllerMethod, String httpMethod,
+      String path, String status) {
+    JavaSymbolName methodName =
+        new JavaSymbolName(String.format("%sShouldSaveAllTheEntitiesAtOnce", controllerMethod));
+
+    // Check if method exists in governor
+    MethodMetadata method = getGovernorMethod(methodName);
+    if (method != null) {
+      return method;
+    }
+
+    // Build method body
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+    String entity = getNameOfJavaType(this.managedEntity);
+
+    // Setup
+    bodyBuilder.appendFormalLine("// Setup");
+
+    // List<Entity> entities = Arrays.asList(factory.create(0), factory.create(1));
+    bodyBuilder.appendFormalLine("%s<%s> entities = %s.asList(%s.create(0), %s.create(1));",
+        getNameOfJavaType(JavaType.LIST), entity, getNameOfJavaType(JdkJavaType.ARRAYS),
+        this.entityFactoryFieldName, this.entityFactoryFieldName);
+    bodyBuilder.newLine();
+
+    // Exercise
+    bodyBuilder.appendFormalLine("// Exercise");
+
+    // ResultActions result = mvc.perform(post("/entities/batch")
+    //     .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(...)));
+    bodyBuilder.appendFormalLine("%s result = %s.perform(%s(\"%s\")",
+        getNameOfJavaType(RESULT_ACTIONS), MOCK_MVC_FIELD_NAME,
+        getNameOfJavaType(new JavaType(REQUEST_BUILDERS.concat(httpMethod)), true), path);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine(
+        ".contentType(%s.APPLICATION_JSON).content(%s.writeValueAsString(entities)));",
+        getNameOfJavaType(SpringJavaType.MEDIA_TYPE), OBJECT_MAPPER_FIELD_NAME);
+    bodyBuilder.indentRemove();
+    bodyBuilder.newLine();
+
+    // Verify
+    bodyBuilder.appendFormalLine("// Verify");
+
+    // result.andExpect(status().isCreated());
+    bodyBuilder.appendFormalLine("result.andExpect(%s().%s());", getNameOfJavaType(STATUS, true),
+        status);
+
+    // verify(entityService).save(anyCollectionOf(Entity.class));
+    bodyBuilder.appendFormalLine("%s(%s).save(%s(%s.class));", getNameOfJavaType(VERIFY, true),
+        this.serviceFieldName, getNameOfJavaType(ANY_COLLECTION_OF, true), entity);
+
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(this.getId(), Modifier.PUBLIC, methodName,
+            JavaType.VOID_PRIMITIVE, bodyBuilder);
+
+    // Add @Test
+    methodBuilder.addAnnotation(new AnnotationMetadataBuilder(TEST));
+
+    // Add throws types
+    methodBuilder.addThrowsType(JdkJavaType.EXCEPTION);
+
+    return methodBuilder.build();
+  }
+
   /**
    * Builds and returns the entity factory field.
    * 
@@ -214,6 +317,23 @@ public class JsonControllerIntegrationTestMetadata extends
     return fieldBuilder;
   }
 
+  /**
+   * Builds and returns the <code>ObjectMapper</code> field used to write the
+   * request bodies, annotated with @Autowired
+   * 
+   * @return {@link FieldMetadataBuilder}
+   */
+  private FieldMetadataBuilder getObjectMapperField() {
+    FieldMetadataBuilder fieldBuilder =
+        new FieldMetadataBuilder(this.getId(), Modifier.PRIVATE, OBJECT_MAPPER_FIELD_NAME,
+            OBJECT_MAPPER, null);
+
+    // Add @Autowired
+    fieldBuilder.addAnnotation(new AnnotationMetadataBuilder(SpringJavaType.AUTOWIRED));
+
+    return fieldBuilder;
+  }
+
   /**
    * Builds and returns `@RunWith` annotation
    * 
@@ -8,6 +8,8 @@ import org.apache.felix.scr.annotations.Service;
 import org.osgi.service.component.ComponentContext;
 import org.springframework.roo.addon.jpa.addon.entity.factories.JpaEntityFactoryLocator;
 import org.springframework.roo.addon.layers.service.addon.ServiceLocator;
+import org.springframework.roo.addon.web.mvc.controller.addon.ControllerMetadata;
+import org.springframework.roo.addon.web.mvc.controller.annotations.ControllerType;
 import org.springframework.roo.classpath.PhysicalTypeIdentifier;
 import org.springframework.roo.classpath.PhysicalTypeMetadata;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
@@ -124,9 +126,26 @@ public class JsonControllerIntegrationTestMetadataProviderImpl extends
     // Get the service related to managed entity
     final JavaType entityService = getServiceLocator().getFirstService(managedEntity).getType();
 
+    // Get the controller metadata, to know if it publishes the batch endpoints
+    final String controllerMetadataKey = ControllerMetadata.createIdentifier(controllerCid);
+    getMetadataDependencyRegistry().registerDependency(controllerMetadataKey,
+        metadataIdentificationString);
+    final ControllerMetadata controllerMetadata = getMetadataService().get(controllerMetadataKey);
+
+    // This metadata is not available yet
+    if (controllerMetadata == null) {
+      return null;
+    }
+
+    String batchPath = null;
+    if (controllerMetadata.getType() == ControllerType.COLLECTION
+        && !controllerMetadata.getEntityMetadata().isReadOnly()) {
+      batchPath = controllerMetadata.getRequestMappingValue().concat("/batch");
+    }
+
     return new JsonControllerIntegrationTestMetadata(metadataIdentificationString, aspectName,
         governorPhysicalTypeMetadata, annotationValues, jsonController, managedEntity,
-        entityFactory, entityService);
+        entityFactory, entityService, batchPath);
   }
 
   public String getProvidesType() {
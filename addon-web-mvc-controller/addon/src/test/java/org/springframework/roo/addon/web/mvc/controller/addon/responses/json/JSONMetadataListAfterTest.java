@@ -0,0 +1,30 @@
+package org.springframework.roo.addon.web.mvc.controller.addon.responses.json;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
+
+/**
+ * Unit test of the "listAfter" method generated by {@link JSONMetadata}
+ */
+public class JSONMetadataListAfterTest {
+
+  @Test
+  public void testRequestedSizeIsClamped() {
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+    JSONMetadata.appendListAfterBody(bodyBuilder, "Slice<Customer>", "customers",
+        "getCustomerService().findAllAfter", "after", "size", "ResponseEntity");
+    String output = bodyBuilder.getOutput();
+
+    int clamp =
+        output.indexOf(String.format("int pageSize = Math.max(1, Math.min(size, %s));",
+            JSONMetadata.MAX_PAGE_SIZE));
+    int find =
+        output.indexOf("Slice<Customer> customers = "
+            + "getCustomerService().findAllAfter(globalSearch, after, pageSize);");
+    assertTrue(clamp >= 0);
+    assertTrue(clamp < find);
+    assertTrue(output.contains("return ResponseEntity.ok(customers);"));
+  }
+}
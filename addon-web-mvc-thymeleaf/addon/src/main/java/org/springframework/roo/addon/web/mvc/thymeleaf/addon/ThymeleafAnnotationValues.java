@@ -22,6 +22,15 @@ public class ThymeleafAnnotationValues extends AbstractAnnotationValues {
   @AutoPopulate
   private String[] excludeViews;
 
+  @AutoPopulate
+  private int exportRowLimit = 0;
+
+  @AutoPopulate
+  private boolean streamingExport = false;
+
+  @AutoPopulate
+  private int countCacheSeconds = 60;
+
   /**
    * Constructor
    *
@@ -41,4 +50,16 @@ public class ThymeleafAnnotationValues extends AbstractAnnotationValues {
     return excludeViews;
   }
 
+  public int getExportRowLimit() {
+    return exportRowLimit;
+  }
+
+  public boolean isStreamingExport() {
+    return streamingExport;
+  }
+
+  public int getCountCacheSeconds() {
+    return countCacheSeconds;
+  }
+
 }
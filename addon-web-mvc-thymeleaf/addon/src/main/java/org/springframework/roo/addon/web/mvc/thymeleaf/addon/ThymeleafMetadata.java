@@ -41,6 +41,7 @@ import org.springframework.roo.addon.web.mvc.views.AbstractViewMetadata;
 import org.springframework.roo.classpath.PhysicalTypeIdentifier;
 import org.springframework.roo.classpath.PhysicalTypeIdentifierNamingUtils;
 import org.springframework.roo.classpath.PhysicalTypeMetadata;
+import org.springframework.roo.classpath.details.BeanInfoUtils;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.classpath.details.ConstructorMetadata;
 import org.springframework.roo.classpath.details.ConstructorMetadataBuilder;
@@ -61,6 +62,7 @@ import org.springframework.roo.model.DataType;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.JdkJavaType;
+import org.springframework.roo.model.JpaJavaType;
 import org.springframework.roo.model.Jsr303JavaType;
 import org.springframework.roo.model.SpringEnumDetails;
 import org.springframework.roo.model.SpringJavaType;
@@ -112,6 +114,11 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
   protected static final JavaSymbolName EXPORT_CSV_METHOD_NAME = new JavaSymbolName("exportCsv");
   protected static final JavaSymbolName EXPORT_PDF_METHOD_NAME = new JavaSymbolName("exportPdf");
   protected static final JavaSymbolName EXPORT_XLS_METHOD_NAME = new JavaSymbolName("exportXls");
+  protected static final JavaSymbolName EXPORT_JSON_METHOD_NAME = new JavaSymbolName("exportJson");
+  protected static final JavaSymbolName GET_EXPORT_VALUE_METHOD_NAME = new JavaSymbolName(
+      "getExportValue");
+  protected static final JavaSymbolName GET_APPROXIMATE_COUNT_METHOD_NAME = new JavaSymbolName(
+      "getApproximateCount");
   protected static final JavaSymbolName ADD_COLUMN_TO_REPORT_BUILDER_METHOD_NAME =
       new JavaSymbolName("addColumnToReportBuilder");
   protected static final JavaSymbolName FIN_ONE_FOR_UPDATE_METHOD_NAME = new JavaSymbolName(
@@ -141,6 +148,10 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
       "conversionService");
   private static final JavaSymbolName CONCURRENCY_TEMPLATE_FIELD_NAME = new JavaSymbolName(
       "concurrencyTemplate");
+  private static final JavaSymbolName ENTITY_MANAGER_FIELD_NAME = new JavaSymbolName(
+      "entityManager");
+  private static final JavaSymbolName APPROXIMATE_COUNTS_FIELD_NAME = new JavaSymbolName(
+      "approximateCounts");
   private static final AnnotationMetadata ANN_METADATA_MODEL_ATTRIBUTE = AnnotationMetadataBuilder
       .getInstance(SpringJavaType.MODEL_ATTRIBUTE);
   private static final AnnotatedJavaType STRING_ARRAY_PARAM = new AnnotatedJavaType(
@@ -181,6 +192,29 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
       "ar.com.fdvs.dj.core.layout.ClassicLayoutManager");
   private static final JavaType STRING_UTILS_APACHE = new JavaType(
       "org.apache.commons.lang3.StringUtils");
+  private static final JavaType STRING_ESCAPE_UTILS_APACHE = new JavaType(
+      "org.apache.commons.lang3.StringEscapeUtils");
+  private static final JavaType WRITER = new JavaType("java.io.Writer");
+  private static final JavaType JSON_FACTORY = new JavaType(
+      "com.fasterxml.jackson.core.JsonFactory");
+  private static final JavaType JSON_GENERATOR = new JavaType(
+      "com.fasterxml.jackson.core.JsonGenerator");
+  private static final JavaType JSON_ENCODING = new JavaType(
+      "com.fasterxml.jackson.core.JsonEncoding");
+
+  private static final JavaType CONCURRENT_MAP = new JavaType(
+      "java.util.concurrent.ConcurrentMap");
+  private static final JavaType CONCURRENT_HASH_MAP = new JavaType(
+      "java.util.concurrent.ConcurrentHashMap");
+  private static final JavaType LONG_ARRAY = new JavaType(Long.class.getName(), 1,
+      DataType.PRIMITIVE, null, null);
+
+  // Number of records read and written at a time by the streaming exports
+  private static final int EXPORT_CHUNK_SIZE = 1000;
+
+  // Number of searches whose approximate totals are kept by the count-free
+  // datatables
+  private static final int MAX_APPROXIMATE_COUNTS = 1000;
 
   private static final String PROVIDES_TYPE_STRING = ThymeleafMetadata.class.getName();
   private static final String PROVIDES_TYPE = MetadataIdentificationUtils
@@ -274,6 +308,8 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
   private final FieldMetadata collectionMethodLinkBuilderFactoryField;
   private final FieldMetadata itemMethodLinkBuilderFactoryField;
   private final FieldMetadata conversionServiceField;
+  private final FieldMetadata entityManagerField;
+  private final FieldMetadata approximateCountsField;
   private final String viewsPath;
   private final JavaType collectionController;
   private final List<FieldMetadata> dateTimeFields;
@@ -453,6 +489,15 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
         this.conversionServiceField = getConversionServiceField();
         ensureGovernorHasField(new FieldMetadataBuilder(this.conversionServiceField));
 
+        // Datatables which skip the count queries keep the approximate totals
+        // of the latest searches
+        if (serviceMetadata.getCurrentFindAllSliceWithGlobalSearchMethod() != null) {
+          this.approximateCountsField = getApproximateCountsField();
+          ensureGovernorHasField(new FieldMetadataBuilder(this.approximateCountsField));
+        } else {
+          this.approximateCountsField = null;
+        }
+
         // Build constructor
         String itemLinkBuilderLine =
             String.format("%s(linkBuilder.of(%s.class));",
@@ -470,6 +515,9 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
         this.listMethod = addAndGet(getListMethod(), allMethods);
         this.listDatatablesMethod = addAndGet(getListDatatablesMethod(), allMethods);
         this.listDatatablesByIdsInMethod = addAndGet(getListDatatablesByIdsInMethod(), allMethods);
+        if (this.approximateCountsField != null) {
+          addAndGet(getApproximateCountMethod(), allMethods);
+        }
 
         boolean generateSelect2 = true;
         // XXX To Be Analyzed
@@ -531,6 +579,17 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
         this.showDetailMethod = null;
         this.showDetailInlineMethod = null;
 
+        // Streaming exports read the records by their identifier, using
+        // keyset pagination, and need the EntityManager to detach the
+        // records already written
+        if (annotationValues.isStreamingExport()
+            && serviceMetadata.getCurrentFindAllAfterWithGlobalSearchMethod() != null) {
+          this.entityManagerField = getEntityManagerField();
+          ensureGovernorHasField(new FieldMetadataBuilder(this.entityManagerField));
+        } else {
+          this.entityManagerField = null;
+        }
+
         // Jasper export methods
         List<MethodMetadata> exportMethods = new ArrayList<MethodMetadata>();
         this.exportMethod = addAndGet(getExportMethod(), exportMethods);
@@ -539,6 +598,10 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
         this.exportXlsMethod = addAndGet(getXlsMethod(), exportMethods);
         this.addColumnToReportBuilderMethod =
             addAndGet(getAddColumnToReportBuilderMethod(), exportMethods);
+        if (this.entityManagerField != null) {
+          addAndGet(getJsonExportMethod(), exportMethods);
+          addAndGet(getExportValueMethod(), exportMethods);
+        }
         this.exportMethods = exportMethods;
 
         // Concurrency template field is not valid here
@@ -653,6 +716,8 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
         this.exportXlsMethod = null;
         this.addColumnToReportBuilderMethod = null;
         this.exportMethods = null;
+        this.entityManagerField = null;
+        this.approximateCountsField = null;
 
         break;
       }
@@ -737,6 +802,8 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
         this.exportXlsMethod = null;
         this.addColumnToReportBuilderMethod = null;
         this.exportMethods = null;
+        this.entityManagerField = null;
+        this.approximateCountsField = null;
 
         // Concurrency template field is not valid here
         this.concurrencyTemplateField = null;
@@ -844,6 +911,8 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
         this.exportXlsMethod = null;
         this.addColumnToReportBuilderMethod = null;
         this.exportMethods = null;
+        this.entityManagerField = null;
+        this.approximateCountsField = null;
 
         // Concurrency template field is not valid here
         this.concurrencyTemplateField = null;
@@ -930,6 +999,8 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
         this.exportXlsMethod = null;
         this.addColumnToReportBuilderMethod = null;
         this.exportMethods = null;
+        this.entityManagerField = null;
+        this.approximateCountsField = null;
 
         // Concurrency template field is not valid here
         this.concurrencyTemplateField = null;
@@ -964,6 +1035,20 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
             entity.getSimpleTypeName())).build();
   }
 
+  private FieldMetadata getEntityManagerField() {
+    List<AnnotationMetadataBuilder> annotations = new ArrayList<AnnotationMetadataBuilder>();
+    annotations.add(new AnnotationMetadataBuilder(JpaJavaType.PERSISTENCE_CONTEXT));
+    return new FieldMetadataBuilder(getId(), Modifier.PRIVATE, annotations,
+        ENTITY_MANAGER_FIELD_NAME, JpaJavaType.ENTITY_MANAGER).build();
+  }
+
+  private FieldMetadata getApproximateCountsField() {
+    JavaType mapType = JavaType.wrapperOf(CONCURRENT_MAP, JavaType.STRING, LONG_ARRAY);
+    return new FieldMetadataBuilder(getId(), Modifier.PRIVATE + Modifier.FINAL,
+        APPROXIMATE_COUNTS_FIELD_NAME, mapType, String.format("new %s<String, long[]>()",
+            getNameOfJavaType(CONCURRENT_HASH_MAP))).build();
+  }
+
   private FieldMetadata getMessageSourceField() {
     return new FieldMetadataBuilder(getId(), Modifier.PRIVATE,
         new ArrayList<AnnotationMetadataBuilder>(), MESSAGE_SOURCE, SpringJavaType.MESSAGE_SOURCE)
@@ -1262,13 +1347,14 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     // Getting the default return type
     JavaType defaultReturnType = findAllMethod.getReturnType();
 
-    // Obtain the filtered and ordered elements
-    // Page<Owner> owners = ownerService.findAll(search, pageable);
-    bodyBuilder.appendFormalLine("// Obtain the filtered and ordered elements");
-    bodyBuilder.appendFormalLine("%s %s = %s().%s(%s, %s);", getNameOfJavaType(defaultReturnType),
+    // Obtain the filtered and ordered elements, up to the row limit if any
+    appendFindReportRecords(bodyBuilder, getNameOfJavaType(defaultReturnType),
         this.entityPluralUncapitalized,
-        getAccessorMethod(this.controllerMetadata.getServiceField()).getMethodName(), findAllMethod
-            .getMethodName().getSymbolName(), GLOBAL_SEARCH_PARAM_NAME, PAGEABLE_PARAM_NAME);
+        getAccessorMethod(this.controllerMetadata.getServiceField()).getMethodName()
+            .getSymbolName().concat("().").concat(findAllMethod.getMethodName().getSymbolName()),
+        this.annotationValues.getExportRowLimit(), getNameOfJavaType(SpringJavaType.PAGE_REQUEST),
+        getAccessorMethod(this.messageSourceField).getMethodName().getSymbolName(),
+        getNameOfJavaType(this.jasperReportsMap.get("ExportingErrorException")));
     bodyBuilder.newLine();
 
     // // Prevent generation of reports with empty data
@@ -1416,6 +1502,10 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
             .concat(IOUtils.LINE_SEPARATOR)
             .concat("export them to a new report file. (It ignores the current pagination).")
             .concat(IOUtils.LINE_SEPARATOR)
+            .concat(
+                this.annotationValues.getExportRowLimit() > 0 ? String.format(
+                    "The report is built in memory, so it can't have more than %s records.",
+                    this.annotationValues.getExportRowLimit()).concat(IOUtils.LINE_SEPARATOR) : "")
             .concat(IOUtils.LINE_SEPARATOR)
             .concat("To generate the report file it uses the `DynamicJasper` library")
             .concat(IOUtils.LINE_SEPARATOR)
@@ -1464,6 +1554,9 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
    * @return MethodMetadata
    */
   private MethodMetadata getCsvExportMethod() {
+    if (this.entityManagerField != null) {
+      return buildStreamingExportMethod(EXPORT_CSV_METHOD_NAME, "exportCsv", "/export/csv", "CSV");
+    }
     if (jasperReportsMap.get("JasperReportsCsvExporter") != null) {
       final String exporterMethodInvocation =
           String.format("new %s()",
@@ -1518,6 +1611,82 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     return null;
   }
 
+  /**
+   * Generates a method to export data to JSON, written in chunks to the
+   * response.
+   *
+   * @return MethodMetadata
+   */
+  private MethodMetadata getJsonExportMethod() {
+    return buildStreamingExportMethod(EXPORT_JSON_METHOD_NAME, "exportJson", "/export/json",
+        "JSON");
+  }
+
+  /**
+   * Generates a method which returns the value of an entity field by its
+   * name, used by the streaming exports instead of reflection.
+   *
+   * @return MethodMetadata
+   */
+  private MethodMetadata getExportValueMethod() {
+    JavaSymbolName methodName = GET_EXPORT_VALUE_METHOD_NAME;
+
+    // Including parameter types
+    List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+    parameterTypes.add(new AnnotatedJavaType(this.entity));
+    parameterTypes.add(STRING_PARAM);
+
+    MethodMetadata existingMethod =
+        getGovernorMethod(methodName,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    // Including parameter names
+    final List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
+    parameterNames.add(new JavaSymbolName(this.entityItemName));
+    parameterNames.add(new JavaSymbolName("columnName"));
+
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+    for (FieldMetadata fieldMetadata : this.entityValidFields) {
+
+      // if ("FIELD".equals(columnName)) {
+      bodyBuilder.appendFormalLine("if (\"%s\".equals(columnName)) {", fieldMetadata
+          .getFieldName().getSymbolName());
+      bodyBuilder.indent();
+
+      // return owner.getFIELD();
+      bodyBuilder.appendFormalLine("return %s.%s();", this.entityItemName,
+          BeanInfoUtils.getAccessorMethodName(fieldMetadata));
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+    }
+
+    // return null;
+    bodyBuilder.appendFormalLine("return null;");
+
+    // Build method
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName, JavaType.OBJECT,
+            parameterTypes, parameterNames, bodyBuilder);
+
+    // Add Javadoc to method
+    CommentStructure commentStructure = new CommentStructure();
+    String description =
+        "Returns the value of the given column to export. The developer could add a new column "
+            .concat(IOUtils.LINE_SEPARATOR).concat(
+                "to the CSV and JSON exports returning its value here.");
+    List<String> paramInfo = new ArrayList<String>();
+    paramInfo.add(String.format("%s the record to export", this.entityItemName));
+    paramInfo.add("columnName the field name shown as column");
+    commentStructure.addComment(new JavadocComment(description, paramInfo,
+        "the value, or null if the column isn't exported", null), CommentLocation.BEGINNING);
+    methodBuilder.setCommentStructure(commentStructure);
+
+    return methodBuilder.build();
+  }
+
   /**
    * Builds a `catch` block which throws an exception with a localized message
    * for export method.
@@ -1663,6 +1832,383 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     return methodBuilder.build();
   }
 
+  /**
+   * Builds a streaming export method, which writes the records to the
+   * response in chunks, so the result is never fully loaded in memory.
+   *
+   * @param methodName
+   *            the JavaSymbolName with the method name.
+   * @param getMappingAnnotationName
+   *            the name of the request mapping.
+   * @param getMappingAnnotationValue
+   *            the path of the request mapping.
+   * @param fileType
+   *            CSV or JSON.
+   * @return MethodMetadata
+   */
+  private MethodMetadata buildStreamingExportMethod(final JavaSymbolName methodName,
+      final String getMappingAnnotationName, final String getMappingAnnotationValue,
+      final String fileType) {
+    final boolean json = "JSON".equals(fileType);
+
+    // Including parameter types
+    List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+    parameterTypes.add(GLOBAL_SEARCH_PARAM);
+    AnnotationMetadataBuilder requestParamAnnotation =
+        new AnnotationMetadataBuilder(SpringJavaType.REQUEST_PARAM);
+    requestParamAnnotation.addStringAttribute("value",
+        DATATABLES_COLUMNS_PARAM_NAME.getSymbolName());
+    parameterTypes
+        .add(new AnnotatedJavaType(JavaType.STRING_ARRAY, requestParamAnnotation.build()));
+    parameterTypes
+        .add(new AnnotatedJavaType(new JavaType("javax.servlet.http.HttpServletResponse")));
+    parameterTypes.add(LOCALE_PARAM);
+
+    MethodMetadata existingMethod =
+        getGovernorMethod(methodName,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    // Including parameter names
+    final List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
+    parameterNames.add(GLOBAL_SEARCH_PARAM_NAME);
+    parameterNames.add(DATATABLES_COLUMNS_PARAM_NAME);
+    parameterNames.add(RESPONSE_PARAM_NAME);
+    parameterNames.add(LOCALE_PARAM_NAME);
+
+    // Adding annotations
+    final List<AnnotationMetadataBuilder> annotations = new ArrayList<AnnotationMetadataBuilder>();
+    AnnotationMetadataBuilder getMappingBuilder = new AnnotationMetadataBuilder(GET_MAPPING);
+    getMappingBuilder.addStringAttribute("name", getMappingAnnotationName);
+    getMappingBuilder.addStringAttribute("value", getMappingAnnotationValue);
+    annotations.add(getMappingBuilder);
+    annotations.add(RESPONSE_BODY_ANNOTATION);
+
+    final MethodMetadata findAllAfterMethod =
+        this.serviceMetadata.getCurrentFindAllAfterWithGlobalSearchMethod();
+    final String entityName = getNameOfJavaType(this.entity);
+    final String conversionService =
+        getAccessorMethod(this.conversionServiceField).getMethodName().getSymbolName();
+    final String fileName =
+        String.format("%s_report.%s", this.entityPluralUncapitalized, fileType.toLowerCase());
+
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    // response.setContentType("text/csv;charset=UTF-8");
+    bodyBuilder.appendFormalLine("%s.setContentType(\"%s;charset=UTF-8\");", RESPONSE_PARAM_NAME,
+        json ? "application/json" : "text/csv");
+    // response.setHeader("Content-Disposition",
+    // "attachment; filename=\"owners_report.csv\"");
+    bodyBuilder.appendFormalLine(
+        "%s.setHeader(\"Content-Disposition\", \"attachment; filename=\\\"%s\\\"\");",
+        RESPONSE_PARAM_NAME, fileName);
+    if (json) {
+      // JsonGenerator json = new JsonFactory().createGenerator(
+      // response.getOutputStream(), JsonEncoding.UTF8);
+      bodyBuilder.appendFormalLine(
+          "%s json = new %s().createGenerator(%s.getOutputStream(), %s.UTF8);",
+          getNameOfJavaType(JSON_GENERATOR), getNameOfJavaType(JSON_FACTORY), RESPONSE_PARAM_NAME,
+          getNameOfJavaType(JSON_ENCODING));
+    } else {
+      // Writer writer = response.getWriter();
+      bodyBuilder.appendFormalLine("%s writer = %s.getWriter();", getNameOfJavaType(WRITER),
+          RESPONSE_PARAM_NAME);
+      bodyBuilder.newLine();
+
+      // // The first row contains the labels of the exported columns
+      bodyBuilder.appendFormalLine("// The first row contains the labels of the exported columns");
+      // for (int i = 0; i < datatablesColumns.length; i++) {
+      bodyBuilder.appendFormalLine("for (int i = 0; i < %s.length; i++) {",
+          DATATABLES_COLUMNS_PARAM_NAME);
+      bodyBuilder.indent();
+      appendCsvSeparator(bodyBuilder);
+      // writer.write(StringEscapeUtils.escapeCsv(getMessageSource().getMessage(
+      // "label_owner_" + datatablesColumns[i].toLowerCase(), null,
+      // datatablesColumns[i], locale)));
+      bodyBuilder.appendFormalLine("writer.write(%s.escapeCsv(%s().getMessage(",
+          getNameOfJavaType(STRING_ESCAPE_UTILS_APACHE),
+          getAccessorMethod(this.messageSourceField).getMethodName());
+      bodyBuilder.indent();
+      bodyBuilder.appendFormalLine(
+          "\"%s_\" + %2$s[i].toLowerCase(), null, %2$s[i], %3$s)));", this.entityLabel,
+          DATATABLES_COLUMNS_PARAM_NAME, LOCALE_PARAM_NAME);
+      bodyBuilder.indentRemove();
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+      bodyBuilder.appendFormalLine("writer.write(\"\\r\\n\");");
+    }
+    bodyBuilder.newLine();
+
+    // Write the filtered elements in chunks, read by their identifier
+    appendStreamingExportStart(bodyBuilder, json,
+        getNameOfJavaType(findAllAfterMethod.getReturnType()), this.entityPluralUncapitalized,
+        getNameOfJavaType(findAllAfterMethod.getParameterTypes().get(1).getJavaType()),
+        getAccessorMethod(this.controllerMetadata.getServiceField()).getMethodName()
+            .getSymbolName().concat("().")
+            .concat(findAllAfterMethod.getMethodName().getSymbolName()), entityName,
+        this.entityItemName, EXPORT_CHUNK_SIZE);
+    if (json) {
+      bodyBuilder.appendFormalLine("json.writeStartObject();");
+      // for (String column : datatablesColumns) {
+      bodyBuilder.appendFormalLine("for (String column : %s) {", DATATABLES_COLUMNS_PARAM_NAME);
+      bodyBuilder.indent();
+      // Object value = getExportValue(owner, column);
+      bodyBuilder.appendFormalLine("Object value = %s(%s, column);",
+          GET_EXPORT_VALUE_METHOD_NAME, this.entityItemName);
+      bodyBuilder.appendFormalLine("if (value == null) {");
+      bodyBuilder.indent();
+      bodyBuilder.appendFormalLine("json.writeNullField(column);");
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+      bodyBuilder.appendFormalLine(
+          "else if (value instanceof Number || value instanceof Boolean) {");
+      bodyBuilder.indent();
+      bodyBuilder.appendFormalLine("json.writeObjectField(column, value);");
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+      bodyBuilder.appendFormalLine("else {");
+      bodyBuilder.indent();
+      // json.writeStringField(column, getConversionService().convert(value,
+      // String.class));
+      bodyBuilder.appendFormalLine(
+          "json.writeStringField(column, %s().convert(value, String.class));", conversionService);
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+      bodyBuilder.appendFormalLine("json.writeEndObject();");
+    } else {
+      // for (int i = 0; i < datatablesColumns.length; i++) {
+      bodyBuilder.appendFormalLine("for (int i = 0; i < %s.length; i++) {",
+          DATATABLES_COLUMNS_PARAM_NAME);
+      bodyBuilder.indent();
+      appendCsvSeparator(bodyBuilder);
+      // Object value = getExportValue(owner, datatablesColumns[i]);
+      bodyBuilder.appendFormalLine("Object value = %s(%s, %s[i]);", GET_EXPORT_VALUE_METHOD_NAME,
+          this.entityItemName, DATATABLES_COLUMNS_PARAM_NAME);
+      bodyBuilder.appendFormalLine("if (value != null) {");
+      bodyBuilder.indent();
+      // writer.write(StringEscapeUtils.escapeCsv(getConversionService().convert(
+      // value, String.class)));
+      bodyBuilder.appendFormalLine("writer.write(%s.escapeCsv(%s().convert(value, String.class)));",
+          getNameOfJavaType(STRING_ESCAPE_UTILS_APACHE), conversionService);
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+      bodyBuilder.appendFormalLine("writer.write(\"\\r\\n\");");
+    }
+    appendStreamingExportEnd(bodyBuilder, json, this.entityPluralUncapitalized,
+        this.entityItemName, this.entityMetadata.getCurrentIdentifierAccessor().getMethodName()
+            .getSymbolName(), getAccessorMethod(this.entityManagerField).getMethodName()
+            .getSymbolName());
+    bodyBuilder.newLine();
+
+    // return ResponseEntity.ok().build();
+    bodyBuilder.appendFormalLine("return %s.ok().build();", getNameOfJavaType(RESPONSE_ENTITY));
+
+    // Build method
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName,
+            JavaType.wrapperWilcard(RESPONSE_ENTITY), parameterTypes, parameterNames, bodyBuilder);
+    methodBuilder.setAnnotations(annotations);
+    methodBuilder.addThrowsType(IO_EXCEPTION);
+
+    // Add JavaDoc
+    CommentStructure commentStructure = new CommentStructure();
+    String description =
+        String
+            .format(
+                "Writes the filtered records to a %s file, %s at a time, directly to the",
+                fileType, EXPORT_CHUNK_SIZE).concat(IOUtils.LINE_SEPARATOR)
+            .concat("response. The records are read ordered by their identifier, using keyset")
+            .concat(IOUtils.LINE_SEPARATOR)
+            .concat("pagination. (It ignores the current pagination and order).")
+            .concat(IOUtils.LINE_SEPARATOR).concat(IOUtils.LINE_SEPARATOR)
+            .concat(String.format("The value of each column is obtained from the `%s` method.",
+                GET_EXPORT_VALUE_METHOD_NAME));
+
+    // Add params info to commment block
+    List<String> paramsInfo = new ArrayList<String>();
+    paramsInfo
+        .add("search The GlobalSearch that contains the filter provided by the Datatables component");
+    paramsInfo.add("datatablesColumns The Columns displayed in the Datatables component");
+    paramsInfo.add("response The HttpServletResponse");
+    paramsInfo.add("locale The current Locale in the view context");
+
+    // Add JavadocComment to CommentStructure and to method
+    commentStructure.addComment(new JavadocComment(description, paramsInfo, null, null),
+        CommentLocation.BEGINNING);
+    methodBuilder.setCommentStructure(commentStructure);
+
+    return methodBuilder.build();
+  }
+
+  /**
+   * Appends the code which obtains the records of a report. If the row limit
+   * is greater than 0, only that number of records is read, and an
+   * exception is thrown if there are more.
+   *
+   * @param bodyBuilder the InvocableMemberBodyBuilder of the export method
+   * @param recordsType the name of the type returned by the findAll method
+   * @param records the name of the variable with the records
+   * @param findAll the invocation of the service findAll method, without
+   *            arguments
+   * @param rowLimit the maximum number of records, or 0 to read all of them
+   * @param pageRequestType the name of the PageRequest type
+   * @param messageSource the name of the MessageSource accessor
+   * @param exceptionType the name of the exception thrown if the limit is
+   *            exceeded
+   */
+  static void appendFindReportRecords(InvocableMemberBodyBuilder bodyBuilder,
+      String recordsType, String records, String findAll, int rowLimit, String pageRequestType,
+      String messageSource, String exceptionType) {
+    if (rowLimit <= 0) {
+      // Page<Owner> owners = getOwnerService().findAll(search, pageable);
+      bodyBuilder.appendFormalLine("// Obtain the filtered and ordered elements");
+      bodyBuilder.appendFormalLine("%s %s = %s(%s, %s);", recordsType, records, findAll,
+          GLOBAL_SEARCH_PARAM_NAME, PAGEABLE_PARAM_NAME);
+      return;
+    }
+
+    // Page<Owner> owners = getOwnerService().findAll(search,
+    // new PageRequest(0, 10000, pageable.getSort()));
+    bodyBuilder.appendFormalLine(
+        "// Obtain the filtered and ordered elements. The report is built in memory, so");
+    bodyBuilder.appendFormalLine("// the number of elements is limited");
+    bodyBuilder.appendFormalLine("%s %s = %s(%s, new %s(0, %s, %s.getSort()));", recordsType,
+        records, findAll, GLOBAL_SEARCH_PARAM_NAME, pageRequestType, rowLimit,
+        PAGEABLE_PARAM_NAME);
+    // if (owners.getTotalElements() > 10000) {
+    bodyBuilder.appendFormalLine("if (%s.getTotalElements() > %s) {", records, rowLimit);
+    bodyBuilder.indent();
+    // String errorMessage =
+    // getMessageSource().getMessage("error_exportRowLimitExceeded",
+    bodyBuilder.appendFormalLine(
+        "String errorMessage = %s().getMessage(\"error_exportRowLimitExceeded\", ",
+        messageSource);
+    bodyBuilder.indent();
+    // new Object[] {10000}, "Reports are limited to {0} records...", locale);
+    bodyBuilder.appendFormalLine("new Object[] {%s}, ", rowLimit);
+    bodyBuilder.appendFormalLine(
+        "\"Reports are limited to {0} records, please refine the search\", %s);",
+        LOCALE_PARAM_NAME);
+    bodyBuilder.indentRemove();
+    // throw new ExportingErrorException(errorMessage);
+    bodyBuilder.appendFormalLine("throw new %s(errorMessage);", exceptionType);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+  }
+
+  /**
+   * Appends the beginning of the loop of a streaming export, which reads the
+   * records in chunks using keyset pagination, so no offset or count query is
+   * executed for each chunk. The loop is closed by
+   * {@link #appendStreamingExportEnd}.
+   *
+   * @param bodyBuilder the InvocableMemberBodyBuilder of the export method
+   * @param json whether the records are written with a JsonGenerator, which
+   *            is closed at the end
+   * @param recordsType the name of the type returned by the findAllAfter
+   *            method
+   * @param records the name of the variable with each chunk
+   * @param idType the name of the identifier type
+   * @param findAllAfter the invocation of the service findAllAfter method,
+   *            without arguments
+   * @param entityName the name of the entity type
+   * @param record the name of the variable with each record
+   * @param chunkSize the number of records of each chunk
+   */
+  static void appendStreamingExportStart(InvocableMemberBodyBuilder bodyBuilder, boolean json,
+      String recordsType, String records, String idType, String findAllAfter, String entityName,
+      String record, int chunkSize) {
+    if (json) {
+      bodyBuilder.appendFormalLine("try {");
+      bodyBuilder.indent();
+      bodyBuilder.appendFormalLine("json.writeStartArray();");
+    }
+
+    // // Write the filtered elements in chunks, so only one chunk is in
+    // // memory at a time. Each chunk starts after the last written element
+    bodyBuilder.appendFormalLine(
+        "// Write the filtered elements in chunks, so only one chunk is in memory at a time.");
+    bodyBuilder.appendFormalLine("// Each chunk starts after the last written element");
+    // Long after = null;
+    bodyBuilder.appendFormalLine("%s after = null;", idType);
+    // Slice<Owner> owners;
+    bodyBuilder.appendFormalLine("%s %s;", recordsType, records);
+    bodyBuilder.appendFormalLine("do {");
+    bodyBuilder.indent();
+    // owners = getOwnerService().findAllAfter(search, after, 1000);
+    bodyBuilder.appendFormalLine("%s = %s(%s, after, %s);", records, findAllAfter,
+        GLOBAL_SEARCH_PARAM_NAME, chunkSize);
+    // for (Owner owner : owners) {
+    bodyBuilder.appendFormalLine("for (%s %s : %s) {", entityName, record, records);
+    bodyBuilder.indent();
+  }
+
+  /**
+   * Appends the end of the loop started by
+   * {@link #appendStreamingExportStart}.
+   *
+   * @param bodyBuilder the InvocableMemberBodyBuilder of the export method
+   * @param json whether the records are written with a JsonGenerator
+   * @param records the name of the variable with each chunk
+   * @param record the name of the variable with each record
+   * @param idAccessor the name of the identifier accessor of the entity
+   * @param entityManager the name of the EntityManager accessor
+   */
+  static void appendStreamingExportEnd(InvocableMemberBodyBuilder bodyBuilder, boolean json,
+      String records, String record, String idAccessor, String entityManager) {
+    // after = owner.getId();
+    bodyBuilder.appendFormalLine("after = %s.%s();", record, idAccessor);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.appendFormalLine("%s.flush();", json ? "json" : "writer");
+    bodyBuilder.newLine();
+
+    // // Detach the written elements, as the persistence context keeps them
+    // // until the request ends otherwise
+    bodyBuilder.appendFormalLine(
+        "// Detach the written elements, as the persistence context keeps them until the request");
+    bodyBuilder.appendFormalLine("// ends otherwise");
+    // getEntityManager().clear();
+    bodyBuilder.appendFormalLine("%s().clear();", entityManager);
+    bodyBuilder.indentRemove();
+    // } while (owners.hasNext());
+    bodyBuilder.appendFormalLine("} while (%s.hasNext());", records);
+
+    if (json) {
+      bodyBuilder.appendFormalLine("json.writeEndArray();");
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+      // finally {
+      // json.close();
+      // }
+      bodyBuilder.appendFormalLine("finally {");
+      bodyBuilder.indent();
+      bodyBuilder.appendFormalLine("json.close();");
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+    }
+  }
+
+  /**
+   * Appends the separator written before each value of a CSV row but the
+   * first one.
+   */
+  private void appendCsvSeparator(InvocableMemberBodyBuilder bodyBuilder) {
+    // if (i > 0) {
+    bodyBuilder.appendFormalLine("if (i > 0) {");
+    bodyBuilder.indent();
+    // writer.write(',');
+    bodyBuilder.appendFormalLine("writer.write(',');");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+  }
+
   /**
    * Returns a String with default label to show when cannot find the right
    * label code.
@@ -3617,27 +4163,56 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     // Getting the findAll return type
     JavaType defaultReturnType = findAllMethod.getReturnType().getParameters().get(0);
 
-    // Page<Customer> customers = customerService.findAll(search, pageable);
-    bodyBuilder.appendFormalLine("%s<%s> %s = %s().%s(search, pageable);",
-        getNameOfJavaType(SpringJavaType.PAGE), getNameOfJavaType(defaultReturnType), itemNames,
-        getAccessorMethod(this.controllerMetadata.getServiceField()).getMethodName(),
-        findAllMethod.getMethodName());
-
     final String totalVarName = "total" + StringUtils.capitalize(this.entityPlural) + "Count";
-    // long totalCustomersCount = customers.getTotalElements();
-    bodyBuilder.appendFormalLine("long %s = %s.getTotalElements();", totalVarName, itemNames);
+    final String pageVarName;
+    if (this.approximateCountsField != null) {
+
+      // The repository skips the count queries, so read a Slice and
+      // estimate the totals
+      MethodMetadata findAllSliceMethod =
+          this.serviceMetadata.getCurrentFindAllSliceWithGlobalSearchMethod();
+
+      // Slice<Customer> customers = customerService.findAllSlice(search, pageable);
+      bodyBuilder.appendFormalLine("%s<%s> %s = %s().%s(search, pageable);",
+          getNameOfJavaType(SpringJavaType.SLICE), getNameOfJavaType(defaultReturnType),
+          itemNames, getAccessorMethod(this.controllerMetadata.getServiceField())
+              .getMethodName(), findAllSliceMethod.getMethodName());
+
+      // long totalCustomersCount = getApproximateCount(search, pageable, customers);
+      bodyBuilder.appendFormalLine("long %s = %s(search, pageable, %s);", totalVarName,
+          GET_APPROXIMATE_COUNT_METHOD_NAME, itemNames);
+
+      // Page<Customer> customersPage =
+      // new PageImpl<Customer>(customers.getContent(), pageable, totalCustomersCount);
+      pageVarName = itemNames.concat("Page");
+      bodyBuilder.appendFormalLine("%1$s<%2$s> %3$s = new %4$s<%2$s>(%5$s.getContent(), "
+          + "pageable, %6$s);", getNameOfJavaType(SpringJavaType.PAGE),
+          getNameOfJavaType(defaultReturnType), pageVarName,
+          getNameOfJavaType(SpringJavaType.PAGE_IMPL), itemNames, totalVarName);
+    } else {
 
-    // if (search != null && StringUtils.hasText(search.getText())) {
-    // totalCustomersCount = customerService.count();
-    // }
-    bodyBuilder.appendFormalLine("if (search != null && %s.isNotBlank(search.getText())) {",
-        getNameOfJavaType(STRING_UTILS_APACHE));
-    bodyBuilder.indent();
-    bodyBuilder.appendFormalLine("%s = %s().%s();", totalVarName,
-        getAccessorMethod(this.controllerMetadata.getServiceField()).getMethodName(),
-        serviceMetadata.getCurrentCountMethod().getMethodName());
-    bodyBuilder.indentRemove();
-    bodyBuilder.appendFormalLine("}");
+      // Page<Customer> customers = customerService.findAll(search, pageable);
+      bodyBuilder.appendFormalLine("%s<%s> %s = %s().%s(search, pageable);",
+          getNameOfJavaType(SpringJavaType.PAGE), getNameOfJavaType(defaultReturnType),
+          itemNames, getAccessorMethod(this.controllerMetadata.getServiceField())
+              .getMethodName(), findAllMethod.getMethodName());
+
+      // long totalCustomersCount = customers.getTotalElements();
+      bodyBuilder.appendFormalLine("long %s = %s.getTotalElements();", totalVarName, itemNames);
+
+      // if (search != null && StringUtils.hasText(search.getText())) {
+      // totalCustomersCount = customerService.count();
+      // }
+      bodyBuilder.appendFormalLine("if (search != null && %s.isNotBlank(search.getText())) {",
+          getNameOfJavaType(STRING_UTILS_APACHE));
+      bodyBuilder.indent();
+      bodyBuilder.appendFormalLine("%s = %s().%s();", totalVarName,
+          getAccessorMethod(this.controllerMetadata.getServiceField()).getMethodName(),
+          serviceMetadata.getCurrentCountMethod().getMethodName());
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+      pageVarName = itemNames;
+    }
 
     // ConvertedDatatablesData<Owner> datatablesData = new
     // ConvertedDatatablesData<Owner>(owners,
@@ -3645,7 +4220,7 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     bodyBuilder.appendFormalLine(
         "%1$s<%2$s> datatablesData = new %1$s<%2$s>(%3$s, %4$s, draw, %5$s(), %6$s);",
         getNameOfJavaType(SpringletsJavaType.SPRINGLETS_CONVERTED_DATATABLES_DATA),
-        getNameOfJavaType(defaultReturnType), itemNames, totalVarName,
+        getNameOfJavaType(defaultReturnType), pageVarName, totalVarName,
         getAccessorMethod(this.conversionServiceField).getMethodName(),
         DATATABLES_COLUMNS_PARAM_NAME);
 
@@ -3666,6 +4241,126 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     return methodBuilder.build();
   }
 
+  /**
+   * This method provides the "getApproximateCount" method, which estimates
+   * the number of results of a search from the slices already read, instead
+   * of running a count query.
+   *
+   * @return MethodMetadata
+   */
+  private MethodMetadata getApproximateCountMethod() {
+    // Define methodName
+    final JavaSymbolName methodName = GET_APPROXIMATE_COUNT_METHOD_NAME;
+
+    // Getting the findAllSlice return type
+    JavaType sliceType =
+        this.serviceMetadata.getCurrentFindAllSliceWithGlobalSearchMethod().getReturnType();
+
+    List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+    parameterTypes.add(GLOBAL_SEARCH_PARAM);
+    parameterTypes.add(PAGEABLE_PARAM);
+    parameterTypes.add(new AnnotatedJavaType(sliceType));
+
+    MethodMetadata existingMethod =
+        getGovernorMethod(methodName,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    final String itemNames = StringUtils.uncapitalize(this.entityPlural);
+    final List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
+    parameterNames.add(GLOBAL_SEARCH_PARAM_NAME);
+    parameterNames.add(PAGEABLE_PARAM_NAME);
+    parameterNames.add(new JavaSymbolName(itemNames));
+
+    // Generate body
+    final InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+    appendApproximateCountBody(bodyBuilder, itemNames, getAccessorMethod(
+        this.approximateCountsField).getMethodName().getSymbolName(),
+        this.annotationValues.getCountCacheSeconds() * 1000L);
+
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName, JavaType.LONG_PRIMITIVE,
+            parameterTypes, parameterNames, bodyBuilder);
+
+    // Add Javadoc to method
+    CommentStructure commentStructure = new CommentStructure();
+    String description =
+        "Estimates the number of elements found by a search without a count query. The count is "
+            .concat(IOUtils.LINE_SEPARATOR).concat(
+                "exact once the last slice has been read, and a lower bound otherwise. The counts ")
+            .concat(IOUtils.LINE_SEPARATOR)
+            .concat(
+                String.format("of each search are kept for %s seconds.",
+                    this.annotationValues.getCountCacheSeconds()));
+    List<String> paramInfo = new ArrayList<String>();
+    paramInfo.add("search the search performed");
+    paramInfo.add("pageable the requested page");
+    paramInfo.add(String.format("%s the slice read", itemNames));
+    commentStructure.addComment(new JavadocComment(description, paramInfo,
+        "the approximate number of elements", null), CommentLocation.BEGINNING);
+    methodBuilder.setCommentStructure(commentStructure);
+
+    return methodBuilder.build();
+  }
+
+  /**
+   * Appends the body of the "getApproximateCount" method. The counts of each
+   * search are kept in a map until they expire, and the map is cleared when
+   * it holds too many searches.
+   *
+   * @param bodyBuilder
+   * @param itemNames the name of the slice parameter
+   * @param counts the name of the accessor of the map of counts
+   * @param ttl the milliseconds the count of a search is kept
+   */
+  static void appendApproximateCountBody(InvocableMemberBodyBuilder bodyBuilder,
+      String itemNames, String counts, long ttl) {
+    // String filter = search != null && search.getText() != null ? search.getText() : "";
+    bodyBuilder.appendFormalLine("String filter = %1$s != null && %1$s.getText() != null ? "
+        + "%1$s.getText() : \"\";", GLOBAL_SEARCH_PARAM_NAME);
+    // long now = System.currentTimeMillis();
+    bodyBuilder.appendFormalLine("long now = System.currentTimeMillis();");
+    // long read = pageable.getOffset() + customers.getNumberOfElements();
+    bodyBuilder.appendFormalLine("long read = %s.getOffset() + %s.getNumberOfElements();",
+        PAGEABLE_PARAM_NAME, itemNames);
+    bodyBuilder.newLine();
+
+    // if (!customers.hasNext()) {
+    bodyBuilder.appendFormalLine("if (!%s.hasNext()) {", itemNames);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("// The last slice has been read, so the count is exact");
+    // getApproximateCounts().put(filter, new long[] {read, now + 60000L});
+    bodyBuilder.appendFormalLine("%s().put(filter, new long[] {read, now + %sL});", counts, ttl);
+    bodyBuilder.appendFormalLine("return read;");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.newLine();
+
+    // long[] count = getApproximateCounts().get(filter);
+    bodyBuilder.appendFormalLine("long[] count = %s().get(filter);", counts);
+    // if (count != null && count[1] > now && count[0] > read) {
+    bodyBuilder.appendFormalLine("if (count != null && count[1] > now && count[0] > read) {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("return count[0];");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.newLine();
+
+    bodyBuilder.appendFormalLine("// At least one more element follows the current slice");
+    // if (getApproximateCounts().size() >= 1000) {
+    bodyBuilder.appendFormalLine("if (%s().size() >= %s) {", counts, MAX_APPROXIMATE_COUNTS);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("%s().clear();", counts);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    // getApproximateCounts().put(filter, new long[] {read + 1, now + 60000L});
+    bodyBuilder.appendFormalLine("%s().put(filter, new long[] {read + 1, now + %sL});", counts,
+        ttl);
+    bodyBuilder.appendFormalLine("return read + 1;");
+  }
+
   /**
    * This method provides the "list" Datatables JSON method using JSON
    * response type and returns Datatables element
@@ -5233,6 +5928,14 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     return listMethod;
   }
 
+  /**
+   * @return whether the datatables of this controller skip the count queries
+   *         and return approximate totals
+   */
+  public boolean isApproximateCount() {
+    return approximateCountsField != null;
+  }
+
   public MethodMetadata getListDatatablesDetailsMethod() {
     return listDatatablesDetailsMethod;
   }
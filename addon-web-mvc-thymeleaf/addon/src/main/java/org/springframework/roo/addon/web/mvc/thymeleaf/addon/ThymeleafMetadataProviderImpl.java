@@ -41,7 +41,9 @@ import org.springframework.roo.support.logging.HandlerUtils;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -75,6 +77,10 @@ public class ThymeleafMetadataProviderImpl extends
 
   private Map<String, JavaType> jasperReportsExporterMap;
 
+  // Controllers already warned that their streaming exports can't be used
+  private final Set<JavaType> streamingExportWarnings = Collections
+      .synchronizedSet(new HashSet<JavaType>());
+
   /**
    * This service is being activated so setup it:
    * <ul>
@@ -262,6 +268,19 @@ public class ThymeleafMetadataProviderImpl extends
 
     }
 
+    // Streaming exports read the records using the keyset pagination of the
+    // repository. Without it, the Jasper Reports exports are kept
+    if (annotationValues.isStreamingExport()
+        && controllerMetadata.getType() == ControllerType.COLLECTION
+        && serviceMetadata.getCurrentFindAllAfterWithGlobalSearchMethod() == null
+        && streamingExportWarnings.add(governorPhysicalTypeMetadata.getType())) {
+      LOGGER.warning(String.format(
+          "%s sets 'streamingExport' but the repository of %s doesn't use keyset pagination, so "
+              + "its exports are built in memory. Generate its repository with "
+              + "'--keysetPagination' to stream them.", governorPhysicalTypeMetadata.getType()
+              .getSimpleTypeName(), controllerMetadata.getEntity().getSimpleTypeName()));
+    }
+
     final ThymeleafMetadata metadata =
         new ThymeleafMetadata(metadataIdentificationString, aspectName,
             governorPhysicalTypeMetadata, annotationValues, controllerMetadata, serviceMetadata,
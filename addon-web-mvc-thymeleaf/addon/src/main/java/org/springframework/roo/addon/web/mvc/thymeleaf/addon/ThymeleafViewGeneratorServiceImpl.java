@@ -373,10 +373,15 @@ public class ThymeleafViewGeneratorServiceImpl extends
   public void writeDoc(Document document, String viewPath) {
     // Write doc on disk
     if (document != null && StringUtils.isNotBlank(viewPath)) {
-      getFileManager().createOrUpdateTextFileIfRequired(viewPath, document.html(), false);
+      getFileManager().createOrUpdateTextFileIfRequired(viewPath, getContent(document), false);
     }
   }
 
+  @Override
+  protected String getContent(Document document) {
+    return document.html();
+  }
+
   @Override
   public void installTemplates() {
     // Getting destination where FreeMarker templates should be installed.
@@ -604,38 +609,35 @@ public class ThymeleafViewGeneratorServiceImpl extends
 
     // Getting entity fields that should be included on view
     List<FieldMetadata> formBeanFields = getPersistentFields(formBeanDetails.getFields());
-    List<FieldItem> fields =
+    final List<FieldItem> fields =
         getFieldViewItems(entityMetadata, formBeanFields, ctx.getEntityName(), true, ctx,
             TABLE_SUFFIX);
 
-    // Process elements to generate
-    Document newDoc = null;
-
     // Getting new viewName
     String viewName =
         getViewsFolder(moduleName).concat(ctx.getControllerPath()).concat("/").concat(finderName)
             .concat("Form").concat(getViewsExtension());
 
-    EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
+    final EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
 
     ctx.addExtraParameter("finderName", finderName.replace("findBy", "by"));
     ctx.addExtraParameter("entity", entityItem);
     ctx.addExtraParameter("fields", fields);
 
-    // Check if new view to generate exists or not
-    if (existsFile(viewName)) {
-      Document existingDoc = loadExistingDoc(viewName);
-      if (!isUserManagedDocument(existingDoc)) {
-        newDoc =
-            mergeListView("finderForm", existingDoc, ctx, entityItem, fields,
-                new ArrayList<List<DetailEntityItem>>());
+    // Generate the view and write it on disk
+    generateView(viewName, ctx, new ViewRenderer<Document, ThymeleafMetadata>() {
+
+      @Override
+      public Document process(ViewContext<ThymeleafMetadata> viewCtx) {
+        return ThymeleafViewGeneratorServiceImpl.this.process("finderForm", viewCtx);
       }
-    } else {
-      newDoc = process("finderForm", ctx);
-    }
 
-    // Write newDoc on disk
-    writeDoc(newDoc, viewName);
+      @Override
+      public Document merge(Document existingDoc, ViewContext<ThymeleafMetadata> viewCtx) {
+        return mergeListView("finderForm", existingDoc, viewCtx, entityItem, fields,
+            new ArrayList<List<DetailEntityItem>>());
+      }
+    }, entityItem, fields);
 
   }
 
@@ -651,7 +653,7 @@ public class ThymeleafViewGeneratorServiceImpl extends
 
     // Getting entity fields that should be included on view
     List<FieldMetadata> returnFields = getPersistentFields(returnTypeDetails.getFields());
-    List<FieldItem> fields =
+    final List<FieldItem> fields =
         getFieldViewItems(entityMetadata, returnFields, ctx.getEntityName(), true, ctx,
             TABLE_SUFFIX);
 
@@ -668,17 +670,14 @@ public class ThymeleafViewGeneratorServiceImpl extends
             TABLE_SUFFIX);
 
 
-    // Process elements to generate
-    Document newDoc = null;
-
     // Getting new viewName
     String viewName =
         getViewsFolder(moduleName).concat(ctx.getControllerPath()).concat("/").concat(finderName)
             .concat(getViewsExtension());
 
-    EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
+    final EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
 
-    List<List<DetailEntityItem>> detailsLevels = new ArrayList<List<DetailEntityItem>>();
+    final List<List<DetailEntityItem>> detailsLevels = new ArrayList<List<DetailEntityItem>>();
     if (detailsControllers != null && !detailsControllers.isEmpty()) {
       List<DetailEntityItem> details = new ArrayList<DetailEntityItem>();
       for (ThymeleafMetadata detailController : detailsControllers) {
@@ -738,18 +737,20 @@ public class ThymeleafViewGeneratorServiceImpl extends
     // Adding formBean fields
     ctx.addExtraParameter("formbeanfields", formBeanFields);
 
-    // Check if new view to generate exists or not
-    if (existsFile(viewName)) {
-      Document existingDoc = loadExistingDoc(viewName);
-      if (!isUserManagedDocument(existingDoc)) {
-        newDoc = mergeListView("finderList", existingDoc, ctx, entityItem, fields, detailsLevels);
+    // Generate the view and write it on disk
+    generateView(viewName, ctx, new ViewRenderer<Document, ThymeleafMetadata>() {
+
+      @Override
+      public Document process(ViewContext<ThymeleafMetadata> viewCtx) {
+        return ThymeleafViewGeneratorServiceImpl.this.process("finderList", viewCtx);
       }
-    } else {
-      newDoc = process("finderList", ctx);
-    }
 
-    // Write newDoc on disk
-    writeDoc(newDoc, viewName);
+      @Override
+      public Document merge(Document existingDoc, ViewContext<ThymeleafMetadata> viewCtx) {
+        return mergeListView("finderList", existingDoc, viewCtx, entityItem, fields,
+            detailsLevels);
+      }
+    }, entityItem, fields, detailsLevels);
   }
 
 
@@ -826,9 +827,6 @@ public class ThymeleafViewGeneratorServiceImpl extends
       MemberDetails entity, ControllerMetadata controllerMetadata, ThymeleafMetadata viewMetadata,
       ViewContext<ThymeleafMetadata> ctx) {
 
-    // Process elements to generate
-    Document newDoc = null;
-
     // Getting new viewName
     String viewName =
         getViewsFolder(moduleName).concat(ctx.getControllerPath()).concat("/")
@@ -836,9 +834,9 @@ public class ThymeleafViewGeneratorServiceImpl extends
             .concat(getViewsExtension());
 
     // Get root entity metadata
-    EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
+    final EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
 
-    DetailEntityItem detail =
+    final DetailEntityItem detail =
         createDetailEntityItem(viewMetadata, entity, entityMetadata, ctx.getEntityName(), ctx,
             DETAIL_SUFFIX, entityItem);
 
@@ -851,18 +849,19 @@ public class ThymeleafViewGeneratorServiceImpl extends
     ctx.addExtraParameter("select2_placeholder",
         getCreateDetailsSelect2PlaceholderLabelKey(controllerMetadata, ctx));
 
-    // Check if new view to generate exists or not
-    if (existsFile(viewName)) {
-      Document existingDoc = loadExistingDoc(viewName);
-      if (!isUserManagedDocument(existingDoc)) {
-        newDoc = mergeCreateDetailsView("createDetail", existingDoc, ctx, entityItem, detail);
+    // Generate the view and write it on disk
+    generateView(viewName, ctx, new ViewRenderer<Document, ThymeleafMetadata>() {
+
+      @Override
+      public Document process(ViewContext<ThymeleafMetadata> viewCtx) {
+        return ThymeleafViewGeneratorServiceImpl.this.process("createDetail", viewCtx);
       }
-    } else {
-      newDoc = process("createDetail", ctx);
-    }
 
-    // Write newDoc on disk
-    writeDoc(newDoc, viewName);
+      @Override
+      public Document merge(Document existingDoc, ViewContext<ThymeleafMetadata> viewCtx) {
+        return mergeCreateDetailsView("createDetail", existingDoc, viewCtx, entityItem, detail);
+      }
+    }, entityItem, detail);
 
 
   }
@@ -871,9 +870,6 @@ public class ThymeleafViewGeneratorServiceImpl extends
       JpaEntityMetadata entityMetadata, MemberDetails entity,
       ControllerMetadata controllerMetadata, ThymeleafMetadata viewMetadata,
       ViewContext<ThymeleafMetadata> ctx) {
-    // Process elements to generate
-    Document newDoc = null;
-
     // Getting new viewName
     String viewName =
         getViewsFolder(moduleName).concat(ctx.getControllerPath()).concat("/")
@@ -881,9 +877,9 @@ public class ThymeleafViewGeneratorServiceImpl extends
             .concat(getViewsExtension());
 
     // Get root entity metadata
-    EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
+    final EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
 
-    DetailEntityItem detail =
+    final DetailEntityItem detail =
         createDetailEntityItem(viewMetadata, entity, entityMetadata, ctx.getEntityName(), ctx,
             DETAIL_SUFFIX, entityItem);
 
@@ -897,21 +893,21 @@ public class ThymeleafViewGeneratorServiceImpl extends
     childCtx.addExtraParameter("entity", entityItem);
     childCtx.addExtraParameter("detail", detail);
 
-    // Check if new view to generate exists or not
-    if (existsFile(viewName)) {
-      Document existingDoc = loadExistingDoc(viewName);
-      if (!isUserManagedDocument(existingDoc)) {
-        newDoc =
-            mergeDetailsCompositionView("createDetailComposition", existingDoc, childCtx,
-                entityItem, detail, (List<FieldItem>) detail.getConfiguration().get("fields"));
+    // Generate the view and write it on disk
+    generateView(viewName, childCtx, new ViewRenderer<Document, ThymeleafMetadata>() {
+
+      @Override
+      public Document process(ViewContext<ThymeleafMetadata> viewCtx) {
+        viewCtx.addExtraParameter("fields", detail.getConfiguration().get("fields"));
+        return ThymeleafViewGeneratorServiceImpl.this.process("createDetailComposition", viewCtx);
       }
-    } else {
-      childCtx.addExtraParameter("fields", detail.getConfiguration().get("fields"));
-      newDoc = process("createDetailComposition", childCtx);
-    }
 
-    // Write newDoc on disk
-    writeDoc(newDoc, viewName);
+      @Override
+      public Document merge(Document existingDoc, ViewContext<ThymeleafMetadata> viewCtx) {
+        return mergeDetailsCompositionView("createDetailComposition", existingDoc, viewCtx,
+            entityItem, detail, (List<FieldItem>) detail.getConfiguration().get("fields"));
+      }
+    }, entityItem, detail);
   }
 
 
@@ -975,6 +971,7 @@ public class ThymeleafViewGeneratorServiceImpl extends
       itemCtrl = metadata.getItemController();
     }
     ctx.addExtraParameter("mvcItemControllerName", ThymeleafMetadata.getMvcControllerName(itemCtrl));
+    ctx.addExtraParameter("approximateCount", metadata.isApproximateCount());
 
     // Adding search linkfactory if needed
     if (controllerMetadata.getType() == ControllerType.SEARCH) {
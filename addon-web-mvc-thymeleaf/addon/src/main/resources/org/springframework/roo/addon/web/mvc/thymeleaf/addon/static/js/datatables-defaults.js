@@ -32,6 +32,18 @@
                   }
               }
           },
+          // The totals of the tables which skip the count queries are
+          // exact on the last page only
+          infoCallback: function(settings, start, end, max, total, pre) {
+              var info = settings.oLanguage.infoApproximate;
+              if (!info || !$(settings.nTable).data('approximate-count') || end >= total) {
+                  return pre;
+              }
+              return info
+                  .replace('_START_', settings.fnFormatNumber(start))
+                  .replace('_END_', settings.fnFormatNumber(end))
+                  .replace('_TOTAL_', settings.fnFormatNumber(total));
+          },
           advanced: true
       });
     });
@@ -36,6 +36,7 @@
         'decimal': /*[[#{label_datatables_decimal}]]*/ '.',
         'emptyTable': /*[[#{label_datatables_emptyTable}]]*/ 'No data available in table',
         'info': /*[[#{label_datatables_info}]]*/ 'Showing _START_ to _END_ of _TOTAL_ entries',
+        'infoApproximate': /*[[#{label_datatables_infoApproximate}]]*/ 'Showing _START_ to _END_ of at least _TOTAL_ entries',
         'infoEmpty': /*[[#{label_datatables_infoEmpty}]]*/ 'Showing 0 to 0 of 0 entries',
         'infoFiltered': /*[[#{label_datatables_infoFiltered}]]*/ '(filtered from _MAX_ total entries)',
         'infoPostFix': /*[[#{label_datatables_infoPostFix}]]*/ '',
@@ -49,6 +49,10 @@
                    <#else>
                    data-order="[[ 0, &quot;asc&quot; ]]"
                    </#if>
+                   <#if approximateCount?? && approximateCount>
+                   data-paging-type="simple"
+                   data-approximate-count="true"
+                   </#if>
                    data-data-load-url="${r"${"}collectionLink.to('datatables')}"
                    data-data-show-inline="false"
                    data-data-show-url="${r"${"}itemLink.to('show').with('${modelAttributeName}', '_ID_')}"
@@ -0,0 +1,59 @@
+package org.springframework.roo.addon.web.mvc.thymeleaf.addon;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
+
+/**
+ * Unit test of the "getApproximateCount" method generated by
+ * {@link ThymeleafMetadata}
+ *
+ * @since 2.0
+ */
+public class ThymeleafMetadataApproximateCountTest {
+
+  private String getApproximateCount() {
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+    ThymeleafMetadata.appendApproximateCountBody(bodyBuilder, "owners", "getApproximateCounts",
+        60000L);
+    return bodyBuilder.getOutput();
+  }
+
+  @Test
+  public void testLastSliceCachesTheExactCount() {
+    String output = getApproximateCount();
+
+    int lastSlice = output.indexOf("if (!owners.hasNext()) {");
+    int exactCount = output.indexOf("getApproximateCounts().put(filter, new long[] {read, "
+        + "now + 60000L});");
+    int cachedCount = output.indexOf("long[] count = getApproximateCounts().get(filter);");
+    assertTrue(lastSlice >= 0);
+    assertTrue(lastSlice < exactCount);
+    assertTrue(exactCount < cachedCount);
+    assertTrue(output.contains("long read = pageable.getOffset() + owners.getNumberOfElements();"));
+  }
+
+  @Test
+  public void testCachedCountIsUsedUntilItExpires() {
+    String output = getApproximateCount();
+
+    int cachedCount = output.indexOf("if (count != null && count[1] > now && count[0] > read) {");
+    int lowerBound = output.indexOf("getApproximateCounts().put(filter, new long[] {read + 1, "
+        + "now + 60000L});");
+    assertTrue(cachedCount >= 0);
+    assertTrue(cachedCount < output.indexOf("return count[0];"));
+    assertTrue(cachedCount < lowerBound);
+    assertTrue(output.contains("return read + 1;"));
+  }
+
+  @Test
+  public void testCachedCountsAreBounded() {
+    String output = getApproximateCount();
+
+    int clear = output.indexOf("getApproximateCounts().clear();");
+    assertTrue(output.contains("if (getApproximateCounts().size() >= 1000) {"));
+    assertTrue(clear >= 0);
+    assertTrue(clear < output.indexOf("new long[] {read + 1, "));
+  }
+}
@@ -0,0 +1,82 @@
+package org.springframework.roo.addon.web.mvc.thymeleaf.addon;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
+
+/**
+ * Unit test of the code generated by {@link ThymeleafMetadata} for the
+ * report exports
+ */
+public class ThymeleafMetadataExportTest {
+
+  private String getReportRecords(int rowLimit) {
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+    ThymeleafMetadata.appendFindReportRecords(bodyBuilder, "Page<Owner>", "owners",
+        "getOwnerService().findAll", rowLimit, "PageRequest", "getMessageSource",
+        "ExportingErrorException");
+    return bodyBuilder.getOutput();
+  }
+
+  private String getStreamingExport(boolean json) {
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+    ThymeleafMetadata.appendStreamingExportStart(bodyBuilder, json, "Slice<Owner>", "owners",
+        "Long", "getOwnerService().findAllAfter", "Owner", "owner", 1000);
+    bodyBuilder.appendFormalLine("write(owner);");
+    ThymeleafMetadata.appendStreamingExportEnd(bodyBuilder, json, "owners", "owner", "getId",
+        "getEntityManager");
+    return bodyBuilder.getOutput();
+  }
+
+  @Test
+  public void testReportRecordsAreNotLimitedByDefault() {
+    String output = getReportRecords(0);
+
+    assertTrue(output
+        .contains("Page<Owner> owners = getOwnerService().findAll(search, pageable);"));
+    assertFalse(output.contains("PageRequest"));
+    assertFalse(output.contains("getTotalElements"));
+    assertFalse(output.contains("ExportingErrorException"));
+  }
+
+  @Test
+  public void testReportRecordsAreLimited() {
+    String output = getReportRecords(500);
+
+    assertTrue(output.contains("Page<Owner> owners = getOwnerService().findAll(search, "
+        + "new PageRequest(0, 500, pageable.getSort()));"));
+    assertTrue(output.contains("if (owners.getTotalElements() > 500) {"));
+    assertTrue(output.contains("throw new ExportingErrorException(errorMessage);"));
+  }
+
+  @Test
+  public void testStreamingExportReadsChunksAfterTheLastRecord() {
+    String output = getStreamingExport(false);
+
+    assertTrue(output.contains("Long after = null;"));
+    assertTrue(output.contains("owners = getOwnerService().findAllAfter(search, after, 1000);"));
+    assertTrue(output.contains("after = owner.getId();"));
+    assertTrue(output.contains("getEntityManager().clear();"));
+    assertTrue(output.contains("} while (owners.hasNext());"));
+
+    // Chunks are not read by offset, so no count is executed for each one
+    assertFalse(output.contains("PageRequest"));
+    assertFalse(output.contains("next()"));
+    assertFalse(output.contains("getTotalElements"));
+    assertFalse(output.contains("json"));
+  }
+
+  @Test
+  public void testStreamingJsonExportClosesTheGenerator() {
+    String output = getStreamingExport(true);
+
+    int tryBlock = output.indexOf("try {");
+    int finallyBlock = output.indexOf("finally {");
+    assertTrue(tryBlock >= 0);
+    assertTrue(tryBlock < output.indexOf("json.writeStartArray();"));
+    assertTrue(output.indexOf("json.writeEndArray();") < finallyBlock);
+    assertTrue(finallyBlock < output.indexOf("json.close();"));
+  }
+}
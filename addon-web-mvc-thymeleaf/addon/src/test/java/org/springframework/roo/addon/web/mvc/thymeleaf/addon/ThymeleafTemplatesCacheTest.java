@@ -0,0 +1,125 @@
+package org.springframework.roo.addon.web.mvc.thymeleaf.addon;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.lang.reflect.Field;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.roo.addon.web.mvc.views.template.engines.AbstractFreeMarkerViewGenerationService;
+import org.springframework.roo.file.monitor.event.FileDetails;
+import org.springframework.roo.file.monitor.event.FileEvent;
+import org.springframework.roo.file.monitor.event.FileOperation;
+import org.springframework.roo.process.manager.FileManager;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+
+/**
+ * Unit test of the caches used to load the FreeMarker templates of the
+ * Thymeleaf add-on
+ *
+ * @since 2.0
+ */
+public class ThymeleafTemplatesCacheTest {
+
+  private static final String[] TEMPLATES = {"list", "show", "create", "edit", "listDeleteModal",
+      "listDeleteModalBatch", "listDetails", "showDetails", "createDetail", "showInline",
+      "finderForm", "finderList", "fragments/menu", "fragments/modal", "layouts/default-layout"};
+
+  /**
+   * Exposes the custom templates lookup and uses a fixed templates location
+   */
+  private static class TestViewGenerationService extends ThymeleafViewGeneratorServiceImpl {
+
+    private final String location;
+
+    TestViewGenerationService(String location) {
+      this.location = location;
+    }
+
+    @Override
+    public String getTemplatesLocation() {
+      return location;
+    }
+
+    boolean isCustomTemplate(String templateName) {
+      return checkTemplates(location, templateName);
+    }
+  }
+
+  private String location;
+  private String customTemplate;
+  private FileManager fileManager;
+  private TestViewGenerationService service;
+
+  @Before
+  public void setUp() throws Exception {
+    location =
+        new File(new File(System.getProperty("java.io.tmpdir")).getCanonicalFile(), "templates")
+            .getPath();
+    customTemplate = location.concat("/list.ftl");
+    fileManager = mock(FileManager.class);
+    when(fileManager.exists(customTemplate)).thenReturn(true);
+
+    service = new TestViewGenerationService(location);
+    Field field = AbstractFreeMarkerViewGenerationService.class.getDeclaredField("fileManager");
+    field.setAccessible(true);
+    field.set(service, fileManager);
+  }
+
+  @Test
+  public void testSharedConfigurationReusesParsedTemplates() throws Exception {
+    final Configuration cfg =
+        AbstractFreeMarkerViewGenerationService
+            .createClasspathConfiguration(ThymeleafViewGeneratorServiceImpl.class);
+    for (final String templateName : TEMPLATES) {
+      final Template template = cfg.getTemplate(templateName.concat(".ftl"));
+      assertSame(template, cfg.getTemplate(templateName.concat(".ftl")));
+    }
+  }
+
+  @Test
+  public void testSecondLookupIsServedFromCache() {
+    assertTrue(service.isCustomTemplate("list"));
+    assertTrue(service.isCustomTemplate("list"));
+    assertFalse(service.isCustomTemplate("show"));
+    assertFalse(service.isCustomTemplate("show"));
+
+    verify(fileManager, times(1)).exists(customTemplate);
+    verify(fileManager, times(1)).exists(location.concat("/show.ftl"));
+  }
+
+  @Test
+  public void testCacheIsClearedWhenViewsGenerationStarts() {
+    assertTrue(service.isCustomTemplate("list"));
+
+    // The custom template is removed from the ".roo" folder, which is not
+    // scanned by the file monitor
+    when(fileManager.exists(customTemplate)).thenReturn(false);
+    service.startViewsGeneration();
+    try {
+      assertFalse(service.isCustomTemplate("list"));
+    } finally {
+      service.discardViewsGeneration();
+    }
+  }
+
+  @Test
+  public void testCacheIsClearedOnFileEvent() {
+    assertTrue(service.isCustomTemplate("list"));
+
+    when(fileManager.exists(customTemplate)).thenReturn(false);
+    service.onFileEvent(new FileEvent(new FileDetails(new File(customTemplate), null),
+        FileOperation.DELETED, null));
+
+    assertFalse(service.isCustomTemplate("list"));
+  }
+}
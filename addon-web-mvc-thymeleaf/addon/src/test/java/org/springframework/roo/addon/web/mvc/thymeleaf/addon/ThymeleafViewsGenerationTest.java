@@ -0,0 +1,177 @@
+package org.springframework.roo.addon.web.mvc.thymeleaf.addon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.jsoup.nodes.Document;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.roo.addon.web.mvc.views.ViewContext;
+import org.springframework.roo.addon.web.mvc.views.ViewFingerprints;
+import org.springframework.roo.addon.web.mvc.views.template.engines.AbstractFreeMarkerViewGenerationService;
+import org.springframework.roo.process.manager.FileManager;
+
+/**
+ * Unit test of the views rendered concurrently by the Thymeleaf add-on
+ *
+ * @since 2.0
+ */
+public class ThymeleafViewsGenerationTest {
+
+  private static final String TEMPLATE = "<div id=\"entity\">${entityName}</div>";
+
+  /**
+   * Renders its views with a custom template and uses the provided
+   * FileManager
+   */
+  private static class TestViewGenerationService extends ThymeleafViewGeneratorServiceImpl {
+
+    private final String location;
+    private final FileManager fileManager;
+    private final ViewFingerprints fingerprints;
+    private int templatesFingerprints;
+
+    TestViewGenerationService(String location, FileManager fileManager, String root) {
+      this.location = location;
+      this.fileManager = fileManager;
+      this.fingerprints =
+          new ViewFingerprints(fileManager, root.concat("/views.fingerprints"), root);
+    }
+
+    @Override
+    public String getTemplatesLocation() {
+      return location;
+    }
+
+    @Override
+    protected FileManager getFileManager() {
+      return fileManager;
+    }
+
+    @Override
+    protected synchronized ViewFingerprints getFingerprints() {
+      return fingerprints;
+    }
+
+    @Override
+    protected String getTemplatesFingerprint() {
+      templatesFingerprints++;
+      return super.getTemplatesFingerprint();
+    }
+
+    boolean isRendering() {
+      return isRenderThread();
+    }
+
+    void generate(String viewName, ViewContext<ThymeleafMetadata> ctx) {
+      generateView(viewName, ctx, new ViewRenderer<Document, ThymeleafMetadata>() {
+
+        @Override
+        public Document process(ViewContext<ThymeleafMetadata> viewCtx) {
+          return TestViewGenerationService.this.process("custom", viewCtx);
+        }
+
+        @Override
+        public Document merge(Document existingDoc, ViewContext<ThymeleafMetadata> viewCtx) {
+          return TestViewGenerationService.this.merge("custom", existingDoc, viewCtx);
+        }
+      });
+    }
+  }
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final Map<String, String> writtenFiles = new ConcurrentHashMap<String, String>();
+  private File root;
+  private TestViewGenerationService service;
+
+  @Before
+  public void setUp() throws Exception {
+    root = temporaryFolder.getRoot().getCanonicalFile();
+    File location = new File(root, "templates");
+    FileUtils.writeStringToFile(new File(location, "custom.ftl"), TEMPLATE);
+
+    // Fails if a view rendered concurrently uses the FileManager
+    FileManager fileManager = mock(FileManager.class, new Answer<Object>() {
+
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        String method = invocation.getMethod().getName();
+        if (service.isRendering()) {
+          throw new AssertionError("FileManager used by a render thread: ".concat(method));
+        }
+        Object[] arguments = invocation.getArguments();
+        if ("exists".equals(method)) {
+          return new File((String) arguments[0]).exists();
+        }
+        if ("createOrUpdateTextFileIfRequired".equals(method)) {
+          writtenFiles.put((String) arguments[0], (String) arguments[1]);
+        }
+        return null;
+      }
+    });
+
+    service = new TestViewGenerationService(location.getPath(), fileManager, root.getPath());
+    Field field = AbstractFreeMarkerViewGenerationService.class.getDeclaredField("fileManager");
+    field.setAccessible(true);
+    field.set(service, fileManager);
+  }
+
+  private ViewContext<ThymeleafMetadata> createViewContext(String entityName) {
+    ViewContext<ThymeleafMetadata> ctx = new ViewContext<ThymeleafMetadata>();
+    ctx.setEntityName(entityName);
+    return ctx;
+  }
+
+  private void generateViews(String... viewNames) {
+    service.startViewsGeneration();
+    try {
+      for (String viewName : viewNames) {
+        service.generate(viewName, createViewContext(new File(viewName).getParentFile()
+            .getName()));
+      }
+    } catch (RuntimeException e) {
+      service.discardViewsGeneration();
+      throw e;
+    }
+    service.finishViewsGeneration();
+  }
+
+  @Test
+  public void testViewsAreRenderedWithoutFileManager() throws Exception {
+    // Set up
+    String newView = new File(root, "Pet/list.html").getPath();
+    String existingView = new File(root, "Owner/list.html").getPath();
+    FileUtils.writeStringToFile(new File(existingView), "<div id=\"entity\">Old</div>");
+
+    // Invoke
+    generateViews(newView, existingView);
+
+    // Check
+    assertTrue(writtenFiles.get(newView).contains("Pet"));
+    assertTrue(writtenFiles.get(existingView).contains("Owner"));
+    assertEquals(2, writtenFiles.size());
+  }
+
+  @Test
+  public void testTemplatesFingerprintIsCalculatedOncePerGeneration() {
+    // Invoke
+    generateViews(new File(root, "Pet/list.html").getPath(),
+        new File(root, "Pet/show.html").getPath(), new File(root, "Owner/list.html").getPath());
+
+    // Check
+    assertEquals(1, service.templatesFingerprints);
+  }
+}
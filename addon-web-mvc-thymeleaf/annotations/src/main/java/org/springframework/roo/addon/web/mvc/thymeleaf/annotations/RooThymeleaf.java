@@ -34,4 +34,36 @@ public @interface RooThymeleaf {
    * @since 2.0.0RC3
    */
   String[] excludeViews() default {};
+
+  /**
+   * Maximum number of rows of the reports built in memory. Exporting more
+   * rows fails with an error message instead of exhausting the heap. The
+   * default, 0, doesn't limit the reports.
+   *
+   * @return
+   * @since 2.0
+   */
+  int exportRowLimit() default 0;
+
+  /**
+   * Write the CSV export, and a JSON one, directly to the response in
+   * chunks, instead of building the whole report in memory with Jasper
+   * Reports. The records are read by their identifier, so the custom
+   * repository of the entity must use keyset pagination; otherwise the
+   * Jasper Reports exports are kept and a warning is logged.
+   *
+   * @return
+   * @since 2.0
+   */
+  boolean streamingExport() default false;
+
+  /**
+   * Seconds the approximate totals of the datatables are kept for each
+   * search, when the repository skips the count queries. Meanwhile the totals
+   * are only updated as the users page through the results.
+   *
+   * @return
+   * @since 2.0
+   */
+  int countCacheSeconds() default 60;
 }
@@ -4,7 +4,9 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
+import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
 import org.osgi.service.component.ComponentContext;
 import org.springframework.roo.addon.dto.addon.EntityProjectionLocator;
 import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata;
@@ -47,6 +49,8 @@ import org.springframework.roo.model.RooJavaType;
 import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.model.SpringletsJavaType;
 import org.springframework.roo.process.manager.FileManager;
+import org.springframework.roo.project.Path;
+import org.springframework.roo.project.PathResolver;
 import org.springframework.roo.project.ProjectOperations;
 import org.springframework.roo.support.logging.HandlerUtils;
 import org.springframework.roo.support.osgi.ServiceInstaceManager;
@@ -71,6 +75,13 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 /**
@@ -99,8 +110,24 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
 
   private static Logger LOGGER = HandlerUtils.getLogger(AbstractViewGenerationService.class);
 
+  // Max threads used to render views concurrently
+  private static final int MAX_RENDER_THREADS = Math.max(1,
+      Math.min(4, Runtime.getRuntime().availableProcessors()));
+
   private ServiceInstaceManager serviceInstaceManager = new ServiceInstaceManager();
 
+  private ExecutorService renderExecutor;
+
+  private ViewFingerprints fingerprints;
+  private String fingerprintsPath;
+
+  // Views generation started on each thread. Null if views are written
+  // immediately
+  private final ThreadLocal<ViewsGeneration> viewsGeneration = new ThreadLocal<ViewsGeneration>();
+
+  // Marks the threads of the render pool
+  private final ThreadLocal<Boolean> renderThread = new ThreadLocal<Boolean>();
+
   // ------------ OSGi component attributes ----------------
   protected BundleContext context;
 
@@ -109,6 +136,312 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
     serviceInstaceManager.activate(this.context);
   }
 
+  protected void deactivate(final ComponentContext context) {
+    synchronized (this) {
+      if (renderExecutor != null) {
+        renderExecutor.shutdownNow();
+        renderExecutor = null;
+      }
+    }
+  }
+
+  /**
+   * Renders a view. Implementations only need to generate the document,
+   * checking if the view exists and writing it is done by
+   * {@link AbstractViewGenerationService#generateView(String, ViewContext, ViewRenderer)}.
+   *
+   * Renderers could be executed on a different thread than the one which
+   * requested the view, so they must not use any other service than the
+   * template engine. The existing document is loaded by the thread which
+   * requested the view.
+   */
+  protected interface ViewRenderer<DOC, T extends AbstractViewMetadata> {
+
+    /**
+     * Generates a new document for a view that doesn't exist yet.
+     *
+     * @param ctx the ViewContext of this view
+     * @return the new document
+     */
+    DOC process(ViewContext<T> ctx);
+
+    /**
+     * Generates a new document merging it with the existing one, that is
+     * not user-managed.
+     *
+     * @param existingDoc the current document of the view
+     * @param ctx the ViewContext of this view
+     * @return the new document
+     */
+    DOC merge(DOC existingDoc, ViewContext<T> ctx);
+  }
+
+  /**
+   * Views generation started on a thread.
+   */
+  private class ViewsGeneration {
+
+    // Number of views requested before each nested views generation started
+    private final List<Integer> starts = new ArrayList<Integer>();
+    private final List<String> viewNames = new ArrayList<String>();
+    private final List<String> fingerprints = new ArrayList<String>();
+    private final List<Future<DOC>> documents = new ArrayList<Future<DOC>>();
+
+    // Templates can't change while views are generated, so their
+    // fingerprint is calculated once
+    private String templatesFingerprint;
+  }
+
+  @Override
+  public void startViewsGeneration() {
+    ViewsGeneration current = viewsGeneration.get();
+    if (current == null) {
+      current = new ViewsGeneration();
+      current.templatesFingerprint = getTemplatesFingerprint();
+      viewsGeneration.set(current);
+    }
+    current.starts.add(current.documents.size());
+  }
+
+  @Override
+  public void finishViewsGeneration() {
+    ViewsGeneration current = viewsGeneration.get();
+    Validate.validState(current != null, "ERROR: There is no views generation in progress");
+    current.starts.remove(current.starts.size() - 1);
+    if (!current.starts.isEmpty()) {
+      return;
+    }
+    viewsGeneration.remove();
+
+    // Write views in the same order they were requested. If some view
+    // fails, discard the following ones as a sequential generation would do
+    for (int i = 0; i < current.documents.size(); i++) {
+      DOC newDoc;
+      try {
+        newDoc = current.documents.get(i).get();
+      } catch (InterruptedException e) {
+        cancel(current, i);
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(String.format(
+            "ERROR: Interrupted while generating view '%s'", current.viewNames.get(i)), e);
+      } catch (ExecutionException e) {
+        cancel(current, i);
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new IllegalStateException(String.format("ERROR: Error generating view '%s'",
+            current.viewNames.get(i)), e.getCause());
+      }
+
+      // Write newDoc on disk
+      writeDoc(newDoc, current.viewNames.get(i));
+      updateFingerprint(current.viewNames.get(i), newDoc, current.fingerprints.get(i));
+    }
+    saveFingerprints();
+  }
+
+  @Override
+  public void discardViewsGeneration() {
+    ViewsGeneration current = viewsGeneration.get();
+    Validate.validState(current != null, "ERROR: There is no views generation in progress");
+    int from = current.starts.remove(current.starts.size() - 1);
+    cancel(current, from);
+    current.viewNames.subList(from, current.viewNames.size()).clear();
+    current.fingerprints.subList(from, current.fingerprints.size()).clear();
+    current.documents.subList(from, current.documents.size()).clear();
+    if (current.starts.isEmpty()) {
+      viewsGeneration.remove();
+    }
+  }
+
+  private void cancel(ViewsGeneration generation, int from) {
+    for (int i = from; i < generation.documents.size(); i++) {
+      generation.documents.get(i).cancel(true);
+    }
+  }
+
+  /**
+   * Checks if the current thread belongs to the pool that renders views
+   * concurrently.
+   *
+   * @return true if the current thread is rendering a view requested during
+   *         a views generation
+   */
+  protected boolean isRenderThread() {
+    return Boolean.TRUE.equals(renderThread.get());
+  }
+
+  private synchronized ExecutorService getRenderExecutor() {
+    if (renderExecutor == null) {
+      final AtomicInteger threadNumber = new AtomicInteger();
+      renderExecutor = Executors.newFixedThreadPool(MAX_RENDER_THREADS, new ThreadFactory() {
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread =
+              new Thread(runnable, "Spring Roo View Renderer " + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return renderExecutor;
+  }
+
+  /**
+   * Generates the provided view. If the view doesn't exist, a new document
+   * is generated. If it exists and isn't user-managed, the new document is
+   * merged with the existing one.
+   *
+   * If a views generation has been started on this thread, the view is
+   * rendered concurrently using a copy of the provided ViewContext and it is
+   * written when the views generation finishes. Otherwise, the view is
+   * rendered and written immediately.
+   *
+   * Existing views are not generated again if the ViewContext, the provided
+   * inputs and the templates are the same ones used on the last generation
+   * and the view file hasn't changed since then.
+   *
+   * @param viewName path of the view to generate
+   * @param ctx ViewContext of the view
+   * @param renderer generates the document of the view
+   * @param inputs elements used by the renderer to generate the view
+   */
+  protected void generateView(final String viewName, final ViewContext<T> ctx,
+      final ViewRenderer<DOC, T> renderer, Object... inputs) {
+    // Check if new view to generate exists or not
+    final boolean exists = existsFile(viewName);
+
+    // Check if the view has changed since the last generation
+    ViewsGeneration current = viewsGeneration.get();
+    String templatesFingerprint =
+        current != null ? current.templatesFingerprint : getTemplatesFingerprint();
+    String fingerprint = getViewFingerprint(viewName, ctx, renderer, inputs, templatesFingerprint);
+    if (exists && getFingerprints().isUpToDate(viewName, fingerprint)) {
+      return;
+    }
+
+    // Read the existing view on this thread, so the render pool only parses
+    // and renders documents
+    final String existingContent = exists ? readExistingContent(viewName) : null;
+
+    if (current == null) {
+      DOC newDoc = renderView(existingContent, ctx, renderer);
+      writeDoc(newDoc, viewName);
+      updateFingerprint(viewName, newDoc, fingerprint);
+      saveFingerprints();
+      return;
+    }
+
+    final ViewContext<T> viewCtx = ctx.copy();
+    current.viewNames.add(viewName);
+    current.fingerprints.add(fingerprint);
+    current.documents.add(getRenderExecutor().submit(new Callable<DOC>() {
+
+      @Override
+      public DOC call() throws Exception {
+        renderThread.set(Boolean.TRUE);
+        try {
+          return renderView(existingContent, viewCtx, renderer);
+        } finally {
+          renderThread.remove();
+        }
+      }
+    }));
+  }
+
+  private DOC renderView(String existingContent, ViewContext<T> ctx,
+      ViewRenderer<DOC, T> renderer) {
+    if (existingContent != null) {
+      DOC existingDoc = parse(existingContent);
+      if (isUserManagedDocument(existingDoc)) {
+        return null;
+      }
+      return renderer.merge(existingDoc, ctx);
+    }
+    return renderer.process(ctx);
+  }
+
+  /**
+   * Calculates the fingerprint of a view using all the elements that are
+   * used to generate it.
+   *
+   * @param templatesFingerprint the fingerprint of the templates
+   * @return the fingerprint or null if it can't be calculated
+   */
+  private String getViewFingerprint(String viewName, ViewContext<T> ctx,
+      ViewRenderer<DOC, T> renderer, Object[] inputs, String templatesFingerprint) {
+    if (templatesFingerprint == null) {
+      return null;
+    }
+    ViewFingerprint fingerprint = new ViewFingerprint();
+    fingerprint.add(getClass().getName()).add(renderer.getClass().getName()).add(viewName)
+        .add(templatesFingerprint).add(ctx);
+    for (Object input : inputs) {
+      fingerprint.add(input);
+    }
+    return fingerprint.getValue();
+  }
+
+  private void updateFingerprint(String viewName, DOC newDoc, String fingerprint) {
+    // User-managed views are not written, so they must be checked again.
+    // The view is written when the operation finishes, so the hash is
+    // calculated from the written contents instead of the file
+    getFingerprints().update(viewName, fingerprint, newDoc != null ? getContent(newDoc) : null);
+  }
+
+  private void saveFingerprints() {
+    getFingerprints().save();
+  }
+
+  /**
+   * Returns the fingerprints of the views generated on the current project.
+   * They are stored inside the Roo configuration folder.
+   *
+   * @return the ViewFingerprints of the current project
+   */
+  protected synchronized ViewFingerprints getFingerprints() {
+    PathResolver pathResolver = getProjectOperations().getPathResolver();
+    String fingerprintsPath =
+        pathResolver.getIdentifier("", Path.ROOT_ROO_CONFIG,
+            "cache/".concat(getName()).concat("-views.fingerprints"));
+    if (fingerprints == null || !fingerprintsPath.equals(this.fingerprintsPath)) {
+      this.fingerprints =
+          new ViewFingerprints(getFileManager(), fingerprintsPath, pathResolver.getRoot());
+      this.fingerprintsPath = fingerprintsPath;
+    }
+    return fingerprints;
+  }
+
+  /**
+   * Returns a fingerprint of the templates used to generate views. Views
+   * generated with different templates have different fingerprints.
+   *
+   * By default, templates are included on the bundle of the implementation,
+   * so the version and the last modification of that bundle and the one
+   * that contains this class are used.
+   *
+   * It is calculated once for each views generation.
+   *
+   * @return the fingerprint of the templates or null if views must always
+   *         be generated
+   */
+  protected String getTemplatesFingerprint() {
+    if (context == null) {
+      return null;
+    }
+    return getBundleFingerprint(context.getBundle()).concat(";").concat(
+        getBundleFingerprint(FrameworkUtil.getBundle(AbstractViewGenerationService.class)));
+  }
+
+  private String getBundleFingerprint(Bundle bundle) {
+    if (bundle == null) {
+      return "";
+    }
+    return bundle.getSymbolicName().concat(":").concat(bundle.getVersion().toString())
+        .concat(":").concat(String.valueOf(bundle.getLastModified()));
+  }
+
   protected abstract DOC process(String templateName, ViewContext<T> ctx);
 
   protected abstract DOC parse(String content);
@@ -139,6 +472,15 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
 
   protected abstract void writeDoc(DOC document, String viewPath);
 
+  /**
+   * Returns the contents written on disk for the provided document by
+   * {@link #writeDoc(Object, String)}.
+   *
+   * @param document the document to write
+   * @return the contents of the view file
+   */
+  protected abstract String getContent(DOC document);
+
   protected abstract boolean isUserManagedDocument(DOC document);
 
   @Override
@@ -183,21 +525,18 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
 
     // Getting entity fields that should be included on view
     List<FieldMetadata> entityFields = getPersistentFields(defaultReturnTypeFields);
-    List<FieldItem> fields =
+    final List<FieldItem> fields =
         getFieldViewItems(entityMetadata, entityFields, ctx.getEntityName(), true, ctx,
             TABLE_SUFFIX);
 
-    // Process elements to generate
-    DOC newDoc = null;
-
     // Getting new viewName
     String viewName =
         getViewsFolder(moduleName).concat(ctx.getControllerPath()).concat("/").concat("/list")
             .concat(getViewsExtension());
 
-    EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
+    final EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
 
-    List<List<DetailEntityItem>> detailsLevels = new ArrayList<List<DetailEntityItem>>();
+    final List<List<DetailEntityItem>> detailsLevels = new ArrayList<List<DetailEntityItem>>();
     if (detailsControllers != null && !detailsControllers.isEmpty()) {
       List<DetailEntityItem> details = new ArrayList<DetailEntityItem>();
       for (T detailController : detailsControllers) {
@@ -240,21 +579,22 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
       }
     }
 
-    // Check if new view to generate exists or not
-    if (existsFile(viewName)) {
-      DOC existingDoc = loadExistingDoc(viewName);
-      if (!isUserManagedDocument(existingDoc)) {
-        newDoc = mergeListView("list", existingDoc, ctx, entityItem, fields, detailsLevels);
+    // Generate the view and write it on disk
+    generateView(viewName, ctx, new ViewRenderer<DOC, T>() {
+
+      @Override
+      public DOC process(ViewContext<T> viewCtx) {
+        viewCtx.addExtraParameter("entity", entityItem);
+        viewCtx.addExtraParameter("fields", fields);
+        viewCtx.addExtraParameter("detailsLevels", detailsLevels);
+        return AbstractViewGenerationService.this.process("list", viewCtx);
       }
-    } else {
-      ctx.addExtraParameter("entity", entityItem);
-      ctx.addExtraParameter("fields", fields);
-      ctx.addExtraParameter("detailsLevels", detailsLevels);
-      newDoc = process("list", ctx);
-    }
 
-    // Write newDoc on disk
-    writeDoc(newDoc, viewName);
+      @Override
+      public DOC merge(DOC existingDoc, ViewContext<T> viewCtx) {
+        return mergeListView("list", existingDoc, viewCtx, entityItem, fields, detailsLevels);
+      }
+    }, entityItem, fields, detailsLevels);
 
   }
 
@@ -300,34 +640,33 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
 
     // Getting entity fields that should be included on view
     List<FieldMetadata> entityFields = getPersistentFields(defaultReturnTypeFields);
-    List<FieldItem> fields =
+    final List<FieldItem> fields =
         getFieldViewItems(entityMetadata, entityFields, ctx.getEntityName(), true, ctx,
             TABLE_SUFFIX);
 
-    // Process elements to generate
-    DOC newDoc = null;
-
     // Getting new viewName
     String viewName =
         getViewsFolder(moduleName).concat(ctx.getControllerPath()).concat("/")
             .concat("/listDeleteModal").concat(getViewsExtension());
 
-    EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
+    final EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
 
-    // Check if new view to generate exists or not
-    if (existsFile(viewName)) {
-      DOC existingDoc = loadExistingDoc(viewName);
-      if (!isUserManagedDocument(existingDoc)) {
-        newDoc = mergeListDeleteModalView("listDeleteModal", existingDoc, ctx, entityItem, fields);
+    // Generate the view and write it on disk
+    generateView(viewName, ctx, new ViewRenderer<DOC, T>() {
+
+      @Override
+      public DOC process(ViewContext<T> viewCtx) {
+        viewCtx.addExtraParameter("entity", entityItem);
+        viewCtx.addExtraParameter("fields", fields);
+        return AbstractViewGenerationService.this.process("listDeleteModal", viewCtx);
       }
-    } else {
-      ctx.addExtraParameter("entity", entityItem);
-      ctx.addExtraParameter("fields", fields);
-      newDoc = process("listDeleteModal", ctx);
-    }
 
-    // Write newDoc on disk
-    writeDoc(newDoc, viewName);
+      @Override
+      public DOC merge(DOC existingDoc, ViewContext<T> viewCtx) {
+        return mergeListDeleteModalView("listDeleteModal", existingDoc, viewCtx, entityItem,
+            fields);
+      }
+    }, entityItem, fields);
 
   }
 
@@ -372,37 +711,34 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
 
     // Getting entity fields that should be included on view
     List<FieldMetadata> entityFields = getPersistentFields(defaultReturnTypeFields);
-    List<FieldItem> fields =
+    final List<FieldItem> fields =
         getFieldViewItems(entityMetadata, entityFields, ctx.getEntityName(), true, ctx,
             TABLE_SUFFIX);
 
-    // Process elements to generate
-    DOC newDoc = null;
-
     // Getting new viewName
     String viewName =
         getViewsFolder(moduleName).concat(ctx.getControllerPath()).concat("/")
             .concat(controllerMetadata.getDetailsPathAsString("/")).concat("/listDeleteModal")
             .concat(getViewsExtension());
 
-    EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
+    final EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
 
-    // Check if new view to generate exists or not
-    if (existsFile(viewName)) {
-      DOC existingDoc = loadExistingDoc(viewName);
-      if (!isUserManagedDocument(existingDoc)) {
-        newDoc =
-            mergeListDeleteModalDetailView("listDeleteModalDetail", existingDoc, ctx, entityItem,
-                fields);
+    // Generate the view and write it on disk
+    generateView(viewName, ctx, new ViewRenderer<DOC, T>() {
+
+      @Override
+      public DOC process(ViewContext<T> viewCtx) {
+        viewCtx.addExtraParameter("entity", entityItem);
+        viewCtx.addExtraParameter("fields", fields);
+        return AbstractViewGenerationService.this.process("listDeleteModalDetail", viewCtx);
       }
-    } else {
-      ctx.addExtraParameter("entity", entityItem);
-      ctx.addExtraParameter("fields", fields);
-      newDoc = process("listDeleteModalDetail", ctx);
-    }
 
-    // Write newDoc on disk
-    writeDoc(newDoc, viewName);
+      @Override
+      public DOC merge(DOC existingDoc, ViewContext<T> viewCtx) {
+        return mergeListDeleteModalDetailView("listDeleteModalDetail", existingDoc, viewCtx,
+            entityItem, fields);
+      }
+    }, entityItem, fields);
   }
 
   @Override
@@ -447,36 +783,33 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
 
     // Getting entity fields that should be included on view
     List<FieldMetadata> entityFields = getPersistentFields(defaultReturnTypeFields);
-    List<FieldItem> fields =
+    final List<FieldItem> fields =
         getFieldViewItems(entityMetadata, entityFields, ctx.getEntityName(), true, ctx,
             TABLE_SUFFIX);
 
-    // Process elements to generate
-    DOC newDoc = null;
-
     // Getting new viewName
     String viewName =
         getViewsFolder(moduleName).concat(ctx.getControllerPath()).concat("/")
             .concat("/listDeleteModalBatch").concat(getViewsExtension());
 
-    EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
+    final EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
 
-    // Check if new view to generate exists or not
-    if (existsFile(viewName)) {
-      DOC existingDoc = loadExistingDoc(viewName);
-      if (!isUserManagedDocument(existingDoc)) {
-        newDoc =
-            mergeListDeleteModalBatchView("listDeleteModalBatch", loadExistingDoc(viewName), ctx,
-                entityItem, fields);
+    // Generate the view and write it on disk
+    generateView(viewName, ctx, new ViewRenderer<DOC, T>() {
+
+      @Override
+      public DOC process(ViewContext<T> viewCtx) {
+        viewCtx.addExtraParameter("entity", entityItem);
+        viewCtx.addExtraParameter("fields", fields);
+        return AbstractViewGenerationService.this.process("listDeleteModalBatch", viewCtx);
       }
-    } else {
-      ctx.addExtraParameter("entity", entityItem);
-      ctx.addExtraParameter("fields", fields);
-      newDoc = process("listDeleteModalBatch", ctx);
-    }
 
-    // Write newDoc on disk
-    writeDoc(newDoc, viewName);
+      @Override
+      public DOC merge(DOC existingDoc, ViewContext<T> viewCtx) {
+        return mergeListDeleteModalBatchView("listDeleteModalBatch", existingDoc, viewCtx,
+            entityItem, fields);
+      }
+    }, entityItem, fields);
 
   }
 
@@ -522,37 +855,34 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
 
     // Getting entity fields that should be included on view
     List<FieldMetadata> entityFields = getPersistentFields(defaultReturnTypeFields);
-    List<FieldItem> fields =
+    final List<FieldItem> fields =
         getFieldViewItems(entityMetadata, entityFields, ctx.getEntityName(), true, ctx,
             TABLE_SUFFIX);
 
-    // Process elements to generate
-    DOC newDoc = null;
-
     // Getting new viewName
     String viewName =
         getViewsFolder(moduleName).concat(ctx.getControllerPath()).concat("/")
             .concat(controllerMetadata.getDetailsPathAsString("/")).concat("/listDeleteModalBatch")
             .concat(getViewsExtension());
 
-    EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
+    final EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
 
-    // Check if new view to generate exists or not
-    if (existsFile(viewName)) {
-      DOC existingDoc = loadExistingDoc(viewName);
-      if (!isUserManagedDocument(existingDoc)) {
-        newDoc =
-            mergeListDeleteModalBatchDetailView("listDeleteModalBatchDetail",
-                loadExistingDoc(viewName), ctx, entityItem, fields);
+    // Generate the view and write it on disk
+    generateView(viewName, ctx, new ViewRenderer<DOC, T>() {
+
+      @Override
+      public DOC process(ViewContext<T> viewCtx) {
+        viewCtx.addExtraParameter("entity", entityItem);
+        viewCtx.addExtraParameter("fields", fields);
+        return AbstractViewGenerationService.this.process("listDeleteModalBatchDetail", viewCtx);
       }
-    } else {
-      ctx.addExtraParameter("entity", entityItem);
-      ctx.addExtraParameter("fields", fields);
-      newDoc = process("listDeleteModalBatchDetail", ctx);
-    }
 
-    // Write newDoc on disk
-    writeDoc(newDoc, viewName);
+      @Override
+      public DOC merge(DOC existingDoc, ViewContext<T> viewCtx) {
+        return mergeListDeleteModalBatchDetailView("listDeleteModalBatchDetail", existingDoc,
+            viewCtx, entityItem, fields);
+      }
+    }, entityItem, fields);
 
   }
 
@@ -619,7 +949,7 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
         entityFields.add(field);
       }
     }
-    List<FieldItem> fields =
+    final List<FieldItem> fields =
         getFieldViewItems(entityMetadata, entityFields, ctx.getEntityName(), false, ctx,
             FIELD_SUFFIX);
 
@@ -627,9 +957,6 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
     ctx.addExtraParameter("entity", entityItem);
     ctx.addExtraParameter("compositeRelationFields", compositeRelationFields);
 
-    // Process elements to generate
-    DOC newDoc = null;
-
     // Getting new viewName
     String viewName =
         getViewsFolder(moduleName).concat(ctx.getControllerPath()).concat("/").concat("/show")
@@ -681,18 +1008,19 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
 
     ctx.addExtraParameter("detailsLevels", detailsLevels);
 
-    // Check if new view to generate exists or not
-    if (existsFile(viewName)) {
-      DOC existingDoc = loadExistingDoc(viewName);
-      if (!isUserManagedDocument(existingDoc)) {
-        newDoc = merge("show", existingDoc, ctx, fields);
+    // Generate the view and write it on disk
+    generateView(viewName, ctx, new ViewRenderer<DOC, T>() {
+
+      @Override
+      public DOC process(ViewContext<T> viewCtx) {
+        return AbstractViewGenerationService.this.process("show", viewCtx);
       }
-    } else {
-      newDoc = process("show", ctx);
-    }
 
-    // Write newDoc on disk
-    writeDoc(newDoc, viewName);
+      @Override
+      public DOC merge(DOC existingDoc, ViewContext<T> viewCtx) {
+        return AbstractViewGenerationService.this.merge("show", existingDoc, viewCtx, fields);
+      }
+    }, fields);
 
   }
 
@@ -716,7 +1044,7 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
         entityFields.add(field);
       }
     }
-    List<FieldItem> fields =
+    final List<FieldItem> fields =
         getFieldViewItems(entityMetadata, entityFields, ctx.getEntityName(), false, ctx,
             FIELD_SUFFIX);
 
@@ -724,26 +1052,24 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
     ctx.addExtraParameter("entity", entityItem);
     ctx.addExtraParameter("compositeRelationFields", compositeRelationFields);
 
-    // Process elements to generate
-    DOC newDoc = null;
-
     // Getting new viewName
     String viewName =
         getViewsFolder(moduleName).concat(ctx.getControllerPath()).concat("/")
             .concat("/showInline").concat(getViewsExtension());
 
-    // Check if new view to generate exists or not
-    if (existsFile(viewName)) {
-      DOC existingDoc = loadExistingDoc(viewName);
-      if (!isUserManagedDocument(existingDoc)) {
-        newDoc = merge("showInline", existingDoc, ctx, fields);
+    // Generate the view and write it on disk
+    generateView(viewName, ctx, new ViewRenderer<DOC, T>() {
+
+      @Override
+      public DOC process(ViewContext<T> viewCtx) {
+        return AbstractViewGenerationService.this.process("showInline", viewCtx);
       }
-    } else {
-      newDoc = process("showInline", ctx);
-    }
 
-    // Write newDoc on disk
-    writeDoc(newDoc, viewName);
+      @Override
+      public DOC merge(DOC existingDoc, ViewContext<T> viewCtx) {
+        return AbstractViewGenerationService.this.merge("showInline", existingDoc, viewCtx, fields);
+      }
+    }, fields);
 
   }
 
@@ -756,9 +1082,6 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
 
     EntityItem entityItem = createEntityItem(entityMetadata, ctx, TABLE_SUFFIX);
 
-    // Process elements to generate
-    DOC newDoc = null;
-
     // Getting new viewName
     String viewName =
         getViewsFolder(moduleName).concat(ctx.getControllerPath()).concat("/").concat("/create")
@@ -776,7 +1099,7 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
       }
     }
 
-    List<FieldItem> fields =
+    final List<FieldItem> fields =
         getFieldViewItems(entityMetadata, entityFields, ctx.getEntityName(), false, ctx,
             FIELD_SUFFIX);
 
@@ -784,18 +1107,19 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
     ctx.addExtraParameter("entity", entityItem);
     ctx.addExtraParameter("compositeRelationFields", compositeRelationFields);
 
-    // Check if new view to generate exists or not
-    if (existsFile(viewName)) {
-      DOC existingDoc = loadExistingDoc(viewName);
-      if (!isUserManagedDocument(existingDoc)) {
-        newDoc = merge("create", existingDoc, ctx, fields);
+    // Generate the view and write it on disk
+    generateView(viewName, ctx, new ViewRenderer<DOC, T>() {
+
+      @Override
+      public DOC process(ViewContext<T> viewCtx) {
+        return AbstractViewGenerationService.this.process("create", viewCtx);
       }
-    } else {
-      newDoc = process("create", ctx);
-    }
 
-    // Write newDoc on disk
-    writeDoc(newDoc, viewName);
+      @Override
+      public DOC merge(DOC existingDoc, ViewContext<T> viewCtx) {
+        return AbstractViewGenerationService.this.merge("create", existingDoc, viewCtx, fields);
+      }
+    }, fields);
 
   }
 
@@ -806,9 +1130,6 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
     // Getting entity fields that should be included on view
     List<FieldMetadata> entityFields = new ArrayList<FieldMetadata>();
 
-    // Process elements to generate
-    DOC newDoc = null;
-
     // Getting new viewName
     String viewName =
         getViewsFolder(moduleName).concat(ctx.getControllerPath()).concat("/").concat("/edit")
@@ -827,7 +1148,7 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
       }
     }
 
-    List<FieldItem> fields =
+    final List<FieldItem> fields =
         getFieldViewItems(entityMetadata, entityFields, ctx.getEntityName(), false, ctx,
             FIELD_SUFFIX);
 
@@ -837,18 +1158,19 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
     ctx.addExtraParameter("entity", entityItem);
     ctx.addExtraParameter("compositeRelationFields", compositeRelationFields);
 
-    // Check if new view to generate exists or not
-    if (existsFile(viewName)) {
-      DOC existingDoc = loadExistingDoc(viewName);
-      if (!isUserManagedDocument(existingDoc)) {
-        newDoc = merge("edit", existingDoc, ctx, fields);
+    // Generate the view and write it on disk
+    generateView(viewName, ctx, new ViewRenderer<DOC, T>() {
+
+      @Override
+      public DOC process(ViewContext<T> viewCtx) {
+        return AbstractViewGenerationService.this.process("edit", viewCtx);
       }
-    } else {
-      newDoc = process("edit", ctx);
-    }
 
-    // Write newDoc on disk
-    writeDoc(newDoc, viewName);
+      @Override
+      public DOC merge(DOC existingDoc, ViewContext<T> viewCtx) {
+        return AbstractViewGenerationService.this.merge("edit", existingDoc, viewCtx, fields);
+      }
+    }, fields);
 
   }
 
@@ -2054,17 +2376,24 @@ public abstract class AbstractViewGenerationService<DOC, T extends AbstractViewM
    * @return
    */
   protected DOC loadExistingDoc(String path) {
-    String content = "";
+    // Parse String content to obtain the same type of object
+    return parse(readExistingContent(path));
+  }
+
+  /**
+   * Loads the content of the provided file
+   *
+   * @param path
+   * @return the file content
+   */
+  private String readExistingContent(String path) {
     try {
       // Load file and get STRING content
-      content = FileUtils.readFileToString(new File(path));
+      return FileUtils.readFileToString(new File(path));
 
     } catch (IOException e) {
       throw new RuntimeException(String.format("ERROR: Error trying to load existing doc %s", path));
     }
-
-    // Parse String content to obtain the same type of object
-    return parse(content);
   }
 
   /**
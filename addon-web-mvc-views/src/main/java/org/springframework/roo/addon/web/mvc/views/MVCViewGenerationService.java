@@ -441,4 +441,35 @@ public interface MVCViewGenerationService<T extends AbstractViewMetadata> {
    * Return the templates base path
    */
   String getTemplatesLocation();
+
+  /**
+   * This operation starts a views generation on the current thread. Until
+   * {@link #finishViewsGeneration()} is invoked, the views requested to this
+   * service are rendered and merged concurrently in a bounded pool instead of
+   * being written immediately.
+   *
+   * Views generations could be nested. Only the outermost one writes the
+   * generated views.
+   */
+  void startViewsGeneration();
+
+  /**
+   * This operation finishes the views generation started on the current
+   * thread. It waits for all pending views and writes them on disk, in the
+   * same order they were requested, using the FileManager.
+   *
+   * If some view could not be generated, the views requested after it are
+   * discarded and the error is thrown.
+   *
+   * It must be invoked only if the views have been requested successfully.
+   * Otherwise, {@link #discardViewsGeneration()} must be invoked instead.
+   */
+  void finishViewsGeneration();
+
+  /**
+   * This operation finishes the views generation started on the current
+   * thread without writing the views requested since it started, which are
+   * cancelled. The views requested by an outer views generation are kept.
+   */
+  void discardViewsGeneration();
 }
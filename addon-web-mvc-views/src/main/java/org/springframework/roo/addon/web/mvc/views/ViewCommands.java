@@ -160,14 +160,19 @@ public class ViewCommands implements CommandMarker {
               + " them is focused. "
               + "Default if option not present: the unique 'application' module, or focused 'application'"
               + " module.", unspecifiedDefaultValue = ".",
-          optionContext = APPLICATION_FEATURE_INCLUDE_CURRENT_MODULE) Pom module) {
+          optionContext = APPLICATION_FEATURE_INCLUDE_CURRENT_MODULE) Pom module,
+      @CliOption(key = "regenerateViews", mandatory = false, unspecifiedDefaultValue = "false",
+          specifiedDefaultValue = "true",
+          help = "Indicates whether the views of the existing controllers of this response type "
+              + "should be regenerated. Views of all controllers are rendered concurrently. "
+              + "Default if option present: `true`; default if option not present: `false`.") boolean regenerateViews) {
 
     Map<String, ControllerMVCResponseService> responseTypes = getControllerMVCResponseTypes(false);
     if (!responseTypes.containsKey(type)) {
       throw new IllegalArgumentException("ERROR: You have provided an invalid type.");
     }
 
-    getViewOperations().setup(responseTypes.get(type), module);
+    getViewOperations().setup(responseTypes.get(type), module, regenerateViews);
   }
 
   /**
@@ -43,7 +43,28 @@ public class ViewContext<T extends AbstractViewMetadata> {
   // Security information
   private boolean securityEnabled;
 
-
+  /**
+   * Creates a copy of this context with its own custom elements. Changes on
+   * the custom elements of the copy will not affect this context.
+   *
+   * @return a new ViewContext
+   */
+  public ViewContext<T> copy() {
+    ViewContext<T> copy = new ViewContext<T>();
+    copy.viewMetadata = viewMetadata;
+    copy.controllerMetadata = controllerMetadata;
+    copy.projectName = projectName;
+    copy.description = description;
+    copy.version = version;
+    copy.controllerPath = controllerPath;
+    copy.identifierField = identifierField;
+    copy.modelAttribute = modelAttribute;
+    copy.modelAttributeName = modelAttributeName;
+    copy.entityName = entityName;
+    copy.extraInformation = new HashMap<String, Object>(extraInformation);
+    copy.securityEnabled = securityEnabled;
+    return copy;
+  }
 
   public String getControllerPath() {
     return controllerPath;
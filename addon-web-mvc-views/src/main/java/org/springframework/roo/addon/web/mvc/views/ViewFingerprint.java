@@ -0,0 +1,178 @@
+package org.springframework.roo.addon.web.mvc.views;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata.RelationInfo;
+import org.springframework.roo.metadata.MetadataItem;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Calculates a stable fingerprint of the elements used to generate a view:
+ * the {@link ViewContext}, the view components (EntityItem, FieldItem,
+ * DetailEntityItem...) and any other value provided to the template.
+ *
+ * Components of this package are inspected field by field, metadata items
+ * are ignored because the information used by views is already included in
+ * the components. If some element can't be represented in a stable way, the
+ * fingerprint can't be calculated and {@link #getValue()} returns null.
+ *
+ * @since 2.0
+ */
+public class ViewFingerprint {
+
+  private static final String VIEWS_PACKAGE = ViewFingerprint.class.getPackage().getName();
+
+  private static final Comparator<Field> FIELD_NAME_COMPARATOR = new Comparator<Field>() {
+
+    @Override
+    public int compare(Field field1, Field field2) {
+      return field1.getName().compareTo(field2.getName());
+    }
+  };
+
+  private final StringBuilder content = new StringBuilder();
+  private final Map<Object, Integer> visited = new IdentityHashMap<Object, Integer>();
+  private boolean stable = true;
+
+  /**
+   * Includes the provided element on this fingerprint.
+   *
+   * @param value
+   * @return this fingerprint
+   */
+  public ViewFingerprint add(Object value) {
+    append(value);
+    content.append(';');
+    return this;
+  }
+
+  /**
+   * @return the SHA-1 hash of all included elements, or null if some of them
+   *         can't be represented in a stable way
+   */
+  public String getValue() {
+    if (!stable) {
+      return null;
+    }
+    return DigestUtils.shaHex(content.toString());
+  }
+
+  private void append(Object value) {
+    if (value == null) {
+      content.append("null");
+      return;
+    }
+
+    if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+        || value instanceof Character || value instanceof Enum) {
+      content.append(value.getClass().getSimpleName()).append(':').append(value);
+      return;
+    }
+
+    // Elements already included are referenced by position to avoid cycles
+    Integer position = visited.get(value);
+    if (position != null) {
+      content.append("ref:").append(position);
+      return;
+    }
+    visited.put(value, visited.size());
+
+    if (value instanceof Map) {
+      appendMap((Map<?, ?>) value);
+    } else if (value instanceof Collection) {
+      appendCollection((Collection<?>) value);
+    } else if (value.getClass().isArray()) {
+      List<Object> elements = new ArrayList<Object>();
+      for (int i = 0; i < Array.getLength(value); i++) {
+        elements.add(Array.get(value, i));
+      }
+      appendCollection(elements);
+    } else if (value instanceof RelationInfo) {
+      RelationInfo info = (RelationInfo) value;
+      content.append("relation{");
+      append(info.fieldName);
+      append(info.type);
+      append(info.cardinality);
+      append(info.entityType);
+      append(info.childType);
+      append(info.mappedBy);
+      content.append('}');
+    } else if (value.getClass().getName().startsWith(VIEWS_PACKAGE)) {
+      appendFields(value);
+    } else if (hasOwnToString(value.getClass())) {
+      content.append(value.getClass().getName()).append(':').append(value);
+    } else {
+      // Default toString includes the identity hash code
+      stable = false;
+    }
+  }
+
+  private void appendMap(Map<?, ?> map) {
+    // Sort entries to be independent of the map implementation
+    Map<String, Object> sorted = new TreeMap<String, Object>();
+    for (Entry<?, ?> entry : map.entrySet()) {
+      sorted.put(String.valueOf(entry.getKey()), entry.getValue());
+    }
+    content.append('{');
+    for (Entry<String, Object> entry : sorted.entrySet()) {
+      content.append(entry.getKey()).append('=');
+      append(entry.getValue());
+      content.append(',');
+    }
+    content.append('}');
+  }
+
+  private void appendCollection(Collection<?> collection) {
+    content.append('[');
+    for (Object element : collection) {
+      append(element);
+      content.append(',');
+    }
+    content.append(']');
+  }
+
+  private void appendFields(Object value) {
+    content.append(value.getClass().getName()).append('{');
+    Class<?> clazz = value.getClass();
+    while (clazz != null && clazz != Object.class) {
+      // Sort fields because declaration order is not guaranteed by reflection
+      Field[] fields = clazz.getDeclaredFields();
+      Arrays.sort(fields, FIELD_NAME_COMPARATOR);
+      for (Field field : fields) {
+        if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()
+            || MetadataItem.class.isAssignableFrom(field.getType())) {
+          continue;
+        }
+        field.setAccessible(true);
+        content.append(field.getName()).append('=');
+        try {
+          append(field.get(value));
+        } catch (IllegalAccessException e) {
+          stable = false;
+        }
+        content.append(',');
+      }
+      clazz = clazz.getSuperclass();
+    }
+    content.append('}');
+  }
+
+  private boolean hasOwnToString(Class<?> clazz) {
+    try {
+      return clazz.getMethod("toString").getDeclaringClass() != Object.class;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package org.springframework.roo.addon.web.mvc.views;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.roo.process.manager.FileManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Properties;
+
+/**
+ * Stores the fingerprints of generated views, together with the hash of the
+ * contents written for each one of them, so views can be skipped when
+ * neither their inputs nor the generated file have changed since the last
+ * generation. Fingerprints are persisted on the provided file, so they are
+ * kept between Spring Roo executions.
+ *
+ * Views and fingerprints are written through the {@link FileManager}, so
+ * both of them are committed or rolled back together. As views are written
+ * when the current operation finishes, the hash of a view is calculated
+ * using the contents being written, not the file on disk.
+ *
+ * View paths are stored relative to the project root.
+ *
+ * @since 2.0
+ */
+public class ViewFingerprints {
+
+  private static final String SEPARATOR = " ";
+
+  private final FileManager fileManager;
+  private final String path;
+  private final String root;
+  private Properties fingerprints;
+  private boolean modified;
+
+  /**
+   * @param fileManager used to read and write the views and the fingerprints
+   * @param path where fingerprints are persisted
+   * @param root project root, used to store relative view paths
+   */
+  public ViewFingerprints(FileManager fileManager, String path, String root) {
+    this.fileManager = fileManager;
+    this.path = path;
+    this.root = root;
+  }
+
+  /**
+   * Checks if the provided view was generated using the provided fingerprint
+   * and its file hasn't changed since then.
+   *
+   * @param viewPath
+   * @param fingerprint
+   * @return true if the view doesn't need to be generated again
+   */
+  public synchronized boolean isUpToDate(String viewPath, String fingerprint) {
+    if (fingerprint == null) {
+      return false;
+    }
+    String stored = getFingerprints().getProperty(getKey(viewPath));
+    if (stored == null || !stored.startsWith(fingerprint.concat(SEPARATOR))) {
+      return false;
+    }
+    String contents = read(viewPath);
+    return contents != null && stored.equals(getValue(fingerprint, contents));
+  }
+
+  /**
+   * Registers the fingerprint used to generate a view and the contents
+   * written for it. If the fingerprint or the contents are null, because the
+   * view was not written, the view is removed.
+   *
+   * @param viewPath
+   * @param fingerprint
+   * @param contents the contents written on the view file
+   */
+  public synchronized void update(String viewPath, String fingerprint, String contents) {
+    if (fingerprint == null || contents == null) {
+      modified |= getFingerprints().remove(getKey(viewPath)) != null;
+      return;
+    }
+    String value = getValue(fingerprint, contents);
+    if (!value.equals(getFingerprints().setProperty(getKey(viewPath), value))) {
+      modified = true;
+    }
+  }
+
+  /**
+   * Writes fingerprints if they have changed since they were loaded. The
+   * file is written when the current operation finishes, as views are.
+   */
+  public synchronized void save() {
+    if (!modified) {
+      return;
+    }
+    StringWriter writer = new StringWriter();
+    try {
+      fingerprints.store(writer, "Spring Roo generated views fingerprints");
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to store views fingerprints", e);
+    }
+    fileManager.createOrUpdateTextFileIfRequired(path, writer.toString(), false);
+    modified = false;
+  }
+
+  private Properties getFingerprints() {
+    if (fingerprints == null) {
+      fingerprints = new Properties();
+      String contents = read(path);
+      if (contents != null) {
+        try {
+          fingerprints.load(new StringReader(contents));
+        } catch (IOException e) {
+          // Views will be generated again
+          fingerprints.clear();
+        } catch (IllegalArgumentException e) {
+          fingerprints.clear();
+        }
+      }
+    }
+    return fingerprints;
+  }
+
+  private String getKey(String viewPath) {
+    return StringUtils.removeStart(StringUtils.removeStart(viewPath, root), File.separator);
+  }
+
+  private String getValue(String fingerprint, String contents) {
+    return fingerprint.concat(SEPARATOR).concat(DigestUtils.shaHex(contents));
+  }
+
+  /**
+   * Reads a file using the same encoding used by the FileManager to write
+   * text files.
+   *
+   * @return the contents of the file or null if it doesn't exist
+   */
+  private String read(String fileIdentifier) {
+    if (!fileManager.exists(fileIdentifier)) {
+      return null;
+    }
+    InputStream inputStream = null;
+    try {
+      inputStream = fileManager.getInputStream(fileIdentifier);
+      return IOUtils.toString(inputStream);
+    } catch (IOException e) {
+      return null;
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
+  }
+}
@@ -22,4 +22,18 @@ public interface ViewOperations {
    */
   void setup(ControllerMVCResponseService viewType, Pom module);
 
+  /**
+   * This operation will setup provided responseType 
+   * on generated project and, if requested, regenerates the views of every 
+   * controller that uses it in a single views generation, so they are 
+   * rendered concurrently.
+   * 
+   * @param viewType ControllerMVCResponseService 
+   * @param module 
+   *            Pom module where responseType components  should be included
+   * @param regenerateViews
+   *            whether views of existing controllers should be regenerated
+   */
+  void setup(ControllerMVCResponseService viewType, Pom module, boolean regenerateViews);
+
 }
@@ -1,7 +1,9 @@
 package org.springframework.roo.addon.web.mvc.views;
 
+import java.util.Set;
 import java.util.logging.Logger;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Service;
@@ -12,6 +14,8 @@ import org.osgi.service.component.ComponentContext;
 import org.springframework.roo.addon.web.mvc.controller.addon.responses.ControllerMVCResponseService;
 import org.springframework.roo.classpath.ModuleFeatureName;
 import org.springframework.roo.classpath.TypeLocationService;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+import org.springframework.roo.metadata.MetadataDependencyRegistry;
 import org.springframework.roo.project.maven.Pom;
 import org.springframework.roo.support.logging.HandlerUtils;
 
@@ -31,6 +35,7 @@ public class ViewOperationsImpl implements ViewOperations {
   private BundleContext context;
 
   private TypeLocationService typeLocationService;
+  private MetadataDependencyRegistry metadataDependencyRegistry;
 
   protected void activate(final ComponentContext context) {
     this.context = context.getBundleContext();
@@ -38,6 +43,12 @@ public class ViewOperationsImpl implements ViewOperations {
 
   @Override
   public void setup(ControllerMVCResponseService responseType, Pom module) {
+    setup(responseType, module, false);
+  }
+
+  @Override
+  public void setup(ControllerMVCResponseService responseType, Pom module,
+      boolean regenerateViews) {
     // Check if provided module match with application modules features
     Validate.isTrue(getTypeLocationService()
         .hasModuleFeature(module, ModuleFeatureName.APPLICATION),
@@ -47,6 +58,50 @@ public class ViewOperationsImpl implements ViewOperations {
     // Delegate on the selected response type to install
     // all necessary elements
     responseType.install(module);
+
+    if (regenerateViews) {
+      regenerateViews(responseType, module);
+    }
+  }
+
+  /**
+   * Regenerates the views of all controllers annotated with the provided 
+   * responseType inside a single views generation, so the views of every 
+   * controller are rendered concurrently and written when all of them are 
+   * ready.
+   * 
+   * @param responseType
+   * @param module
+   */
+  private void regenerateViews(ControllerMVCResponseService responseType, Pom module) {
+    MVCViewGenerationService viewGenerationService =
+        getMVCViewGenerationService(responseType.getName());
+    if (viewGenerationService == null) {
+      return;
+    }
+
+    Set<ClassOrInterfaceTypeDetails> controllers =
+        getTypeLocationService().findClassesOrInterfaceDetailsWithAnnotation(
+            responseType.getAnnotation());
+
+    boolean requested = false;
+    viewGenerationService.startViewsGeneration();
+    try {
+      for (ClassOrInterfaceTypeDetails controller : controllers) {
+        if (!module.getModuleName().equals(
+            StringUtils.defaultString(controller.getType().getModule()))) {
+          continue;
+        }
+        getMetadataDependencyRegistry().notifyDownstream(controller.getDeclaredByMetadataId());
+      }
+      requested = true;
+    } finally {
+      // Don't write the views of a failed generation
+      if (!requested) {
+        viewGenerationService.discardViewsGeneration();
+      }
+    }
+    viewGenerationService.finishViewsGeneration();
   }
 
   /**
@@ -79,6 +134,29 @@ public class ViewOperationsImpl implements ViewOperations {
 
   // Get OSGi services
 
+  public MetadataDependencyRegistry getMetadataDependencyRegistry() {
+    if (metadataDependencyRegistry == null) {
+      // Get all Services implement MetadataDependencyRegistry interface
+      try {
+        ServiceReference<?>[] references =
+            this.context.getAllServiceReferences(MetadataDependencyRegistry.class.getName(), null);
+
+        for (ServiceReference<?> ref : references) {
+          metadataDependencyRegistry = (MetadataDependencyRegistry) this.context.getService(ref);
+          return metadataDependencyRegistry;
+        }
+
+        return null;
+
+      } catch (InvalidSyntaxException e) {
+        LOGGER.warning("Cannot load MetadataDependencyRegistry on ViewOperationsImpl.");
+        return null;
+      }
+    } else {
+      return metadataDependencyRegistry;
+    }
+  }
+
   public TypeLocationService getTypeLocationService() {
     if (typeLocationService == null) {
       // Get all Services implement TypeLocationService interface
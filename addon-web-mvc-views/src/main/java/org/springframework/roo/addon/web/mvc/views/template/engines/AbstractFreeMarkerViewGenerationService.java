@@ -1,12 +1,18 @@
 package org.springframework.roo.addon.web.mvc.views.template.engines;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.StringBuilderWriter;
@@ -18,27 +24,232 @@ import org.springframework.roo.addon.web.mvc.views.AbstractViewGenerationService
 import org.springframework.roo.addon.web.mvc.views.AbstractViewMetadata;
 import org.springframework.roo.addon.web.mvc.views.ViewContext;
 import org.springframework.roo.addon.web.mvc.views.components.FieldItem;
+import org.springframework.roo.file.monitor.event.FileEvent;
+import org.springframework.roo.file.monitor.event.FileEventListener;
 import org.springframework.roo.process.manager.FileManager;
 import org.springframework.roo.support.osgi.OSGiUtils;
 import org.springframework.roo.support.util.FileUtils;
 
+import freemarker.cache.ClassTemplateLoader;
+import freemarker.cache.FileTemplateLoader;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateExceptionHandler;
 import freemarker.template.Version;
 
+/**
+ * Base class for view generation services that render their views using
+ * FreeMarker templates.
+ * <p>
+ * FreeMarker {@link Configuration}s are expensive to create and each one owns
+ * its own template cache, so this class keeps a single long-lived
+ * {@link Configuration} for the templates bundled with the add-on and another
+ * one for every custom templates location. Custom locations are discarded as
+ * soon as a {@link FileEvent} reports a change under them, so new or removed
+ * templates are detected on the next view generation.
+ */
 @Component(componentAbstract = true)
 public abstract class AbstractFreeMarkerViewGenerationService<DOC, T extends AbstractViewMetadata>
-    extends AbstractViewGenerationService<DOC, T> {
+    extends AbstractViewGenerationService<DOC, T> implements FileEventListener {
+
+  private static final Version FREEMARKER_VERSION = new Version(2, 3, 23);
+
+  private static final String CLASSPATH_TEMPLATES_FOLDER = "templates";
 
   @Reference
   FileManager fileManager;
 
+  private Configuration classpathConfiguration;
+
+  // Templates location resolved when the last views generation started.
+  // Views rendered concurrently use it, as resolving the location needs
+  // services that must only be used by the thread that requested the view.
+  private volatile String renderTemplatesLocation;
+  // Custom templates found in that location. Views rendered concurrently
+  // can't use the FileManager to check them.
+  private volatile Set<String> renderCustomTemplates = Collections.emptySet();
+  private final Map<String, Configuration> locationConfigurations =
+      new ConcurrentHashMap<String, Configuration>();
+  // Whether each template has been customized. The ".roo" folder is not
+  // scanned by the file monitor, so it is cleared every time a views
+  // generation starts instead of waiting for a file event.
+  private final Map<String, Boolean> customTemplates = new ConcurrentHashMap<String, Boolean>();
+
   protected abstract Class<?> getResourceLoaderClass();
 
   protected boolean checkTemplates(String location, String templateName) {
     // Check if provided template exists and has .ftl extension
-    return fileManager.exists(location.concat("/").concat(templateName).concat(".ftl"));
+    String templatePath = location.concat("/").concat(templateName).concat(".ftl");
+    if (isRenderThread()) {
+      return renderCustomTemplates.contains(templatePath);
+    }
+    Boolean exists = customTemplates.get(templatePath);
+    if (exists == null) {
+      exists = fileManager.exists(templatePath);
+      customTemplates.put(templatePath, exists);
+    }
+    return exists;
+  }
+
+  /**
+   * Creates a {@link Configuration} that loads its templates from the
+   * "templates" folder located next to the provided class.
+   * <p>
+   * Bundled templates can't change while the add-on is running, so the
+   * returned {@link Configuration} never checks them for updates once they
+   * have been parsed.
+   *
+   * @param resourceLoaderClass the class used to locate the templates
+   * @return a new {@link Configuration}
+   */
+  public static Configuration createClasspathConfiguration(Class<?> resourceLoaderClass) {
+    Configuration cfg = createConfiguration();
+    cfg.setTemplateLoader(new ClassTemplateLoader(resourceLoaderClass, CLASSPATH_TEMPLATES_FOLDER));
+    cfg.setTemplateUpdateDelayMilliseconds(Long.MAX_VALUE);
+    return cfg;
+  }
+
+  /**
+   * Creates a {@link Configuration} that loads its templates from the
+   * provided directory.
+   * <p>
+   * Custom templates usually live inside the hidden ".roo" folder, which is
+   * not scanned by the file monitor, so no file event is received when they
+   * change. The returned {@link Configuration} checks the last modification
+   * date of a cached template before reusing it. That is a single file
+   * system access instead of a new parse.
+   *
+   * @param templatesDirectory the directory containing the templates
+   * @return a new {@link Configuration}
+   * @throws IOException if the directory can't be used to load templates
+   */
+  public static Configuration createDirectoryConfiguration(File templatesDirectory)
+      throws IOException {
+    Configuration cfg = createConfiguration();
+    cfg.setTemplateLoader(new FileTemplateLoader(templatesDirectory));
+    cfg.setTemplateUpdateDelayMilliseconds(0);
+    return cfg;
+  }
+
+  private static Configuration createConfiguration() {
+    Configuration cfg = new Configuration(FREEMARKER_VERSION);
+    cfg.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+    // Templates are never localized, so avoid looking for "_en_US" variants
+    // of every template before loading the real one
+    cfg.setLocalizedLookup(false);
+    return cfg;
+  }
+
+  /**
+   * Returns the {@link Configuration} that must be used to load the provided
+   * template. If the template has been customized by the developer the
+   * {@link Configuration} of the current templates location is used.
+   * Otherwise, the templates bundled with the add-on are used.
+   *
+   * @param templateName the name of the template without extension
+   * @return the shared {@link Configuration}
+   * @throws IOException if the templates location can't be used
+   */
+  protected Configuration getConfiguration(String templateName) throws IOException {
+    String location = isRenderThread() ? renderTemplatesLocation : getTemplatesLocation();
+    if (checkTemplates(location, templateName)) {
+      Configuration cfg = locationConfigurations.get(location);
+      if (cfg == null) {
+        cfg = createDirectoryConfiguration(new File(location));
+        locationConfigurations.put(location, cfg);
+      }
+      return cfg;
+    }
+    synchronized (this) {
+      if (classpathConfiguration == null) {
+        classpathConfiguration = createClasspathConfiguration(getResourceLoaderClass());
+      }
+      return classpathConfiguration;
+    }
+  }
+
+  /**
+   * Includes the custom templates of the current templates location, so
+   * views are generated again when some template is added, removed or
+   * modified.
+   */
+  @Override
+  protected String getTemplatesFingerprint() {
+    String bundleFingerprint = super.getTemplatesFingerprint();
+    if (bundleFingerprint == null) {
+      return null;
+    }
+    StringBuilder fingerprint = new StringBuilder(bundleFingerprint);
+    appendTemplatesFingerprint(fingerprint, new File(getTemplatesLocation()));
+    return fingerprint.toString();
+  }
+
+  private void appendTemplatesFingerprint(StringBuilder fingerprint, File directory) {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    Arrays.sort(files);
+    for (File file : files) {
+      if (file.isDirectory()) {
+        appendTemplatesFingerprint(fingerprint, file);
+      } else {
+        fingerprint.append(';').append(file.getPath()).append(':').append(file.length())
+            .append(':').append(file.lastModified());
+      }
+    }
+  }
+
+  @Override
+  public void startViewsGeneration() {
+    renderTemplatesLocation = getTemplatesLocation();
+    Set<String> templates = new HashSet<String>();
+    findCustomTemplates(new File(renderTemplatesLocation), renderTemplatesLocation, templates);
+    renderCustomTemplates = Collections.unmodifiableSet(templates);
+    customTemplates.clear();
+    super.startViewsGeneration();
+  }
+
+  /**
+   * Finds the templates contained in the provided directory and its
+   * subdirectories
+   *
+   * @param directory the directory to search in
+   * @param path the path of the directory, as used by
+   *            {@link #checkTemplates(String, String)}
+   * @param templates the set where the template paths are added
+   */
+  private void findCustomTemplates(File directory, String path, Set<String> templates) {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      String filePath = path.concat("/").concat(file.getName());
+      if (file.isDirectory()) {
+        findCustomTemplates(file, filePath, templates);
+      } else if (filePath.endsWith(".ftl")) {
+        templates.add(filePath);
+      }
+    }
+  }
+
+  @Override
+  public void onFileEvent(FileEvent fileEvent) {
+    if (locationConfigurations.isEmpty() && customTemplates.isEmpty()) {
+      return;
+    }
+    String path = fileEvent.getFileDetails().getCanonicalPath();
+    for (String location : locationConfigurations.keySet()) {
+      if (path.startsWith(location)) {
+        locationConfigurations.remove(location);
+      }
+    }
+    for (String templatePath : customTemplates.keySet()) {
+      if (templatePath.startsWith(path)) {
+        customTemplates.remove(templatePath);
+      }
+    }
   }
 
   protected DOC process(String templateName, ViewContext<T> ctx) {
@@ -47,17 +258,8 @@ public abstract class AbstractFreeMarkerViewGenerationService<DOC, T extends Abs
     Map<String, Object> input = null;
     try {
 
-      Configuration cfg = new Configuration(new Version(2, 3, 23));
-      cfg.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
-
       // Check if exists some template. If not, use classpath to locate the template
-      if (checkTemplates(getTemplatesLocation(), templateName)) {
-        // Process using FreeMarker and setDirectoryForTemplateLoading
-        cfg.setDirectoryForTemplateLoading(new File(getTemplatesLocation()));
-      } else {
-        // Process using FreeMarker and setClassForTemplateLoading
-        cfg.setClassForTemplateLoading(getResourceLoaderClass(), "templates");
-      }
+      Configuration cfg = getConfiguration(templateName);
 
       // Prepare the template input:
       input = new HashMap<String, Object>();
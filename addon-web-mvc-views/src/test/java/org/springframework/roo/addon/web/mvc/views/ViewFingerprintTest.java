@@ -0,0 +1,64 @@
+package org.springframework.roo.addon.web.mvc.views;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.roo.addon.web.mvc.views.components.EntityItem;
+import org.springframework.roo.addon.web.mvc.views.components.FieldItem;
+
+/**
+ * Unit test of {@link ViewFingerprint}
+ */
+public class ViewFingerprintTest {
+
+  private String fingerprint(EntityItem entity, List<FieldItem> fields) {
+    return new ViewFingerprint().add("list").add(entity).add(fields).getValue();
+  }
+
+  @Test
+  public void testSameInputsHaveSameFingerprint() {
+    EntityItem entity1 = new EntityItem("Owner", "entity", false);
+    entity1.addConfigurationElement("readOnly", false);
+    entity1.addConfigurationElement("label", "Owner");
+    EntityItem entity2 = new EntityItem("Owner", "entity", false);
+    entity2.addConfigurationElement("label", "Owner");
+    entity2.addConfigurationElement("readOnly", false);
+
+    String fingerprint1 = fingerprint(entity1, Arrays.asList(new FieldItem("name", "Owner")));
+    String fingerprint2 = fingerprint(entity2, Arrays.asList(new FieldItem("name", "Owner")));
+
+    assertNotNull(fingerprint1);
+    assertEquals(fingerprint1, fingerprint2);
+  }
+
+  @Test
+  public void testChangedInputsHaveDifferentFingerprint() {
+    EntityItem entity = new EntityItem("Owner", "entity", false);
+
+    String fingerprint1 = fingerprint(entity, Arrays.asList(new FieldItem("name", "Owner")));
+    String fingerprint2 = fingerprint(entity, Arrays.asList(new FieldItem("city", "Owner")));
+
+    assertFalse(fingerprint1.equals(fingerprint2));
+  }
+
+  @Test
+  public void testCyclesAreSupported() {
+    List<Object> values = new ArrayList<Object>();
+    values.add("value");
+    values.add(values);
+
+    assertNotNull(new ViewFingerprint().add(values).getValue());
+  }
+
+  @Test
+  public void testUnstableInputsHaveNoFingerprint() {
+    assertNull(new ViewFingerprint().add(new Object()).getValue());
+  }
+}
@@ -0,0 +1,130 @@
+package org.springframework.roo.addon.web.mvc.views;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.roo.process.manager.FileManager;
+
+/**
+ * Unit test of {@link ViewFingerprints}
+ */
+public class ViewFingerprintsTest {
+
+  private static final String ROOT = "/project";
+  private static final String FINGERPRINTS = "/project/.roo/cache/thymeleaf-views.fingerprints";
+  private static final String VIEW = "/project/src/main/resources/templates/owners/list.html";
+
+  // Files on disk and files written when the operation finishes, as the
+  // FileManager does
+  private final Map<String, String> disk = new HashMap<String, String>();
+  private final Map<String, String> deferred = new HashMap<String, String>();
+  private FileManager fileManager;
+
+  @Before
+  public void setUp() {
+    fileManager = mock(FileManager.class);
+    when(fileManager.exists(anyString())).thenAnswer(new Answer<Boolean>() {
+
+      @Override
+      public Boolean answer(InvocationOnMock invocation) {
+        return disk.containsKey(invocation.getArguments()[0]);
+      }
+    });
+    when(fileManager.getInputStream(anyString())).thenAnswer(new Answer<InputStream>() {
+
+      @Override
+      public InputStream answer(InvocationOnMock invocation) {
+        return new ByteArrayInputStream(disk.get(invocation.getArguments()[0]).getBytes());
+      }
+    });
+    doAnswer(new Answer<Void>() {
+
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        deferred.put((String) invocation.getArguments()[0], (String) invocation.getArguments()[1]);
+        return null;
+      }
+    }).when(fileManager).createOrUpdateTextFileIfRequired(anyString(), anyString(), eq(false));
+  }
+
+  private void commit() {
+    disk.putAll(deferred);
+    deferred.clear();
+  }
+
+  private void writeView(ViewFingerprints fingerprints, String fingerprint, String contents) {
+    fileManager.createOrUpdateTextFileIfRequired(VIEW, contents, false);
+    fingerprints.update(VIEW, fingerprint, contents);
+    fingerprints.save();
+  }
+
+  @Test
+  public void testNewViewIsUpToDateAfterCommit() {
+    ViewFingerprints fingerprints = new ViewFingerprints(fileManager, FINGERPRINTS, ROOT);
+
+    // The view doesn't exist until the operation finishes
+    writeView(fingerprints, "fingerprint", "<html></html>");
+    assertFalse(fingerprints.isUpToDate(VIEW, "fingerprint"));
+
+    commit();
+    assertTrue(fingerprints.isUpToDate(VIEW, "fingerprint"));
+    assertFalse(fingerprints.isUpToDate(VIEW, "other"));
+
+    // Fingerprints are read again on the next execution
+    assertTrue(new ViewFingerprints(fileManager, FINGERPRINTS, ROOT).isUpToDate(VIEW,
+        "fingerprint"));
+  }
+
+  @Test
+  public void testRolledBackViewIsNotUpToDate() {
+    disk.put(VIEW, "<html>old</html>");
+    ViewFingerprints fingerprints = new ViewFingerprints(fileManager, FINGERPRINTS, ROOT);
+
+    writeView(fingerprints, "fingerprint", "<html>new</html>");
+    deferred.clear();
+
+    assertFalse(fingerprints.isUpToDate(VIEW, "fingerprint"));
+    assertFalse(new ViewFingerprints(fileManager, FINGERPRINTS, ROOT).isUpToDate(VIEW,
+        "fingerprint"));
+  }
+
+  @Test
+  public void testModifiedViewIsNotUpToDate() {
+    ViewFingerprints fingerprints = new ViewFingerprints(fileManager, FINGERPRINTS, ROOT);
+    writeView(fingerprints, "fingerprint", "<html></html>");
+    commit();
+
+    disk.put(VIEW, "<html>changed by the user</html>");
+
+    assertFalse(fingerprints.isUpToDate(VIEW, "fingerprint"));
+  }
+
+  @Test
+  public void testNotWrittenViewIsRemoved() {
+    ViewFingerprints fingerprints = new ViewFingerprints(fileManager, FINGERPRINTS, ROOT);
+    writeView(fingerprints, "fingerprint", "<html></html>");
+    commit();
+
+    fingerprints.update(VIEW, "fingerprint", null);
+    fingerprints.save();
+    commit();
+
+    assertFalse(fingerprints.isUpToDate(VIEW, "fingerprint"));
+    assertFalse(new ViewFingerprints(fileManager, FINGERPRINTS, ROOT).isUpToDate(VIEW,
+        "fingerprint"));
+  }
+}
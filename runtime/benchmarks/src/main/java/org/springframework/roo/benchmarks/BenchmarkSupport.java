@@ -0,0 +1,98 @@
+package org.springframework.roo.benchmarks;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+import org.springframework.roo.classpath.TypeLocationService;
+import org.springframework.roo.classpath.TypeParsingService;
+import org.springframework.roo.classpath.antlrjavaparser.JavaParserTypeParsingService;
+import org.springframework.roo.metadata.MetadataService;
+
+/**
+ * Wires Roo services outside OSGi, as the benchmarks don't start a
+ * framework.
+ *
+ * @since 2.0
+ */
+public final class BenchmarkSupport {
+
+  /**
+   * Creates a bundle context which provides no services until some are
+   * registered with {@link #registerServices(BundleContext, Class, Object...)}.
+   *
+   * @return a stub context
+   */
+  public static BundleContext newBundleContext() {
+    return mock(BundleContext.class);
+  }
+
+  /**
+   * Creates a type parsing service whose own references are stubbed; they
+   * are only used to resolve superclasses, which the synthetic types don't
+   * have.
+   *
+   * @return a parsing service
+   */
+  public static TypeParsingService newTypeParsingService() {
+    final JavaParserTypeParsingService typeParsingService = new JavaParserTypeParsingService();
+    setField(typeParsingService, "metadataService", mock(MetadataService.class));
+    setField(typeParsingService, "typeLocationService", mock(TypeLocationService.class));
+    return typeParsingService;
+  }
+
+  /**
+   * Makes the given context provide the given services, all of them
+   * registered under the given interface.
+   *
+   * @param context a context created by {@link #newBundleContext()}
+   * @param serviceInterface the interface of the services
+   * @param services the services to provide
+   */
+  public static void registerServices(final BundleContext context,
+      final Class<?> serviceInterface, final Object... services) {
+    final ServiceReference<?>[] references = new ServiceReference<?>[services.length];
+    for (int i = 0; i < services.length; i++) {
+      references[i] = mock(ServiceReference.class);
+      doReturn(services[i]).when(context).getService(references[i]);
+    }
+    try {
+      when(context.getAllServiceReferences(serviceInterface.getName(), null)).thenReturn(
+          references);
+    } catch (final InvalidSyntaxException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Sets a field of the given object, as OSGi would do to inject the
+   * references of a component.
+   *
+   * @param target the object to modify
+   * @param fieldName the name of the field, declared by the class of the
+   *            object or one of its superclasses
+   * @param value the value to set
+   */
+  public static void setField(final Object target, final String fieldName, final Object value) {
+    for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+      try {
+        final Field field = type.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+        return;
+      } catch (final NoSuchFieldException ignored) {
+        // Try the superclass
+      } catch (final IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    throw new IllegalArgumentException("No field '" + fieldName + "' in " + target.getClass());
+  }
+
+  private BenchmarkSupport() {}
+}
@@ -0,0 +1,89 @@
+package org.springframework.roo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.roo.model.DataType;
+import org.springframework.roo.model.ImportRegistrationResolver;
+import org.springframework.roo.model.ImportRegistrationResolverImpl;
+import org.springframework.roo.model.JavaPackage;
+import org.springframework.roo.model.JavaType;
+
+/**
+ * Benchmarks the import resolution done while composing a large ITD. It
+ * creates the types used by the members of a big ITD and resolves their names,
+ * as {@link JavaType#getNameIncludingTypeParameters(boolean, ImportRegistrationResolver)}
+ * does for every field, method and parameter, comparing types created with
+ * their constructors with canonical types returned by
+ * {@link JavaType#intern(JavaType)}.
+ *
+ * @since 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ImportResolutionBenchmark {
+
+  // Members of the ITD using each entity type
+  private static final int MEMBERS = 25;
+
+  private static final JavaPackage ITD_PACKAGE = new JavaPackage("com.example.web");
+
+  @Param({"200", "2000"})
+  public int entityCount;
+
+  @Param({"false", "true"})
+  public boolean interned;
+
+  @Benchmark
+  public void resolveImports(final Blackhole blackhole) {
+    final ImportRegistrationResolver resolver = new ImportRegistrationResolverImpl(ITD_PACKAGE);
+    for (int i = 0; i < entityCount; i++) {
+      final String entity = "com.example.domain" + i % 10 + ".Entity" + i;
+      for (int j = 0; j < MEMBERS; j++) {
+        final JavaType type = createType(entity, j);
+        blackhole.consume(type.getNameIncludingTypeParameters(false, resolver));
+        blackhole.consume(type.toString());
+      }
+    }
+    blackhole.consume(resolver.getRegisteredImports());
+  }
+
+  private JavaType createType(final String entity, final int member) {
+    final JavaType type;
+    switch (member % 3) {
+      case 0:
+        type =
+            new JavaType(JavaType.LIST.getFullyQualifiedTypeName(), 0, DataType.TYPE, null,
+                Arrays.asList(new JavaType(entity)));
+        break;
+      case 1:
+        final List<JavaType> parameters = new ArrayList<JavaType>();
+        parameters.add(JavaType.STRING);
+        parameters.add(new JavaType(entity));
+        type =
+            new JavaType(JavaType.HASH_MAP.getFullyQualifiedTypeName(), 0, DataType.TYPE, null,
+                parameters);
+        break;
+      default:
+        type = new JavaType(entity);
+    }
+    return interned ? JavaType.intern(type) : type;
+  }
+}
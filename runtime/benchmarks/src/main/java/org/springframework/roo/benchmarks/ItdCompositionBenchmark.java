@@ -0,0 +1,67 @@
+package org.springframework.roo.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.roo.classpath.details.ItdTypeDetails;
+import org.springframework.roo.classpath.itd.ItdSourceFileComposer;
+import org.springframework.roo.classpath.itd.ItdTypeDetailsProvidingMetadataItem;
+
+/**
+ * Benchmarks composing the source of the ITDs of every type of a project, as
+ * a full regeneration does before writing them.
+ *
+ * @since 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ItdCompositionBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  public int entityCount;
+
+  private ItdTypeDetails[] itds;
+
+  @Setup
+  public void setUp() {
+    final SyntheticProject project =
+        new SyntheticProject(new File("target", "synthetic"), entityCount);
+    final SyntheticMetadata metadata =
+        new SyntheticMetadata(project, project.getTypeDetails(BenchmarkSupport
+            .newTypeParsingService()));
+    itds = new ItdTypeDetails[entityCount];
+    for (int i = 0; i < entityCount; i++) {
+      final ItdTypeDetailsProvidingMetadataItem item =
+          metadata.getMetadataService().get(metadata.getJavaBeanMetadataProvider().getId(i));
+      itds[i] = item.getMemberHoldingTypeDetails();
+    }
+  }
+
+  @Benchmark
+  public void composeAllItds(final Blackhole blackhole) {
+    for (final ItdTypeDetails itd : itds) {
+      final ItdSourceFileComposer composer = new ItdSourceFileComposer(itd);
+      try {
+        blackhole.consume(composer.getOutput());
+      } finally {
+        composer.release();
+      }
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package org.springframework.roo.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.roo.classpath.TypeParsingService;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+
+/**
+ * Benchmarks parsing every type of a project, as a full regeneration does
+ * when the physical type metadata is evicted, and printing them back, as
+ * type management does when a member is added.
+ *
+ * @since 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JavaParserBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  public int entityCount;
+
+  private SyntheticProject project;
+  private String[] sources;
+  private ClassOrInterfaceTypeDetails[] types;
+  private TypeParsingService typeParsingService;
+
+  @Setup
+  public void setUp() {
+    project = new SyntheticProject(new File("target", "synthetic"), entityCount);
+    typeParsingService = BenchmarkSupport.newTypeParsingService();
+    sources = new String[entityCount];
+    for (int i = 0; i < entityCount; i++) {
+      sources[i] = project.getSource(i, 0);
+    }
+    types = project.getTypeDetails(typeParsingService);
+  }
+
+  @Benchmark
+  public void parseAllTypes(final Blackhole blackhole) {
+    for (int i = 0; i < entityCount; i++) {
+      blackhole.consume(typeParsingService.getTypeFromString(sources[i],
+          project.getPhysicalTypeId(i), project.getEntity(i)));
+    }
+  }
+
+  @Benchmark
+  public void printAllTypes(final Blackhole blackhole) {
+    for (final ClassOrInterfaceTypeDetails type : types) {
+      blackhole.consume(typeParsingService.getCompilationUnitContents(type));
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package org.springframework.roo.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.osgi.framework.BundleContext;
+import org.springframework.roo.classpath.scanner.MemberDetails;
+import org.springframework.roo.classpath.scanner.MemberDetailsDecorator;
+import org.springframework.roo.classpath.scanner.MemberDetailsScannerImpl;
+import org.springframework.roo.metadata.MetadataProvider;
+
+/**
+ * Benchmarks collecting the members of every type of a project, with their
+ * ITDs either cached or created again after a full regeneration.
+ *
+ * @since 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MemberDetailsScannerBenchmark {
+
+  /**
+   * Decorator which doesn't change the members, so the scanner doesn't look
+   * decorators up again on every scan.
+   */
+  private static class NoOpDecorator implements MemberDetailsDecorator {
+
+    public MemberDetails decorate(final String requestingClass,
+        final MemberDetails memberDetails) {
+      return memberDetails;
+    }
+
+    public MemberDetails decorateTypes(final String requestingClass,
+        final MemberDetails memberDetails) {
+      return memberDetails;
+    }
+  }
+
+  private static final String REQUESTING_CLASS = MemberDetailsScannerBenchmark.class.getName();
+
+  @Param({"100", "1000", "10000"})
+  public int entityCount;
+
+  private SyntheticMetadata metadata;
+  private MemberDetailsScannerImpl memberDetailsScanner;
+
+  @Setup
+  public void setUp() {
+    final SyntheticProject project =
+        new SyntheticProject(new File("target", "synthetic"), entityCount);
+    metadata =
+        new SyntheticMetadata(project, project.getTypeDetails(BenchmarkSupport
+            .newTypeParsingService()));
+
+    final BundleContext context = BenchmarkSupport.newBundleContext();
+    BenchmarkSupport.registerServices(context, MetadataProvider.class,
+        metadata.getJavaBeanMetadataProvider());
+    BenchmarkSupport.registerServices(context, MemberDetailsDecorator.class, new NoOpDecorator());
+    memberDetailsScanner = new MemberDetailsScannerImpl();
+    BenchmarkSupport.setField(memberDetailsScanner, "context", context);
+    BenchmarkSupport.setField(memberDetailsScanner, "metadataService",
+        metadata.getMetadataService());
+  }
+
+  @Benchmark
+  public void scanAllTypes(final Blackhole blackhole) {
+    for (int i = 0; i < entityCount; i++) {
+      blackhole.consume(memberDetailsScanner.getMemberDetails(REQUESTING_CLASS,
+          metadata.getType(i)));
+    }
+  }
+
+  @Benchmark
+  public void scanAllTypesAfterFullRegeneration(final Blackhole blackhole) {
+    metadata.getMetadataService().evictAll();
+    scanAllTypes(blackhole);
+  }
+}
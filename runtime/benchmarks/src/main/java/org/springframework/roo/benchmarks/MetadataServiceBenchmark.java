@@ -0,0 +1,82 @@
+package org.springframework.roo.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.roo.classpath.TypeParsingService;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+import org.springframework.roo.metadata.MetadataService;
+
+/**
+ * Benchmarks the metadata service and the dependency registry:
+ * <ul>
+ * <li>a full regeneration, where every cached item is evicted and every ITD
+ * is created again</li>
+ * <li>a single field change, where a field is added to (or removed from) an
+ * entity in the middle of the entity tree and the change is notified to the
+ * ITDs of the entity and of its descendants</li>
+ * </ul>
+ *
+ * @since 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MetadataServiceBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  public int entityCount;
+
+  private int changedEntity;
+  private ClassOrInterfaceTypeDetails[] changedEntityVersions;
+  private int changes;
+  private SyntheticMetadata metadata;
+  private SyntheticProject project;
+
+  @Setup
+  public void setUp() {
+    project = new SyntheticProject(new File("target", "synthetic"), entityCount);
+    final TypeParsingService typeParsingService = BenchmarkSupport.newTypeParsingService();
+    metadata = new SyntheticMetadata(project, project.getTypeDetails(typeParsingService));
+    changedEntity = entityCount / 4;
+    changedEntityVersions =
+        new ClassOrInterfaceTypeDetails[] {metadata.getType(changedEntity),
+            project.getTypeDetails(typeParsingService, changedEntity, 1)};
+    for (int i = 0; i < entityCount; i++) {
+      metadata.getMetadataService().get(metadata.getJavaBeanMetadataProvider().getId(i));
+    }
+  }
+
+  @Benchmark
+  public void fullRegeneration(final Blackhole blackhole) {
+    final MetadataService metadataService = metadata.getMetadataService();
+    metadataService.evictAll();
+    for (int i = 0; i < entityCount; i++) {
+      blackhole.consume(metadataService.get(metadata.getJavaBeanMetadataProvider().getId(i)));
+    }
+  }
+
+  @Benchmark
+  public void singleFieldChange() {
+    changes++;
+    metadata.setType(changedEntity, changedEntityVersions[changes % 2]);
+    final String physicalTypeId = project.getPhysicalTypeId(changedEntity);
+    metadata.getMetadataService().evict(physicalTypeId);
+    metadata.getRegistry().notifyDownstream(physicalTypeId);
+  }
+}
@@ -0,0 +1,217 @@
+package org.springframework.roo.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.Validate;
+import org.springframework.roo.classpath.PhysicalTypeIdentifier;
+import org.springframework.roo.classpath.PhysicalTypeMetadata;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+import org.springframework.roo.classpath.details.DefaultPhysicalTypeMetadata;
+import org.springframework.roo.classpath.details.FieldMetadata;
+import org.springframework.roo.classpath.itd.AbstractItdTypeDetailsProvidingMetadataItem;
+import org.springframework.roo.classpath.itd.ItdMetadataProvider;
+import org.springframework.roo.metadata.DefaultMetadataLogger;
+import org.springframework.roo.metadata.DefaultMetadataService;
+import org.springframework.roo.metadata.MetadataDependencyRegistry;
+import org.springframework.roo.metadata.MetadataIdentificationUtils;
+import org.springframework.roo.metadata.MetadataItem;
+import org.springframework.roo.metadata.MetadataLogger;
+import org.springframework.roo.metadata.MetadataProvider;
+import org.springframework.roo.metadata.MetadataService;
+import org.springframework.roo.metadata.internal.DefaultMetadataDependencyRegistry;
+import org.springframework.roo.metadata.internal.MetadataDependencyRegistryTracker;
+import org.springframework.roo.model.JavaType;
+
+/**
+ * The real {@link DefaultMetadataService} and
+ * {@link DefaultMetadataDependencyRegistry}, wired to two synthetic providers
+ * for the types of a {@link SyntheticProject}:
+ * <ul>
+ * <li>a physical type provider, which returns already parsed types so the
+ * benchmarks measure the metadata infrastructure rather than the parser</li>
+ * <li>a Java bean ITD provider, which introduces an accessor and a mutator for
+ * every field of its governor, and depends on the governor and on the ITD of
+ * the parent entity, so changes propagate down the entity tree</li>
+ * </ul>
+ *
+ * @since 2.0
+ */
+public class SyntheticMetadata {
+
+  /**
+   * Exposes the protected binding of providers, which OSGi does otherwise.
+   */
+  private static class BenchmarkMetadataService extends DefaultMetadataService {
+
+    BenchmarkMetadataService(final MetadataDependencyRegistry registry,
+        final MetadataLogger metadataLogger) {
+      BenchmarkSupport.setField(this, "metadataLogger", metadataLogger);
+      registryTracker =
+          new MetadataDependencyRegistryTracker(BenchmarkSupport.newBundleContext(), null) {
+            @Override
+            public MetadataDependencyRegistry getService() {
+              return registry;
+            }
+          };
+    }
+
+    void bind(final MetadataProvider provider) {
+      bindMetadataProvider(provider);
+    }
+  }
+
+  /**
+   * ITD introducing an accessor and a mutator for every field of the
+   * governor, like the Java bean add-on does.
+   */
+  public static class JavaBeanMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
+
+    JavaBeanMetadata(final String identifier, final JavaType aspectName,
+        final PhysicalTypeMetadata governorPhysicalTypeMetadata) {
+      super(identifier, aspectName, governorPhysicalTypeMetadata);
+      if (!isValid()) {
+        return;
+      }
+      for (final FieldMetadata field : governorTypeDetails.getDeclaredFields()) {
+        ensureGovernorHasMethod(getAccessorMethod(field.getFieldName(), field.getFieldType()));
+        ensureGovernorHasMethod(getMutatorMethod(field.getFieldName(), field.getFieldType()));
+      }
+      buildItd();
+    }
+  }
+
+  /**
+   * Provides the {@link JavaBeanMetadata} of every type of the project.
+   */
+  public class JavaBeanMetadataProvider implements ItdMetadataProvider {
+
+    private final String providesType = MetadataIdentificationUtils
+        .create(JavaBeanMetadata.class);
+
+    public MetadataItem get(final String metadataIdentificationString) {
+      final int index = getIndex(MetadataIdentificationUtils
+          .getMetadataInstance(metadataIdentificationString));
+      final String physicalTypeId = project.getPhysicalTypeId(index);
+      registry.registerDependency(physicalTypeId, metadataIdentificationString);
+      final int parent = project.getParent(index);
+      if (parent >= 0) {
+        final String parentId = getId(parent);
+        registry.registerDependency(parentId, metadataIdentificationString);
+        metadataService.get(parentId);
+      }
+      final PhysicalTypeMetadata governor = metadataService.get(physicalTypeId);
+      if (governor == null) {
+        return null;
+      }
+      return new JavaBeanMetadata(metadataIdentificationString, new JavaType(project.getEntity(
+          index).getFullyQualifiedTypeName()
+          + "_Roo_JavaBean"), governor);
+    }
+
+    /**
+     * @return the identifier of the ITD of the given entity
+     */
+    public String getId(final int index) {
+      return MetadataIdentificationUtils.create(JavaBeanMetadata.class.getName(), project
+          .getEntity(index).getFullyQualifiedTypeName());
+    }
+
+    public String getIdForPhysicalJavaType(final String physicalJavaTypeIdentifier) {
+      return getId(getIndex(PhysicalTypeIdentifier.getJavaType(physicalJavaTypeIdentifier)
+          .getFullyQualifiedTypeName()));
+    }
+
+    public String getItdUniquenessFilenameSuffix() {
+      return "JavaBean";
+    }
+
+    public String getProvidesType() {
+      return providesType;
+    }
+  }
+
+  /**
+   * Provides the already parsed types of the project.
+   */
+  public class PhysicalTypeProvider implements MetadataProvider {
+
+    public MetadataItem get(final String metadataIdentificationString) {
+      final int index = getIndex(PhysicalTypeIdentifier.getJavaType(
+          metadataIdentificationString).getFullyQualifiedTypeName());
+      return new DefaultPhysicalTypeMetadata(metadataIdentificationString,
+          project.getSourcePath(index), types[index]);
+    }
+
+    public String getProvidesType() {
+      return PhysicalTypeIdentifier.getMetadataIdentiferType();
+    }
+  }
+
+  private final Map<String, Integer> indexes = new HashMap<String, Integer>();
+  private final JavaBeanMetadataProvider javaBeanMetadataProvider;
+  private final BenchmarkMetadataService metadataService;
+  private final SyntheticProject project;
+  private final DefaultMetadataDependencyRegistry registry;
+  private final ClassOrInterfaceTypeDetails[] types;
+
+  /**
+   * Constructor
+   *
+   * @param project the project (required)
+   * @param types the parsed types of the project, by index (required)
+   */
+  public SyntheticMetadata(final SyntheticProject project,
+      final ClassOrInterfaceTypeDetails[] types) {
+    Validate.isTrue(types.length == project.getEntityCount(), "A type is required per entity");
+    this.project = project;
+    this.types = types.clone();
+    for (int i = 0; i < project.getEntityCount(); i++) {
+      indexes.put(project.getEntity(i).getFullyQualifiedTypeName(), i);
+    }
+
+    final MetadataLogger metadataLogger = new DefaultMetadataLogger();
+    registry = new DefaultMetadataDependencyRegistry();
+    BenchmarkSupport.setField(registry, "metadataLogger", metadataLogger);
+    metadataService = new BenchmarkMetadataService(registry, metadataLogger);
+    registry.addNotificationListener(metadataService);
+
+    javaBeanMetadataProvider = new JavaBeanMetadataProvider();
+    metadataService.bind(new PhysicalTypeProvider());
+    metadataService.bind(javaBeanMetadataProvider);
+  }
+
+  private int getIndex(final String key) {
+    final Integer index = indexes.get(key);
+    Validate.notNull(index, "Unknown type '%s'", key);
+    return index;
+  }
+
+  public JavaBeanMetadataProvider getJavaBeanMetadataProvider() {
+    return javaBeanMetadataProvider;
+  }
+
+  public MetadataService getMetadataService() {
+    return metadataService;
+  }
+
+  public MetadataDependencyRegistry getRegistry() {
+    return registry;
+  }
+
+  public ClassOrInterfaceTypeDetails getType(final int index) {
+    return types[index];
+  }
+
+  /**
+   * Replaces the parsed type of the given entity, as if its source had
+   * changed. Callers notify the change.
+   *
+   * @param index the entity
+   * @param type the new type (required)
+   */
+  public void setType(final int index, final ClassOrInterfaceTypeDetails type) {
+    Validate.notNull(type, "Type required");
+    types[index] = type;
+  }
+}
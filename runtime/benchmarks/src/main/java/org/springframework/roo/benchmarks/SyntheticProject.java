@@ -0,0 +1,168 @@
+package org.springframework.roo.benchmarks;
+
+import java.io.File;
+
+import org.apache.commons.lang3.Validate;
+import org.springframework.roo.classpath.PhysicalTypeIdentifier;
+import org.springframework.roo.classpath.TypeParsingService;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+import org.springframework.roo.model.JavaSymbolName;
+import org.springframework.roo.model.JavaType;
+import org.springframework.roo.project.LogicalPath;
+import org.springframework.roo.project.Path;
+import org.springframework.roo.project.PhysicalPath;
+import org.springframework.roo.support.util.FileUtils;
+
+/**
+ * In-memory single module project with the given number of entities, used as
+ * the input of the benchmarks.
+ * <p>
+ * Every entity has a few fields and a reference to a parent entity, so the
+ * entities form a tree where metadata changes propagate. Every tenth type is
+ * a plain Java bean instead of an entity, so looking types up by annotation
+ * doesn't match every type.
+ *
+ * @since 2.0
+ */
+public class SyntheticProject {
+
+  public static final JavaType ENTITY_ANNOTATION = new JavaType(
+      "org.springframework.roo.addon.jpa.annotations.entity.RooJpaEntity");
+  public static final JavaSymbolName TABLE_ATTRIBUTE = new JavaSymbolName("table");
+  public static final JavaType JAVA_BEAN_ANNOTATION = new JavaType(
+      "org.springframework.roo.addon.javabean.annotations.RooJavaBean");
+  private static final LogicalPath SRC_MAIN_JAVA = LogicalPath.getInstance(Path.SRC_MAIN_JAVA, "");
+  private static final String PACKAGE = "com.example.domain";
+
+  private final int entityCount;
+  private final File sourceDirectory;
+
+  /**
+   * Constructor
+   *
+   * @param baseDirectory the directory of the project; nothing is written to
+   *            it, it's only used to compute the paths of the sources
+   * @param entityCount the number of types of the project (at least one)
+   */
+  public SyntheticProject(final File baseDirectory, final int entityCount) {
+    Validate.isTrue(entityCount > 0, "At least one entity is required");
+    this.entityCount = entityCount;
+    sourceDirectory = new File(baseDirectory, Path.SRC_MAIN_JAVA.getDefaultLocation());
+  }
+
+  public int getEntityCount() {
+    return entityCount;
+  }
+
+  public JavaType getEntity(final int index) {
+    return new JavaType(PACKAGE + ".Entity" + index);
+  }
+
+  /**
+   * @return the source directory of the project
+   */
+  public PhysicalPath getPhysicalPath() {
+    return new PhysicalPath(SRC_MAIN_JAVA, sourceDirectory);
+  }
+
+  /**
+   * @return the physical type identifier of the given entity
+   */
+  public String getPhysicalTypeId(final int index) {
+    return PhysicalTypeIdentifier.createIdentifier(getEntity(index), SRC_MAIN_JAVA);
+  }
+
+  /**
+   * @return the index of the parent of the given entity, or -1 for the root
+   */
+  public int getParent(final int index) {
+    return index == 0 ? -1 : (index - 1) / 2;
+  }
+
+  /**
+   * Returns the source code of the given entity.
+   *
+   * @param index the entity
+   * @param extraFields the number of fields added to the entity, to simulate
+   *            a change
+   * @return the source code
+   */
+  public String getSource(final int index, final int extraFields) {
+    final StringBuilder sb = new StringBuilder();
+    sb.append("package ").append(PACKAGE).append(";\n\n");
+    sb.append("import ").append(JAVA_BEAN_ANNOTATION.getFullyQualifiedTypeName()).append(";\n");
+    sb.append("import ").append(ENTITY_ANNOTATION.getFullyQualifiedTypeName()).append(";\n");
+    sb.append("import java.util.Date;\n\n");
+    sb.append("@RooJavaBean\n");
+    if (isEntity(index)) {
+      sb.append("@RooJpaEntity(table = \"").append(getTable(index)).append("\")\n");
+    }
+    sb.append("public class Entity").append(index).append(" {\n\n");
+    sb.append("    private String name;\n\n");
+    sb.append("    private String description;\n\n");
+    sb.append("    private Integer quantity;\n\n");
+    sb.append("    private Date created;\n");
+    if (getParent(index) >= 0) {
+      sb.append("\n    private Entity").append(getParent(index)).append(" parent;\n");
+    }
+    for (int i = 0; i < extraFields; i++) {
+      sb.append("\n    private String extra").append(i).append(";\n");
+    }
+    sb.append("}\n");
+    return sb.toString();
+  }
+
+  /**
+   * @return the canonical path the source of the given entity would have
+   */
+  public String getSourcePath(final int index) {
+    return FileUtils.getCanonicalPath(new File(sourceDirectory, getEntity(index)
+        .getRelativeFileName()));
+  }
+
+  public File getSourceDirectory() {
+    return sourceDirectory;
+  }
+
+  /**
+   * @return the value of the table attribute of the given entity
+   */
+  public String getTable(final int index) {
+    return "ENTITY_" + index;
+  }
+
+  /**
+   * Parses the source code of the given entity.
+   *
+   * @param typeParsingService the parser
+   * @param index the entity
+   * @param extraFields see {@link #getSource(int, int)}
+   * @return the parsed type
+   */
+  public ClassOrInterfaceTypeDetails getTypeDetails(final TypeParsingService typeParsingService,
+      final int index, final int extraFields) {
+    return typeParsingService.getTypeFromString(getSource(index, extraFields),
+        getPhysicalTypeId(index), getEntity(index));
+  }
+
+  /**
+   * Parses the source code of every entity, without extra fields.
+   *
+   * @param typeParsingService the parser
+   * @return the parsed types, by index
+   */
+  public ClassOrInterfaceTypeDetails[] getTypeDetails(final TypeParsingService typeParsingService) {
+    final ClassOrInterfaceTypeDetails[] types = new ClassOrInterfaceTypeDetails[entityCount];
+    for (int i = 0; i < entityCount; i++) {
+      types[i] = getTypeDetails(typeParsingService, i, 0);
+    }
+    return types;
+  }
+
+  /**
+   * @return whether the given type is annotated as an entity
+   */
+  public boolean isEntity(final int index) {
+    return index % 10 != 9;
+  }
+}
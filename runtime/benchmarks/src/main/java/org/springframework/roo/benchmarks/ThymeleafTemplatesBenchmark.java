@@ -0,0 +1,149 @@
+package org.springframework.roo.benchmarks;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.roo.addon.web.mvc.thymeleaf.addon.ThymeleafViewGeneratorServiceImpl;
+import org.springframework.roo.addon.web.mvc.views.template.engines.AbstractFreeMarkerViewGenerationService;
+import org.springframework.roo.process.manager.FileManager;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+
+/**
+ * Benchmarks the loading of the Thymeleaf templates used to generate the
+ * views of every entity:
+ * <ul>
+ * <li>loading them with a new FreeMarker {@link Configuration} for each view,
+ * which parses every template again, or with a {@link Configuration} shared by
+ * every view</li>
+ * <li>resolving them through the Thymeleaf views generation service during a
+ * views generation, when some of them have been customized by the developer</li>
+ * </ul>
+ *
+ * @since 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ThymeleafTemplatesBenchmark {
+
+  // Templates used to generate the views of an entity
+  private static final String[] TEMPLATES = {"list", "show", "create", "edit", "listDeleteModal",
+      "listDeleteModalBatch", "listDetails", "showDetails", "createDetail", "showInline",
+      "finderForm", "finderList", "fragments/menu", "fragments/modal", "layouts/default-layout"};
+
+  @Param({"10", "100"})
+  public int entityCount;
+
+  @Param({"false", "true"})
+  public boolean sharedConfiguration;
+
+  private Configuration configuration;
+  private TemplatesService templatesService;
+
+  /**
+   * Views generation service using the templates of the provided location.
+   * Exposes the {@link Configuration} used to load each template.
+   */
+  private static class TemplatesService extends ThymeleafViewGeneratorServiceImpl {
+
+    private final String location;
+
+    TemplatesService(final String location) {
+      this.location = location;
+    }
+
+    @Override
+    public String getTemplatesLocation() {
+      return location;
+    }
+
+    Template getTemplate(final String templateName) throws IOException {
+      return getConfiguration(templateName).getTemplate(templateName.concat(".ftl"));
+    }
+  }
+
+  @Setup
+  public void setUp() throws IOException {
+    configuration =
+        AbstractFreeMarkerViewGenerationService
+            .createClasspathConfiguration(ThymeleafViewGeneratorServiceImpl.class);
+
+    // The developer has customized half of the templates
+    final File location = new File("target", "templates");
+    FileUtils.deleteQuietly(location);
+    for (int i = 0; i < TEMPLATES.length; i += 2) {
+      final InputStream template =
+          ThymeleafViewGeneratorServiceImpl.class.getResourceAsStream("templates/"
+              + TEMPLATES[i] + ".ftl");
+      try {
+        FileUtils.copyInputStreamToFile(template, new File(location, TEMPLATES[i] + ".ftl"));
+      } finally {
+        IOUtils.closeQuietly(template);
+      }
+    }
+
+    // The custom templates are looked up in disk
+    final FileManager fileManager = mock(FileManager.class);
+    when(fileManager.exists(anyString())).thenAnswer(new Answer<Boolean>() {
+      public Boolean answer(final InvocationOnMock invocation) {
+        return new File((String) invocation.getArguments()[0]).exists();
+      }
+    });
+
+    templatesService = new TemplatesService(location.getAbsolutePath());
+    BenchmarkSupport.setField(templatesService, "fileManager", fileManager);
+  }
+
+  @Benchmark
+  public void loadTemplates(final Blackhole blackhole) throws IOException {
+    for (int i = 0; i < entityCount; i++) {
+      final Configuration cfg =
+          sharedConfiguration ? configuration : AbstractFreeMarkerViewGenerationService
+              .createClasspathConfiguration(ThymeleafViewGeneratorServiceImpl.class);
+      for (final String template : TEMPLATES) {
+        blackhole.consume(cfg.getTemplate(template.concat(".ftl")));
+      }
+    }
+  }
+
+  @Benchmark
+  public void resolveCustomizedTemplates(final Blackhole blackhole) throws IOException {
+    templatesService.startViewsGeneration();
+    try {
+      for (int i = 0; i < entityCount; i++) {
+        for (final String template : TEMPLATES) {
+          blackhole.consume(templatesService.getTemplate(template));
+        }
+      }
+    } finally {
+      templatesService.discardViewsGeneration();
+    }
+  }
+}
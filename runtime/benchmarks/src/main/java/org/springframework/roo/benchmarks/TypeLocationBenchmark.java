@@ -0,0 +1,137 @@
+package org.springframework.roo.benchmarks;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.roo.classpath.TypeCacheImpl;
+import org.springframework.roo.classpath.TypeLocationServiceImpl;
+import org.springframework.roo.classpath.TypeParsingService;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+import org.springframework.roo.file.monitor.FileMonitorService;
+import org.springframework.roo.file.monitor.event.FileDetails;
+import org.springframework.roo.process.manager.FileManager;
+import org.springframework.roo.project.ProjectOperations;
+import org.springframework.roo.project.maven.Pom;
+
+/**
+ * Benchmarks the type lookups of the type location service:
+ * <ul>
+ * <li>finding every entity by annotation</li>
+ * <li>finding an entity by the value of an annotation attribute</li>
+ * <li>finding every entity after a single type changed, which updates the
+ * caches of the service for that type</li>
+ * </ul>
+ *
+ * @since 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TypeLocationBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  public int entityCount;
+
+  private int changedEntity;
+  private ClassOrInterfaceTypeDetails[] changedEntityVersions;
+  private int changes;
+  private final List<String> dirtyFiles = new ArrayList<String>();
+  private SyntheticMetadata metadata;
+  private SyntheticProject project;
+  private TypeLocationServiceImpl typeLocationService;
+
+  @Setup
+  public void setUp() {
+    project = new SyntheticProject(new File("target", "synthetic"), entityCount);
+    final TypeParsingService typeParsingService = BenchmarkSupport.newTypeParsingService();
+    metadata = new SyntheticMetadata(project, project.getTypeDetails(typeParsingService));
+    changedEntity = entityCount / 4;
+    changedEntityVersions =
+        new ClassOrInterfaceTypeDetails[] {metadata.getType(changedEntity),
+            project.getTypeDetails(typeParsingService, changedEntity, 1)};
+
+    // The project has a single module and its files are never read
+    final Pom pom = mock(Pom.class);
+    when(pom.getModuleName()).thenReturn("");
+    when(pom.getPhysicalPaths()).thenReturn(Collections.singletonList(project.getPhysicalPath()));
+    final ProjectOperations projectOperations = mock(ProjectOperations.class);
+    when(projectOperations.getPoms()).thenReturn(Collections.singleton(pom));
+    when(projectOperations.getModuleForFileIdentifier(anyString())).thenReturn(pom);
+
+    final SortedSet<FileDetails> sources = new TreeSet<FileDetails>();
+    final TypeCacheImpl typeCache = new TypeCacheImpl();
+    for (int i = 0; i < entityCount; i++) {
+      sources.add(new FileDetails(new File(project.getSourcePath(i)), 0L));
+      typeCache.cacheFilePathAgainstTypeIdentifier(project.getSourcePath(i),
+          project.getPhysicalTypeId(i));
+    }
+    final FileManager fileManager = mock(FileManager.class);
+    when(fileManager.findMatchingAntPath(anyString())).thenReturn(sources);
+    final FileMonitorService fileMonitorService = mock(FileMonitorService.class);
+    when(fileMonitorService.getDirtyFiles(anyString())).thenAnswer(
+        new Answer<Collection<String>>() {
+          public Collection<String> answer(final InvocationOnMock invocation) {
+            final List<String> files = new ArrayList<String>(dirtyFiles);
+            dirtyFiles.clear();
+            return files;
+          }
+        });
+
+    typeLocationService = new TypeLocationServiceImpl();
+    BenchmarkSupport.setField(typeLocationService, "fileManager", fileManager);
+    BenchmarkSupport.setField(typeLocationService, "fileMonitorService", fileMonitorService);
+    BenchmarkSupport.setField(typeLocationService, "metadataService",
+        metadata.getMetadataService());
+    BenchmarkSupport.setField(typeLocationService, "projectOperations", projectOperations);
+    BenchmarkSupport.setField(typeLocationService, "typeCache", typeCache);
+
+    // Scan the project once, as the first lookup of a shell session does
+    typeLocationService.findTypesWithAnnotation(SyntheticProject.ENTITY_ANNOTATION);
+  }
+
+  @Benchmark
+  public Object findEntities() {
+    return typeLocationService.findTypesWithAnnotation(SyntheticProject.ENTITY_ANNOTATION);
+  }
+
+  @Benchmark
+  public Object findEntitiesAfterSingleTypeChange() {
+    changes++;
+    metadata.setType(changedEntity, changedEntityVersions[changes % 2]);
+    dirtyFiles.add(project.getSourcePath(changedEntity));
+    return typeLocationService.findTypesWithAnnotation(SyntheticProject.ENTITY_ANNOTATION);
+  }
+
+  @Benchmark
+  public Object findEntityByTable() {
+    return typeLocationService.findClassesOrInterfaceDetailsWithAnnotationAttribute(
+        SyntheticProject.ENTITY_ANNOTATION, SyntheticProject.TABLE_ATTRIBUTE,
+        project.getTable(changedEntity));
+  }
+}
@@ -0,0 +1,297 @@
+package org.springframework.roo.benchmarks.scalability;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Runs generated {@link ScalabilityScript}s with a Roo distribution, without
+ * user interaction, and compares the results of different builds.
+ * <p>
+ * A run measures:
+ * <ul>
+ * <li>the startup time of an empty shell session</li>
+ * <li>the wall time of the whole script</li>
+ * <li>the median and maximum latency of every kind of command, as recorded
+ * by the <code>command profile</code> command</li>
+ * <li>the peak heap usage of the shell</li>
+ * <li>the number of files written by the commands and left in the
+ * project</li>
+ * </ul>
+ * Usage:
+ *
+ * <pre>
+ * ScalabilityHarness run --roo ROO_HOME/bin/roo.sh --entities 1000 [--relationships 2]
+ *     [--label build] [--work dir] [--output result.properties] [--jvmOptions "-Xmx4g"]
+ * ScalabilityHarness compare baseline.properties candidate.properties [--threshold 10]
+ * </pre>
+ *
+ * The comparison exits with status 1 if any measurement of the candidate is
+ * higher than the baseline by more than the threshold percentage.
+ *
+ * @since 2.0
+ */
+public class ScalabilityHarness {
+
+  private static final String COMMAND_PROFILE = "command profile";
+  private static final String SCRIPT = "script";
+
+  /**
+   * Returns the kind of a command line, i.e. the command without its
+   * options, as a measurement name.
+   */
+  static String getCommandKind(final String command) {
+    final String kind = StringUtils.substringBefore(command, "--").trim();
+    return kind.replaceAll("\\W+", "_");
+  }
+
+  public static void main(final String[] args) throws Exception {
+    if (args.length > 0 && "run".equals(args[0])) {
+      final Map<String, String> options = parseOptions(args, 1);
+      final String entities = options.get("entities");
+      Validate.notNull(options.get("roo"), "--roo is required");
+      Validate.notNull(entities, "--entities is required");
+      final String relationships = StringUtils.defaultString(options.get("relationships"), "2");
+      final ScalabilityScript script =
+          new ScalabilityScript(Integer.parseInt(entities), Integer.parseInt(relationships));
+      final File workDirectory =
+          new File(StringUtils.defaultString(options.get("work"), "target/scalability/"
+              + entities + "x" + relationships));
+      final ScalabilityHarness harness =
+          new ScalabilityHarness(new File(options.get("roo")), workDirectory,
+              StringUtils.defaultString(options.get("jvmOptions")));
+      final ScalabilityResult result =
+          harness.run(script, StringUtils.defaultString(options.get("label"), "run"));
+      final File output =
+          new File(StringUtils.defaultString(options.get("output"), new File(workDirectory,
+              "result.properties").getPath()));
+      result.save(output);
+      for (final Entry<String, Long> measurement : result.getMeasurements().entrySet()) {
+        System.out.println(measurement.getKey() + " = " + measurement.getValue());
+      }
+      System.out.println("Saved to " + output.getCanonicalPath());
+    } else if (args.length > 2 && "compare".equals(args[0])) {
+      final Map<String, String> options = parseOptions(args, 3);
+      final double threshold =
+          Double.parseDouble(StringUtils.defaultString(options.get("threshold"), "10"));
+      final StringBuilder report = new StringBuilder();
+      final List<String> regressions =
+          ScalabilityResult.load(new File(args[1])).compare(
+              ScalabilityResult.load(new File(args[2])), threshold, report);
+      System.out.print(report);
+      System.exit(regressions.isEmpty() ? 0 : 1);
+    } else {
+      System.err.println("Usage: ScalabilityHarness run --roo ROO_SH --entities N "
+          + "[--relationships M] [--label L] [--work DIR] [--output FILE] [--jvmOptions OPTS]");
+      System.err.println("       ScalabilityHarness compare BASELINE CANDIDATE [--threshold %]");
+      System.exit(2);
+    }
+  }
+
+  private static Map<String, String> parseOptions(final String[] args, final int start) {
+    final Map<String, String> options = new HashMap<String, String>();
+    for (int i = start; i < args.length; i += 2) {
+      Validate.isTrue(args[i].startsWith("--") && i + 1 < args.length,
+          "Expected an option and its value at '%s'", args[i]);
+      options.put(args[i].substring(2), args[i + 1]);
+    }
+    return options;
+  }
+
+  /**
+   * Splits a line of a CSV file, as written by the
+   * <code>command profile</code> command.
+   */
+  static List<String> splitCsv(final String line) {
+    final List<String> values = new ArrayList<String>();
+    final StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      final char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          value.append(c);
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          value.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        values.add(value.toString());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    values.add(value.toString());
+    return values;
+  }
+
+  private final String jvmOptions;
+  private final File rooScript;
+  private final File workDirectory;
+
+  /**
+   * Constructor
+   *
+   * @param rooScript the <code>roo.sh</code> script of the distribution to
+   *            measure (required)
+   * @param workDirectory the directory to create the projects in; its
+   *            contents are deleted (required)
+   * @param jvmOptions additional options of the Roo JVM, e.g. its maximum
+   *            heap (can be blank)
+   */
+  public ScalabilityHarness(final File rooScript, final File workDirectory,
+      final String jvmOptions) {
+    Validate.isTrue(rooScript.isFile(), "Roo script '%s' not found", rooScript);
+    this.rooScript = rooScript;
+    this.workDirectory = workDirectory;
+    this.jvmOptions = StringUtils.defaultString(jvmOptions);
+  }
+
+  private void addProfileMeasurements(final File profileFile, final ScalabilityResult result)
+      throws IOException {
+    final List<String> lines = FileUtils.readLines(profileFile, "UTF-8");
+    Validate.isTrue(!lines.isEmpty(), "Empty command profile '%s'", profileFile);
+    final List<String> header = splitCsv(lines.get(0));
+    final Map<String, List<Long>> latencies = new TreeMap<String, List<Long>>();
+    long commands = 0;
+    long failedCommands = 0;
+    long filesWritten = 0;
+    long peakHeapBytes = 0;
+    for (final String line : lines.subList(1, lines.size())) {
+      if (line.length() == 0) {
+        continue;
+      }
+      final List<String> values = splitCsv(line);
+      final Map<String, String> row = new HashMap<String, String>();
+      for (int i = 0; i < header.size() && i < values.size(); i++) {
+        row.put(header.get(i), values.get(i));
+      }
+      peakHeapBytes = Math.max(peakHeapBytes, Long.parseLong(row.get("peak_heap_bytes")));
+      final String command = row.get("command").trim();
+      if (command.startsWith(SCRIPT) || command.startsWith(COMMAND_PROFILE)) {
+        continue;
+      }
+      commands++;
+      if (!Boolean.parseBoolean(row.get("success"))) {
+        failedCommands++;
+      }
+      filesWritten +=
+          Long.parseLong(row.get("files_created")) + Long.parseLong(row.get("files_updated"));
+      final String kind = getCommandKind(command);
+      if (!latencies.containsKey(kind)) {
+        latencies.put(kind, new ArrayList<Long>());
+      }
+      latencies.get(kind).add(Long.parseLong(row.get("total_us")));
+    }
+
+    result.put("commands", commands);
+    result.put("commands_failed", failedCommands);
+    result.put("files_written", filesWritten);
+    result.put("peak_heap_mb", peakHeapBytes / (1024 * 1024));
+    for (final Entry<String, List<Long>> entry : latencies.entrySet()) {
+      final List<Long> values = entry.getValue();
+      Collections.sort(values);
+      result.put("command." + entry.getKey() + ".median_us", values.get(values.size() / 2));
+      result.put("command." + entry.getKey() + ".max_us", values.get(values.size() - 1));
+    }
+  }
+
+  private long countFiles(final File directory) {
+    long files = 0;
+    final LinkedList<File> directories = new LinkedList<File>(Arrays.asList(directory));
+    while (!directories.isEmpty()) {
+      final File[] children = directories.removeFirst().listFiles();
+      if (children == null) {
+        continue;
+      }
+      for (final File child : children) {
+        if (child.isDirectory()) {
+          directories.add(child);
+        } else {
+          files++;
+        }
+      }
+    }
+    return files;
+  }
+
+  /**
+   * Runs the given script in a new project.
+   *
+   * @param script the script to run (required)
+   * @param label the name of the build being measured
+   * @return the measurements
+   * @throws IOException if the project or the results can't be written or
+   *             read
+   * @throws InterruptedException if interrupted while Roo is running
+   */
+  public ScalabilityResult run(final ScalabilityScript script, final String label)
+      throws IOException, InterruptedException {
+    FileUtils.deleteDirectory(workDirectory);
+    final File startupDirectory = new File(workDirectory, "startup");
+    final File projectDirectory = new File(workDirectory, "project");
+    final File scriptFile = new File(workDirectory, "scalability.roo");
+    final File profileFile = new File(workDirectory, "profile.csv");
+    FileUtils.forceMkdir(startupDirectory);
+    FileUtils.forceMkdir(projectDirectory);
+    script.write(scriptFile,
+        COMMAND_PROFILE + " --limit 1 --file " + profileFile.getCanonicalPath());
+
+    final ScalabilityResult result = new ScalabilityResult(label);
+    result.put("startup_ms", runRoo(startupDirectory, 1, "version"));
+    result.put("script_ms",
+        runRoo(projectDirectory, script.getCommandCount(), "script --file "
+            + scriptFile.getCanonicalPath()));
+    Validate.validState(profileFile.isFile(),
+        "The script didn't complete; see the Roo output in '%s'", workDirectory);
+    addProfileMeasurements(profileFile, result);
+    result.put("files_in_project", countFiles(projectDirectory));
+    return result;
+  }
+
+  /**
+   * Runs Roo in the given directory until it quits.
+   *
+   * @param directory the working directory, i.e. the project
+   * @param commandCount the number of commands that will be run, so their
+   *            profiles are kept
+   * @param command the command to execute before quitting
+   * @return the wall time, in milliseconds
+   */
+  private long runRoo(final File directory, final int commandCount, final String command)
+      throws IOException, InterruptedException {
+    final ProcessBuilder processBuilder =
+        new ProcessBuilder(rooScript.getCanonicalPath(), command).directory(directory)
+            .redirectErrorStream(true)
+            .redirectOutput(new File(workDirectory, directory.getName() + ".log"));
+    processBuilder.environment().put(
+        "ROO_OPTS",
+        "-Djline.terminal=jline.UnsupportedTerminal -Droo.profile.history="
+            + (commandCount + 10) + " " + jvmOptions);
+    final long start = System.nanoTime();
+    final Process process = processBuilder.start();
+    process.getOutputStream().close();
+    // roo.sh doesn't return the exit code of the shell, so failures are
+    // detected by the missing command profile
+    process.waitFor();
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+}
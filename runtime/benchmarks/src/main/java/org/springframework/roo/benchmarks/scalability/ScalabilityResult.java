@@ -0,0 +1,154 @@
+package org.springframework.roo.benchmarks.scalability;
+
+import static org.apache.commons.io.IOUtils.LINE_SEPARATOR;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The measurements of a scalability run, stored as a properties file so the
+ * results of two builds can be compared with {@link #compare}.
+ * <p>
+ * Every measurement is a number where lower is better: times, memory and
+ * file counts.
+ *
+ * @since 2.0
+ */
+public class ScalabilityResult {
+
+  private static final String LABEL = "label";
+
+  /**
+   * Loads a result saved with {@link #save(File)}.
+   *
+   * @param file the file to load
+   * @return the result
+   * @throws IOException if the file can't be read
+   */
+  public static ScalabilityResult load(final File file) throws IOException {
+    final Properties properties = new Properties();
+    final InputStream inputStream = new FileInputStream(file);
+    try {
+      properties.load(inputStream);
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
+    final ScalabilityResult result = new ScalabilityResult(properties.getProperty(LABEL, ""));
+    for (final String name : properties.stringPropertyNames()) {
+      if (!LABEL.equals(name)) {
+        result.put(name, Long.parseLong(properties.getProperty(name)));
+      }
+    }
+    return result;
+  }
+
+  private final String label;
+  private final Map<String, Long> measurements = new TreeMap<String, Long>();
+
+  /**
+   * Constructor
+   *
+   * @param label the name of the build or configuration measured
+   */
+  public ScalabilityResult(final String label) {
+    this.label = label;
+  }
+
+  /**
+   * Compares this result, as a baseline, with another one.
+   *
+   * @param candidate the result to compare to this one
+   * @param threshold the increase, as a percentage of the baseline, above
+   *            which a measurement is reported as a regression
+   * @param report where the comparison of every measurement is appended
+   * @return the names of the regressed measurements (never null)
+   */
+  public List<String> compare(final ScalabilityResult candidate, final double threshold,
+      final StringBuilder report) {
+    Validate.notNull(candidate, "Candidate result required");
+    final List<String> regressions = new ArrayList<String>();
+    report.append(
+        String.format("%-50s %14s %14s %9s", "Measurement", label, candidate.label, "Change"))
+        .append(LINE_SEPARATOR);
+    for (final Entry<String, Long> entry : measurements.entrySet()) {
+      final Long candidateValue = candidate.get(entry.getKey());
+      if (candidateValue == null) {
+        continue;
+      }
+      final long baseline = entry.getValue();
+      final double change =
+          baseline == 0 ? candidateValue == 0 ? 0 : 100 : (candidateValue - baseline) * 100d
+              / baseline;
+      final boolean regression = change > threshold;
+      if (regression) {
+        regressions.add(entry.getKey());
+      }
+      report.append(
+          String.format("%-50s %14d %14d %+8.1f%%%s", entry.getKey(), baseline, candidateValue,
+              change, regression ? " REGRESSION" : "")).append(LINE_SEPARATOR);
+    }
+    return regressions;
+  }
+
+  /**
+   * @return the value of the given measurement, or null if it wasn't taken
+   */
+  public Long get(final String name) {
+    return measurements.get(name);
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+  public Map<String, Long> getMeasurements() {
+    return Collections.unmodifiableMap(measurements);
+  }
+
+  /**
+   * Records a measurement.
+   *
+   * @param name the name of the measurement, which identifies it across
+   *            results
+   * @param value the value, lower being better
+   */
+  public void put(final String name, final long value) {
+    Validate.notBlank(name, "Measurement name required");
+    Validate.isTrue(!LABEL.equals(name), "'%s' is reserved", LABEL);
+    measurements.put(name, value);
+  }
+
+  /**
+   * Saves this result as a properties file.
+   *
+   * @param file the file to write
+   * @throws IOException if the file can't be written
+   */
+  public void save(final File file) throws IOException {
+    final Properties properties = new Properties();
+    properties.setProperty(LABEL, label);
+    for (final Entry<String, Long> entry : measurements.entrySet()) {
+      properties.setProperty(entry.getKey(), entry.getValue().toString());
+    }
+    final OutputStream outputStream = new FileOutputStream(file);
+    try {
+      properties.store(outputStream, "Spring Roo scalability result");
+    } finally {
+      IOUtils.closeQuietly(outputStream);
+    }
+  }
+}
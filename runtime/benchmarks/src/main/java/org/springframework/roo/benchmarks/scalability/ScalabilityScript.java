@@ -0,0 +1,175 @@
+package org.springframework.roo.benchmarks.scalability;
+
+import static org.apache.commons.io.IOUtils.LINE_SEPARATOR;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Generates a Roo script which creates a project with the given number of
+ * entities, each of them with:
+ * <ul>
+ * <li>a few basic fields</li>
+ * <li>up to the given number of one-to-many relationships with the entities
+ * that follow it, so the relationships never form cycles</li>
+ * <li>a form bean DTO, a finder using it and a finder by name</li>
+ * <li>a repository, a service and JSON and Thymeleaf controllers, finders
+ * included</li>
+ * </ul>
+ * The project uses an in-memory H2 database, so running the script only
+ * needs the local filesystem.
+ *
+ * @since 2.0
+ */
+public class ScalabilityScript {
+
+  private static final String TOP_LEVEL_PACKAGE = "org.springframework.roo.scalability";
+
+  private final int entityCount;
+  private final int relationshipsPerEntity;
+
+  /**
+   * Constructor
+   *
+   * @param entityCount the number of entities (at least one)
+   * @param relationshipsPerEntity the maximum number of relationships each
+   *            entity owns (zero or more)
+   */
+  public ScalabilityScript(final int entityCount, final int relationshipsPerEntity) {
+    Validate.isTrue(entityCount > 0, "At least one entity is required");
+    Validate.isTrue(relationshipsPerEntity >= 0, "Relationships per entity can't be negative");
+    this.entityCount = entityCount;
+    this.relationshipsPerEntity = relationshipsPerEntity;
+  }
+
+  private void appendEntities(final StringBuilder sb) {
+    section(sb, "Entities");
+    for (int i = 0; i < entityCount; i++) {
+      line(sb, "entity jpa --class ~.domain.%s", getEntity(i));
+      line(sb, "field string --fieldName name --notNull --sizeMax 60");
+      line(sb, "field string --fieldName description --sizeMax 255");
+      line(sb, "field number --fieldName quantity --type java.lang.Integer --min 0");
+      line(sb, "field date --fieldName created --type java.util.Date --notNull --past");
+    }
+
+    section(sb, "Relationships");
+    for (int i = 0; i < entityCount; i++) {
+      final int targets = Math.min(relationshipsPerEntity, entityCount - i - 1);
+      if (targets > 0) {
+        line(sb, "focus --class ~.domain.%s", getEntity(i));
+      }
+      for (int target = i + 1; target <= i + targets; target++) {
+        line(sb, "field set --fieldName %sItems --type ~.domain.%s --mappedBy owner%d "
+            + "--notNull false --cardinality ONE_TO_MANY", getField(target), getEntity(target), i);
+      }
+    }
+  }
+
+  private void appendFinders(final StringBuilder sb) {
+    section(sb, "DTOs and finders");
+    for (int i = 0; i < entityCount; i++) {
+      line(sb, "dto --class ~.domain.%sNameFormBean", getEntity(i));
+      line(sb, "field string --fieldName name");
+      line(sb, "finder add --entity ~.domain.%s --name findByNameLike --formBean "
+          + "~.domain.%sNameFormBean", getEntity(i), getEntity(i));
+      line(sb, "finder add --entity ~.domain.%s --name findByQuantityGreaterThan", getEntity(i));
+    }
+  }
+
+  private void appendLayers(final StringBuilder sb) {
+    section(sb, "Repositories and services");
+    line(sb, "repository jpa --all --package ~.repository");
+    line(sb, "service --all --apiPackage ~.service.api --implPackage ~.service.impl");
+  }
+
+  private void appendSetup(final StringBuilder sb) {
+    line(sb, "// Generated scalability script: %d entities, up to %d relationships per entity",
+        entityCount, relationshipsPerEntity);
+    section(sb, "Project setup");
+    line(sb, "project setup --topLevelPackage %s", TOP_LEVEL_PACKAGE);
+    line(sb, "jpa setup --provider HIBERNATE --database H2_IN_MEMORY");
+  }
+
+  private void appendWeb(final StringBuilder sb) {
+    section(sb, "Web layer");
+    line(sb, "web mvc setup");
+    line(sb, "web mvc view setup --type THYMELEAF");
+    line(sb, "web mvc controller --all --responseType JSON");
+    line(sb, "web mvc controller --all --responseType THYMELEAF");
+    line(sb, "web mvc finder --all --responseType THYMELEAF");
+  }
+
+  /**
+   * Returns the number of commands of the script, comments excluded.
+   *
+   * @return the number of commands
+   */
+  public int getCommandCount() {
+    int commands = 0;
+    for (final String line : getScript().split(LINE_SEPARATOR)) {
+      if (line.length() > 0 && !line.startsWith("//")) {
+        commands++;
+      }
+    }
+    return commands;
+  }
+
+  private String getEntity(final int index) {
+    return "Entity" + index;
+  }
+
+  public int getEntityCount() {
+    return entityCount;
+  }
+
+  private String getField(final int index) {
+    return "entity" + index;
+  }
+
+  public int getRelationshipsPerEntity() {
+    return relationshipsPerEntity;
+  }
+
+  /**
+   * Returns the script, without the trailing commands the caller may add
+   * (e.g. to export the command profiles).
+   *
+   * @return the contents of the script
+   */
+  public String getScript() {
+    final StringBuilder sb = new StringBuilder();
+    appendSetup(sb);
+    appendEntities(sb);
+    appendLayers(sb);
+    appendFinders(sb);
+    appendWeb(sb);
+    return sb.toString();
+  }
+
+  private void line(final StringBuilder sb, final String format, final Object... args) {
+    sb.append(String.format(format, args)).append(LINE_SEPARATOR);
+  }
+
+  private void section(final StringBuilder sb, final String title) {
+    sb.append(LINE_SEPARATOR);
+    line(sb, "// %s", title);
+  }
+
+  /**
+   * Writes the script followed by the given commands.
+   *
+   * @param file the file to write
+   * @param trailingCommands commands to run after the generated ones
+   * @throws IOException if the file can't be written
+   */
+  public void write(final File file, final String... trailingCommands) throws IOException {
+    final StringBuilder sb = new StringBuilder(getScript());
+    for (final String command : trailingCommands) {
+      sb.append(command).append(LINE_SEPARATOR);
+    }
+    FileUtils.writeStringToFile(file, sb.toString(), "UTF-8");
+  }
+}
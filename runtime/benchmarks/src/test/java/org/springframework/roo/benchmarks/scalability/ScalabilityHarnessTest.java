@@ -0,0 +1,27 @@
+package org.springframework.roo.benchmarks.scalability;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Unit test of {@link ScalabilityHarness}
+ *
+ * @since 2.0
+ */
+public class ScalabilityHarnessTest {
+
+  @Test
+  public void testGetCommandKind() {
+    assertEquals("entity_jpa", ScalabilityHarness.getCommandKind("entity jpa --class ~.Foo"));
+    assertEquals("web_mvc_setup", ScalabilityHarness.getCommandKind("web mvc setup"));
+  }
+
+  @Test
+  public void testSplitCsvWithQuotedValues() {
+    assertEquals(Arrays.asList("1", "field string --fieldName \"a,b\"", "true"),
+        ScalabilityHarness.splitCsv("1,\"field string --fieldName \"\"a,b\"\"\",true"));
+  }
+}
@@ -0,0 +1,54 @@
+package org.springframework.roo.benchmarks.scalability;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test of {@link ScalabilityResult}
+ *
+ * @since 2.0
+ */
+public class ScalabilityResultTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testCompareReportsRegressionsAboveThreshold() {
+    final ScalabilityResult baseline = new ScalabilityResult("baseline");
+    baseline.put("script_ms", 1000);
+    baseline.put("peak_heap_mb", 500);
+    baseline.put("startup_ms", 2000);
+    final ScalabilityResult candidate = new ScalabilityResult("candidate");
+    candidate.put("script_ms", 1200);
+    candidate.put("peak_heap_mb", 520);
+    candidate.put("startup_ms", 1000);
+    final StringBuilder report = new StringBuilder();
+
+    final List<String> regressions = baseline.compare(candidate, 10, report);
+
+    assertEquals(Arrays.asList("script_ms"), regressions);
+    assertTrue(report.toString().contains("REGRESSION"));
+  }
+
+  @Test
+  public void testSaveAndLoad() throws Exception {
+    final ScalabilityResult result = new ScalabilityResult("build 42");
+    result.put("command.entity_jpa.median_us", 1234);
+    final File file = temporaryFolder.newFile("result.properties");
+
+    result.save(file);
+    final ScalabilityResult loaded = ScalabilityResult.load(file);
+
+    assertEquals("build 42", loaded.getLabel());
+    assertEquals(result.getMeasurements(), loaded.getMeasurements());
+  }
+}
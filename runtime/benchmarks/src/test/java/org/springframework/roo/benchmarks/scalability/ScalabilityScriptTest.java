@@ -0,0 +1,42 @@
+package org.springframework.roo.benchmarks.scalability;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit test of {@link ScalabilityScript}
+ *
+ * @since 2.0
+ */
+public class ScalabilityScriptTest {
+
+  @Test
+  public void testCommandCountExcludesComments() {
+    final ScalabilityScript script = new ScalabilityScript(1, 0);
+
+    // Setup (2) + entity (5) + layers (2) + finders (4) + web (5)
+    assertEquals(18, script.getCommandCount());
+  }
+
+  @Test
+  public void testRelationshipsOnlyTargetFollowingEntities() {
+    final String script = new ScalabilityScript(3, 2).getScript();
+
+    assertTrue(script.contains("field set --fieldName entity1Items --type ~.domain.Entity1 "
+        + "--mappedBy owner0"));
+    assertTrue(script.contains("field set --fieldName entity2Items --type ~.domain.Entity2 "
+        + "--mappedBy owner0"));
+    assertTrue(script.contains("field set --fieldName entity2Items --type ~.domain.Entity2 "
+        + "--mappedBy owner1"));
+    assertFalse(script.contains("--type ~.domain.Entity0 "));
+    assertFalse(script.contains("focus --class ~.domain.Entity2"));
+  }
+
+  @Test
+  public void testUsesInMemoryH2() {
+    assertTrue(new ScalabilityScript(1, 0).getScript().contains("--database H2_IN_MEMORY"));
+  }
+}
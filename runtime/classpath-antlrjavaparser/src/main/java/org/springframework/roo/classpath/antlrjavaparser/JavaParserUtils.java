@@ -241,11 +241,11 @@ public final class JavaParserUtils {
           if (!compilationUnitPackage.getFullyQualifiedPackageName().equals("")) {
             // It was not imported, so let's assume it's in the same
             // package
-            return new JavaType(compilationUnitServices.getCompilationUnitPackage()
+            return JavaType.getInstance(compilationUnitServices.getCompilationUnitPackage()
                 .getFullyQualifiedPackageName() + "." + qne.toString());
           }
         } else {
-          return new JavaType(importDeclaration.getName() + "." + qne.getName());
+          return JavaType.getInstance(importDeclaration.getName() + "." + qne.getName());
         }
 
         // This name expression (which contains a dot) had its qualifier
@@ -253,7 +253,7 @@ public final class JavaParserUtils {
       } else {
         // First letter is lowercase, so the reference already includes
         // a package
-        return new JavaType(qne.toString());
+        return JavaType.getInstance(qne.toString());
       }
     }
 
@@ -293,15 +293,15 @@ public final class JavaParserUtils {
         getImportDeclarationFor(compilationUnitServices, nameToFind);
     if (importDeclaration == null) {
       if (JdkJavaType.isPartOfJavaLang(nameToFind.getName())) {
-        return new JavaType("java.lang." + nameToFind.getName());
+        return JavaType.getInstance("java.lang." + nameToFind.getName());
       }
       final String name =
           compilationUnitPackage.getFullyQualifiedPackageName().equals("") ? nameToFind.getName()
               : compilationUnitPackage.getFullyQualifiedPackageName() + "." + nameToFind.getName();
-      return new JavaType(name);
+      return JavaType.getInstance(name);
     }
 
-    return new JavaType(importDeclaration.getName().toString());
+    return JavaType.getInstance(importDeclaration.getName().toString());
   }
 
   /**
@@ -338,28 +338,36 @@ public final class JavaParserUtils {
     if (internalType instanceof PrimitiveType) {
       final PrimitiveType pt = (PrimitiveType) internalType;
       if (pt.getType().equals(Primitive.Boolean)) {
-        return new JavaType(Boolean.class.getName(), array, DataType.PRIMITIVE, null, null);
+        return JavaType.intern(new JavaType(Boolean.class.getName(), array, DataType.PRIMITIVE,
+            null, null));
       }
       if (pt.getType().equals(Primitive.Char)) {
-        return new JavaType(Character.class.getName(), array, DataType.PRIMITIVE, null, null);
+        return JavaType.intern(new JavaType(Character.class.getName(), array, DataType.PRIMITIVE,
+            null, null));
       }
       if (pt.getType().equals(Primitive.Byte)) {
-        return new JavaType(Byte.class.getName(), array, DataType.PRIMITIVE, null, null);
+        return JavaType.intern(new JavaType(Byte.class.getName(), array, DataType.PRIMITIVE,
+            null, null));
       }
       if (pt.getType().equals(Primitive.Short)) {
-        return new JavaType(Short.class.getName(), array, DataType.PRIMITIVE, null, null);
+        return JavaType.intern(new JavaType(Short.class.getName(), array, DataType.PRIMITIVE,
+            null, null));
       }
       if (pt.getType().equals(Primitive.Int)) {
-        return new JavaType(Integer.class.getName(), array, DataType.PRIMITIVE, null, null);
+        return JavaType.intern(new JavaType(Integer.class.getName(), array, DataType.PRIMITIVE,
+            null, null));
       }
       if (pt.getType().equals(Primitive.Long)) {
-        return new JavaType(Long.class.getName(), array, DataType.PRIMITIVE, null, null);
+        return JavaType.intern(new JavaType(Long.class.getName(), array, DataType.PRIMITIVE,
+            null, null));
       }
       if (pt.getType().equals(Primitive.Float)) {
-        return new JavaType(Float.class.getName(), array, DataType.PRIMITIVE, null, null);
+        return JavaType.intern(new JavaType(Float.class.getName(), array, DataType.PRIMITIVE,
+            null, null));
       }
       if (pt.getType().equals(Primitive.Double)) {
-        return new JavaType(Double.class.getName(), array, DataType.PRIMITIVE, null, null);
+        return JavaType.intern(new JavaType(Double.class.getName(), array, DataType.PRIMITIVE,
+            null, null));
       }
       throw new IllegalStateException("Unsupported primitive '" + pt.getType() + "'");
     }
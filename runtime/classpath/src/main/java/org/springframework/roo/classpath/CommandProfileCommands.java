@@ -0,0 +1,157 @@
+package org.springframework.roo.classpath;
+
+import static org.apache.commons.io.IOUtils.LINE_SEPARATOR;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.felix.scr.annotations.Component;
+import org.apache.felix.scr.annotations.Service;
+import org.springframework.roo.shell.CliCommand;
+import org.springframework.roo.shell.CliOption;
+import org.springframework.roo.shell.CommandMarker;
+import org.springframework.roo.support.profile.CommandProfile;
+import org.springframework.roo.support.profile.CommandProfile.Counter;
+import org.springframework.roo.support.profile.CommandProfile.Phase;
+import org.springframework.roo.support.profile.CommandProfiler;
+
+/**
+ * Shows where the time of the recently executed shell commands went, as
+ * recorded by the {@link CommandProfiler}.
+ *
+ * @since 2.0
+ */
+@Component
+@Service
+public class CommandProfileCommands implements CommandMarker {
+
+  private static final String COMMAND_PROFILE_COMMAND = "command profile";
+
+  @CliCommand(value = COMMAND_PROFILE_COMMAND,
+      help = "Shows the phase timings, file counts and metadata gets of the recent commands.")
+  public String commandProfile(
+      @CliOption(key = "limit", mandatory = false, unspecifiedDefaultValue = "10",
+          help = "The number of recent commands to show. Default if option not present: 10.") final int limit,
+      @CliOption(
+          key = "file",
+          mandatory = false,
+          help = "The file to export all the recorded profiles to, as JSON if its name ends "
+              + "with '.json' or as CSV otherwise, so they can be compared across Roo versions.") final File file,
+      @CliOption(key = "clear", mandatory = false, specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Whether to remove the recorded profiles after showing them.") final boolean clear)
+      throws IOException {
+    Validate.isTrue(limit > 0, "Limit must be greater than 0");
+
+    // The profile of this command is still in progress, so it is not listed
+    final List<CommandProfile> profiles = CommandProfiler.getProfiles();
+    final StringBuilder sb = new StringBuilder();
+    for (final CommandProfile profile : profiles.subList(Math.max(0, profiles.size() - limit),
+        profiles.size())) {
+      appendProfile(sb, profile);
+    }
+    if (profiles.isEmpty()) {
+      sb.append("No commands have been profiled yet").append(LINE_SEPARATOR);
+    }
+
+    if (file != null) {
+      final String export =
+          StringUtils.endsWithIgnoreCase(file.getName(), ".json") ? toJson(profiles)
+              : toCsv(profiles);
+      FileUtils.writeStringToFile(file, export, "UTF-8");
+      sb.append("Exported ").append(profiles.size()).append(" profiles to ")
+          .append(file.getCanonicalPath()).append(LINE_SEPARATOR);
+    }
+    if (clear) {
+      CommandProfiler.clear();
+    }
+    return sb.toString();
+  }
+
+  private void appendProfile(final StringBuilder sb, final CommandProfile profile) {
+    sb.append("Command  : ").append(profile.getCommand()).append(LINE_SEPARATOR);
+    sb.append("Total    : ").append(toMillis(profile.getTotalNanos())).append(" ms")
+        .append(profile.isSuccess() ? "" : " (failed)").append(LINE_SEPARATOR);
+    final StringBuilder phases = new StringBuilder();
+    for (final Phase phase : Phase.values()) {
+      if (profile.getPhaseNanos(phase) > 0) {
+        phases.append(phases.length() == 0 ? "" : ", ").append(phase.getLabel()).append(' ')
+            .append(toMillis(profile.getPhaseNanos(phase))).append(" ms");
+      }
+    }
+    sb.append("Phases   : ").append(phases).append(LINE_SEPARATOR);
+    final StringBuilder counters = new StringBuilder();
+    for (final Counter counter : Counter.values()) {
+      if (profile.getCount(counter) > 0) {
+        counters.append(counters.length() == 0 ? "" : ", ").append(counter.getLabel())
+            .append(' ').append(profile.getCount(counter));
+      }
+    }
+    sb.append("Counters : ").append(counters).append(LINE_SEPARATOR);
+    sb.append("Peak heap: ").append(profile.getPeakHeapBytes() / (1024 * 1024)).append(" MB")
+        .append(LINE_SEPARATOR);
+    sb.append(LINE_SEPARATOR);
+  }
+
+  private String toCsv(final List<CommandProfile> profiles) {
+    final StringBuilder sb = new StringBuilder("start,command,success,total_us");
+    for (final Phase phase : Phase.values()) {
+      sb.append(',').append(phase.name().toLowerCase()).append("_us");
+    }
+    for (final Counter counter : Counter.values()) {
+      sb.append(',').append(counter.name().toLowerCase());
+    }
+    sb.append(",peak_heap_bytes").append(LINE_SEPARATOR);
+
+    for (final CommandProfile profile : profiles) {
+      sb.append(profile.getStartTime()).append(',')
+          .append(StringEscapeUtils.escapeCsv(profile.getCommand())).append(',')
+          .append(profile.isSuccess()).append(',').append(toMicros(profile.getTotalNanos()));
+      for (final Phase phase : Phase.values()) {
+        sb.append(',').append(toMicros(profile.getPhaseNanos(phase)));
+      }
+      for (final Counter counter : Counter.values()) {
+        sb.append(',').append(profile.getCount(counter));
+      }
+      sb.append(',').append(profile.getPeakHeapBytes()).append(LINE_SEPARATOR);
+    }
+    return sb.toString();
+  }
+
+  private String toJson(final List<CommandProfile> profiles) {
+    final StringBuilder sb = new StringBuilder("[");
+    for (final CommandProfile profile : profiles) {
+      sb.append(sb.length() == 1 ? "" : ",").append(LINE_SEPARATOR);
+      sb.append("  {\"start\": ").append(profile.getStartTime());
+      sb.append(", \"command\": \"").append(StringEscapeUtils.escapeJava(profile.getCommand()))
+          .append('"');
+      sb.append(", \"success\": ").append(profile.isSuccess());
+      sb.append(", \"total_us\": ").append(toMicros(profile.getTotalNanos()));
+      for (final Phase phase : Phase.values()) {
+        sb.append(", \"").append(phase.name().toLowerCase()).append("_us\": ")
+            .append(toMicros(profile.getPhaseNanos(phase)));
+      }
+      for (final Counter counter : Counter.values()) {
+        sb.append(", \"").append(counter.name().toLowerCase()).append("\": ")
+            .append(profile.getCount(counter));
+      }
+      sb.append(", \"peak_heap_bytes\": ").append(profile.getPeakHeapBytes());
+      sb.append('}');
+    }
+    sb.append(LINE_SEPARATOR).append(']').append(LINE_SEPARATOR);
+    return sb.toString();
+  }
+
+  private long toMicros(final long nanos) {
+    return nanos / 1000;
+  }
+
+  private long toMillis(final long nanos) {
+    return nanos / 1000000;
+  }
+}
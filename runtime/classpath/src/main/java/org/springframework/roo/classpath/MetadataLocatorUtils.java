@@ -2,6 +2,7 @@ package org.springframework.roo.classpath;
 
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.metadata.MetadataNotificationListener;
+import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 
 import java.util.Collection;
@@ -57,6 +58,28 @@ public class MetadataLocatorUtils<CONTEXT> implements MetadataNotificationListen
     Set<ClassOrInterfaceTypeDetails> getAllPosibilities(CONTEXT context);
   }
 
+  /**
+   * {@link LocatorEvaluator} which can locate the details which can match to
+   * a key without evaluating all the possibilities of the context, usually
+   * using the annotation attribute index of {@link TypeLocationService}.
+   *
+   * @param <CONTEXT> context class used if more than one types
+   */
+  public interface IndexedLocatorEvaluator<CONTEXT> extends LocatorEvaluator<CONTEXT> {
+
+    /**
+     * Returns the details which can match to key for required context. All
+     * of them are still evaluated using
+     * {@link #evaluateForKey(JavaType, ClassOrInterfaceTypeDetails, Object)}.
+     *
+     * @param key
+     * @param context
+     * @return details which can match, or null if they can't be located by
+     *         key for this context
+     */
+    Set<ClassOrInterfaceTypeDetails> getPosibilitiesForKey(JavaType key, CONTEXT context);
+  }
+
   private final LocatorEvaluator<CONTEXT> evaluator;
 
   private final Map<JavaType, Map<CONTEXT, Set<ClassOrInterfaceTypeDetails>>> cacheMap =
@@ -122,9 +145,21 @@ public class MetadataLocatorUtils<CONTEXT> implements MetadataNotificationListen
       currentMap.put(context, new HashSet<ClassOrInterfaceTypeDetails>());
     }
     final Set<ClassOrInterfaceTypeDetails> existing = currentMap.get(context);
-    final Set<ClassOrInterfaceTypeDetails> located = evaluator.getAllPosibilities(context);
-    if (existing.containsAll(located)) {
-      return existing;
+    Set<ClassOrInterfaceTypeDetails> located = null;
+    if (evaluator instanceof IndexedLocatorEvaluator) {
+      located = ((IndexedLocatorEvaluator<CONTEXT>) evaluator).getPosibilitiesForKey(type, context);
+    }
+    if (located != null) {
+      // Details located by key should be the cached ones, so any difference
+      // means that they have changed
+      if (existing.size() == located.size() && existing.containsAll(located)) {
+        return existing;
+      }
+    } else {
+      located = evaluator.getAllPosibilities(context);
+      if (existing.containsAll(located)) {
+        return existing;
+      }
     }
 
     final Map<String, ClassOrInterfaceTypeDetails> toReturn =
@@ -144,12 +179,16 @@ public class MetadataLocatorUtils<CONTEXT> implements MetadataNotificationListen
   /**
    * = _LocatorEvaluatorByAnnotation_
    *
-   * Abstract class which implements location by annotation
+   * Abstract class which implements location by annotation. Subclasses can
+   * override {@link #getKeyAttribute(JavaType)} to locate details by the
+   * value of an annotation attribute instead of evaluating all annotated
+   * types.
    *
    * @author Jose Manuel Vivó
    * @since 2.0.0
    */
-  public static abstract class LocatorEvaluatorByAnnotation implements LocatorEvaluator<JavaType> {
+  public static abstract class LocatorEvaluatorByAnnotation implements
+      IndexedLocatorEvaluator<JavaType> {
 
     private final TypeLocationService typeLocationService;
 
@@ -162,5 +201,26 @@ public class MetadataLocatorUtils<CONTEXT> implements MetadataNotificationListen
       return typeLocationService.findClassesOrInterfaceDetailsWithAnnotation(context);
     }
 
+    @Override
+    public Set<ClassOrInterfaceTypeDetails> getPosibilitiesForKey(JavaType key, JavaType context) {
+      final JavaSymbolName keyAttribute = getKeyAttribute(context);
+      if (keyAttribute == null) {
+        return null;
+      }
+      return typeLocationService.findClassesOrInterfaceDetailsWithAnnotationAttribute(context,
+          keyAttribute, key);
+    }
+
+    /**
+     * Returns the attribute of the context annotation whose value is the
+     * key, if any.
+     *
+     * @param context
+     * @return attribute name or null to evaluate all annotated types
+     */
+    protected JavaSymbolName getKeyAttribute(JavaType context) {
+      return null;
+    }
+
   }
 }
@@ -6,6 +6,7 @@ import java.util.Set;
 
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.model.JavaPackage;
+import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.project.Dependency;
 import org.springframework.roo.project.LogicalPath;
@@ -75,6 +76,26 @@ public interface TypeLocationService {
   Set<ClassOrInterfaceTypeDetails> findClassesOrInterfaceDetailsWithAnnotation(
       JavaType... annotationsToDetect);
 
+  /**
+   * Returns a set of {@link ClassOrInterfaceTypeDetails}s annotated with the
+   * specified annotation whose given attribute has the given value, e.g. the
+   * repositories annotated with <code>@RooJpaRepository(entity = Foo.class)</code>.
+   * If the attribute is an array, types having the value as one of its
+   * elements are returned. The types are located using an index, so this is
+   * preferred to filtering the result of
+   * {@link #findClassesOrInterfaceDetailsWithAnnotation(JavaType...)}.
+   *
+   * @param annotationType the annotation to detect on a type (required)
+   * @param attributeName the name of the annotation attribute (required)
+   * @param attributeValue the value of the attribute, as returned by
+   *            AnnotationAttributeValue#getValue() (for example a
+   *            {@link JavaType} for class attributes) (required)
+   * @return a set of ClassOrInterfaceTypeDetails, sorted by their simple
+   *         name
+   */
+  Set<ClassOrInterfaceTypeDetails> findClassesOrInterfaceDetailsWithAnnotationAttribute(
+      JavaType annotationType, JavaSymbolName attributeName, Object attributeValue);
+
   /**
    * Returns a set of {@link ClassOrInterfaceTypeDetails}s that possess the
    * specified tag.
@@ -103,6 +124,34 @@ public interface TypeLocationService {
    */
   Set<JavaType> findTypesWithAnnotation(List<JavaType> annotationsToDetect);
 
+  /**
+   * Returns the names of the types of the given module which start with the
+   * given prefix, together with their category and modifiers. Names are
+   * looked up in an index kept up to date with the changes on project types,
+   * so this is preferred to iterating {@link #getTypesForModule(Pom)} to
+   * complete type names.
+   *
+   * @param module the module to search for (required)
+   * @param prefix the start of the fully qualified type names (can be blank
+   *            to get all the types of the module)
+   * @return a list of type names (never null)
+   */
+  List<TypeNameTrie.Entry> findTypeNamesWithPrefix(Pom module, String prefix);
+
+  /**
+   * Returns a set of {@link JavaType}s annotated with the specified
+   * annotation whose given attribute has the given value.
+   *
+   * @param annotationType the annotation to detect on a type (required)
+   * @param attributeName the name of the annotation attribute (required)
+   * @param attributeValue the value of the attribute (required)
+   * @return a set of types
+   * @see #findClassesOrInterfaceDetailsWithAnnotationAttribute(JavaType,
+   *      JavaSymbolName, Object)
+   */
+  Set<JavaType> findTypesWithAnnotationAttribute(JavaType annotationType,
+      JavaSymbolName attributeName, Object attributeValue);
+
   /**
    * Returns a list with all JavaPackages for a given module.
    * 
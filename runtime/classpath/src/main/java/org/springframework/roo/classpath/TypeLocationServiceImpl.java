@@ -10,7 +10,10 @@ import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.classpath.details.MemberHoldingTypeDetails;
+import org.springframework.roo.classpath.details.annotations.AnnotationAttributeValue;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
+import org.springframework.roo.classpath.details.annotations.ArrayAttributeValue;
+import org.springframework.roo.classpath.details.annotations.NestedAnnotationAttributeValue;
 import org.springframework.roo.file.monitor.FileMonitorService;
 import org.springframework.roo.file.monitor.event.FileDetails;
 import org.springframework.roo.metadata.MetadataIdentificationUtils;
@@ -79,6 +82,14 @@ public class TypeLocationServiceImpl implements TypeLocationService {
     }
   };
 
+  private static final Comparator<ClassOrInterfaceTypeDetails> SIMPLE_NAME_COMPARATOR =
+      new NaturalOrderComparator<ClassOrInterfaceTypeDetails>() {
+        @Override
+        protected String stringify(final ClassOrInterfaceTypeDetails object) {
+          return object.getName().getSimpleTypeName();
+        }
+      };
+
   private static final String JAVA_FILES_ANT_PATH = "**" + File.separatorChar + "*.java";
 
   /**
@@ -156,14 +167,22 @@ public class TypeLocationServiceImpl implements TypeLocationService {
   private TypeCache typeCache;
   private TypeResolutionService typeResolutionService;
 
+  private final Map<AnnotationAttributeKey, Set<String>> annotationAttributeToMidMap =
+      new HashMap<AnnotationAttributeKey, Set<String>>();
   private final Map<JavaType, Set<String>> annotationToMidMap =
       new HashMap<JavaType, Set<String>>();
   private final Map<String, Set<String>> changeMap = new HashMap<String, Set<String>>();
+  private final Map<String, TypeNameTrie> moduleTypeNamesMap = new HashMap<String, TypeNameTrie>();
   private final Set<String> dirtyFiles = new HashSet<String>();
   private final Set<String> discoveredTypes = new HashSet<String>();
   private final Map<String, Set<Object>> typeCustomDataMap = new HashMap<String, Set<Object>>();
   private final Map<Object, Set<String>> tagToMidMap = new HashMap<Object, Set<String>>();
   private final Map<String, Set<JavaType>> typeAnnotationMap = new HashMap<String, Set<JavaType>>();
+  private final Map<String, Set<AnnotationAttributeKey>> typeAnnotationAttributeMap =
+      new HashMap<String, Set<AnnotationAttributeKey>>();
+  // Sorted types by annotations, discarded every time a type changes
+  private final Map<List<JavaType>, Set<ClassOrInterfaceTypeDetails>> typesWithAnnotationCache =
+      new HashMap<List<JavaType>, Set<ClassOrInterfaceTypeDetails>>();
 
   private void cacheType(final String fileCanonicalPath) {
     Validate.notBlank(fileCanonicalPath, "File canonical path required");
@@ -174,6 +193,10 @@ public class TypeLocationServiceImpl implements TypeLocationService {
         final ClassOrInterfaceTypeDetails cid = lookupClassOrInterfaceTypeDetails(id);
         if (cid == null) {
           if (!getFileManager().exists(fileCanonicalPath)) {
+            removeAnnotationAttributeCache(id);
+            typesWithAnnotationCache.clear();
+            getModuleTypeNames(id).remove(
+                PhysicalTypeIdentifier.getJavaType(id).getFullyQualifiedTypeName());
             getTypeCache().removeType(id);
             final JavaType type = getTypeCache().getTypeDetails(id).getName();
             updateChanges(type.getFullyQualifiedTypeName(), true);
@@ -182,6 +205,9 @@ public class TypeLocationServiceImpl implements TypeLocationService {
         }
         getTypeCache().cacheType(fileCanonicalPath, cid);
         updateAttributeCache(cid);
+        typesWithAnnotationCache.clear();
+        getModuleTypeNames(id).put(cid.getName().getFullyQualifiedTypeName(),
+            cid.getPhysicalTypeCategory(), cid.getModifier());
         updateChanges(cid.getName().getFullyQualifiedTypeName(), false);
       }
     }
@@ -208,21 +234,44 @@ public class TypeLocationServiceImpl implements TypeLocationService {
 
   public Set<ClassOrInterfaceTypeDetails> findClassesOrInterfaceDetailsWithAnnotation(
       final JavaType... annotationsToDetect) {
+    final List<JavaType> annotations = new ArrayList<JavaType>(Arrays.asList(annotationsToDetect));
+
+    // Process project changes before looking for an already sorted result
+    updateTypeCache();
+    final Set<ClassOrInterfaceTypeDetails> cached = typesWithAnnotationCache.get(annotations);
+    if (cached != null) {
+      return cached;
+    }
+
     final List<ClassOrInterfaceTypeDetails> types = new ArrayList<ClassOrInterfaceTypeDetails>();
-    processTypesWithAnnotation(Arrays.asList(annotationsToDetect), new LocatedTypeCallback() {
+    processTypesWithAnnotation(annotations, new LocatedTypeCallback() {
       public void process(final ClassOrInterfaceTypeDetails located) {
         if (located != null) {
           types.add(located);
         }
       }
     });
-    Collections.sort(types, new NaturalOrderComparator<ClassOrInterfaceTypeDetails>() {
-      @Override
-      protected String stringify(final ClassOrInterfaceTypeDetails object) {
-        return object.getName().getSimpleTypeName();
-      }
-    });
+    Collections.sort(types, SIMPLE_NAME_COMPARATOR);
+
+    final Set<ClassOrInterfaceTypeDetails> result =
+        Collections.unmodifiableSet(new LinkedHashSet<ClassOrInterfaceTypeDetails>(types));
+    typesWithAnnotationCache.put(annotations, result);
+    return result;
+  }
 
+  public Set<ClassOrInterfaceTypeDetails> findClassesOrInterfaceDetailsWithAnnotationAttribute(
+      final JavaType annotationType, final JavaSymbolName attributeName,
+      final Object attributeValue) {
+    final List<ClassOrInterfaceTypeDetails> types = new ArrayList<ClassOrInterfaceTypeDetails>();
+    processTypesWithAnnotationAttribute(annotationType, attributeName, attributeValue,
+        new LocatedTypeCallback() {
+          public void process(final ClassOrInterfaceTypeDetails located) {
+            if (located != null) {
+              types.add(located);
+            }
+          }
+        });
+    Collections.sort(types, SIMPLE_NAME_COMPARATOR);
     return Collections.unmodifiableSet(new LinkedHashSet<ClassOrInterfaceTypeDetails>(types));
   }
 
@@ -256,6 +305,45 @@ public class TypeLocationServiceImpl implements TypeLocationService {
     return Collections.unmodifiableSet(types);
   }
 
+  public List<TypeNameTrie.Entry> findTypeNamesWithPrefix(final Pom module, final String prefix) {
+    Validate.notNull(module, "Module required");
+    if ("pom".equals(module.getPackaging())) {
+      return Collections.emptyList();
+    }
+    // Before looking for names any changes to the project should be
+    // processed and the index updated accordingly
+    updateTypeCache();
+    final TypeNameTrie typeNames = moduleTypeNamesMap.get(module.getModuleName());
+    if (typeNames == null) {
+      return Collections.emptyList();
+    }
+    return typeNames.getEntriesWithPrefix(prefix);
+  }
+
+  public Set<JavaType> findTypesWithAnnotationAttribute(final JavaType annotationType,
+      final JavaSymbolName attributeName, final Object attributeValue) {
+    final Set<JavaType> types = new LinkedHashSet<JavaType>();
+    processTypesWithAnnotationAttribute(annotationType, attributeName, attributeValue,
+        new LocatedTypeCallback() {
+          public void process(final ClassOrInterfaceTypeDetails located) {
+            if (located != null) {
+              types.add(located.getName());
+            }
+          }
+        });
+    return Collections.unmodifiableSet(types);
+  }
+
+  private TypeNameTrie getModuleTypeNames(final String physicalTypeIdentifier) {
+    final String moduleName = PhysicalTypeIdentifier.getPath(physicalTypeIdentifier).getModule();
+    TypeNameTrie typeNames = moduleTypeNamesMap.get(moduleName);
+    if (typeNames == null) {
+      typeNames = new TypeNameTrie();
+      moduleTypeNamesMap.put(moduleName, typeNames);
+    }
+    return typeNames;
+  }
+
   public List<JavaPackage> getPackagesForModule(Pom module) {
     List<JavaPackage> packages = new ArrayList<JavaPackage>();
     for (JavaType type : getTypesForModule(module)) {
@@ -616,6 +704,45 @@ public class TypeLocationServiceImpl implements TypeLocationService {
     }
   }
 
+  private void processTypesWithAnnotationAttribute(final JavaType annotationType,
+      final JavaSymbolName attributeName, final Object attributeValue,
+      final LocatedTypeCallback callback) {
+    Validate.notNull(annotationType, "Annotation type required");
+    Validate.notNull(attributeName, "Attribute name required");
+    Validate.notNull(attributeValue, "Attribute value required");
+    Validate.notNull(callback, "Callback required");
+
+    // Before processing the call any changes to the project should be
+    // processed and the cache updated accordingly
+    updateTypeCache();
+
+    for (final String locatedMid : getTypeIdsWithAnnotationAttribute(annotationType,
+        attributeName, attributeValue)) {
+      final ClassOrInterfaceTypeDetails located = getTypeCache().getTypeDetails(locatedMid);
+      callback.process(located);
+    }
+  }
+
+  /**
+   * Returns the identifiers of the cached types annotated with the given
+   * annotation attribute value, without processing the project changes
+   * 
+   * @param annotationType the annotation type
+   * @param attributeName the attribute name
+   * @param attributeValue the attribute value
+   * @return a non-<code>null</code> set of physical type identifiers
+   */
+  Set<String> getTypeIdsWithAnnotationAttribute(final JavaType annotationType,
+      final JavaSymbolName attributeName, final Object attributeValue) {
+    final Set<String> locatedMids =
+        annotationAttributeToMidMap.get(new AnnotationAttributeKey(annotationType, attributeName,
+            attributeValue));
+    if (locatedMids == null) {
+      return Collections.emptySet();
+    }
+    return locatedMids;
+  }
+
   private void processTypesWithTag(final Object tag, final LocatedTypeCallback callback) {
     Validate.notNull(tag, "Tag required");
     Validate.notNull(callback, "Callback required");
@@ -634,7 +761,7 @@ public class TypeLocationServiceImpl implements TypeLocationService {
     }
   }
 
-  private void updateAttributeCache(final MemberHoldingTypeDetails cid) {
+  void updateAttributeCache(final MemberHoldingTypeDetails cid) {
     Validate.notNull(cid, "Member holding type details required");
     if (!typeAnnotationMap.containsKey(cid.getDeclaredByMetadataId())) {
       typeAnnotationMap.put(cid.getDeclaredByMetadataId(), new HashSet<JavaType>());
@@ -650,6 +777,7 @@ public class TypeLocationServiceImpl implements TypeLocationService {
       }
     }
     previousAnnotations.clear();
+    removeAnnotationAttributeCache(cid.getDeclaredByMetadataId());
     for (final AnnotationMetadata annotationMetadata : cid.getAnnotations()) {
       if (!annotationToMidMap.containsKey(annotationMetadata.getAnnotationType())) {
         annotationToMidMap.put(annotationMetadata.getAnnotationType(), new HashSet<String>());
@@ -657,6 +785,7 @@ public class TypeLocationServiceImpl implements TypeLocationService {
       previousAnnotations.add(annotationMetadata.getAnnotationType());
       annotationToMidMap.get(annotationMetadata.getAnnotationType()).add(
           cid.getDeclaredByMetadataId());
+      updateAnnotationAttributeCache(cid.getDeclaredByMetadataId(), annotationMetadata);
     }
     final Set<Object> previousCustomDataSet = typeCustomDataMap.get(cid.getDeclaredByMetadataId());
     for (final Object previousCustomData : previousCustomDataSet) {
@@ -675,6 +804,58 @@ public class TypeLocationServiceImpl implements TypeLocationService {
     }
   }
 
+  private void updateAnnotationAttributeCache(final String mid,
+      final AnnotationMetadata annotationMetadata) {
+    for (final JavaSymbolName attributeName : annotationMetadata.getAttributeNames()) {
+      final AnnotationAttributeValue<?> attribute = annotationMetadata.getAttribute(attributeName);
+      if (attribute instanceof ArrayAttributeValue<?>) {
+        // Each element of an array can be looked up by its own
+        for (final AnnotationAttributeValue<?> element : ((ArrayAttributeValue<?>) attribute)
+            .getValue()) {
+          addAnnotationAttributeCache(mid, annotationMetadata.getAnnotationType(), attributeName,
+              element);
+        }
+      } else {
+        addAnnotationAttributeCache(mid, annotationMetadata.getAnnotationType(), attributeName,
+            attribute);
+      }
+    }
+  }
+
+  private void addAnnotationAttributeCache(final String mid, final JavaType annotationType,
+      final JavaSymbolName attributeName, final AnnotationAttributeValue<?> attribute) {
+    if (attribute == null || attribute.getValue() == null
+        || attribute instanceof NestedAnnotationAttributeValue) {
+      return;
+    }
+    final AnnotationAttributeKey key =
+        new AnnotationAttributeKey(annotationType, attributeName, attribute.getValue());
+    if (!annotationAttributeToMidMap.containsKey(key)) {
+      annotationAttributeToMidMap.put(key, new HashSet<String>());
+    }
+    annotationAttributeToMidMap.get(key).add(mid);
+    if (!typeAnnotationAttributeMap.containsKey(mid)) {
+      typeAnnotationAttributeMap.put(mid, new HashSet<AnnotationAttributeKey>());
+    }
+    typeAnnotationAttributeMap.get(mid).add(key);
+  }
+
+  void removeAnnotationAttributeCache(final String mid) {
+    final Set<AnnotationAttributeKey> previousKeys = typeAnnotationAttributeMap.remove(mid);
+    if (previousKeys == null) {
+      return;
+    }
+    for (final AnnotationAttributeKey previousKey : previousKeys) {
+      final Set<String> midSet = annotationAttributeToMidMap.get(previousKey);
+      if (midSet != null) {
+        midSet.remove(mid);
+        if (midSet.isEmpty()) {
+          annotationAttributeToMidMap.remove(previousKey);
+        }
+      }
+    }
+  }
+
   private void updateChanges(final String typeName, final boolean remove) {
     Validate.notNull(typeName, "Type name required");
     for (final String requestingClass : changeMap.keySet()) {
@@ -914,4 +1095,39 @@ public class TypeLocationServiceImpl implements TypeLocationService {
     }
   }
 
+  /**
+   * Key of the index of types by the value of one of their annotation
+   * attributes.
+   */
+  static final class AnnotationAttributeKey {
+
+    private final JavaType annotationType;
+    private final JavaSymbolName attributeName;
+    private final Object value;
+
+    AnnotationAttributeKey(final JavaType annotationType, final JavaSymbolName attributeName,
+        final Object value) {
+      this.annotationType = annotationType;
+      this.attributeName = attributeName;
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof AnnotationAttributeKey)) {
+        return false;
+      }
+      final AnnotationAttributeKey other = (AnnotationAttributeKey) obj;
+      return annotationType.equals(other.annotationType)
+          && attributeName.equals(other.attributeName) && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return (annotationType.hashCode() * 31 + attributeName.hashCode()) * 31 + value.hashCode();
+    }
+  }
 }
@@ -0,0 +1,177 @@
+package org.springframework.roo.classpath;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Prefix tree of fully qualified type names, split by package segments, used
+ * to answer type name completions without iterating every type of a module.
+ * Every name keeps the {@link PhysicalTypeCategory} and modifiers its type had
+ * when it was added, so types can be filtered without getting their details.
+ *
+ * @since 2.0
+ */
+public class TypeNameTrie {
+
+  /**
+   * A type name stored in the trie.
+   */
+  public static class Entry {
+
+    private final String fullyQualifiedTypeName;
+    private final PhysicalTypeCategory physicalTypeCategory;
+    private final int modifier;
+
+    public Entry(final String fullyQualifiedTypeName,
+        final PhysicalTypeCategory physicalTypeCategory, final int modifier) {
+      this.fullyQualifiedTypeName = fullyQualifiedTypeName;
+      this.physicalTypeCategory = physicalTypeCategory;
+      this.modifier = modifier;
+    }
+
+    public String getFullyQualifiedTypeName() {
+      return fullyQualifiedTypeName;
+    }
+
+    public int getModifier() {
+      return modifier;
+    }
+
+    public PhysicalTypeCategory getPhysicalTypeCategory() {
+      return physicalTypeCategory;
+    }
+
+    @Override
+    public String toString() {
+      return fullyQualifiedTypeName;
+    }
+  }
+
+  private static class Node {
+
+    private final SortedMap<String, Node> children = new TreeMap<String, Node>();
+    private Entry entry;
+  }
+
+  private final Node root = new Node();
+  private int size;
+
+  /**
+   * Adds a type name, replacing the previous values of the same name if it
+   * already exists.
+   *
+   * @param fullyQualifiedTypeName the name of the type (required)
+   * @param physicalTypeCategory the category of the type
+   * @param modifier the modifiers of the type
+   */
+  public synchronized void put(final String fullyQualifiedTypeName,
+      final PhysicalTypeCategory physicalTypeCategory, final int modifier) {
+    Validate.notBlank(fullyQualifiedTypeName, "Type name required");
+    Node node = root;
+    for (final String segment : StringUtils.split(fullyQualifiedTypeName, '.')) {
+      Node child = node.children.get(segment);
+      if (child == null) {
+        child = new Node();
+        node.children.put(segment, child);
+      }
+      node = child;
+    }
+    if (node.entry == null) {
+      size++;
+    }
+    node.entry = new Entry(fullyQualifiedTypeName, physicalTypeCategory, modifier);
+  }
+
+  /**
+   * Removes a type name, if it exists.
+   *
+   * @param fullyQualifiedTypeName the name of the type (required)
+   * @return true if the name was removed
+   */
+  public synchronized boolean remove(final String fullyQualifiedTypeName) {
+    Validate.notBlank(fullyQualifiedTypeName, "Type name required");
+    return remove(root, StringUtils.split(fullyQualifiedTypeName, '.'), 0);
+  }
+
+  private boolean remove(final Node node, final String[] segments, final int index) {
+    if (index == segments.length) {
+      if (node.entry == null) {
+        return false;
+      }
+      node.entry = null;
+      size--;
+      return true;
+    }
+    final Node child = node.children.get(segments[index]);
+    if (child == null || !remove(child, segments, index + 1)) {
+      return false;
+    }
+    // Prune the nodes which no longer lead to any name
+    if (child.entry == null && child.children.isEmpty()) {
+      node.children.remove(segments[index]);
+    }
+    return true;
+  }
+
+  /**
+   * Returns the type names which start with the given prefix, ordered by
+   * package segments.
+   *
+   * @param prefix the start of the names, e.g. "com.foo.Ba" (can be blank to
+   *            get all names)
+   * @return a list of entries (never null)
+   */
+  public synchronized List<Entry> getEntriesWithPrefix(final String prefix) {
+    final List<Entry> entries = new ArrayList<Entry>();
+    final String[] segments =
+        StringUtils.splitPreserveAllTokens(StringUtils.defaultString(prefix), '.');
+    if (segments.length == 0) {
+      collect(root, entries);
+      return entries;
+    }
+
+    // All segments but the last one must be complete
+    Node node = root;
+    for (int i = 0; i < segments.length - 1; i++) {
+      node = node.children.get(segments[i]);
+      if (node == null) {
+        return entries;
+      }
+    }
+
+    final String last = segments[segments.length - 1];
+    final Iterator<Map.Entry<String, Node>> children =
+        node.children.tailMap(last).entrySet().iterator();
+    while (children.hasNext()) {
+      final Map.Entry<String, Node> child = children.next();
+      if (!child.getKey().startsWith(last)) {
+        break;
+      }
+      collect(child.getValue(), entries);
+    }
+    return entries;
+  }
+
+  private void collect(final Node node, final List<Entry> entries) {
+    if (node.entry != null) {
+      entries.add(node.entry);
+    }
+    for (final Node child : node.children.values()) {
+      collect(child, entries);
+    }
+  }
+
+  /**
+   * @return the number of type names
+   */
+  public synchronized int size() {
+    return size;
+  }
+}
@@ -1,5 +1,7 @@
 package org.springframework.roo.classpath.itd;
 
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
 import org.osgi.service.component.ComponentContext;
@@ -27,7 +29,11 @@ import org.springframework.roo.process.manager.FileManager;
 import org.springframework.roo.project.LogicalPath;
 import org.springframework.roo.project.Path;
 import org.springframework.roo.support.logging.HandlerUtils;
+import org.springframework.roo.support.profile.CommandProfile.Counter;
+import org.springframework.roo.support.profile.CommandProfiler;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
@@ -172,6 +178,32 @@ public abstract class AbstractItdMetadataProvider extends AbstractHashCodeTracki
     // gone away?
   }
 
+  /**
+   * Checks whether the current contents of the ITD file, including any
+   * pending deferred write, are the same ones provided by the composer. The
+   * digests of both contents are compared, so the ITD is not converted into
+   * a String when it has not changed.
+   *
+   * @param itdFilename the ITD file
+   * @param itdSourceFileComposer the composer of the new ITD contents
+   * @return true if the ITD file doesn't need to be written
+   */
+  private boolean isItdUpToDate(final String itdFilename,
+      final ItdSourceFileComposer itdSourceFileComposer) {
+    if (!getFileManager().exists(itdFilename)) {
+      return false;
+    }
+    InputStream inputStream = null;
+    try {
+      inputStream = getFileManager().getInputStream(itdFilename);
+      return DigestUtils.sha1Hex(inputStream).equals(itdSourceFileComposer.getDigest());
+    } catch (final IOException e) {
+      return false;
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
+  }
+
   public final MetadataItem get(final String metadataIdentificationString) {
 
     Validate.isTrue(MetadataIdentificationUtils.getMetadataClass(metadataIdentificationString)
@@ -282,17 +314,23 @@ public abstract class AbstractItdMetadataProvider extends AbstractHashCodeTracki
         // something to disk
         final ItdSourceFileComposer itdSourceFileComposer =
             new ItdSourceFileComposer(metadata.getMemberHoldingTypeDetails());
-
-        // Decide whether the get an ITD on-disk based on whether there
-        // is physical content to write
-        if (itdSourceFileComposer.isContent()) {
-          // We have content to write
-          getItdDiscoveryService().addItdTypeDetails(itdTypeDetails);
-          final String itd = itdSourceFileComposer.getOutput();
-          getFileManager().createOrUpdateTextFileIfRequired(itdFilename, itd, false);
-        } else {
-          // We don't have content to write
-          deleteItdFile = true;
+        try {
+          // Decide whether the get an ITD on-disk based on whether there
+          // is physical content to write
+          if (itdSourceFileComposer.isContent()) {
+            // We have content to write
+            getItdDiscoveryService().addItdTypeDetails(itdTypeDetails);
+            if (!isItdUpToDate(itdFilename, itdSourceFileComposer)) {
+              final String itd = itdSourceFileComposer.getOutput();
+              getFileManager().createOrUpdateTextFileIfRequired(itdFilename, itd, false);
+              CommandProfiler.increment(Counter.ITD_WRITES);
+            }
+          } else {
+            // We don't have content to write
+            deleteItdFile = true;
+          }
+        } finally {
+          itdSourceFileComposer.release();
         }
       }
 
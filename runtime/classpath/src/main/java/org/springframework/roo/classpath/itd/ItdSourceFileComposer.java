@@ -1,6 +1,11 @@
 package org.springframework.roo.classpath.itd;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Modifier;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
@@ -8,7 +13,10 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.springframework.roo.classpath.PhysicalTypeCategory;
@@ -47,6 +55,11 @@ public class ItdSourceFileComposer {
   private static final String AUTOGENERATED_ATTRIBUTE_JAVADOC =
       "TODO Auto-generated attribute documentation";
   private static final String NEW_LINE = "\n";
+  private static final int COPY_BUFFER_SIZE = 8192;
+  private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+  // Bigger buffers are not pooled to avoid retaining too much memory
+  private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+  private static final ThreadLocal<StringBuilder> BUFFER_POOL = new ThreadLocal<StringBuilder>();
   private static final String AUTOGENERATED_METHOD_JAVADOC =
       "TODO Auto-generated method documentation";
   private static final String AUTOGENERATED_CONSTRUCTOR_JAVADOC =
@@ -56,7 +69,10 @@ public class ItdSourceFileComposer {
   private int indentLevel = 0;
   private final JavaType introductionTo;
   private final ItdTypeDetails itdTypeDetails;
-  private StringBuilder pw = new StringBuilder();
+  // Compilation unit details, composed once all the imports are known
+  private final StringBuilder header = new StringBuilder();
+  // Body of the aspect. It is taken from a per-thread pool, see release()
+  private StringBuilder pw = acquireBuffer();
   private final ImportRegistrationResolver resolver;
 
   /**
@@ -101,11 +117,23 @@ public class ItdSourceFileComposer {
     appendInnerTypes();
     appendTerminator();
 
-    // Now prepend the package declaration and any imports
+    // Now compose the package declaration and any imports
     // We need to do this ** at the end ** so we can ensure our compilation
     // unit imports are correct, as they're built as we traverse over the
-    // other members
-    prependCompilationUnitDetails();
+    // other members. They are kept apart from the body to avoid copying
+    // the whole ITD to prepend them
+    composeCompilationUnitDetails();
+  }
+
+  private static StringBuilder acquireBuffer() {
+    final StringBuilder buffer = BUFFER_POOL.get();
+    if (buffer == null) {
+      return new StringBuilder(INITIAL_BUFFER_SIZE);
+    }
+    // Nested composers on the same thread will create their own buffer
+    BUFFER_POOL.remove();
+    buffer.setLength(0);
+    return buffer;
   }
 
   /**
@@ -596,8 +624,74 @@ public class ItdSourceFileComposer {
     content = false;
   }
 
+  /**
+   * Returns the source code of the ITD.
+   *
+   * @return the ITD contents
+   */
   public String getOutput() {
-    return pw.toString();
+    Validate.validState(pw != null, "ITD source file composer has been released");
+    return new StringBuilder(header.length() + pw.length()).append(header).append(pw)
+        .toString();
+  }
+
+  /**
+   * Writes the source code of the ITD to the given writer, without creating
+   * an intermediate String with the whole ITD.
+   *
+   * @param writer the writer to use (required, not closed by this method)
+   * @throws IOException if the ITD can't be written
+   */
+  public void writeTo(final Writer writer) throws IOException {
+    Validate.notNull(writer, "Writer required");
+    Validate.validState(pw != null, "ITD source file composer has been released");
+    final char[] chars = new char[COPY_BUFFER_SIZE];
+    write(header, writer, chars);
+    write(pw, writer, chars);
+    writer.flush();
+  }
+
+  private void write(final StringBuilder source, final Writer writer, final char[] chars)
+      throws IOException {
+    for (int start = 0; start < source.length(); start += chars.length) {
+      final int end = Math.min(source.length(), start + chars.length);
+      source.getChars(start, end, chars, 0);
+      writer.write(chars, 0, end - start);
+    }
+  }
+
+  /**
+   * Returns the SHA-1 digest, as an hexadecimal string, of the ITD source
+   * encoded with the platform's default charset, that is the one used by
+   * the {@link org.springframework.roo.process.manager.FileManager} to write
+   * it. This allows to check whether an existing ITD file has changed without
+   * creating a String with the whole ITD.
+   *
+   * @return the digest of the ITD contents
+   */
+  public String getDigest() {
+    final MessageDigest digest = DigestUtils.getSha1Digest();
+    final Writer writer =
+        new OutputStreamWriter(
+            new DigestOutputStream(NullOutputStream.NULL_OUTPUT_STREAM, digest));
+    try {
+      writeTo(writer);
+    } catch (final IOException e) {
+      throw new IllegalStateException("Could not calculate the ITD digest", e);
+    }
+    return Hex.encodeHexString(digest.digest());
+  }
+
+  /**
+   * Releases the buffer used to compose the ITD, so it can be reused by the
+   * next composer created on the current thread. The output of this composer
+   * is no longer available after calling this method.
+   */
+  public void release() {
+    if (pw != null && pw.capacity() <= MAX_POOLED_BUFFER_SIZE) {
+      BUFFER_POOL.set(pw);
+    }
+    pw = null;
   }
 
   /**
@@ -651,8 +745,8 @@ public class ItdSourceFileComposer {
     append(AnnotationMetadataUtils.toSourceForm(annotation, resolver));
   }
 
-  private void prependCompilationUnitDetails() {
-    final StringBuilder topOfFile = new StringBuilder();
+  private void composeCompilationUnitDetails() {
+    final StringBuilder topOfFile = header;
 
     topOfFile.append("// WARNING: DO NOT EDIT THIS FILE. THIS FILE IS MANAGED BY SPRING ROO.")
         .append(NEW_LINE);
@@ -681,12 +775,6 @@ public class ItdSourceFileComposer {
 
       topOfFile.append(NEW_LINE);
     }
-
-    // Now append the normal file to the bottom
-    topOfFile.append(pw.toString());
-
-    // Replace the old writer with out new writer
-    pw = topOfFile;
   }
 
   private void writeImports(final StringBuilder topOfFile, final SortedMap<JavaType, Boolean> types) {
@@ -1,13 +1,25 @@
 package org.springframework.roo.classpath;
 
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
 import junit.framework.TestCase;
 
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetailsBuilder;
+import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
+import org.springframework.roo.classpath.details.annotations.ArrayAttributeValue;
+import org.springframework.roo.classpath.details.annotations.ClassAttributeValue;
+import org.springframework.roo.model.JavaSymbolName;
+import org.springframework.roo.model.JavaType;
+import org.springframework.roo.project.LogicalPath;
+import org.springframework.roo.project.Path;
+
 /**
  * Unit test of {@link TypeLocationServiceImpl}.
  * 
@@ -16,6 +28,34 @@ import junit.framework.TestCase;
  */
 public class TypeLocationServiceImplTest extends TestCase {
 
+  private static final JavaType ANNOTATION = new JavaType("com.foo.RooBar");
+  private static final JavaSymbolName ENTITY = new JavaSymbolName("entity");
+  private static final JavaType FOO = new JavaType("com.foo.Foo");
+  private static final JavaType OTHER = new JavaType("com.foo.Other");
+
+  private static final String MID = PhysicalTypeIdentifier.createIdentifier(new JavaType(
+      "com.foo.FooController"), LogicalPath.getInstance(Path.SRC_MAIN_JAVA, ""));
+
+  /**
+   * Creates the details of a type annotated with the given annotation
+   * 
+   * @param annotationBuilder the annotation of the type
+   */
+  private ClassOrInterfaceTypeDetails getTypeDetails(
+      final AnnotationMetadataBuilder annotationBuilder) {
+    final ClassOrInterfaceTypeDetailsBuilder cidBuilder =
+        new ClassOrInterfaceTypeDetailsBuilder(MID, Modifier.PUBLIC,
+            PhysicalTypeIdentifier.getJavaType(MID), PhysicalTypeCategory.CLASS);
+    cidBuilder.addAnnotation(annotationBuilder);
+    return cidBuilder.build();
+  }
+
+  private ClassOrInterfaceTypeDetails getTypeDetails(final JavaType entity) {
+    final AnnotationMetadataBuilder annotationBuilder = new AnnotationMetadataBuilder(ANNOTATION);
+    annotationBuilder.addClassAttribute(ENTITY.getSymbolName(), entity);
+    return getTypeDetails(annotationBuilder);
+  }
+
   public void testGetAllPackages() {
     // Set up
     final String leafPackage = "com.foo.bar";
@@ -59,4 +99,94 @@ public class TypeLocationServiceImplTest extends TestCase {
     // Check
     assertEquals("com.foo", lowestCommonPackage);
   }
+
+  public void testAnnotationAttributeKeysWithSameValueAreEqual() {
+    // Set up
+    final JavaType annotation = new JavaType("com.foo.RooBar");
+    final JavaSymbolName attribute = new JavaSymbolName("entity");
+
+    // Invoke
+    final TypeLocationServiceImpl.AnnotationAttributeKey key1 =
+        new TypeLocationServiceImpl.AnnotationAttributeKey(annotation, attribute, new JavaType(
+            "com.foo.Entity"));
+    final TypeLocationServiceImpl.AnnotationAttributeKey key2 =
+        new TypeLocationServiceImpl.AnnotationAttributeKey(new JavaType("com.foo.RooBar"),
+            new JavaSymbolName("entity"), new JavaType("com.foo.Entity"));
+    final TypeLocationServiceImpl.AnnotationAttributeKey key3 =
+        new TypeLocationServiceImpl.AnnotationAttributeKey(annotation, attribute, new JavaType(
+            "com.foo.Other"));
+
+    // Check
+    assertEquals(key1, key2);
+    assertEquals(key1.hashCode(), key2.hashCode());
+    assertFalse(key1.equals(key3));
+  }
+
+  public void testAnnotationAttributeIndexIsUpdatedWhenTypeIsAdded() {
+    // Set up
+    final TypeLocationServiceImpl typeLocationService = new TypeLocationServiceImpl();
+
+    // Invoke
+    typeLocationService.updateAttributeCache(getTypeDetails(FOO));
+
+    // Check
+    assertEquals(Collections.singleton(MID),
+        typeLocationService.getTypeIdsWithAnnotationAttribute(ANNOTATION, ENTITY, FOO));
+    assertTrue(typeLocationService.getTypeIdsWithAnnotationAttribute(ANNOTATION, ENTITY, OTHER)
+        .isEmpty());
+    assertTrue(typeLocationService.getTypeIdsWithAnnotationAttribute(
+        new JavaType("com.foo.RooBaz"), ENTITY, FOO).isEmpty());
+  }
+
+  public void testAnnotationAttributeIndexIsUpdatedWhenTypeIsChanged() {
+    // Set up
+    final TypeLocationServiceImpl typeLocationService = new TypeLocationServiceImpl();
+    typeLocationService.updateAttributeCache(getTypeDetails(FOO));
+
+    // Invoke
+    typeLocationService.updateAttributeCache(getTypeDetails(OTHER));
+
+    // Check
+    assertTrue(typeLocationService.getTypeIdsWithAnnotationAttribute(ANNOTATION, ENTITY, FOO)
+        .isEmpty());
+    assertEquals(Collections.singleton(MID),
+        typeLocationService.getTypeIdsWithAnnotationAttribute(ANNOTATION, ENTITY, OTHER));
+  }
+
+  public void testAnnotationAttributeIndexIsUpdatedWhenTypeIsRemoved() {
+    // Set up
+    final TypeLocationServiceImpl typeLocationService = new TypeLocationServiceImpl();
+    typeLocationService.updateAttributeCache(getTypeDetails(FOO));
+
+    // Invoke
+    typeLocationService.removeAnnotationAttributeCache(MID);
+
+    // Check
+    assertTrue(typeLocationService.getTypeIdsWithAnnotationAttribute(ANNOTATION, ENTITY, FOO)
+        .isEmpty());
+  }
+
+  public void testArrayAnnotationAttributeElementsAreIndexed() {
+    // Set up
+    final TypeLocationServiceImpl typeLocationService = new TypeLocationServiceImpl();
+    final AnnotationMetadataBuilder annotationBuilder = new AnnotationMetadataBuilder(ANNOTATION);
+    annotationBuilder.addAttribute(new ArrayAttributeValue<ClassAttributeValue>(ENTITY, Arrays
+        .asList(new ClassAttributeValue(ENTITY, FOO), new ClassAttributeValue(ENTITY, OTHER))));
+
+    // Invoke
+    typeLocationService.updateAttributeCache(getTypeDetails(annotationBuilder));
+
+    // Check
+    assertEquals(Collections.singleton(MID),
+        typeLocationService.getTypeIdsWithAnnotationAttribute(ANNOTATION, ENTITY, FOO));
+    assertEquals(Collections.singleton(MID),
+        typeLocationService.getTypeIdsWithAnnotationAttribute(ANNOTATION, ENTITY, OTHER));
+
+    // An element removed from the array is no longer indexed
+    typeLocationService.updateAttributeCache(getTypeDetails(OTHER));
+    assertTrue(typeLocationService.getTypeIdsWithAnnotationAttribute(ANNOTATION, ENTITY, FOO)
+        .isEmpty());
+    assertEquals(Collections.singleton(MID),
+        typeLocationService.getTypeIdsWithAnnotationAttribute(ANNOTATION, ENTITY, OTHER));
+  }
 }
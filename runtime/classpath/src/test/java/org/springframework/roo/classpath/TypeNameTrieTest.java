@@ -0,0 +1,88 @@
+package org.springframework.roo.classpath;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test of {@link TypeNameTrie}
+ *
+ * @since 2.0
+ */
+public class TypeNameTrieTest {
+
+  private TypeNameTrie trie;
+
+  @Before
+  public void setUp() {
+    trie = new TypeNameTrie();
+    trie.put("com.foo.Bar", PhysicalTypeCategory.CLASS, Modifier.PUBLIC);
+    trie.put("com.foo.Baz", PhysicalTypeCategory.INTERFACE, Modifier.PUBLIC);
+    trie.put("com.foo.sub.Qux", PhysicalTypeCategory.ENUMERATION, Modifier.PUBLIC);
+    trie.put("com.foobar.Other", PhysicalTypeCategory.CLASS, Modifier.FINAL);
+  }
+
+  private List<String> getNames(final String prefix) {
+    final List<String> names = new ArrayList<String>();
+    for (final TypeNameTrie.Entry entry : trie.getEntriesWithPrefix(prefix)) {
+      names.add(entry.getFullyQualifiedTypeName());
+    }
+    return names;
+  }
+
+  @Test
+  public void testBlankPrefixReturnsAllNames() {
+    assertEquals(4, getNames("").size());
+    assertEquals(4, getNames(null).size());
+    assertEquals(4, trie.size());
+  }
+
+  @Test
+  public void testPartialSegmentPrefix() {
+    assertEquals(Arrays.asList("com.foo.Bar", "com.foo.Baz", "com.foo.sub.Qux",
+        "com.foobar.Other"), getNames("com.foo"));
+    assertEquals(Arrays.asList("com.foo.Bar", "com.foo.Baz"), getNames("com.foo.Ba"));
+  }
+
+  @Test
+  public void testCompleteSegmentPrefix() {
+    assertEquals(Arrays.asList("com.foo.Bar", "com.foo.Baz", "com.foo.sub.Qux"),
+        getNames("com.foo."));
+    assertTrue(getNames("org.").isEmpty());
+  }
+
+  @Test
+  public void testEntriesKeepCategoryAndModifiers() {
+    final TypeNameTrie.Entry entry = trie.getEntriesWithPrefix("com.foobar.Other").get(0);
+
+    assertEquals(PhysicalTypeCategory.CLASS, entry.getPhysicalTypeCategory());
+    assertTrue(Modifier.isFinal(entry.getModifier()));
+  }
+
+  @Test
+  public void testPutReplacesExistingName() {
+    trie.put("com.foo.Bar", PhysicalTypeCategory.INTERFACE, Modifier.PUBLIC);
+
+    assertEquals(4, trie.size());
+    assertEquals(PhysicalTypeCategory.INTERFACE, trie.getEntriesWithPrefix("com.foo.Bar").get(0)
+        .getPhysicalTypeCategory());
+  }
+
+  @Test
+  public void testRemove() {
+    assertTrue(trie.remove("com.foo.sub.Qux"));
+    assertFalse(trie.remove("com.foo.sub.Qux"));
+    assertFalse(trie.remove("com.foo"));
+
+    assertEquals(3, trie.size());
+    assertTrue(getNames("com.foo.s").isEmpty());
+  }
+}
@@ -2,6 +2,10 @@ package org.springframework.roo.classpath.details;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.roo.classpath.itd.ItdSourceFileComposer;
 
 /**
@@ -27,5 +31,18 @@ public abstract class ItdTypeDetailsTestCase {
 
     // Check
     assertEquals(expectedOutput, actualOutput);
+    assertStreamedOutput(expectedOutput, composer);
+  }
+
+  private void assertStreamedOutput(final String expectedOutput,
+      final ItdSourceFileComposer composer) {
+    final StringWriter writer = new StringWriter();
+    try {
+      composer.writeTo(writer);
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+    assertEquals(expectedOutput, writer.toString());
+    assertEquals(DigestUtils.sha1Hex(expectedOutput.getBytes()), composer.getDigest());
   }
 }
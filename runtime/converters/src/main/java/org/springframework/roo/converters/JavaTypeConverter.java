@@ -14,7 +14,6 @@ import static org.springframework.roo.support.util.AnsiEscapeCode.decorate;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
@@ -33,7 +32,7 @@ import org.apache.felix.scr.annotations.Service;
 import org.springframework.roo.classpath.PhysicalTypeCategory;
 import org.springframework.roo.classpath.PhysicalTypeIdentifier;
 import org.springframework.roo.classpath.TypeLocationService;
-import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+import org.springframework.roo.classpath.TypeNameTrie;
 import org.springframework.roo.model.JavaPackage;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.process.manager.FileManager;
@@ -198,39 +197,36 @@ public class JavaTypeConverter implements Converter<JavaType> {
       final String optionContext, final Pom targetModule, final String heading,
       final String prefix, final String formattedPrefix, final String topLevelPackage,
       final String basePackage) {
-    final Collection<JavaType> typesInModule = getTypesForModule(optionContext, targetModule);
     completions.add(new Completion(prefix + topLevelPackage, formattedPrefix + topLevelPackage,
         heading, 1));
 
-    for (final JavaType javaType : typesInModule) {
-      String type = javaType.getFullyQualifiedTypeName();
-      if (type.startsWith(basePackage)) {
-        type = StringUtils.replace(type, topLevelPackage, TOP_LEVEL_PACKAGE_SYMBOL, 1);
-        completions.add(new Completion(prefix + type, formattedPrefix + type, heading, 1));
+    for (final TypeNameTrie.Entry typeName : typeLocationService.findTypeNamesWithPrefix(
+        targetModule, basePackage)) {
+      if (!isSuitableType(optionContext, typeName)) {
+        continue;
       }
-
+      final String type =
+          StringUtils.replace(typeName.getFullyQualifiedTypeName(), topLevelPackage,
+              TOP_LEVEL_PACKAGE_SYMBOL, 1);
+      completions.add(new Completion(prefix + type, formattedPrefix + type, heading, 1));
     }
   }
 
-  private Collection<JavaType> getTypesForModule(final String optionContext, final Pom targetModule) {
-    final Collection<JavaType> typesForModule = typeLocationService.getTypesForModule(targetModule);
-    if (!(optionContext.contains(SUPERCLASS) || optionContext.contains(INTERFACE) || optionContext
-        .contains(ENUMERATION))) {
-      return typesForModule;
+  private boolean isSuitableType(final String optionContext, final TypeNameTrie.Entry typeName) {
+    if (StringUtils.contains(optionContext, SUPERCLASS)
+        && (Modifier.isFinal(typeName.getModifier()) || typeName.getPhysicalTypeCategory() ==
+            PhysicalTypeCategory.INTERFACE)) {
+      return false;
     }
-
-    final Collection<JavaType> types = new ArrayList<JavaType>();
-    for (final JavaType javaType : typesForModule) {
-      final ClassOrInterfaceTypeDetails typeDetails = typeLocationService.getTypeDetails(javaType);
-      if ((optionContext.contains(SUPERCLASS) && (Modifier.isFinal(typeDetails.getModifier()) || typeDetails
-          .getPhysicalTypeCategory() == PhysicalTypeCategory.INTERFACE))
-          || (optionContext.contains(INTERFACE) && typeDetails.getPhysicalTypeCategory() != PhysicalTypeCategory.INTERFACE)
-          || (optionContext.contains(ENUMERATION) && typeDetails.getPhysicalTypeCategory() != PhysicalTypeCategory.ENUMERATION)) {
-        continue;
-      }
-      types.add(javaType);
+    if (StringUtils.contains(optionContext, INTERFACE)
+        && typeName.getPhysicalTypeCategory() != PhysicalTypeCategory.INTERFACE) {
+      return false;
+    }
+    if (StringUtils.contains(optionContext, ENUMERATION)
+        && typeName.getPhysicalTypeCategory() != PhysicalTypeCategory.ENUMERATION) {
+      return false;
     }
-    return types;
+    return true;
   }
 
   /**
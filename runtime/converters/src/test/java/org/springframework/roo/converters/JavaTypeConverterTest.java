@@ -11,6 +11,7 @@ import static org.springframework.roo.project.LogicalPath.MODULE_PATH_SEPARATOR;
 import static org.springframework.roo.support.util.AnsiEscapeCode.FG_CYAN;
 import static org.springframework.roo.support.util.AnsiEscapeCode.decorate;
 
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.List;
 
@@ -18,7 +19,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.roo.classpath.PhysicalTypeCategory;
 import org.springframework.roo.classpath.TypeLocationService;
+import org.springframework.roo.classpath.TypeNameTrie;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.process.manager.FileManager;
 import org.springframework.roo.project.ProjectOperations;
@@ -172,10 +175,11 @@ public class JavaTypeConverterTest {
         Arrays.asList(focusedModuleName, otherModuleName));
     final String modulePath = "/path/to/it";
     when(mockOtherModule.getPath()).thenReturn(modulePath);
-    final JavaType type1 = new JavaType("com.example.web.ShouldBeFound");
-    final JavaType type2 = new JavaType("com.example.foo.ShouldNotBeFound");
-    when(mockTypeLocationService.getTypesForModule(mockOtherModule)).thenReturn(
-        Arrays.asList(type1, type2));
+    final TypeNameTrie typeNames = new TypeNameTrie();
+    typeNames.put("com.example.web.ShouldBeFound", PhysicalTypeCategory.CLASS, 0);
+    typeNames.put("com.example.foo.ShouldNotBeFound", PhysicalTypeCategory.CLASS, 0);
+    when(mockTypeLocationService.findTypeNamesWithPrefix(mockOtherModule, "com.example.web"))
+        .thenReturn(typeNames.getEntriesWithPrefix("com.example.web"));
 
     // Invoke
     converter.getAllPossibleValues(mockCompletions, JavaType.class, otherModuleName
@@ -228,10 +232,11 @@ public class JavaTypeConverterTest {
     final String otherModuleName = "core";
     when(mockProjectOperations.getModuleNames()).thenReturn(
         Arrays.asList(focusedModuleName, otherModuleName));
-    final JavaType type1 = new JavaType("com.example.Foo");
-    final JavaType type2 = new JavaType("com.example.sub.Bar");
-    when(mockTypeLocationService.getTypesForModule(mockFocusedModule)).thenReturn(
-        Arrays.asList(type1, type2));
+    final TypeNameTrie typeNames = new TypeNameTrie();
+    typeNames.put("com.example.Foo", PhysicalTypeCategory.CLASS, 0);
+    typeNames.put("com.example.sub.Bar", PhysicalTypeCategory.CLASS, 0);
+    when(mockTypeLocationService.findTypeNamesWithPrefix(mockFocusedModule, "")).thenReturn(
+        typeNames.getEntriesWithPrefix(""));
 
     // Invoke
     converter.getAllPossibleValues(mockCompletions, JavaType.class, "", OptionContexts.PROJECT,
@@ -248,6 +253,39 @@ public class JavaTypeConverterTest {
     verifyNoMoreInteractions(mockCompletions);
   }
 
+  @Test
+  public void testGetAllPossibleValuesForSuperclassExcludesInterfacesAndFinalClasses() {
+    // Set up
+    @SuppressWarnings("unchecked")
+    final List<Completion> mockCompletions = mock(List.class);
+    when(mockProjectOperations.isFocusedProjectAvailable()).thenReturn(true);
+    final Pom mockFocusedModule = mock(Pom.class);
+    when(mockProjectOperations.getFocusedModule()).thenReturn(mockFocusedModule);
+    final String topLevelPackage = "com.example";
+    when(mockTypeLocationService.getTopLevelPackageForModule(mockFocusedModule)).thenReturn(
+        topLevelPackage);
+    final String focusedModuleName = "web";
+    when(mockFocusedModule.getModuleName()).thenReturn(focusedModuleName);
+    when(mockProjectOperations.getModuleNames()).thenReturn(Arrays.asList(focusedModuleName));
+    final TypeNameTrie typeNames = new TypeNameTrie();
+    typeNames.put("com.example.Base", PhysicalTypeCategory.CLASS, Modifier.PUBLIC);
+    typeNames.put("com.example.Named", PhysicalTypeCategory.INTERFACE, Modifier.PUBLIC);
+    typeNames.put("com.example.Sealed", PhysicalTypeCategory.CLASS, Modifier.PUBLIC
+        | Modifier.FINAL);
+    when(mockTypeLocationService.findTypeNamesWithPrefix(mockFocusedModule, "com.example."))
+        .thenReturn(typeNames.getEntriesWithPrefix("com.example."));
+
+    // Invoke
+    converter.getAllPossibleValues(mockCompletions, JavaType.class, "~",
+        OptionContexts.SUPERCLASS, null);
+
+    // Check
+    verify(mockCompletions).add(
+        new Completion(topLevelPackage, topLevelPackage, focusedModuleName, 1));
+    verify(mockCompletions).add(new Completion("~.Base", "~.Base", focusedModuleName, 1));
+    verifyNoMoreInteractions(mockCompletions);
+  }
+
   @Test
   public void testSupportsJavaType() {
     assertTrue(converter.supports(JavaType.class, null));
@@ -52,6 +52,22 @@ public interface NotifiableFileMonitorService extends FileMonitorService {
    */
   void notifyDeleted(String fileCanonicalPath);
 
+  /**
+   * Similar to {@link #scanAll()} except will only examine the directories in
+   * which changes were most recently detected or notified, without their
+   * sub-directories. This is designed to let callers poll the files a user is
+   * likely editing far more often than they can afford to scan every
+   * monitored location.
+   * <p>
+   * Locations that have never been scanned by {@link #scanAll()} are ignored,
+   * and implementations may leave the deletion of files that didn't change
+   * recently to the next {@link #scanAll()}.
+   * 
+   * @return the number of changes detected during this invocation (can be 0
+   *         or above)
+   */
+  int scanRecentlyChanged();
+
   /**
    * Similar to {@link #scanAll()} except will only notify those files
    * explicitly advised via notification methods on
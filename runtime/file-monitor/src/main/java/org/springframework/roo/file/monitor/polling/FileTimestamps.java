@@ -0,0 +1,175 @@
+package org.springframework.roo.file.monitor.polling;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The last modified times of a set of files, keyed by their paths.
+ * <p>
+ * The paths and times are stored in two parallel arrays with open
+ * addressing, so monitoring a large tree doesn't cost a {@link java.io.File},
+ * a {@link Long} and a map entry per file like a
+ * <code>Map&lt;File, Long&gt;</code> does.
+ * <p>
+ * Entries are visited by slot, from 0 to {@link #getCapacity()}, skipping
+ * the empty slots; files must not be added or removed while doing so, but
+ * their times can be updated.
+ * <p>
+ * This class isn't thread safe.
+ *
+ * @since 2.0
+ */
+class FileTimestamps {
+
+  /**
+   * The time returned for files that aren't present.
+   */
+  static final long ABSENT = Long.MIN_VALUE;
+
+  private static final int MINIMUM_CAPACITY = 16;
+
+  private String[] paths;
+  private int size;
+  private long[] timestamps;
+
+  FileTimestamps() {
+    paths = new String[MINIMUM_CAPACITY];
+    timestamps = new long[MINIMUM_CAPACITY];
+  }
+
+  /**
+   * @param path the path of a file
+   * @return whether the file is present
+   */
+  boolean contains(final String path) {
+    return paths[indexOf(path)] != null;
+  }
+
+  /**
+   * @param path the path of a file
+   * @return its last modified time, or {@link #ABSENT}
+   */
+  long get(final String path) {
+    final int index = indexOf(path);
+    return paths[index] == null ? ABSENT : timestamps[index];
+  }
+
+  /**
+   * @return the number of slots to visit
+   */
+  int getCapacity() {
+    return paths.length;
+  }
+
+  /**
+   * @param slot a slot between 0 and {@link #getCapacity()}
+   * @return the path in the slot, or null if it's empty
+   */
+  String getPath(final int slot) {
+    return paths[slot];
+  }
+
+  /**
+   * @param slot a slot whose path isn't null
+   * @return the last modified time of the file in the slot
+   */
+  long getTimestamp(final int slot) {
+    return timestamps[slot];
+  }
+
+  private static int hash(final String path) {
+    // Spread the high bits into the low ones selected by the mask, as
+    // HashMap does
+    final int hashCode = path.hashCode();
+    return hashCode ^ hashCode >>> 16;
+  }
+
+  /**
+   * Returns the slot of the given path, or the empty slot where it would go.
+   */
+  private int indexOf(final String path) {
+    final int mask = paths.length - 1;
+    int index = hash(path) & mask;
+    while (paths[index] != null && !paths[index].equals(path)) {
+      index = index + 1 & mask;
+    }
+    return index;
+  }
+
+  /**
+   * Records the last modified time of a file.
+   *
+   * @param path the path of the file (required)
+   * @param timestamp its last modified time
+   * @return the time previously recorded, or {@link #ABSENT}
+   */
+  long put(final String path, final long timestamp) {
+    Validate.notNull(path, "Path required");
+    Validate.isTrue(timestamp != ABSENT, "Invalid timestamp");
+    int index = indexOf(path);
+    if (paths[index] != null) {
+      final long previous = timestamps[index];
+      timestamps[index] = timestamp;
+      return previous;
+    }
+    if ((size + 1) * 4 > paths.length * 3) {
+      resize(paths.length * 2);
+      index = indexOf(path);
+    }
+    paths[index] = path;
+    timestamps[index] = timestamp;
+    size++;
+    return ABSENT;
+  }
+
+  /**
+   * Removes a file.
+   *
+   * @param path the path of the file
+   * @return the time recorded for it, or {@link #ABSENT}
+   */
+  long remove(final String path) {
+    int index = indexOf(path);
+    if (paths[index] == null) {
+      return ABSENT;
+    }
+    final long previous = timestamps[index];
+    size--;
+
+    // Shift back the entries that follow, so lookups don't stop at the hole
+    final int mask = paths.length - 1;
+    int next = index + 1 & mask;
+    while (paths[next] != null) {
+      final int home = hash(paths[next]) & mask;
+      // Move the entry if its home isn't cyclically between the hole and it
+      if (index <= next ? home <= index || home > next : home <= index && home > next) {
+        paths[index] = paths[next];
+        timestamps[index] = timestamps[next];
+        index = next;
+      }
+      next = next + 1 & mask;
+    }
+    paths[index] = null;
+    return previous;
+  }
+
+  private void resize(final int capacity) {
+    final String[] oldPaths = paths;
+    final long[] oldTimestamps = timestamps;
+    paths = new String[capacity];
+    timestamps = new long[capacity];
+    for (int i = 0; i < oldPaths.length; i++) {
+      if (oldPaths[i] != null) {
+        final int index = indexOf(oldPaths[i]);
+        paths[index] = oldPaths[i];
+        timestamps[index] = oldTimestamps[i];
+      }
+    }
+  }
+
+  /**
+   * @return the number of files
+   */
+  int size() {
+    return size;
+  }
+}
@@ -9,9 +9,11 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +27,7 @@ import java.util.jar.Manifest;
 import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.springframework.roo.file.monitor.DirectoryMonitoringRequest;
 import org.springframework.roo.file.monitor.FileMonitorService;
@@ -59,6 +62,20 @@ import org.w3c.dom.Element;
  * present in the {@link FileEvent} times equal to the last time a deleted file
  * was modified. The time does NOT represent the deletion time nor the time the
  * deletion was first detected.
+ * <p>
+ * The directories of the latest changes are remembered, so
+ * {@link #scanRecentlyChanged()} can poll them without scanning every
+ * monitored location. It only detects the deletion of the latest changed
+ * files and of those directories; other deletions are detected by the next
+ * {@link #scanAll()}.
+ * <p>
+ * Besides hidden files and build output directories, this implementation
+ * ignores the directories matching the comma-separated Ant paths of the
+ * "roo.scan.exclude" system property, which defaults to
+ * {@value #DEFAULT_EXCLUDED_PATHS}. Changes are kept for each
+ * {@link #getDirtyFiles(String)} caller until it asks for them, unless it
+ * stops asking for so long that they pile up, in which case it's forgotten
+ * and the next call returns every file again.
  * 
  * @author Ben Alex
  * @author Juan Carlos García
@@ -68,17 +85,61 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
 
   protected final static Logger LOGGER = HandlerUtils.getLogger(PollingFileMonitorService.class);
 
-  private final Set<String> allFiles = new HashSet<String>();
+  static final String DEFAULT_EXCLUDED_PATHS = "**/node_modules,**/bower_components";
+  private static final List<String> EXCLUDED_PATHS = new ArrayList<String>();
+  // A caller of getDirtyFiles() that hasn't called it for this long, with at
+  // least this many pending changes, is forgotten
+  static final long DIRTY_FILES_EXPIRY = 10 * 60 * 1000;
+  static final int MAX_PENDING_CHANGES = 1000;
+  // How many directories scanRecentlyChanged() examines, and how many files
+  // it checks for deletion
+  private static final int MAX_RECENT_DIRECTORIES = 16;
+  private static final int MAX_RECENT_FILES = 64;
+
+  static {
+    for (final String path : System.getProperty("roo.scan.exclude", DEFAULT_EXCLUDED_PATHS).split(
+        ",")) {
+      if (path.trim().length() > 0) {
+        EXCLUDED_PATHS.add(path.trim().replace("/", File.separator));
+      }
+    }
+  }
+
   private final Map<String, Set<String>> changeMap = new HashMap<String, Set<String>>();
+  private final Map<String, Long> dirtyFilesRequested = new HashMap<String, Long>();
   private final Set<FileEventListener> fileEventListeners = new HashSet<FileEventListener>();
   private final Object lock = new Object();
   private final Set<String> notifyChanged = new HashSet<String>();
   private final Set<String> notifyCreated = new HashSet<String>();
   private final Set<String> notifyDeleted = new HashSet<String>();
-  private final Map<MonitoringRequest, Map<File, Long>> priorExecution =
-      new WeakHashMap<MonitoringRequest, Map<File, Long>>();
+  // Canonical paths of the directories and files with the latest changes,
+  // least recent first
+  private final Set<String> recentDirectories = newRecentSet(MAX_RECENT_DIRECTORIES);
+  private final Set<String> recentFiles = newRecentSet(MAX_RECENT_FILES);
+  private final Map<MonitoringRequest, FileTimestamps> priorExecution =
+      new WeakHashMap<MonitoringRequest, FileTimestamps>();
   private final Set<MonitoringRequest> requests = new LinkedHashSet<MonitoringRequest>();
   private final List<FileEvent> eventsPendingToPublish = new ArrayList<FileEvent>();
+  // Last modified time of the pom.xml whose Roo version was last compared
+  private long pomLastModified = -1;
+  private boolean differentVersion;
+
+  /**
+   * Creates a set that keeps the most recently added elements only, least
+   * recent first
+   * 
+   * @param maxSize the number of elements to keep
+   */
+  private static Set<String> newRecentSet(final int maxSize) {
+    return Collections.newSetFromMap(new LinkedHashMap<String, Boolean>(maxSize, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Entry<String, Boolean> eldest) {
+        return size() > maxSize;
+      }
+    });
+  }
 
   public final void add(final FileEventListener e) {
     synchronized (lock) {
@@ -135,8 +196,8 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
   }
 
   /**
-   * Adds one or more entries into the Map. The key of the Map is the File
-   * object, and the value is the {@link File#lastModified()} time.
+   * Adds one or more entries into the map. The key of the map is the path of
+   * the File object, and the value is the {@link File#lastModified()} time.
    * <p>
    * Specifically:
    * <ul>
@@ -148,7 +209,7 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
    * will be added only if "includeSubtree" is true.</li>
    * </ul>
    */
-  private void computeEntries(final Map<File, Long> map, final File currentFile,
+  private void computeEntries(final FileTimestamps map, final File currentFile,
       final boolean includeSubtree) {
     Validate.notNull(map, "Map required");
     Validate.notNull(currentFile, "Current file is required");
@@ -159,12 +220,7 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
       return;
     }
 
-    map.put(currentFile, currentFile.lastModified());
-
-    try {
-      allFiles.add(currentFile.getCanonicalPath());
-    } catch (final IOException ignored) {
-    }
+    map.put(currentFile.getPath(), currentFile.lastModified());
 
     if (currentFile.isDirectory()) {
       final File[] files = currentFile.listFiles();
@@ -209,12 +265,36 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
     return result;
   }
 
+  /**
+   * Returns the canonical paths of every file known to exist, i.e. those
+   * found by the last scans and those notified since.
+   */
+  private Collection<String> getAllFiles() {
+    final Set<String> allFiles = new LinkedHashSet<String>();
+    for (final FileTimestamps files : priorExecution.values()) {
+      for (int slot = 0; slot < files.getCapacity(); slot++) {
+        final String path = files.getPath(slot);
+        if (path != null) {
+          try {
+            allFiles.add(new File(path).getCanonicalPath());
+          } catch (final IOException ignored) {
+          }
+        }
+      }
+    }
+    allFiles.addAll(notifyCreated);
+    allFiles.addAll(notifyChanged);
+    allFiles.removeAll(notifyDeleted);
+    return allFiles;
+  }
+
   public Collection<String> getDirtyFiles(final String requestingClass) {
     synchronized (lock) {
+      dirtyFilesRequested.put(requestingClass, currentTimeMillis());
       final Collection<String> changesSinceLastRequest = changeMap.get(requestingClass);
       if (changesSinceLastRequest == null) {
         changeMap.put(requestingClass, new LinkedHashSet<String>());
-        return new LinkedHashSet<String>(allFiles);
+        return getAllFiles();
       }
       final Collection<String> copyOfChangesSinceLastRequest =
           new LinkedHashSet<String>(changesSinceLastRequest);
@@ -224,7 +304,7 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
   }
 
   private List<FileEvent> getFileCreationEvents(final MonitoringRequest request,
-      final Map<File, Long> priorFiles) {
+      final FileTimestamps priorFiles) {
     final List<FileEvent> createEvents = new ArrayList<FileEvent>();
     for (final Iterator<String> iter = notifyCreated.iterator(); iter.hasNext();) {
       final String filePath = iter.next();
@@ -238,7 +318,7 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
               FileOperation.CREATED, null));
           // Update the prior execution map so it isn't notified again
           // next round
-          priorFiles.put(thisFile, thisFile.lastModified());
+          priorFiles.put(thisFile.getPath(), thisFile.lastModified());
         }
       }
     }
@@ -246,7 +326,7 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
   }
 
   private List<FileEvent> getFileDeletionEvents(final MonitoringRequest request,
-      final Map<File, Long> priorFiles) {
+      final FileTimestamps priorFiles) {
     final List<FileEvent> deleteEvents = new ArrayList<FileEvent>();
     for (final Iterator<String> iter = notifyDeleted.iterator(); iter.hasNext();) {
       final String filePath = iter.next();
@@ -261,7 +341,7 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
               null));
           // Update the prior execution map so it isn't notified again
           // next round
-          priorFiles.remove(thisFile);
+          priorFiles.remove(thisFile.getPath());
         }
       }
     }
@@ -269,7 +349,7 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
   }
 
   private List<FileEvent> getFileUpdateEvents(final MonitoringRequest request,
-      final Map<File, Long> priorFiles) {
+      final FileTimestamps priorFiles) {
     final List<FileEvent> updateEvents = new ArrayList<FileEvent>();
     for (final Iterator<String> iter = notifyChanged.iterator(); iter.hasNext();) {
       final String filePath = iter.next();
@@ -283,7 +363,7 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
               FileOperation.UPDATED, null));
           // Update the prior execution map so it isn't notified again
           // next round
-          priorFiles.put(thisFile, thisFile.lastModified());
+          priorFiles.put(thisFile.getPath(), thisFile.lastModified());
           // Also remove it from the created list, if it's in there
           if (notifyCreated.contains(filePath)) {
             notifyCreated.remove(filePath);
@@ -303,9 +383,12 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
 
       for (final MonitoringRequest request : requests) {
         if (priorExecution.containsKey(request)) {
-          final Map<File, Long> priorFiles = priorExecution.get(request);
-          for (final Entry<File, Long> entry : priorFiles.entrySet()) {
-            monitored.add(new FileDetails(entry.getKey(), entry.getValue()));
+          final FileTimestamps priorFiles = priorExecution.get(request);
+          for (int slot = 0; slot < priorFiles.getCapacity(); slot++) {
+            final String path = priorFiles.getPath(slot);
+            if (path != null) {
+              monitored.add(new FileDetails(new File(path), priorFiles.getTimestamp(slot)));
+            }
           }
         }
       }
@@ -320,11 +403,37 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
     }
   }
 
-  private boolean isExcludedDirectory(final String path) {
+  /**
+   * Returns the current time, used to expire the changes kept for the
+   * callers of {@link #getDirtyFiles(String)}
+   * 
+   * @return the current time in milliseconds
+   */
+  long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  boolean isExcludedDirectory(final String path) {
     final boolean hasSrc = path.contains(File.separator + "src");
-    return !hasSrc
+    if (!hasSrc
         && (path.contains(File.separator + "target") || path.contains(File.separator + "bin"))
-        || hasSrc && path.contains(File.separator + "maven");
+        || hasSrc && path.contains(File.separator + "maven")) {
+      return true;
+    }
+    if (EXCLUDED_PATHS.isEmpty()) {
+      return false;
+    }
+    final String absolutePath = new File(path).getAbsolutePath();
+    for (final String excludedPath : EXCLUDED_PATHS) {
+      // Relative paths like "**/node_modules" can match anywhere, but the
+      // matcher requires both paths to start with a separator or not
+      if (FileUtils.matchesAntPath(excludedPath,
+          excludedPath.startsWith(File.separator) ? absolutePath : StringUtils.removeStart(
+              absolutePath, File.separator))) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
@@ -420,8 +529,21 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
       return;
     }
     for (final FileEvent event : eventsToPublish) {
-      updateChanges(event.getFileDetails().getCanonicalPath(),
-          event.getOperation() == FileOperation.DELETED);
+      final String canonicalPath = event.getFileDetails().getCanonicalPath();
+      updateChanges(canonicalPath, event.getOperation() == FileOperation.DELETED);
+      if (event.getOperation() == FileOperation.CREATED
+          || event.getOperation() == FileOperation.UPDATED
+          || event.getOperation() == FileOperation.DELETED) {
+        final String directory = new File(canonicalPath).getParent();
+        if (directory != null) {
+          recentDirectories.add(directory);
+        }
+        if (event.getOperation() == FileOperation.DELETED) {
+          recentFiles.remove(canonicalPath);
+        } else {
+          recentFiles.add(canonicalPath);
+        }
+      }
       for (final FileEventListener l : fileEventListeners) {
         l.onFileEvent(event);
       }
@@ -434,9 +556,9 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
       final List<FileEvent> eventsToPublish = new ArrayList<FileEvent>();
 
       // See when each file was last checked
-      Map<File, Long> priorFiles = priorExecution.get(request);
+      FileTimestamps priorFiles = priorExecution.get(request);
       if (priorFiles == null) {
-        priorFiles = new HashMap<File, Long>();
+        priorFiles = new FileTimestamps();
         priorExecution.put(request, priorFiles);
       }
 
@@ -500,12 +622,13 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
       if (priorExecution.containsKey(request)) {
         final List<FileEvent> eventsToPublish = new ArrayList<FileEvent>();
 
-        final Map<File, Long> priorFiles = priorExecution.get(request);
-        for (final Entry<File, Long> entry : priorFiles.entrySet()) {
-          final File thisFile = entry.getKey();
-          final Long lastModified = entry.getValue();
-          eventsToPublish.add(new FileEvent(new FileDetails(thisFile, lastModified),
-              FileOperation.MONITORING_FINISH, null));
+        final FileTimestamps priorFiles = priorExecution.get(request);
+        for (int slot = 0; slot < priorFiles.getCapacity(); slot++) {
+          final String path = priorFiles.getPath(slot);
+          if (path != null) {
+            eventsToPublish.add(new FileEvent(new FileDetails(new File(path), priorFiles
+                .getTimestamp(slot)), FileOperation.MONITORING_FINISH, null));
+          }
         }
         publish(eventsToPublish);
       }
@@ -535,7 +658,7 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
         }
 
         // Build contents of the monitored location
-        final Map<File, Long> currentExecution = new HashMap<File, Long>();
+        final FileTimestamps currentExecution = new FileTimestamps();
         computeEntries(currentExecution, request.getFile(), includeSubtree);
 
         final List<FileEvent> eventsToPublish = new ArrayList<FileEvent>();
@@ -543,15 +666,20 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
         if (priorExecution.containsKey(request)) {
           // Need to perform a comparison, as we have data from a
           // previous execution
-          final Map<File, Long> priorFiles = priorExecution.get(request);
+          final FileTimestamps priorFiles = priorExecution.get(request);
 
           // Locate created and modified files
-          for (final Entry<File, Long> entry : currentExecution.entrySet()) {
-            final File thisFile = entry.getKey();
-            final Long currentTimestamp = entry.getValue();
-            if (!priorFiles.containsKey(thisFile)) {
+          for (int slot = 0; slot < currentExecution.getCapacity(); slot++) {
+            final String path = currentExecution.getPath(slot);
+            if (path == null) {
+              continue;
+            }
+            final long currentTimestamp = currentExecution.getTimestamp(slot);
+            final long previousTimestamp = priorFiles.get(path);
+            if (previousTimestamp == FileTimestamps.ABSENT) {
               // This file did not exist last execution, so it
               // must be new
+              final File thisFile = new File(path);
               eventsToPublish.add(new FileEvent(new FileDetails(thisFile, currentTimestamp),
                   FileOperation.CREATED, null));
               try {
@@ -563,9 +691,9 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
               continue;
             }
 
-            final Long previousTimestamp = priorFiles.get(thisFile);
-            if (!currentTimestamp.equals(previousTimestamp)) {
+            if (currentTimestamp != previousTimestamp) {
               // Modified
+              final File thisFile = new File(path);
               eventsToPublish.add(new FileEvent(new FileDetails(thisFile, currentTimestamp),
                   FileOperation.UPDATED, null));
               try {
@@ -578,11 +706,14 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
           }
 
           // Now locate deleted files
-          priorFiles.keySet().removeAll(currentExecution.keySet());
-          for (final Entry<File, Long> entry : priorFiles.entrySet()) {
-            final File deletedFile = entry.getKey();
-            eventsToPublish.add(new FileEvent(new FileDetails(deletedFile, entry.getValue()),
-                FileOperation.DELETED, null));
+          for (int slot = 0; slot < priorFiles.getCapacity(); slot++) {
+            final String path = priorFiles.getPath(slot);
+            if (path == null || currentExecution.contains(path)) {
+              continue;
+            }
+            final File deletedFile = new File(path);
+            eventsToPublish.add(new FileEvent(new FileDetails(deletedFile, priorFiles
+                .getTimestamp(slot)), FileOperation.DELETED, null));
             try {
               // If this file was already going to be notified,
               // there is no need to do it twice
@@ -593,9 +724,12 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
         } else {
           // No data from previous execution, so it's a
           // newly-monitored location
-          for (final Entry<File, Long> entry : currentExecution.entrySet()) {
-            eventsToPublish.add(new FileEvent(new FileDetails(entry.getKey(), entry.getValue()),
-                FileOperation.MONITORING_START, null));
+          for (int slot = 0; slot < currentExecution.getCapacity(); slot++) {
+            final String path = currentExecution.getPath(slot);
+            if (path != null) {
+              eventsToPublish.add(new FileEvent(new FileDetails(new File(path), currentExecution
+                  .getTimestamp(slot)), FileOperation.MONITORING_START, null));
+            }
           }
         }
 
@@ -644,19 +778,28 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
     }
   }
 
-  private String getRooProjectVersion() {
-    String homePath = new File(".").getPath();
-    String pomPath = homePath + "/pom.xml";
-    File pom = new File(pomPath);
+  private String getRooProjectVersion(final File pom) {
     try {
       if (pom.exists()) {
         InputStream is = new FileInputStream(pom);
-        Document docXml = XmlUtils.readXml(is);
-        Element document = docXml.getDocumentElement();
-        Element rooVersionElement = XmlUtils.findFirstElement("properties/roo.version", document);
-        String rooVersion = rooVersionElement.getTextContent();
+        try {
+          Document docXml = XmlUtils.readXml(is);
+          Element document = docXml.getDocumentElement();
+          Element rooVersionElement =
+              XmlUtils.findFirstElement("properties/roo.version", document);
+          if (rooVersionElement == null) {
+            // Not a Roo project
+            return "UNKNOWN";
+          }
+          String rooVersion = rooVersionElement.getTextContent();
 
-        return rooVersion;
+          return rooVersion;
+        } finally {
+          try {
+            is.close();
+          } catch (final IOException ignored) {
+          }
+        }
       }
 
       return "UNKNOWN";
@@ -670,13 +813,20 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
 
 
   private boolean isDifferentVersion() {
-    String rooVersion = getRooProjectVersion();
+    String homePath = new File(".").getPath();
+    String pomPath = homePath + "/pom.xml";
+    File pom = new File(pomPath);
 
-    if ("UNKNOWN".equals(rooVersion)) {
-      return false;
+    // This is checked on every scan, so the pom.xml is only parsed again
+    // when it changes
+    final long lastModified = pom.lastModified();
+    if (lastModified != pomLastModified) {
+      pomLastModified = lastModified;
+      String rooVersion = getRooProjectVersion(pom);
+      differentVersion =
+          !"UNKNOWN".equals(rooVersion) && !rooVersion.equals(versionInfoWithoutGit());
     }
-
-    return !rooVersion.equals(versionInfoWithoutGit());
+    return differentVersion;
   }
 
   public static String versionInfoWithoutGit() {
@@ -727,18 +877,139 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
     }
   }
 
+  public int scanRecentlyChanged() {
+    synchronized (lock) {
+      if (requests.isEmpty() || recentDirectories.isEmpty() || isDifferentVersion()) {
+        // A version change defers events until the next full scan
+        return 0;
+      }
+
+      // Most recently changed first
+      final List<String> directories = new ArrayList<String>(recentDirectories);
+      Collections.reverse(directories);
+
+      int changes = 0;
+      for (final MonitoringRequest request : requests) {
+        final FileTimestamps priorFiles = priorExecution.get(request);
+        if (priorFiles == null || !(request instanceof DirectoryMonitoringRequest)) {
+          continue;
+        }
+        final DirectoryMonitoringRequest directoryRequest = (DirectoryMonitoringRequest) request;
+        final List<FileEvent> eventsToPublish = new ArrayList<FileEvent>();
+        for (final String directory : directories) {
+          final File file = getMonitoredDirectory(directoryRequest, directory);
+          if (file != null) {
+            scanDirectory(file, priorFiles, eventsToPublish);
+          }
+        }
+
+        // Only the recently changed files and their directories are checked
+        // for deletion, so the prior execution isn't walked every time; other
+        // deletions are found by the next full scan
+        final Set<String> candidates = new LinkedHashSet<String>(recentFiles);
+        candidates.addAll(recentDirectories);
+        for (final String candidate : candidates) {
+          final File candidateFile = new File(candidate);
+          final File directory =
+              candidateFile.getParent() == null ? null : getMonitoredDirectory(directoryRequest,
+                  candidateFile.getParent());
+          if (directory == null) {
+            continue;
+          }
+          final File file = new File(directory, candidateFile.getName());
+          if (priorFiles.contains(file.getPath()) && !file.exists()) {
+            eventsToPublish.add(new FileEvent(new FileDetails(file, priorFiles.remove(file
+                .getPath())), FileOperation.DELETED, null));
+            notifyDeleted.remove(candidate);
+          }
+        }
+        publish(eventsToPublish);
+        changes += eventsToPublish.size();
+      }
+      return changes;
+    }
+  }
+
+  /**
+   * Returns the given directory as the request refers to it, so the files it
+   * contains are equal to the keys of the prior execution of the request.
+   * 
+   * @param request the request
+   * @param directoryCanonicalPath the canonical path of the directory
+   * @return the directory, or null if the request doesn't monitor it
+   */
+  private File getMonitoredDirectory(final DirectoryMonitoringRequest request,
+      final String directoryCanonicalPath) {
+    String requestCanonicalPath;
+    try {
+      requestCanonicalPath = request.getFile().getCanonicalPath();
+    } catch (final IOException e) {
+      return null;
+    }
+    if (directoryCanonicalPath.equals(requestCanonicalPath)) {
+      return request.getFile();
+    }
+    if (!request.isWatchSubtree()
+        || !directoryCanonicalPath.startsWith(requestCanonicalPath + File.separator)
+        || isExcludedDirectory(directoryCanonicalPath)) {
+      return null;
+    }
+    return new File(request.getFile(),
+        directoryCanonicalPath.substring(requestCanonicalPath.length() + 1));
+  }
+
+  /**
+   * Compares the files of a single directory with the prior execution of its
+   * request, which is updated, in the same way as {@link #scanAll()} does for
+   * the whole request. Deleted files are left to the caller.
+   * 
+   * @param directory the directory to scan
+   * @param priorFiles the prior execution of the request monitoring it
+   * @param events where the creation and update events are added
+   */
+  private void scanDirectory(final File directory, final FileTimestamps priorFiles,
+      final List<FileEvent> events) {
+    final File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (final File file : files) {
+      if (file.getName().length() > 1 && file.getName().startsWith(".")
+          || file.getName().equals("log.roo") || file.isDirectory()
+          && isExcludedDirectory(file.getPath())) {
+        continue;
+      }
+      final long currentTimestamp = file.lastModified();
+      final long previousTimestamp = priorFiles.put(file.getPath(), currentTimestamp);
+      if (previousTimestamp == FileTimestamps.ABSENT) {
+        events.add(new FileEvent(new FileDetails(file, currentTimestamp), FileOperation.CREATED,
+            null));
+        notifyCreated.remove(FileUtils.getCanonicalPath(file));
+      } else if (currentTimestamp != previousTimestamp) {
+        events.add(new FileEvent(new FileDetails(file, currentTimestamp), FileOperation.UPDATED,
+            null));
+        notifyChanged.remove(FileUtils.getCanonicalPath(file));
+      }
+    }
+  }
+
   private void updateChanges(final String fileCanonicalPath, final boolean remove) {
-    for (final String requestingClass : changeMap.keySet()) {
+    final long now = currentTimeMillis();
+    for (final Iterator<Entry<String, Set<String>>> iter = changeMap.entrySet().iterator(); iter
+        .hasNext();) {
+      final Entry<String, Set<String>> changes = iter.next();
       if (remove) {
-        changeMap.get(requestingClass).remove(fileCanonicalPath);
+        changes.getValue().remove(fileCanonicalPath);
       } else {
-        changeMap.get(requestingClass).add(fileCanonicalPath);
+        changes.getValue().add(fileCanonicalPath);
+        if (changes.getValue().size() > MAX_PENDING_CHANGES
+            && now > dirtyFilesRequested.get(changes.getKey()) + DIRTY_FILES_EXPIRY) {
+          // The requesting class stopped asking for its changes; forget
+          // them, so it gets every file again if it ever asks
+          iter.remove();
+          dirtyFilesRequested.remove(changes.getKey());
+        }
       }
     }
-    if (remove) {
-      allFiles.remove(fileCanonicalPath);
-    } else {
-      allFiles.add(fileCanonicalPath);
-    }
   }
 }
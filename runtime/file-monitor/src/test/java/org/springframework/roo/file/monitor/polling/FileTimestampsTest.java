@@ -0,0 +1,78 @@
+package org.springframework.roo.file.monitor.polling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit test of {@link FileTimestamps}
+ *
+ * @since 2.0
+ */
+public class FileTimestampsTest {
+
+  private static final String PATH = "/project/src/main/java/Foo.java";
+
+  @Test
+  public void testAgreesWithHashMapOverRandomOperations() {
+    final Random random = new Random(42);
+    final FileTimestamps fileTimestamps = new FileTimestamps();
+    final Map<String, Long> expected = new HashMap<String, Long>();
+    for (int i = 0; i < 20000; i++) {
+      final String path = "/project/src/" + random.nextInt(2000) + "/Type.java";
+      final Long previous;
+      final long actual;
+      if (random.nextInt(3) == 0) {
+        previous = expected.remove(path);
+        actual = fileTimestamps.remove(path);
+      } else {
+        final long timestamp = random.nextInt(100);
+        previous = expected.put(path, timestamp);
+        actual = fileTimestamps.put(path, timestamp);
+      }
+      assertEquals(previous == null ? FileTimestamps.ABSENT : previous, actual);
+    }
+
+    assertEquals(expected.size(), fileTimestamps.size());
+    int visited = 0;
+    for (int slot = 0; slot < fileTimestamps.getCapacity(); slot++) {
+      final String path = fileTimestamps.getPath(slot);
+      if (path != null) {
+        visited++;
+        assertEquals(expected.get(path).longValue(), fileTimestamps.getTimestamp(slot));
+      }
+    }
+    assertEquals(expected.size(), visited);
+  }
+
+  @Test
+  public void testPutReplacesTheTimestamp() {
+    final FileTimestamps fileTimestamps = new FileTimestamps();
+
+    assertEquals(FileTimestamps.ABSENT, fileTimestamps.put(PATH, 1));
+    assertEquals(1, fileTimestamps.put(PATH, 2));
+
+    assertTrue(fileTimestamps.contains(PATH));
+    assertEquals(2, fileTimestamps.get(PATH));
+    assertEquals(1, fileTimestamps.size());
+  }
+
+  @Test
+  public void testRemove() {
+    final FileTimestamps fileTimestamps = new FileTimestamps();
+    fileTimestamps.put(PATH, 1);
+
+    assertEquals(1, fileTimestamps.remove(PATH));
+
+    assertFalse(fileTimestamps.contains(PATH));
+    assertEquals(FileTimestamps.ABSENT, fileTimestamps.get(PATH));
+    assertEquals(FileTimestamps.ABSENT, fileTimestamps.remove(PATH));
+    assertEquals(0, fileTimestamps.size());
+  }
+}
@@ -0,0 +1,180 @@
+package org.springframework.roo.file.monitor.polling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.roo.file.monitor.DirectoryMonitoringRequest;
+import org.springframework.roo.file.monitor.event.FileEvent;
+import org.springframework.roo.file.monitor.event.FileEventListener;
+import org.springframework.roo.file.monitor.event.FileOperation;
+
+/**
+ * Unit test of {@link PollingFileMonitorService}
+ *
+ * @since 2.0
+ */
+public class PollingFileMonitorServiceTest {
+
+  private static final String REQUESTING_CLASS = "com.foo.Requester";
+
+  /**
+   * Uses a clock set by the test
+   */
+  private static class TestPollingFileMonitorService extends PollingFileMonitorService {
+
+    private long now;
+
+    @Override
+    long currentTimeMillis() {
+      return now;
+    }
+  }
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private TestPollingFileMonitorService fileMonitorService;
+  private final List<File> deletedFiles = new ArrayList<File>();
+
+  @Before
+  public void setUp() {
+    fileMonitorService = new TestPollingFileMonitorService();
+  }
+
+  private File newFile(final File directory, final String name) throws IOException {
+    final File file = new File(directory, name);
+    assertTrue(file.createNewFile());
+    return file;
+  }
+
+  private void notifyChanges(final int count) {
+    for (int i = 0; i < count; i++) {
+      fileMonitorService.notifyChanged("/project/src/main/java/Type" + i + ".java");
+    }
+  }
+
+  @Test
+  public void testExcludedDirectories() {
+    assertTrue(fileMonitorService.isExcludedDirectory("/project/src/main/webapp/node_modules"));
+    assertTrue(fileMonitorService.isExcludedDirectory("/project/bower_components"));
+    assertTrue(fileMonitorService.isExcludedDirectory("/project/target"));
+    assertFalse(fileMonitorService.isExcludedDirectory("/project/src/main/java"));
+    assertFalse(fileMonitorService.isExcludedDirectory("/project/src/main/webapp/node"));
+  }
+
+  @Test
+  public void testScanSkipsExcludedDirectories() throws Exception {
+    // Set up
+    final File root = temporaryFolder.getRoot().getCanonicalFile();
+    final File sourceDirectory = new File(root, "src");
+    assertTrue(sourceDirectory.mkdir());
+    final File source = newFile(sourceDirectory, "Foo.java");
+    final File module = new File(root, "node_modules");
+    assertTrue(module.mkdir());
+    final File moduleFile = newFile(module, "index.js");
+    fileMonitorService.add(new DirectoryMonitoringRequest(root, true, FileOperation.values()));
+
+    // Invoke
+    fileMonitorService.scanAll();
+
+    // Check
+    final Collection<String> files = fileMonitorService.getDirtyFiles(REQUESTING_CLASS);
+    assertTrue(files.contains(source.getCanonicalPath()));
+    assertFalse(files.contains(module.getCanonicalPath()));
+    assertFalse(files.contains(moduleFile.getCanonicalPath()));
+  }
+
+  @Test
+  public void testRecentScanOnlyDetectsDeletionOfRecentlyChangedFiles() throws Exception {
+    // Set up
+    final File root = temporaryFolder.getRoot().getCanonicalFile();
+    final File unchanged = newFile(root, "Foo.java");
+    fileMonitorService.add(new DirectoryMonitoringRequest(root, false, FileOperation.values()));
+    fileMonitorService.scanAll();
+    fileMonitorService.add(new FileEventListener() {
+      public void onFileEvent(final FileEvent fileEvent) {
+        if (fileEvent.getOperation() == FileOperation.DELETED) {
+          deletedFiles.add(fileEvent.getFileDetails().getFile());
+        }
+      }
+    });
+    final File changed = newFile(root, "Bar.java");
+    fileMonitorService.scanAll();
+    assertTrue(changed.delete());
+    assertTrue(unchanged.delete());
+
+    // Invoke
+    fileMonitorService.scanRecentlyChanged();
+
+    // Check
+    assertEquals(Arrays.asList(changed), deletedFiles);
+
+    // The other deletion is left to the next full scan
+    fileMonitorService.scanAll();
+    assertEquals(Arrays.asList(changed, unchanged), deletedFiles);
+  }
+
+  @Test
+  public void testPendingChangesAreKeptWithinExpiry() {
+    // Set up
+    fileMonitorService.getDirtyFiles(REQUESTING_CLASS);
+    fileMonitorService.now = PollingFileMonitorService.DIRTY_FILES_EXPIRY;
+
+    // Invoke
+    notifyChanges(PollingFileMonitorService.MAX_PENDING_CHANGES + 1);
+
+    // Check
+    assertEquals(PollingFileMonitorService.MAX_PENDING_CHANGES + 1, fileMonitorService
+        .getDirtyFiles(REQUESTING_CLASS).size());
+  }
+
+  @Test
+  public void testFewPendingChangesAreKeptAfterExpiry() {
+    // Set up
+    fileMonitorService.getDirtyFiles(REQUESTING_CLASS);
+    fileMonitorService.now = PollingFileMonitorService.DIRTY_FILES_EXPIRY + 1;
+
+    // Invoke
+    notifyChanges(PollingFileMonitorService.MAX_PENDING_CHANGES);
+
+    // Check
+    assertEquals(PollingFileMonitorService.MAX_PENDING_CHANGES, fileMonitorService
+        .getDirtyFiles(REQUESTING_CLASS).size());
+  }
+
+  @Test
+  public void testAbandonedPendingChangesAreForgotten() throws Exception {
+    // Set up
+    final File root = temporaryFolder.getRoot().getCanonicalFile();
+    final File source = newFile(root, "Foo.java");
+    fileMonitorService.add(new DirectoryMonitoringRequest(root, false, FileOperation.values()));
+    fileMonitorService.scanAll();
+    fileMonitorService.getDirtyFiles(REQUESTING_CLASS);
+    fileMonitorService.now = PollingFileMonitorService.DIRTY_FILES_EXPIRY + 1;
+
+    // Invoke
+    notifyChanges(PollingFileMonitorService.MAX_PENDING_CHANGES + 1);
+
+    // Check
+    final Collection<String> files = fileMonitorService.getDirtyFiles(REQUESTING_CLASS);
+    assertTrue(files.contains(source.getCanonicalPath()));
+
+    // The caller is known again, so it gets the changes that follow
+    fileMonitorService.notifyChanged(source.getCanonicalPath());
+    final Collection<String> changes = fileMonitorService.getDirtyFiles(REQUESTING_CLASS);
+    assertEquals(1, changes.size());
+    assertTrue(changes.contains(source.getCanonicalPath()));
+  }
+}
@@ -2,15 +2,18 @@ package org.springframework.roo.metadata;
 
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Map.Entry;
 import java.util.SortedSet;
 import java.util.Stack;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Service;
+import org.springframework.roo.metadata.internal.LatencyHistogram;
 import org.springframework.roo.metadata.internal.StandardMetadataTimingStatistic;
 
 /**
@@ -29,18 +32,28 @@ public class DefaultMetadataLogger implements MetadataLogger {
     String responsibleClass;
   }
 
-  private long eventNumber = 0;
-  private final Stack<Long> eventStack = new Stack<Long>();
+  private final AtomicLong eventNumber = new AtomicLong();
+  /** The events of the current thread, used to indent the log */
+  private final ThreadLocal<Stack<Long>> eventStack = new ThreadLocal<Stack<Long>>() {
+    @Override
+    protected Stack<Long> initialValue() {
+      return new Stack<Long>();
+    }
+  };
   private FileWriter fileLog;
+  /** The timers of the current thread */
+  private final ThreadLocal<Stack<TimerEntry>> timerStack = new ThreadLocal<Stack<TimerEntry>>() {
+    @Override
+    protected Stack<TimerEntry> initialValue() {
+      return new Stack<TimerEntry>();
+    }
+  };
   /**
-   * key: responsible class, value: number of times a timing record was
-   * created for the responsible class
+   * key: responsible class, value: durations of the timing records created
+   * for the responsible class, in nanos
    */
-  private final Map<String, Long> invocations = new HashMap<String, Long>();
-  private final Class<DefaultMetadataLogger> mutex = DefaultMetadataLogger.class;
-  private final Stack<TimerEntry> timerStack = new Stack<TimerEntry>();
-  /** key: responsible class, value: nanos occupied */
-  private final Map<String, Long> timings = new HashMap<String, Long>();
+  private final ConcurrentMap<String, LatencyHistogram> timings =
+      new ConcurrentHashMap<String, LatencyHistogram>();
 
   private int traceLevel = 0;
 
@@ -52,11 +65,8 @@ public class DefaultMetadataLogger implements MetadataLogger {
 
   public SortedSet<MetadataTimingStatistic> getTimings() {
     final SortedSet<MetadataTimingStatistic> result = new TreeSet<MetadataTimingStatistic>();
-    synchronized (mutex) {
-      for (final String key : timings.keySet()) {
-        result
-            .add(new StandardMetadataTimingStatistic(key, timings.get(key), invocations.get(key)));
-      }
+    for (final Entry<String, LatencyHistogram> entry : timings.entrySet()) {
+      result.add(new StandardMetadataTimingStatistic(entry.getKey(), entry.getValue()));
     }
     return result;
   }
@@ -67,6 +77,7 @@ public class DefaultMetadataLogger implements MetadataLogger {
 
   public void log(final String message) {
     Validate.notBlank(message, "Message to log required");
+    final Stack<Long> eventStack = this.eventStack.get();
     Validate.isTrue(eventStack.size() > 0,
         "Event stack is empty, so no logging should have been requested at this time");
     final StringBuilder sb = new StringBuilder("00000000");
@@ -83,7 +94,7 @@ public class DefaultMetadataLogger implements MetadataLogger {
     logToFile(sb.toString());
   }
 
-  private void logToFile(final String line) {
+  private synchronized void logToFile(final String line) {
     if (fileLog == null) {
       try {
         // Overwrite existing (don't append)
@@ -107,13 +118,13 @@ public class DefaultMetadataLogger implements MetadataLogger {
   }
 
   public void startEvent() {
-    eventNumber++;
-    eventStack.push(eventNumber);
+    eventStack.get().push(eventNumber.incrementAndGet());
   }
 
   public void startTimer(final String responsibleClass) {
     Validate.notBlank(responsibleClass, "Responsible class required");
     final long now = System.nanoTime();
+    final Stack<TimerEntry> timerStack = this.timerStack.get();
     if (timerStack.size() > 0) {
       // There is an existing timer on the stack, so we need to stop the
       // clock for it
@@ -130,36 +141,35 @@ public class DefaultMetadataLogger implements MetadataLogger {
   }
 
   public void stopEvent() {
+    final Stack<Long> eventStack = this.eventStack.get();
     Validate.isTrue(eventStack.size() > 0,
         "Event stack is empty, indicating a mismatched number of timer start/stop calls");
     eventStack.pop();
   }
 
   public void stopTimer() {
+    final Stack<TimerEntry> timerStack = this.timerStack.get();
     Validate.isTrue(timerStack.size() > 0,
         "Timer stack is empty, indicating a mismatched number of timer start/stop calls");
     final long now = System.nanoTime();
     final TimerEntry timerEntry = timerStack.pop();
     timerEntry.duration = timerEntry.duration + now - timerEntry.clockStartedOrResumed;
     final String responsibleClass = timerEntry.responsibleClass;
+    if (timerStack.size() > 0) {
+      // Resume the clock of the timer stopped by startTimer()
+      timerStack.get(timerStack.size() - 1).clockStartedOrResumed = now;
+    }
 
-    // Update the timings summary
-    synchronized (mutex) {
-      Long existingSummary = timings.get(responsibleClass);
-      if (existingSummary == null) {
-        existingSummary = timerEntry.duration;
-      } else {
-        existingSummary = existingSummary + timerEntry.duration;
-      }
-      timings.put(responsibleClass, existingSummary);
-
-      // Update the invocation count
-      Long existingInvocations = invocations.get(responsibleClass);
-      if (existingInvocations == null) {
-        existingInvocations = 0L;
+    // Update the timings summary without locking, as metadata may be
+    // produced by several threads
+    LatencyHistogram histogram = timings.get(responsibleClass);
+    if (histogram == null) {
+      final LatencyHistogram newHistogram = new LatencyHistogram();
+      histogram = timings.putIfAbsent(responsibleClass, newHistogram);
+      if (histogram == null) {
+        histogram = newHistogram;
       }
-      existingInvocations++;
-      invocations.put(responsibleClass, existingInvocations);
     }
+    histogram.record(timerEntry.duration);
   }
 }
@@ -6,6 +6,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.Validate;
@@ -19,13 +20,16 @@ import org.apache.felix.scr.annotations.Service;
 import org.osgi.service.component.ComponentContext;
 import org.springframework.roo.metadata.internal.AbstractMetadataCache;
 import org.springframework.roo.metadata.internal.MetadataDependencyRegistryTracker;
+import org.springframework.roo.support.profile.CommandProfile.Counter;
+import org.springframework.roo.support.profile.CommandProfiler;
 
 /**
  * Default implementation of {@link MetadataService}.
  * <p>
- * This implementation is not thread safe. It should only be accessed by a
- * single thread at a time. This is enforced by the process manager semantics,
- * so we avoid the cost of re-synchronization here.
+ * Metadata is created, evicted and notified under a single lock, which keeps
+ * the bookkeeping of recursive requests and retries consistent. Cache hits
+ * don't take that lock, so other threads (e.g. the REST publisher or IDE
+ * integrations) can read cached metadata while a command is creating ITDs.
  *
  * @author Ben Alex
  * @author Enrique Ruiz at DISID Corporation S.L.
@@ -44,10 +48,10 @@ public class DefaultMetadataService extends AbstractMetadataCache implements Met
   // Request control
   // List to assist output "stacks"which show the order of requests
   private final List<String> activeRequests = new ArrayList<String>();
-  private int cacheEvictions = 0;
-  private int cacheHits = 0;
-  private int cacheMisses = 0;
-  private int cachePuts = 0;
+  private final AtomicInteger cacheEvictions = new AtomicInteger();
+  private final AtomicInteger cacheHits = new AtomicInteger();
+  private final AtomicInteger cacheMisses = new AtomicInteger();
+  private final AtomicInteger cachePuts = new AtomicInteger();
   // List to help us verify correct operation through logs (predictable
   // ordering)
   private final List<String> keysToRetry = new ArrayList<String>();
@@ -55,8 +59,8 @@ public class DefaultMetadataService extends AbstractMetadataCache implements Met
   private final Object lock = new Object();
   private final Map<String, MetadataProvider> providerMap = new HashMap<String, MetadataProvider>();
   private final Set<MetadataProvider> providers = new HashSet<MetadataProvider>();
-  private int recursiveGets = 0;
-  private int validGets = 0;
+  private final AtomicInteger recursiveGets = new AtomicInteger();
+  private final AtomicInteger validGets = new AtomicInteger();
 
   protected MetadataDependencyRegistryTracker registryTracker = null;
 
@@ -153,10 +157,30 @@ public class DefaultMetadataService extends AbstractMetadataCache implements Met
         MetadataIdentificationUtils.isIdentifyingInstance(metadataIdentificationString),
         "Metadata identification string '%s' does not identify a metadata instance",
         metadataIdentificationString);
+    validGets.incrementAndGet();
+    CommandProfiler.increment(Counter.METADATA_GETS);
+
+    // Serve cache hits without the lock, which is only needed to create
+    // metadata; the lock isn't held across the whole request, so another
+    // thread may evict the item right after we return it, as it could have
+    // done right before
+    if (cacheRetrievalAllowed && !evictCache) {
+      final MetadataItem result = getFromCache(metadataIdentificationString);
+      if (result != null) {
+        cacheHits.incrementAndGet();
+        if (metadataLogger.getTraceLevel() > 0) {
+          metadataLogger.startEvent();
+          try {
+            metadataLogger.log("Cache hit " + metadataIdentificationString);
+          } finally {
+            metadataLogger.stopEvent();
+          }
+        }
+        return result;
+      }
+    }
 
     synchronized (lock) {
-      validGets++;
-
       try {
         metadataLogger.startEvent();
 
@@ -166,7 +190,7 @@ public class DefaultMetadataService extends AbstractMetadataCache implements Met
           if (metadataLogger.getTraceLevel() > 0) {
             metadataLogger.log("Evicting " + metadataIdentificationString);
           }
-          cacheEvictions++;
+          cacheEvictions.incrementAndGet();
         }
 
         // We can use the cache even for a recursive get (unless of
@@ -175,7 +199,7 @@ public class DefaultMetadataService extends AbstractMetadataCache implements Met
           // Try the cache first
           final MetadataItem result = getFromCache(metadataIdentificationString);
           if (result != null) {
-            cacheHits++;
+            cacheHits.incrementAndGet();
             if (metadataLogger.getTraceLevel() > 0) {
               metadataLogger.log("Cache hit " + metadataIdentificationString);
             }
@@ -186,12 +210,12 @@ public class DefaultMetadataService extends AbstractMetadataCache implements Met
         if (metadataLogger.getTraceLevel() > 0) {
           metadataLogger.log("Cache miss " + metadataIdentificationString);
         }
-        cacheMisses++;
+        cacheMisses.incrementAndGet();
 
         // Determine if this MID was already requested earlier. We need
         // to stop these infinite requests from occurring.
         if (activeRequests.contains(metadataIdentificationString)) {
-          recursiveGets++;
+          recursiveGets.incrementAndGet();
           if (!keysToRetry.contains(metadataIdentificationString)) {
             if (metadataLogger.getTraceLevel() > 0) {
               metadataLogger.log("Blocked recursive request for " + metadataIdentificationString);
@@ -234,7 +258,7 @@ public class DefaultMetadataService extends AbstractMetadataCache implements Met
             metadataLogger.log("Evicting unavailable item " + metadataIdentificationString);
           }
           evict(metadataIdentificationString);
-          cacheEvictions++;
+          cacheEvictions.incrementAndGet();
         }
 
         // Put into the cache, provided it isn't null
@@ -243,7 +267,7 @@ public class DefaultMetadataService extends AbstractMetadataCache implements Met
             metadataLogger.log("Caching " + metadataIdentificationString);
           }
           super.put(result);
-          cachePuts++;
+          cachePuts.incrementAndGet();
         }
 
         activeRequests.remove(metadataIdentificationString);
@@ -303,6 +327,7 @@ public class DefaultMetadataService extends AbstractMetadataCache implements Met
     Validate.isTrue(MetadataIdentificationUtils.isValid(downstreamDependency),
         "Downstream dependency is an invalid metadata identification string ('%s')",
         downstreamDependency);
+    CommandProfiler.increment(Counter.NOTIFICATIONS);
 
     MetadataDependencyRegistry registry = this.registryTracker.getService();
 
@@ -341,18 +366,18 @@ public class DefaultMetadataService extends AbstractMetadataCache implements Met
   @Override
   public void put(final MetadataItem metadataItem) {
     super.put(metadataItem);
-    cachePuts++;
+    cachePuts.incrementAndGet();
   }
 
   @Override
   public final String toString() {
     final ToStringBuilder builder = new ToStringBuilder(this);
-    builder.append("validGets", validGets);
-    builder.append("recursiveGets", recursiveGets);
-    builder.append("cachePuts", cachePuts);
-    builder.append("cacheHits", cacheHits);
-    builder.append("cacheMisses", cacheMisses);
-    builder.append("cacheEvictions", cacheEvictions);
+    builder.append("validGets", validGets.get());
+    builder.append("recursiveGets", recursiveGets.get());
+    builder.append("cachePuts", cachePuts.get());
+    builder.append("cacheHits", cacheHits.get());
+    builder.append("cacheMisses", cacheMisses.get());
+    builder.append("cacheEvictions", cacheEvictions.get());
     builder.append("cacheCurrentSize", getCacheSize());
     builder.append("cacheMaximumSize", getMaxCapacity());
     return builder.toString().replaceFirst("@[0-9a-f]+", ":");
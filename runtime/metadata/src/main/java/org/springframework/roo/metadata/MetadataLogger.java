@@ -15,8 +15,9 @@ import java.util.SortedSet;
  * for more metadata. If more metadata is requested, new
  * {@link #startTimer(String)} invocations will take place. As each metadata
  * provider completes its work, the {@link #stopTimer()} method is called. This
- * aggregates timing information and makes it available via
- * {@link #getTimings()}.
+ * aggregates timing information, including the distribution of the durations
+ * of each responsible class, and makes it available via {@link #getTimings()}.
+ * Timers are kept per thread, so metadata can be produced concurrently.
  * <p>
  * Metadata logging is similar. Before logging can take place,
  * {@link #startEvent()} should be invoked. The definition of an "event" varies,
@@ -14,12 +14,29 @@ public interface MetadataTimingStatistic extends Comparable<MetadataTimingStatis
    */
   long getInvocations();
 
+  /**
+   * @return the longest invocation associated with this {@link #getName()},
+   *         in nanoseconds, or zero if unknown
+   * @since 2.0
+   */
+  long getMaximum();
+
   /**
    * @return an identifier to differentiate this timing statistic from another
    *         (never null or empty)
    */
   String getName();
 
+  /**
+   * Returns the duration below which the given percentage of invocations
+   * associated with this {@link #getName()} fall.
+   *
+   * @param percentile the percentage, e.g. 95
+   * @return the duration in nanoseconds, or zero if unknown
+   * @since 2.0
+   */
+  long getPercentile(double percentile);
+
   /**
    * @return the number of nanoseconds associated with this {@link #getName()}
    *         .
@@ -11,6 +11,11 @@ import org.springframework.roo.metadata.MetadataItem;
 /**
  * Basic {@link MetadataCache} that stores elements on a least recently used
  * (LRU) basis.
+ * <p>
+ * The cache can be used from several threads: as reads update the LRU order,
+ * every access is synchronized, but only for the duration of the map
+ * operation, so subclasses can serve cached items without holding their own
+ * locks.
  * 
  * @author Ben Alex
  * @since 1.0
@@ -19,8 +24,9 @@ public abstract class AbstractMetadataCache implements MetadataCache {
 
   private static final float hashTableLoadFactor = 0.75f;
 
+  private final Object cacheLock = new Object();
   private LinkedHashMap<String, MetadataItem> map;
-  private int maxCapacity = 100000;
+  private volatile int maxCapacity = 100000;
 
   protected AbstractMetadataCache() {
     init();
@@ -30,7 +36,9 @@ public abstract class AbstractMetadataCache implements MetadataCache {
     Validate.isTrue(
         MetadataIdentificationUtils.isIdentifyingInstance(metadataIdentificationString),
         "Only metadata instances can be cached (not '%s')", metadataIdentificationString);
-    map.remove(metadataIdentificationString);
+    synchronized (cacheLock) {
+      map.remove(metadataIdentificationString);
+    }
   }
 
   public void evictAll() {
@@ -38,14 +46,18 @@ public abstract class AbstractMetadataCache implements MetadataCache {
   }
 
   protected int getCacheSize() {
-    return map.size();
+    synchronized (cacheLock) {
+      return map.size();
+    }
   }
 
   protected MetadataItem getFromCache(final String metadataIdentificationString) {
     Validate.isTrue(
         MetadataIdentificationUtils.isIdentifyingInstance(metadataIdentificationString),
         "Only metadata instances can be cached (not '%s')", metadataIdentificationString);
-    return map.get(metadataIdentificationString);
+    synchronized (cacheLock) {
+      return map.get(metadataIdentificationString);
+    }
   }
 
   public int getMaxCapacity() {
@@ -54,19 +66,23 @@ public abstract class AbstractMetadataCache implements MetadataCache {
 
   private void init() {
     final int hashTableCapacity = (int) Math.ceil(maxCapacity / hashTableLoadFactor) + 1;
-    map = new LinkedHashMap<String, MetadataItem>(hashTableCapacity, hashTableLoadFactor, true) {
-      private static final long serialVersionUID = 1;
+    synchronized (cacheLock) {
+      map = new LinkedHashMap<String, MetadataItem>(hashTableCapacity, hashTableLoadFactor, true) {
+        private static final long serialVersionUID = 1;
 
-      @Override
-      protected boolean removeEldestEntry(final Map.Entry<String, MetadataItem> eldest) {
-        return size() > maxCapacity;
-      }
-    };
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, MetadataItem> eldest) {
+          return size() > maxCapacity;
+        }
+      };
+    }
   }
 
   public void put(final MetadataItem metadataItem) {
     Validate.notNull(metadataItem, "A metadata item is required");
-    map.put(metadataItem.getId(), metadataItem);
+    synchronized (cacheLock) {
+      map.put(metadataItem.getId(), metadataItem);
+    }
   }
 
   public void setMaxCapacity(int maxCapacity) {
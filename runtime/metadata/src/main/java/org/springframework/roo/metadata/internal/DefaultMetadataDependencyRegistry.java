@@ -17,6 +17,8 @@ import org.springframework.roo.metadata.MetadataIdentificationUtils;
 import org.springframework.roo.metadata.MetadataLogger;
 import org.springframework.roo.metadata.MetadataNotificationListener;
 import org.springframework.roo.metadata.MetadataService;
+import org.springframework.roo.support.profile.CommandProfile.Phase;
+import org.springframework.roo.support.profile.CommandProfiler;
 
 /**
  * Default implementation of {@link MetadataDependencyRegistry}.
@@ -173,6 +175,7 @@ public class DefaultMetadataDependencyRegistry implements MetadataDependencyRegi
   }
 
   public void notifyDownstream(final String upstreamDependency) {
+    final long phaseStart = CommandProfiler.startPhase(Phase.NOTIFICATION);
     try {
       metadataLogger.startEvent();
 
@@ -253,6 +256,7 @@ public class DefaultMetadataDependencyRegistry implements MetadataDependencyRegi
       }
     } finally {
       metadataLogger.stopEvent();
+      CommandProfiler.endPhase(Phase.NOTIFICATION, phaseStart);
     }
   }
 
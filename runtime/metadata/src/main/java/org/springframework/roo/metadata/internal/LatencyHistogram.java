@@ -0,0 +1,124 @@
+package org.springframework.roo.metadata.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Histogram of durations in nanoseconds which can be recorded from many
+ * threads without locking.
+ * <p>
+ * Like an HDR histogram, values are counted in buckets whose width grows with
+ * the magnitude of the value: every power of two is split into
+ * {@value #SUB_BUCKET_COUNT} buckets, so percentiles are reported with an
+ * error of at most 1/{@value #SUB_BUCKET_COUNT} of their value while a few
+ * kilobytes cover every possible duration.
+ *
+ * @since 2.0
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  /**
+   * Returns the bucket of the given value. Values lower than
+   * {@link #SUB_BUCKET_COUNT} have a bucket each; higher values are bucketed
+   * by their highest bit and the {@link #SUB_BUCKET_BITS} bits after it.
+   */
+  static int getBucket(final long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    final int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    final int shift = highestBit - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+  }
+
+  /**
+   * Returns the highest value counted in the given bucket.
+   */
+  static long getHighestValue(final int bucket) {
+    if (bucket < SUB_BUCKET_COUNT) {
+      return bucket;
+    }
+    final int shift = bucket / SUB_BUCKET_COUNT - 1;
+    final long lowestValue = (long) (SUB_BUCKET_COUNT + bucket % SUB_BUCKET_COUNT) << shift;
+    return lowestValue + (1L << shift) - 1;
+  }
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong maximum = new AtomicLong();
+  private final AtomicLong total = new AtomicLong();
+
+  /**
+   * @return the number of recorded values
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * @return the highest recorded value, or zero if none was recorded
+   */
+  public long getMaximum() {
+    return maximum.get();
+  }
+
+  /**
+   * Returns the value below which the given percentage of the recorded
+   * values fall.
+   *
+   * @param percentile the percentage, between 0 (exclusive) and 100
+   * @return the value, never above the maximum, or zero if no value was
+   *         recorded
+   */
+  public long getPercentile(final double percentile) {
+    Validate.isTrue(percentile > 0 && percentile <= 100, "Percentile must be in (0, 100]");
+    // Read the buckets once, as values may be recorded at the same time
+    final long[] snapshot = new long[BUCKET_COUNT];
+    long recorded = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      snapshot[i] = counts.get(i);
+      recorded += snapshot[i];
+    }
+    if (recorded == 0) {
+      return 0;
+    }
+    final long rank = (long) Math.ceil(recorded * percentile / 100);
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(getHighestValue(i), getMaximum());
+      }
+    }
+    return getMaximum();
+  }
+
+  /**
+   * @return the sum of the recorded values
+   */
+  public long getTotal() {
+    return total.get();
+  }
+
+  /**
+   * Records a value.
+   *
+   * @param value the value to record; negative values are recorded as zero
+   */
+  public void record(final long value) {
+    final long nonNegative = Math.max(0, value);
+    counts.incrementAndGet(getBucket(nonNegative));
+    total.addAndGet(nonNegative);
+    count.incrementAndGet();
+    long currentMaximum = maximum.get();
+    while (nonNegative > currentMaximum && !maximum.compareAndSet(currentMaximum, nonNegative)) {
+      currentMaximum = maximum.get();
+    }
+  }
+}
@@ -19,9 +19,13 @@ public class StandardMetadataTimingStatistic implements MetadataTimingStatistic
   private static final String TIME_FORMAT = "%"
       + (String.valueOf(NANOSECONDS_IN_MILLISECOND).length() - 1) + "d";
 
+  private static final double[] PERCENTILES = {50, 95, 99};
+
   private final long invocations;
+  private final long maximum;
   private final String name;
   private final long nanoseconds;
+  private final long[] percentiles;
 
   /**
    * Constructor
@@ -38,6 +42,41 @@ public class StandardMetadataTimingStatistic implements MetadataTimingStatistic
     this.invocations = invocations;
     this.name = name;
     this.nanoseconds = nanoseconds;
+    maximum = 0;
+    percentiles = null;
+  }
+
+  /**
+   * Constructor for the current values of the given histogram, whose
+   * percentiles are reported too
+   *
+   * @param name (required)
+   * @param histogram the durations of the invocations in nanoseconds
+   *            (required)
+   * @since 2.0
+   */
+  public StandardMetadataTimingStatistic(final String name, final LatencyHistogram histogram) {
+    Validate.notBlank(name, "Name required");
+    Validate.notNull(histogram, "Histogram required");
+    this.name = name;
+    invocations = histogram.getCount();
+    nanoseconds = histogram.getTotal();
+    maximum = histogram.getMaximum();
+    percentiles = new long[PERCENTILES.length];
+    for (int i = 0; i < PERCENTILES.length; i++) {
+      percentiles[i] = histogram.getPercentile(PERCENTILES[i]);
+    }
+  }
+
+  private void appendTime(final StringBuilder sb, final long nanoseconds) {
+    if (nanoseconds < NANOSECONDS_IN_MILLISECOND) {
+      // Display as nanoseconds
+      sb.append(String.format(TIME_FORMAT, nanoseconds)).append(" ns");
+    } else {
+      // Display as milliseconds
+      sb.append(String.format(TIME_FORMAT, nanoseconds / NANOSECONDS_IN_MILLISECOND)).append(
+          " ms");
+    }
   }
 
   public int compareTo(final MetadataTimingStatistic o) {
@@ -60,10 +99,25 @@ public class StandardMetadataTimingStatistic implements MetadataTimingStatistic
     return invocations;
   }
 
+  public long getMaximum() {
+    return maximum;
+  }
+
   public String getName() {
     return name;
   }
 
+  public long getPercentile(final double percentile) {
+    if (percentiles != null) {
+      for (int i = 0; i < PERCENTILES.length; i++) {
+        if (PERCENTILES[i] == percentile) {
+          return percentiles[i];
+        }
+      }
+    }
+    return 0;
+  }
+
   public long getTime() {
     return nanoseconds;
   }
@@ -77,15 +131,18 @@ public class StandardMetadataTimingStatistic implements MetadataTimingStatistic
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder();
-    if (nanoseconds < NANOSECONDS_IN_MILLISECOND) {
-      // Display as nanoseconds
-      sb.append(String.format(TIME_FORMAT, nanoseconds)).append(" ns; ");
-    } else {
-      // Display as milliseconds
-      sb.append(String.format(TIME_FORMAT, nanoseconds / 1000000)).append(" ms; ");
+    appendTime(sb, nanoseconds);
+    sb.append("; ").append(String.format(INVOCATION_COUNT_FORMAT, invocations))
+        .append(" call(s)");
+    if (percentiles != null) {
+      for (int i = 0; i < PERCENTILES.length; i++) {
+        sb.append("; p").append((int) PERCENTILES[i]).append(' ');
+        appendTime(sb, percentiles[i]);
+      }
+      sb.append("; max ");
+      appendTime(sb, maximum);
     }
-    sb.append(String.format(INVOCATION_COUNT_FORMAT, invocations)).append(" call(s): ");
-    sb.append(name);
+    sb.append(": ").append(name);
     return sb.toString();
   }
 }
@@ -1,16 +1,79 @@
 package org.springframework.roo.metadata;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
 public class DefaultMetadataServiceTest {
 
+  private static class TestMetadataItem extends AbstractMetadataItem {
+
+    TestMetadataItem(final String id) {
+      super(id);
+    }
+  }
+
+  private static final String CACHED_ID = MetadataIdentificationUtils.create(
+      TestMetadataItem.class.getName(), "cached");
+  private static final String CREATED_ID = MetadataIdentificationUtils.create(
+      TestMetadataItem.class.getName(), "created");
+
   private static final String TO_STRING_FOR_NEW_INSTANCE =
       "org.springframework.roo.metadata.DefaultMetadataService:" + "[validGets=0,"
           + "recursiveGets=0," + "cachePuts=0," + "cacheHits=0," + "cacheMisses=0,"
           + "cacheEvictions=0," + "cacheCurrentSize=0," + "cacheMaximumSize=100000]";
 
+  @Test
+  public void testCacheHitWhileAnotherThreadCreatesMetadata() throws Exception {
+    // Set up
+    final DefaultMetadataService metadataService = new DefaultMetadataService();
+    final Field metadataLogger = DefaultMetadataService.class.getDeclaredField("metadataLogger");
+    metadataLogger.setAccessible(true);
+    metadataLogger.set(metadataService, new DefaultMetadataLogger());
+    final CountDownLatch creating = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    metadataService.bindMetadataProvider(new MetadataProvider() {
+      public MetadataItem get(final String metadataIdentificationString) {
+        creating.countDown();
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return new TestMetadataItem(metadataIdentificationString);
+      }
+
+      public String getProvidesType() {
+        return MetadataIdentificationUtils.create(TestMetadataItem.class.getName());
+      }
+    });
+    final MetadataItem cached = new TestMetadataItem(CACHED_ID);
+    metadataService.put(cached);
+    final Thread creator = new Thread() {
+      @Override
+      public void run() {
+        metadataService.get(CREATED_ID);
+      }
+    };
+    creator.start();
+
+    try {
+      assertTrue(creating.await(10, TimeUnit.SECONDS));
+
+      // Invoke and check
+      assertSame(cached, metadataService.get(CACHED_ID));
+    } finally {
+      release.countDown();
+      creator.join();
+    }
+  }
+
   @Test
   public void testToStringOfNewInstance() {
     assertEquals(TO_STRING_FOR_NEW_INSTANCE, new DefaultMetadataService().toString());
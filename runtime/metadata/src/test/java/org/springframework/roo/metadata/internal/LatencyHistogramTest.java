@@ -0,0 +1,78 @@
+package org.springframework.roo.metadata.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit test of {@link LatencyHistogram}
+ *
+ * @since 2.0
+ */
+public class LatencyHistogramTest {
+
+  @Test
+  public void testBucketsCoverEveryValue() {
+    for (final long value : new long[] {0, 1, 15, 16, 17, 1000, 999999, 1L << 40,
+        Long.MAX_VALUE}) {
+      final int bucket = LatencyHistogram.getBucket(value);
+      assertTrue(LatencyHistogram.getHighestValue(bucket) >= value);
+      assertTrue(bucket == 0 || LatencyHistogram.getHighestValue(bucket - 1) < value);
+    }
+  }
+
+  @Test
+  public void testEmptyHistogram() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMaximum());
+    assertEquals(0, histogram.getPercentile(99));
+  }
+
+  @Test
+  public void testPercentilesAreWithinPrecision() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000);
+    }
+
+    assertEquals(1000, histogram.getCount());
+    assertEquals(500500000, histogram.getTotal());
+    assertEquals(1000000, histogram.getMaximum());
+    assertEquals(1000000, histogram.getPercentile(100));
+    for (final double percentile : new double[] {50, 95, 99}) {
+      final long expected = (long) (percentile * 10000);
+      final long actual = histogram.getPercentile(percentile);
+      assertTrue(actual >= expected);
+      assertTrue(actual - expected <= expected / LatencyHistogram.SUB_BUCKET_COUNT);
+    }
+  }
+
+  @Test
+  public void testRecordFromSeveralThreads() throws Exception {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    final Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; i++) {
+      final long value = i + 1;
+      threads[i] = new Thread() {
+        @Override
+        public void run() {
+          for (int j = 0; j < 1000; j++) {
+            histogram.record(value);
+          }
+        }
+      };
+      threads[i].start();
+    }
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(4000, histogram.getCount());
+    assertEquals(10000, histogram.getTotal());
+    assertEquals(4, histogram.getMaximum());
+    assertEquals(2, histogram.getPercentile(50));
+  }
+}
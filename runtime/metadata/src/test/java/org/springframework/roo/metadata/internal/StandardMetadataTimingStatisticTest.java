@@ -52,4 +52,15 @@ public class StandardMetadataTimingStatisticTest {
   public void testToStringForTwoMilliseconds() {
     assertToString(NANOSECONDS_IN_MILLISECOND * 2, "     2 ms;     5 call(s): MyProcess");
   }
+
+  @Test
+  public void testToStringWithPercentiles() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(NANOSECONDS_IN_MILLISECOND / 2);
+    histogram.record(NANOSECONDS_IN_MILLISECOND * 3);
+
+    assertEquals("     3 ms;     2 call(s); p50 507903 ns; p95      3 ms; p99      3 ms; "
+        + "max      3 ms: MyProcess",
+        new StandardMetadataTimingStatistic(NAME, histogram).toString());
+  }
 }
@@ -76,8 +76,9 @@ public interface ImportRegistrationResolver {
    * Indicates whether the presented {@link JavaType} can be legally presented
    * to {@link #addImport(JavaType)}. It is considered legal only if the
    * presented {@link JavaType} is of type {@link DataType#TYPE}, there is not
-   * an existing conflicting registered import, and the proposed type is not
-   * within the default package. Note it is legal to add types from the same
+   * an existing conflicting registered import, the proposed type is not
+   * within the default package and its simple name is not the name of a
+   * java.lang type. Note it is legal to add types from the same
    * package as the compilation unit, and indeed may be required by
    * implementations that are otherwise unaware of all the types available in
    * a particular package.
@@ -22,6 +22,9 @@ public class ImportRegistrationResolverImpl implements ImportRegistrationResolve
   private final SortedMap<JavaType, Boolean> registeredImports = new TreeMap<JavaType, Boolean>(
       new Comparator<JavaType>() {
         public int compare(final JavaType o1, final JavaType o2) {
+          if (o1 == o2) {
+            return 0;
+          }
           return o1.getFullyQualifiedTypeName().compareTo(o2.getFullyQualifiedTypeName());
         }
       });
@@ -78,17 +81,26 @@ public class ImportRegistrationResolverImpl implements ImportRegistrationResolve
       return false;
     }
 
+    if (JdkJavaType.isPartOfJavaLang(javaType.getSimpleTypeName())) {
+      // It would shadow the java.lang type with the same simple name, which
+      // is used without being imported
+      return false;
+    }
+
     // Must be a class, so it's legal if there isn't an existing
     // registration that conflicts
+    return !isSimpleTypeNameRegistered(javaType.getSimpleTypeName());
+  }
+
+  private boolean isSimpleTypeNameRegistered(final String simpleTypeName) {
     for (final Entry<JavaType, Boolean> entry : registeredImports.entrySet()) {
       JavaType candidate = entry.getKey();
-      if (candidate.getSimpleTypeName().equals(javaType.getSimpleTypeName())) {
+      if (candidate.getSimpleTypeName().equals(simpleTypeName)) {
         // Conflict detected
-        return false;
+        return true;
       }
     }
-
-    return true;
+    return false;
   }
 
   public boolean isFullyQualifiedFormRequired(final JavaType javaType) {
@@ -107,8 +119,8 @@ public class ImportRegistrationResolverImpl implements ImportRegistrationResolve
 
     if (compilationUnitPackage.equals(javaType.getPackage())) {
       // No need for an explicit registration, given it's in the same
-      // package
-      return false;
+      // package, unless an imported type shadows it
+      return isSimpleTypeNameRegistered(javaType.getSimpleTypeName());
     }
 
     if (JdkJavaType.isPartOfJavaLang(javaType)) {
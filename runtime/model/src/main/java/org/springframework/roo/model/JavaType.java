@@ -16,6 +16,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The declaration of a Java type (i.e. contains no details of its members).
@@ -34,6 +36,13 @@ import java.util.Vector;
  */
 public class JavaType implements Comparable<JavaType> {
 
+  // Canonical instances, see intern(JavaType) and getInstance(String)
+  private static final int MAX_CANONICAL_TYPES = 50000;
+  private static final ConcurrentMap<CanonicalKey, JavaType> CANONICAL_TYPES =
+      new ConcurrentHashMap<CanonicalKey, JavaType>();
+  private static final ConcurrentMap<String, JavaType> CANONICAL_NAMED_TYPES =
+      new ConcurrentHashMap<String, JavaType>();
+
   public static final JavaType BOOLEAN_OBJECT = new JavaType("java.lang.Boolean");
   public static final JavaType BOOLEAN_PRIMITIVE = new JavaType("java.lang.Boolean", 0,
       DataType.PRIMITIVE, null, null);
@@ -166,8 +175,8 @@ public class JavaType implements Comparable<JavaType> {
   public static JavaType getInstance(final String fullyQualifiedTypeName,
       final int arrayDimensions, final DataType dataType, final JavaSymbolName argName,
       final JavaType... parameters) {
-    return new JavaType(fullyQualifiedTypeName, arrayDimensions, dataType, argName,
-        Arrays.asList(parameters));
+    return intern(new JavaType(fullyQualifiedTypeName, arrayDimensions, dataType, argName,
+        Arrays.asList(parameters)));
   }
 
   /**
@@ -192,8 +201,76 @@ public class JavaType implements Comparable<JavaType> {
   public static JavaType getInstance(final String fullyQualifiedTypeName,
       final JavaType enclosingType, final int arrayDimensions, final DataType dataType,
       final JavaSymbolName argName, final JavaType... parameters) {
-    return new JavaType(fullyQualifiedTypeName, enclosingType, arrayDimensions, dataType, argName,
-        Arrays.asList(parameters), null);
+    return intern(new JavaType(fullyQualifiedTypeName, enclosingType, arrayDimensions, dataType,
+        argName, Arrays.asList(parameters), null));
+  }
+
+  /**
+   * Returns the canonical {@link JavaType} for the given fully qualified type
+   * name, equivalent to {@link #JavaType(String)}. Repeated calls with the
+   * same name return the same instance without creating a new one.
+   *
+   * @param fullyQualifiedTypeName the name (as per the rules of
+   *            {@link #JavaType(String)}; mandatory)
+   * @return the canonical instance (never null)
+   * @since 2.0
+   */
+  public static JavaType getInstance(final String fullyQualifiedTypeName) {
+    JavaType javaType = CANONICAL_NAMED_TYPES.get(fullyQualifiedTypeName);
+    if (javaType == null) {
+      javaType = intern(new JavaType(fullyQualifiedTypeName));
+      if (CANONICAL_NAMED_TYPES.size() >= MAX_CANONICAL_TYPES) {
+        CANONICAL_NAMED_TYPES.clear();
+      }
+      CANONICAL_NAMED_TYPES.put(fullyQualifiedTypeName, javaType);
+    }
+    return javaType;
+  }
+
+  /**
+   * Returns the canonical instance of the given {@link JavaType}. Canonical
+   * instances are shared by all identical types, that is types with the same
+   * name, enclosing type, array dimensions, data type, argument name,
+   * parameters and module, so they can be compared by identity before
+   * falling back to {@link #equals(Object)}, and their names are only
+   * calculated once.
+   *
+   * @param javaType the type to canonicalize (can be null)
+   * @return the canonical instance, or null if the given type is null
+   * @since 2.0
+   */
+  public static JavaType intern(final JavaType javaType) {
+    if (javaType == null || javaType.canonical) {
+      return javaType;
+    }
+
+    // Parameters of canonical types are canonical too
+    boolean canonicalParameters = true;
+    final List<JavaType> parameters = new ArrayList<JavaType>(javaType.parameters.size());
+    for (final JavaType parameter : javaType.parameters) {
+      final JavaType canonicalParameter = intern(parameter);
+      canonicalParameters &= canonicalParameter == parameter;
+      parameters.add(canonicalParameter);
+    }
+
+    final CanonicalKey key = new CanonicalKey(javaType, parameters);
+    JavaType canonicalType = CANONICAL_TYPES.get(key);
+    if (canonicalType == null) {
+      canonicalType =
+          canonicalParameters ? javaType : new JavaType(javaType.fullyQualifiedTypeName,
+              javaType.enclosingType, javaType.arrayDimensions, javaType.dataType,
+              javaType.argName, parameters, javaType.module);
+      if (CANONICAL_TYPES.size() >= MAX_CANONICAL_TYPES) {
+        // Avoid growing forever when working with many projects
+        CANONICAL_TYPES.clear();
+      }
+      final JavaType existing = CANONICAL_TYPES.putIfAbsent(key, canonicalType);
+      if (existing != null) {
+        return existing;
+      }
+      canonicalType.canonical = true;
+    }
+    return canonicalType;
   }
 
   /**
@@ -204,7 +281,8 @@ public class JavaType implements Comparable<JavaType> {
    * @since 1.2.0
    */
   public static JavaType listOf(final JavaType elementType) {
-    return new JavaType(List.class.getName(), 0, DataType.TYPE, null, Arrays.asList(elementType));
+    return intern(new JavaType(List.class.getName(), 0, DataType.TYPE, null,
+        Arrays.asList(elementType)));
   }
 
   /**
@@ -215,8 +293,8 @@ public class JavaType implements Comparable<JavaType> {
    * @since 2.0.0
    */
   public static JavaType mapOf(final JavaType keyType, final JavaType elementType) {
-    return new JavaType(Map.class.getName(), 0, DataType.TYPE, null, Arrays.asList(keyType,
-        elementType));
+    return intern(new JavaType(Map.class.getName(), 0, DataType.TYPE, null, Arrays.asList(
+        keyType, elementType)));
   }
 
   /**
@@ -227,8 +305,8 @@ public class JavaType implements Comparable<JavaType> {
    * @since 2.0.0
    */
   public static JavaType iterableOf(final JavaType elementType) {
-    return new JavaType(Iterable.class.getName(), 0, DataType.TYPE, null,
-        Arrays.asList(elementType));
+    return intern(new JavaType(Iterable.class.getName(), 0, DataType.TYPE, null,
+        Arrays.asList(elementType)));
   }
 
 
@@ -240,8 +318,8 @@ public class JavaType implements Comparable<JavaType> {
    * @since 2.0.0
    */
   public static JavaType collectionOf(final JavaType elementType) {
-    return new JavaType(Collection.class.getName(), 0, DataType.TYPE, null,
-        Arrays.asList(elementType));
+    return intern(new JavaType(Collection.class.getName(), 0, DataType.TYPE, null,
+        Arrays.asList(elementType)));
   }
 
   /**
@@ -252,8 +330,8 @@ public class JavaType implements Comparable<JavaType> {
    * @since 2.0.0
    */
   public static JavaType collectionOf(final JavaType collectionType, final JavaType elementType) {
-    return new JavaType(collectionType.getFullyQualifiedTypeName(), 0, DataType.TYPE, null,
-        Arrays.asList(elementType));
+    return intern(new JavaType(collectionType.getFullyQualifiedTypeName(), 0, DataType.TYPE,
+        null, Arrays.asList(elementType)));
   }
 
   /**
@@ -266,8 +344,8 @@ public class JavaType implements Comparable<JavaType> {
    * @since 2.0.0
    */
   public static JavaType wrapperOf(final JavaType wrapperType, final JavaType... elementTypes) {
-    return new JavaType(wrapperType.getFullyQualifiedTypeName(), 0, DataType.TYPE, null,
-        Arrays.asList(elementTypes));
+    return intern(new JavaType(wrapperType.getFullyQualifiedTypeName(), 0, DataType.TYPE, null,
+        Arrays.asList(elementTypes)));
   }
 
   /**
@@ -303,8 +381,8 @@ public class JavaType implements Comparable<JavaType> {
    * @return
    */
   public static JavaType wilcardExtends(final JavaType extendsOf) {
-    return new JavaType(extendsOf.getFullyQualifiedTypeName(), 0, DataType.TYPE,
-        JavaType.WILDCARD_EXTENDS_ARG, null);
+    return intern(new JavaType(extendsOf.getFullyQualifiedTypeName(), 0, DataType.TYPE,
+        JavaType.WILDCARD_EXTENDS_ARG, null));
   }
 
   /** Return {@link JavaType} which is a Widcard of generics with "supper"
@@ -316,8 +394,8 @@ public class JavaType implements Comparable<JavaType> {
    * @return
    */
   public static JavaType wilcardSupper(final JavaType supperOf) {
-    return new JavaType(supperOf.getFullyQualifiedTypeName(), 0, DataType.TYPE,
-        JavaType.WILDCARD_SUPER_ARG, null);
+    return intern(new JavaType(supperOf.getFullyQualifiedTypeName(), 0, DataType.TYPE,
+        JavaType.WILDCARD_SUPER_ARG, null));
   }
 
   private final JavaSymbolName argName;
@@ -328,7 +406,12 @@ public class JavaType implements Comparable<JavaType> {
   private final String fullyQualifiedTypeName;
   private final List<JavaType> parameters;
   private final String simpleTypeName;
-  private String module;
+  private final String module;
+  private final int hashCode;
+  // Calculated on demand, see getNameIncludingTypeParameters()
+  private volatile String name;
+  // Set once by intern(JavaType) before publishing the instance
+  private boolean canonical;
 
   /**
    * Constructor equivalent to {@link #JavaType(String)}, but takes a Class
@@ -509,6 +592,7 @@ public class JavaType implements Comparable<JavaType> {
       this.parameters.addAll(parameters);
     }
     this.module = module;
+    hashCode = calculateHashCode();
   }
 
   @Override
@@ -560,7 +644,10 @@ public class JavaType implements Comparable<JavaType> {
   public boolean equals(final Object obj) {
     // NB: Not using the normal convention of delegating to compareTo (for
     // efficiency reasons)
-    return obj != null && obj instanceof JavaType
+    if (obj == this) {
+      return true;
+    }
+    return obj != null && obj instanceof JavaType && hashCode == obj.hashCode()
         && fullyQualifiedTypeName.equals(((JavaType) obj).getFullyQualifiedTypeName())
         && dataType == ((JavaType) obj).getDataType()
         && arrayDimensions == ((JavaType) obj).getArray()
@@ -632,7 +719,13 @@ public class JavaType implements Comparable<JavaType> {
    *         null or empty)
    */
   public String getNameIncludingTypeParameters() {
-    return getNameIncludingTypeParameters(false, null, new HashMap<String, String>());
+    // Immutable, so it is calculated only once
+    String result = name;
+    if (result == null) {
+      result = getNameIncludingTypeParameters(false, null, new HashMap<String, String>());
+      name = result;
+    }
+    return result;
   }
 
   /**
@@ -800,6 +893,10 @@ public class JavaType implements Comparable<JavaType> {
 
   @Override
   public int hashCode() {
+    return hashCode;
+  }
+
+  private int calculateHashCode() {
     final int prime = 31;
     int result = 1;
     result =
@@ -890,8 +987,8 @@ public class JavaType implements Comparable<JavaType> {
    */
   public JavaType toObjectType() {
     if (isPrimitive()) {
-      return new JavaType(getFullyQualifiedTypeName(), getArray(), DataType.TYPE, getArgName(),
-          getParameters(), getModule());
+      return intern(new JavaType(getFullyQualifiedTypeName(), getArray(), DataType.TYPE,
+          getArgName(), getParameters(), getModule()));
     }
     return this;
   }
@@ -901,8 +998,70 @@ public class JavaType implements Comparable<JavaType> {
     return getNameIncludingTypeParameters();
   }
 
+  /**
+   * Identifies a canonical {@link JavaType} using all its details, as
+   * {@link JavaType#equals(Object)} ignores some of them.
+   */
+  private static final class CanonicalKey {
+
+    private final String fullyQualifiedTypeName;
+    private final String enclosingType;
+    private final int arrayDimensions;
+    private final DataType dataType;
+    private final JavaSymbolName argName;
+    private final List<JavaType> parameters;
+    private final String module;
+    private final int hashCode;
+
+    CanonicalKey(final JavaType javaType, final List<JavaType> canonicalParameters) {
+      fullyQualifiedTypeName = javaType.fullyQualifiedTypeName;
+      enclosingType =
+          javaType.enclosingType == null ? null : javaType.enclosingType.fullyQualifiedTypeName;
+      arrayDimensions = javaType.arrayDimensions;
+      dataType = javaType.dataType;
+      argName = javaType.argName;
+      parameters = canonicalParameters;
+      module = javaType.module;
+      int result = javaType.hashCode;
+      result = 31 * result + (argName == null ? 0 : argName.hashCode());
+      result = 31 * result + (module == null ? 0 : module.hashCode());
+      for (final JavaType parameter : parameters) {
+        result = 31 * result + System.identityHashCode(parameter);
+      }
+      hashCode = result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof CanonicalKey)) {
+        return false;
+      }
+      final CanonicalKey other = (CanonicalKey) obj;
+      if (hashCode != other.hashCode || arrayDimensions != other.arrayDimensions
+          || dataType != other.dataType || parameters.size() != other.parameters.size()
+          || !fullyQualifiedTypeName.equals(other.fullyQualifiedTypeName)
+          || !StringUtils.equals(enclosingType, other.enclosingType)
+          || !StringUtils.equals(module, other.module)
+          || (argName == null ? other.argName != null : !argName.equals(other.argName))) {
+        return false;
+      }
+      // Parameters are canonical, so they are compared by identity
+      for (int i = 0; i < parameters.size(); i++) {
+        if (parameters.get(i) != other.parameters.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
   public JavaType withoutParameters() {
-    return new JavaType(getFullyQualifiedTypeName(), getArray(), DataType.TYPE, getArgName(), null,
-        getModule());
+    return intern(new JavaType(getFullyQualifiedTypeName(), getArray(), DataType.TYPE,
+        getArgName(), null, getModule()));
   }
 }
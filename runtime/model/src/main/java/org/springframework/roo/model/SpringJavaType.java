@@ -48,6 +48,14 @@ public final class SpringJavaType {
       "org.springframework.validation.BindingResult");
   public static final JavaType BEAN = new JavaType("org.springframework.context.annotation.Bean");
   public static final JavaType LAZY = new JavaType("org.springframework.context.annotation.Lazy");
+  public static final JavaType CACHE_EVICT = new JavaType(
+      "org.springframework.cache.annotation.CacheEvict");
+  public static final JavaType CACHEABLE = new JavaType(
+      "org.springframework.cache.annotation.Cacheable");
+  public static final JavaType CACHING = new JavaType(
+      "org.springframework.cache.annotation.Caching");
+  public static final JavaType CACHING_CONNECTION_FACTORY = new JavaType(
+      "org.springframework.jms.connection.CachingConnectionFactory");
   public static final JavaType CHARACTER_ENCODING_FILTER = new JavaType(
       "org.springframework.web.filter.CharacterEncodingFilter");
   public static final JavaType COMPONENT = new JavaType("org.springframework.stereotype.Component");
@@ -80,12 +88,16 @@ public final class SpringJavaType {
       "org.springframework.web.bind.annotation.DeleteMapping");
   public static final JavaType DISPATCHER_SERVLET = new JavaType(
       "org.springframework.web.servlet.DispatcherServlet");
+  public static final JavaType ENABLE_ASYNC = new JavaType(
+      "org.springframework.scheduling.annotation.EnableAsync");
   public static final JavaType ENABLE_CACHING = new JavaType(
       "org.springframework.cache.annotation.EnableCaching");
   public static final JavaType ENABLE_JMS = new JavaType(
       "org.springframework.jms.annotation.EnableJms");
   public static final JavaType ENABLE_JPA_REPOSITORIES = new JavaType(
       "org.springframework.data.jpa.repository.config.EnableJpaRepositories");
+  public static final JavaType ENTITY_GRAPH = new JavaType(
+      "org.springframework.data.jpa.repository.EntityGraph");
   public static final JavaType ENTITY_SCAN = new JavaType(
       "org.springframework.boot.autoconfigure.domain.EntityScan");
   public static final JavaType EXCEPTION_HANDLER = new JavaType(
@@ -112,8 +124,12 @@ public final class SpringJavaType {
       "org.springframework.mail.javamail.JavaMailSenderImpl");
   public static final JavaType JMS_LISTENER = new JavaType(
       "org.springframework.jms.annotation.JmsListener");
+  public static final JavaType JMS_MESSAGE_CONVERTER = new JavaType(
+      "org.springframework.jms.support.converter.MessageConverter");
   public static final JavaType JMS_OPERATIONS = new JavaType(
       "org.springframework.jms.core.JmsOperations");
+  public static final JavaType JMS_PROPERTIES = new JavaType(
+      "org.springframework.boot.autoconfigure.jms.JmsProperties");
   public static final JavaType JMS_TEMPLATE = new JavaType(
       "org.springframework.jms.core.JmsTemplate");
   public static final JavaType JPA_TRANSACTION_MANAGER = new JavaType(
@@ -152,9 +168,13 @@ public final class SpringJavaType {
       "org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder");
   public static final JavaType NUMBER_FORMAT = new JavaType(
       "org.springframework.format.annotation.NumberFormat");
+  public static final JavaType OBJECT_PROVIDER = new JavaType(
+      "org.springframework.beans.factory.ObjectProvider");
   public static final JavaType OPEN_ENTITY_MANAGER_IN_VIEW_FILTER = new JavaType(
       "org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter");
   public static final JavaType PAGE = new JavaType("org.springframework.data.domain.Page");
+  public static final JavaType PAGE_IMPL = new JavaType(
+      "org.springframework.data.domain.PageImpl");
   public static final JavaType PAGE_REQUEST = new JavaType(
       "org.springframework.data.domain.PageRequest");
   public static final JavaType PAGEABLE = new JavaType("org.springframework.data.domain.Pageable");
@@ -217,6 +237,9 @@ public final class SpringJavaType {
       "org.springframework.web.servlet.i18n.SessionLocaleResolver");
   public static final JavaType SIMPLE_MAIL_MESSAGE = new JavaType(
       "org.springframework.mail.SimpleMailMessage");
+  public static final JavaType SLICE = new JavaType("org.springframework.data.domain.Slice");
+  public static final JavaType SLICE_IMPL = new JavaType(
+      "org.springframework.data.domain.SliceImpl");
   public static final JavaType SIMPLE_TYPE_CONVERTER = new JavaType(
       "org.springframework.beans.SimpleTypeConverter");
   public static final JavaType SPRING_BOOT_TEST = new JavaType(
@@ -226,6 +249,8 @@ public final class SpringJavaType {
   public static final JavaType STRING_UTILS = new JavaType("org.springframework.util.StringUtils");
   public static final JavaType TEST_CONFIGURATION = new JavaType(
       "org.springframework.boot.test.context.TestConfiguration");
+  public static final JavaType THREAD_POOL_TASK_EXECUTOR = new JavaType(
+      "org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor");
   public static final JavaType TRANSACTIONAL = new JavaType(
       "org.springframework.transaction.annotation.Transactional");
   public static final JavaType URI_UTILS = new JavaType("org.springframework.web.util.UriUtils");
@@ -0,0 +1,110 @@
+package org.springframework.roo.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test of {@link ImportRegistrationResolverImpl}
+ *
+ * @since 2.0
+ */
+public class ImportRegistrationResolverImplTest {
+
+  private static final JavaPackage ITD_PACKAGE = new JavaPackage("com.example.web");
+  private static final JavaType OWNER = new JavaType("com.example.domain.Owner");
+  private static final JavaType OTHER_OWNER = new JavaType("com.example.legacy.Owner");
+
+  private ImportRegistrationResolver resolver;
+
+  @Before
+  public void setUp() {
+    resolver = new ImportRegistrationResolverImpl(ITD_PACKAGE);
+  }
+
+  private String resolve(final JavaType type) {
+    return type.getNameIncludingTypeParameters(false, resolver);
+  }
+
+  @Test
+  public void testFirstTypeIsImported() {
+    assertEquals("Owner", resolve(OWNER));
+    assertTrue(resolver.getRegisteredImports().containsKey(OWNER));
+  }
+
+  @Test
+  public void testCollidingTypeUsesFullyQualifiedName() {
+    assertEquals("Owner", resolve(OWNER));
+    assertEquals("com.example.legacy.Owner", resolve(OTHER_OWNER));
+
+    // The first import is kept
+    assertEquals("Owner", resolve(OWNER));
+    assertEquals(1, resolver.getRegisteredImports().size());
+    assertFalse(resolver.getRegisteredImports().containsKey(OTHER_OWNER));
+  }
+
+  @Test
+  public void testParametersAreResolved() {
+    final JavaType ownersByName = JavaType.wrapperOf(JdkJavaType.MAP, JavaType.STRING, OWNER);
+
+    assertEquals("Map<String, Owner>", resolve(ownersByName));
+    assertEquals("List<com.example.legacy.Owner>", resolve(JavaType.listOf(OTHER_OWNER)));
+    assertTrue(resolver.getRegisteredImports().containsKey(JdkJavaType.MAP));
+    assertTrue(resolver.getRegisteredImports().containsKey(JavaType.LIST));
+  }
+
+  @Test
+  public void testJavaLangTypesAreNotImported() {
+    assertEquals("String", resolve(JavaType.STRING));
+    assertEquals("Long", resolve(JavaType.LONG_OBJECT));
+    assertTrue(resolver.getRegisteredImports().isEmpty());
+  }
+
+  @Test
+  public void testTypeNamedAsJavaLangTypeDoesNotShadowIt() {
+    final JavaType string = new JavaType("com.example.domain.String");
+
+    assertEquals("com.example.domain.String", resolve(string));
+    assertEquals("String", resolve(JavaType.STRING));
+    assertFalse(resolver.getRegisteredImports().containsKey(string));
+  }
+
+  @Test
+  public void testTypeOfSamePackageUsesSimpleName() {
+    assertEquals("OwnerController", resolve(new JavaType("com.example.web.OwnerController")));
+  }
+
+  @Test
+  public void testTypeOfSamePackageShadowedByImportUsesFullyQualifiedName() {
+    assertEquals("OwnerController", resolve(new JavaType("com.example.OwnerController")));
+    assertEquals("com.example.web.OwnerController",
+        resolve(new JavaType("com.example.web.OwnerController")));
+  }
+
+  @Test
+  public void testInternedTypesResolveSameImports() {
+    final List<JavaType> types = new ArrayList<JavaType>();
+    for (int i = 0; i < 20; i++) {
+      final JavaType entity = new JavaType("com.example.domain" + i % 3 + ".Entity" + i % 5);
+      types.add(new JavaType(JavaType.LIST.getFullyQualifiedTypeName(), 0, DataType.TYPE, null,
+          Arrays.asList(entity)));
+      types.add(entity);
+    }
+
+    final ImportRegistrationResolver internedResolver =
+        new ImportRegistrationResolverImpl(ITD_PACKAGE);
+    for (final JavaType type : types) {
+      assertEquals(resolve(type),
+          JavaType.intern(type).getNameIncludingTypeParameters(false, internedResolver));
+    }
+    assertEquals(resolver.getRegisteredImports().keySet(), internedResolver
+        .getRegisteredImports().keySet());
+  }
+}
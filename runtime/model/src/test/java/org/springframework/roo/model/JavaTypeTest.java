@@ -2,7 +2,9 @@ package org.springframework.roo.model;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.springframework.roo.model.JavaType.BOOLEAN_OBJECT;
 import static org.springframework.roo.model.JavaType.BOOLEAN_PRIMITIVE;
@@ -104,4 +106,26 @@ public class JavaTypeTest {
   public void testUserTypeIsNonCoreType() {
     assertFalse(new JavaType("com.example.Thing").isCoreType());
   }
+
+  @Test
+  public void testInternedTypesAreCanonical() {
+    final JavaType type = JavaType.intern(listOf(new JavaType("com.example.Thing")));
+    assertSame(type, JavaType.intern(listOf(new JavaType("com.example.Thing"))));
+    assertSame(JavaType.getInstance("com.example.Thing"), type.getParameters().get(0));
+    assertEquals(new JavaType("com.example.Thing"), JavaType.getInstance("com.example.Thing"));
+  }
+
+  @Test
+  public void testInternedTypesKeepTheirModule() {
+    final JavaType type = JavaType.intern(new JavaType("com.example.Thing", "model"));
+    assertNotSame(JavaType.getInstance("com.example.Thing"), type);
+    assertEquals("model", type.getModule());
+  }
+
+  @Test
+  public void testNameIsCalculatedOnce() {
+    final JavaType type = listOf(new JavaType("com.example.Thing"));
+    assertEquals("java.util.List<com.example.Thing>", type.toString());
+    assertSame(type.toString(), type.getNameIncludingTypeParameters());
+  }
 }
@@ -74,10 +74,33 @@ public interface ProcessManager extends ProcessManagerStatusProvider {
    */
   <T> T execute(CommandCallback<T> callback);
 
+  /**
+   * @return how many milliseconds must pass before the next automatic full
+   *         scan, which grows while the file system doesn't change when
+   *         scanning is auto-scaled
+   */
+  long getCurrentDelayBetweenScan();
+
   long getLastScanDuration();
 
   long getMinimumDelayBetweenScan();
 
+  /**
+   * @return how many times the recently changed directories were scanned
+   *         on their own
+   */
+  long getPartialScanCount();
+
+  /**
+   * @return how many full scans of the file system were made
+   */
+  long getScanCount();
+
+  /**
+   * @return how many milliseconds all the scans took in total
+   */
+  long getTotalScanDuration();
+
   /**
    * @return true if the system is in development mode, which generally means
    *         more detailed diagnostics are requested from add-ons (defaults to
@@ -85,6 +108,13 @@ public interface ProcessManager extends ProcessManagerStatusProvider {
    */
   boolean isDevelopmentMode();
 
+  /**
+   * Scans the file system now, regardless of the scanning interval, and
+   * returns automatic scanning to its shortest delay. This may be invoked by
+   * a command, whose transaction then includes the changes found.
+   */
+  void scan();
+
   void setDevelopmentMode(boolean developmentMode);
 
   void setMinimumDelayBetweenScan(long minimumDelayBetweenScan);
@@ -38,6 +38,9 @@ import org.springframework.roo.process.manager.FileManager;
 import org.springframework.roo.process.manager.MutableFile;
 import org.springframework.roo.process.manager.ProcessManager;
 import org.springframework.roo.support.logging.HandlerUtils;
+import org.springframework.roo.support.profile.CommandProfile.Counter;
+import org.springframework.roo.support.profile.CommandProfile.Phase;
+import org.springframework.roo.support.profile.CommandProfiler;
 
 /**
  * Default implementation of {@link FileManager}.
@@ -80,6 +83,7 @@ public class DefaultFileManager implements FileManager, UndoListener {
 
   public void commit() {
     final Map<String, String> toRemove = new LinkedHashMap<String, String>(deferredFileWrites);
+    final long phaseStart = CommandProfiler.startPhase(Phase.DEFERRED_WRITES);
     try {
       for (final Entry<String, String> entry : toRemove.entrySet()) {
         final String fileIdentifier = entry.getKey();
@@ -96,6 +100,7 @@ public class DefaultFileManager implements FileManager, UndoListener {
         deferredFileWrites.remove(remove);
       }
       deferredDescriptionOfChanges.clear();
+      CommandProfiler.endPhase(Phase.DEFERRED_WRITES, phaseStart);
     }
   }
 
@@ -152,6 +157,7 @@ public class DefaultFileManager implements FileManager, UndoListener {
     } catch (final IOException ignored) {
     }
     new CreateFile(undoManager, filenameResolver, actual);
+    CommandProfiler.increment(Counter.FILES_CREATED);
     final ManagedMessageRenderer renderer =
         new ManagedMessageRenderer(filenameResolver, actual, true);
     renderer.setIncludeHashCode(processManager.isDevelopmentMode());
@@ -258,6 +264,7 @@ public class DefaultFileManager implements FileManager, UndoListener {
     } else {
       new DeleteFile(undoManager, filenameResolver, actual, reasonForDeletion);
     }
+    CommandProfiler.increment(Counter.FILES_DELETED);
   }
 
   public boolean exists(final String fileIdentifier) {
@@ -337,6 +344,7 @@ public class DefaultFileManager implements FileManager, UndoListener {
     final File actual = new File(fileIdentifier);
     Validate.isTrue(actual.exists(), "File '%s' does not exist", fileIdentifier);
     new UpdateFile(undoManager, filenameResolver, actual);
+    CommandProfiler.increment(Counter.FILES_UPDATED);
     final ManagedMessageRenderer renderer =
         new ManagedMessageRenderer(filenameResolver, actual, false);
     renderer.setIncludeHashCode(processManager.isDevelopmentMode());
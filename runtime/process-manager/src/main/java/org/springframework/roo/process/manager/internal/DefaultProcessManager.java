@@ -27,6 +27,9 @@ import org.springframework.roo.process.manager.event.AbstractProcessManagerStatu
 import org.springframework.roo.process.manager.event.ProcessManagerStatus;
 import org.springframework.roo.support.logging.HandlerUtils;
 import org.springframework.roo.support.osgi.OSGiUtils;
+import org.springframework.roo.support.profile.CommandProfile.Counter;
+import org.springframework.roo.support.profile.CommandProfile.Phase;
+import org.springframework.roo.support.profile.CommandProfiler;
 
 /**
  * Default implementation of {@link ProcessManager} interface.
@@ -42,6 +45,14 @@ public class DefaultProcessManager extends AbstractProcessManagerStatusPublisher
 
   private static final Logger LOGGER = HandlerUtils.getLogger(DefaultProcessManager.class);
 
+  // Auto-scaled scanning: full scans back off from every second to every
+  // "roo.scan.maxDelay" ms while nothing changes, and recently changed
+  // directories are polled every second for two minutes after a change
+  private static final long MINIMUM_SCAN_DELAY = 1000;
+  private static final long MAXIMUM_SCAN_DELAY = Math.max(MINIMUM_SCAN_DELAY,
+      Long.getLong("roo.scan.maxDelay", 30000));
+  private static final long RECENT_CHANGE_PERIOD = 120000;
+
   // ------------ OSGi component attributes ----------------
   private BundleContext context;
 
@@ -50,7 +61,13 @@ public class DefaultProcessManager extends AbstractProcessManagerStatusPublisher
   private long lastScanDuration = 0;
   private long lastScanTime = 0; // What time the last scan was completed
   private long minimumDelayBetweenScan = -1; // How many ms must pass at
+  private long partialScanCount = 0;
+  private long scanCount = 0;
+  private final ScanScheduler scanScheduler = new ScanScheduler(MINIMUM_SCAN_DELAY,
+      MAXIMUM_SCAN_DELAY, RECENT_CHANGE_PERIOD);
+  private final Object scanSignal = new Object();
   private StartLevel startLevel;
+  private long totalScanDuration = 0;
   private UndoManager undoManager;
   private String workingDir;
 
@@ -70,10 +87,23 @@ public class DefaultProcessManager extends AbstractProcessManagerStatusPublisher
         throw e;
       } finally {
         setProcessManagerStatus(ProcessManagerStatus.AVAILABLE);
+        // The user is active, so files are likely to change
+        synchronized (scanScheduler) {
+          scanScheduler.reset(System.currentTimeMillis());
+        }
       }
     }
   }
 
+  public long getCurrentDelayBetweenScan() {
+    if (minimumDelayBetweenScan >= 0) {
+      return minimumDelayBetweenScan;
+    }
+    synchronized (scanScheduler) {
+      return scanScheduler.getDelay();
+    }
+  }
+
   /**
    * @return how many milliseconds the last scan execution took to complete (0
    *         = never ran; >0 = last execution time)
@@ -90,10 +120,44 @@ public class DefaultProcessManager extends AbstractProcessManagerStatusPublisher
     return minimumDelayBetweenScan;
   }
 
+  public synchronized long getPartialScanCount() {
+    return partialScanCount;
+  }
+
+  public synchronized long getScanCount() {
+    return scanCount;
+  }
+
+  public synchronized long getTotalScanDuration() {
+    return totalScanDuration;
+  }
+
   public boolean isDevelopmentMode() {
     return developmentMode;
   }
 
+  public void scan() {
+    if (Thread.holdsLock(processManagerStatus)) {
+      // A command is running on this thread, which notifies the changes
+      // when it completes
+      if (fileMonitorService == null) {
+        fileMonitorService = getFileMonitorService();
+      }
+      Validate.notNull(fileMonitorService, "FileMonitorService is required");
+      final long started = System.currentTimeMillis();
+      final int changes = fileMonitorService.scanAll();
+      recordScan(started, changes, false);
+    } else {
+      fullScan();
+    }
+    synchronized (scanScheduler) {
+      scanScheduler.reset(System.currentTimeMillis());
+    }
+    synchronized (scanSignal) {
+      scanSignal.notifyAll();
+    }
+  }
+
   public void setDevelopmentMode(final boolean developmentMode) {
 
     if (undoManager == null) {
@@ -138,34 +202,25 @@ public class DefaultProcessManager extends AbstractProcessManagerStatusPublisher
         return;
       }
 
-      long effectiveMinimumDelayBetweenScan = minimumDelayBetweenScan;
-      if (effectiveMinimumDelayBetweenScan < 0) {
-        // A negative minimum delay between scan means auto-scaling is
-        // used
-        if (lastScanDuration < 500) {
-          // We've never done a scan, or they are very fast
-          effectiveMinimumDelayBetweenScan = 0;
-        } else {
-          // Use the last duration (we might make this sliding scale
-          // in the future)
-          effectiveMinimumDelayBetweenScan = lastScanDuration;
+      final long now = System.currentTimeMillis();
+      if (minimumDelayBetweenScan > 0) {
+        if (now >= lastScanTime + minimumDelayBetweenScan) {
+          fullScan();
         }
-      }
-      final long started = System.currentTimeMillis();
-      if (started < lastScanTime + effectiveMinimumDelayBetweenScan) {
-        // Too soon to re-scan
         return;
       }
-      backgroundScan();
-      // Record the completion time so we can ensure we don't re-scan too
-      // soon
-      lastScanTime = System.currentTimeMillis();
-
-      // Compute how many milliseconds it took to run
-      lastScanDuration = lastScanTime - started;
-      if (lastScanDuration == 0) {
-        // Ensure it correctly reflects that it has ever run
-        lastScanDuration = 1;
+
+      // A negative minimum delay between scan means auto-scaling is used
+      final boolean fullScanDue;
+      final boolean partialScanDue;
+      synchronized (scanScheduler) {
+        fullScanDue = scanScheduler.isFullScanDue(now);
+        partialScanDue = scanScheduler.isPartialScanDue(now);
+      }
+      if (fullScanDue) {
+        fullScan();
+      } else if (partialScanDue) {
+        partialScan();
       }
     } catch (final Throwable t) {
       LOGGER.log(Level.SEVERE, t.getMessage(), t);
@@ -200,7 +255,8 @@ public class DefaultProcessManager extends AbstractProcessManagerStatusPublisher
       }
     });
 
-    // Now start a thread that will undertake a background scan every second
+    // Now start a thread that will undertake background scans, as often as
+    // the scanning mode requires
     final Thread t = new Thread(new Runnable() {
       public void run() {
         // Unsynchronized lookup of terminated status to avoid anything
@@ -212,7 +268,9 @@ public class DefaultProcessManager extends AbstractProcessManagerStatusPublisher
             timerBasedScan();
           }
           try {
-            Thread.sleep(1000);
+            synchronized (scanSignal) {
+              scanSignal.wait(getTimeToNextScan());
+            }
           } catch (final InterruptedException ignoreAndContinue) {
           }
         }
@@ -226,12 +284,12 @@ public class DefaultProcessManager extends AbstractProcessManagerStatusPublisher
     terminate(); // Safe to call even if we'd terminated earlier
   }
 
-  private boolean backgroundScan() {
+  private int backgroundScan(final CommandCallback<Integer> scan) {
     // Quickly determine if another thread is running; we don't need to sit
     // around and wait (we'll get called again in a few hundred milliseconds
     // anyway)
     if (getProcessManagerStatus() != ProcessManagerStatus.AVAILABLE) {
-      return false;
+      return -1;
     }
     synchronized (processManagerStatus) {
       // Do the check again, now this thread has a lock on
@@ -244,16 +302,16 @@ public class DefaultProcessManager extends AbstractProcessManagerStatusPublisher
       setProcessManagerStatus(ProcessManagerStatus.BUSY_SCANNING);
 
       try {
-        doTransactionally(null);
+        return doTransactionally(scan);
       } catch (final Throwable t) {
         // We don't want a scan failure to cause the background scanning
         // thread to die
         logException(t);
+        return 0;
       } finally {
         setProcessManagerStatus(ProcessManagerStatus.AVAILABLE);
       }
     }
-    return true;
   }
 
   private void completeStartup() {
@@ -301,26 +359,35 @@ public class DefaultProcessManager extends AbstractProcessManagerStatusPublisher
       ActiveProcessManager.setActiveProcessManager(this);
 
       // Run the requested operation
-      if (callback == null) {
-        fileMonitorService.scanAll();
-      } else {
+      final long phaseStart = CommandProfiler.startPhase(Phase.COMMAND);
+      try {
         result = callback.callback();
+      } finally {
+        CommandProfiler.endPhase(Phase.COMMAND, phaseStart);
       }
 
       // Flush the undo manager so that any changes it has been holding
       // are written to disk and the file monitor service
-      undoManager.flush();
+      flushUndoManager();
 
       // Guarantee scans repeat until there are no more changes detected
       while (fileMonitorService.isDirty()) {
-        if (fileMonitorService instanceof NotifiableFileMonitorService) {
-          ((NotifiableFileMonitorService) fileMonitorService).scanNotified();
-        } else {
-          fileMonitorService.scanAll();
+        final long rescanStart = CommandProfiler.startPhase(Phase.RESCAN);
+        final int changes;
+        try {
+          if (fileMonitorService instanceof NotifiableFileMonitorService) {
+            changes = ((NotifiableFileMonitorService) fileMonitorService).scanNotified();
+          } else {
+            changes = fileMonitorService.scanAll();
+          }
+        } finally {
+          CommandProfiler.endPhase(Phase.RESCAN, rescanStart);
         }
+        CommandProfiler.increment(Counter.SCANS);
+        CommandProfiler.increment(Counter.SCANNED_CHANGES, changes);
         // In case something else happened as a result of event
         // notifications above
-        undoManager.flush();
+        flushUndoManager();
       }
 
       // It all seems to have worked, so clear the undo history
@@ -345,6 +412,37 @@ public class DefaultProcessManager extends AbstractProcessManagerStatusPublisher
     return result;
   }
 
+  private void flushUndoManager() {
+    final long phaseStart = CommandProfiler.startPhase(Phase.UNDO_FLUSH);
+    try {
+      undoManager.flush();
+    } finally {
+      CommandProfiler.endPhase(Phase.UNDO_FLUSH, phaseStart);
+    }
+  }
+
+  private void fullScan() {
+    final long started = System.currentTimeMillis();
+    final int changes = backgroundScan(new CommandCallback<Integer>() {
+      public Integer callback() {
+        return fileMonitorService.scanAll();
+      }
+    });
+    if (changes >= 0) {
+      recordScan(started, changes, false);
+    }
+  }
+
+  private long getTimeToNextScan() {
+    if (minimumDelayBetweenScan >= 0) {
+      // Fixed interval or manual scanning, checked every second
+      return MINIMUM_SCAN_DELAY;
+    }
+    synchronized (scanScheduler) {
+      return scanScheduler.getTimeToNextScan(System.currentTimeMillis());
+    }
+  }
+
   private void logException(final Throwable t) {
     final Throwable root = ObjectUtils.defaultIfNull(ExceptionUtils.getRootCause(t), t);
     if (developmentMode) {
@@ -363,6 +461,51 @@ public class DefaultProcessManager extends AbstractProcessManagerStatusPublisher
     }
   }
 
+  private void partialScan() {
+    if (fileMonitorService == null) {
+      fileMonitorService = getFileMonitorService();
+    }
+    if (!(fileMonitorService instanceof NotifiableFileMonitorService)) {
+      return;
+    }
+    final long started = System.currentTimeMillis();
+    final int changes = backgroundScan(new CommandCallback<Integer>() {
+      public Integer callback() {
+        return ((NotifiableFileMonitorService) fileMonitorService).scanRecentlyChanged();
+      }
+    });
+    if (changes >= 0) {
+      recordScan(started, changes, true);
+    }
+  }
+
+  /**
+   * Records the completion of a scan, so we can ensure we don't re-scan too
+   * soon and report scanning statistics.
+   */
+  private void recordScan(final long started, final int changes, final boolean partial) {
+    final long now = System.currentTimeMillis();
+    // Ensure the duration correctly reflects that a scan has ever run
+    final long duration = Math.max(1, now - started);
+    synchronized (this) {
+      if (partial) {
+        partialScanCount++;
+      } else {
+        scanCount++;
+        lastScanTime = now;
+        lastScanDuration = duration;
+      }
+      totalScanDuration += duration;
+    }
+    synchronized (scanScheduler) {
+      if (partial) {
+        scanScheduler.onPartialScan(now, changes);
+      } else {
+        scanScheduler.onFullScan(now, duration, changes);
+      }
+    }
+  }
+
   public FileMonitorService getFileMonitorService() {
     // Get all Services implement FileMonitorService interface
     try {
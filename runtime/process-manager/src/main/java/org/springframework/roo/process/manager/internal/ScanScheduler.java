@@ -0,0 +1,126 @@
+package org.springframework.roo.process.manager.internal;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Decides when the background thread of {@link DefaultProcessManager} scans
+ * the file system, in auto-scaled mode.
+ * <p>
+ * Full scans back off exponentially, from the minimum to the maximum delay,
+ * while they find no changes, and return to the minimum delay as soon as
+ * something changes. A full scan is never scheduled sooner than its own
+ * duration, so slow file systems aren't scanned continuously.
+ * <p>
+ * For a while after the last change the directories with recent changes are
+ * polled at the minimum delay, as the user is likely to keep editing them.
+ * <p>
+ * This class isn't thread safe; the process manager synchronizes access.
+ *
+ * @since 2.0
+ */
+class ScanScheduler {
+
+  private long delay;
+  private long lastChangeTime;
+  private long lastScanTime;
+  private final long maximumDelay;
+  private final long minimumDelay;
+  private final long recentChangePeriod;
+
+  /**
+   * Constructor
+   *
+   * @param minimumDelay the delay in milliseconds between full scans while
+   *            the file system is changing, and between partial scans
+   * @param maximumDelay the longest delay in milliseconds between full scans
+   * @param recentChangePeriod how many milliseconds after the last change the
+   *            recently changed directories are polled
+   */
+  ScanScheduler(final long minimumDelay, final long maximumDelay, final long recentChangePeriod) {
+    Validate.isTrue(minimumDelay > 0, "Minimum delay must be positive");
+    Validate.isTrue(maximumDelay >= minimumDelay, "Maximum delay must be at least %d ms",
+        minimumDelay);
+    this.minimumDelay = minimumDelay;
+    this.maximumDelay = maximumDelay;
+    this.recentChangePeriod = recentChangePeriod;
+    delay = minimumDelay;
+  }
+
+  /**
+   * @return the current delay in milliseconds between full scans
+   */
+  long getDelay() {
+    return delay;
+  }
+
+  /**
+   * Returns how long the background thread can sleep before it has
+   * something to do.
+   *
+   * @param now the current time in milliseconds
+   * @return the time to sleep in milliseconds, at least one
+   */
+  long getTimeToNextScan(final long now) {
+    if (isPartialScanDue(now)) {
+      return minimumDelay;
+    }
+    return Math.max(1, lastScanTime + delay - now);
+  }
+
+  /**
+   * @param now the current time in milliseconds
+   * @return whether a full scan of the file system is due
+   */
+  boolean isFullScanDue(final long now) {
+    return now >= lastScanTime + delay;
+  }
+
+  /**
+   * @param now the current time in milliseconds
+   * @return whether the recently changed directories should be polled
+   */
+  boolean isPartialScanDue(final long now) {
+    return lastChangeTime > 0 && now < lastChangeTime + recentChangePeriod;
+  }
+
+  /**
+   * Records a full scan.
+   *
+   * @param now the time the scan completed in milliseconds
+   * @param duration how long the scan took in milliseconds
+   * @param changes the number of changes it found
+   */
+  void onFullScan(final long now, final long duration, final int changes) {
+    lastScanTime = now;
+    if (changes > 0) {
+      lastChangeTime = now;
+      delay = minimumDelay;
+    } else {
+      delay = Math.min(delay * 2, maximumDelay);
+    }
+    delay = Math.max(delay, duration);
+  }
+
+  /**
+   * Records a partial scan; changes bring the next full scan forward, as
+   * other files are likely to change too.
+   *
+   * @param now the time the scan completed in milliseconds
+   * @param changes the number of changes it found
+   */
+  void onPartialScan(final long now, final int changes) {
+    if (changes > 0) {
+      reset(now);
+    }
+  }
+
+  /**
+   * Returns to the minimum delay, e.g. because the user is active.
+   *
+   * @param now the current time in milliseconds
+   */
+  void reset(final long now) {
+    lastChangeTime = now;
+    delay = minimumDelay;
+  }
+}
@@ -0,0 +1,82 @@
+package org.springframework.roo.process.manager.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test of {@link ScanScheduler}
+ *
+ * @since 2.0
+ */
+public class ScanSchedulerTest {
+
+  private static final long MAXIMUM_DELAY = 8000;
+  private static final long MINIMUM_DELAY = 1000;
+  private static final long RECENT_CHANGE_PERIOD = 5000;
+
+  private ScanScheduler scheduler;
+
+  @Before
+  public void setUp() {
+    scheduler = new ScanScheduler(MINIMUM_DELAY, MAXIMUM_DELAY, RECENT_CHANGE_PERIOD);
+  }
+
+  @Test
+  public void testChangeResetsBackoff() {
+    scheduler.onFullScan(1000, 10, 0);
+    scheduler.onFullScan(3000, 10, 0);
+    assertEquals(4000, scheduler.getDelay());
+
+    scheduler.onFullScan(7000, 10, 1);
+
+    assertEquals(MINIMUM_DELAY, scheduler.getDelay());
+    assertTrue(scheduler.isPartialScanDue(8000));
+  }
+
+  @Test
+  public void testDelayIsNeverShorterThanTheScan() {
+    scheduler.onFullScan(1000, 3000, 1);
+
+    assertEquals(3000, scheduler.getDelay());
+    assertFalse(scheduler.isFullScanDue(3999));
+    assertTrue(scheduler.isFullScanDue(4000));
+  }
+
+  @Test
+  public void testIdleScansBackOffUpToTheMaximumDelay() {
+    long now = 1000;
+    for (final long expectedDelay : new long[] {2000, 4000, 8000, 8000}) {
+      assertTrue(scheduler.isFullScanDue(now));
+      scheduler.onFullScan(now, 10, 0);
+      assertEquals(expectedDelay, scheduler.getDelay());
+      assertFalse(scheduler.isFullScanDue(now + expectedDelay - 1));
+      assertEquals(expectedDelay, scheduler.getTimeToNextScan(now));
+      now += expectedDelay;
+    }
+    assertFalse(scheduler.isPartialScanDue(now));
+  }
+
+  @Test
+  public void testPartialScanChangesBringTheFullScanForward() {
+    scheduler.onFullScan(1000, 10, 0);
+    scheduler.onFullScan(3000, 10, 0);
+
+    scheduler.onPartialScan(4000, 1);
+
+    assertEquals(MINIMUM_DELAY, scheduler.getDelay());
+    assertTrue(scheduler.isFullScanDue(4000));
+  }
+
+  @Test
+  public void testPartialScansStopAfterTheRecentChangePeriod() {
+    scheduler.onFullScan(1000, 10, 2);
+
+    assertTrue(scheduler.isPartialScanDue(1000 + RECENT_CHANGE_PERIOD - 1));
+    assertEquals(MINIMUM_DELAY, scheduler.getTimeToNextScan(1500));
+    assertFalse(scheduler.isPartialScanDue(1000 + RECENT_CHANGE_PERIOD));
+  }
+}
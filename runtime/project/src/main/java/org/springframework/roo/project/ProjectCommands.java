@@ -168,14 +168,7 @@ public class ProjectCommands implements CommandMarker {
 
     Validate.notNull(processManager, "ProcessManager is required");
 
-    final long originalSetting = processManager.getMinimumDelayBetweenScan();
-    try {
-      processManager.setMinimumDelayBetweenScan(1);
-      processManager.timerBasedScan();
-    } finally {
-      // Switch on manual scan again
-      processManager.setMinimumDelayBetweenScan(originalSetting);
-    }
+    processManager.scan();
     return "Manual scan completed";
   }
 
@@ -200,10 +193,18 @@ public class ProjectCommands implements CommandMarker {
     if (minimum == 0) {
       sb.append("automatic scanning is disabled");
     } else if (minimum < 0) {
-      sb.append("auto-scaled scanning is enabled");
+      sb.append("auto-scaled scanning is enabled, currently every ")
+          .append(processManager.getCurrentDelayBetweenScan()).append(" ms");
     } else {
       sb.append("scanning frequency has a minimum interval of ").append(minimum).append(" ms");
     }
+    final long scans = processManager.getScanCount();
+    final long partialScans = processManager.getPartialScanCount();
+    if (scans + partialScans > 0) {
+      sb.append("; ").append(scans).append(" full and ").append(partialScans)
+          .append(" recently changed directory scans took ")
+          .append(processManager.getTotalScanDuration()).append(" ms in total");
+    }
     return sb.toString();
   }
 
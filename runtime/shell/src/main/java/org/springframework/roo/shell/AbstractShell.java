@@ -10,6 +10,8 @@ import org.springframework.roo.shell.event.AbstractShellStatusPublisher;
 import org.springframework.roo.shell.event.ShellStatus;
 import org.springframework.roo.shell.event.ShellStatus.Status;
 import org.springframework.roo.support.logging.HandlerUtils;
+import org.springframework.roo.support.profile.CommandProfile.Phase;
+import org.springframework.roo.support.profile.CommandProfiler;
 import org.springframework.roo.support.util.CollectionUtils;
 
 import java.io.BufferedInputStream;
@@ -262,6 +264,8 @@ public abstract class AbstractShell extends AbstractShellStatusPublisher impleme
     }
 
     ParseResult parseResult = null;
+    boolean profiled = false;
+    boolean success = false;
     try {
       // We support simple block comments; ie a single pair per line
       if (!inBlockComment && line.contains("/*") && line.contains("*/")) {
@@ -294,7 +298,14 @@ public abstract class AbstractShell extends AbstractShellStatusPublisher impleme
         setShellStatus(Status.EXECUTION_SUCCESS);
         return true;
       }
-      parseResult = getParser().parse(line);
+      CommandProfiler.begin(line);
+      profiled = true;
+      long phaseStart = CommandProfiler.startPhase(Phase.PARSE);
+      try {
+        parseResult = getParser().parse(line);
+      } finally {
+        CommandProfiler.endPhase(Phase.PARSE, phaseStart);
+      }
       if (parseResult == null) {
         return false;
       }
@@ -303,25 +314,37 @@ public abstract class AbstractShell extends AbstractShellStatusPublisher impleme
       } catch (final Exception ignored) {
       }
       setShellStatus(Status.EXECUTING);
-      final Object result = executionStrategy.execute(parseResult);
+      phaseStart = CommandProfiler.startPhase(Phase.EXECUTION);
+      final Object result;
+      try {
+        result = executionStrategy.execute(parseResult);
+      } finally {
+        CommandProfiler.endPhase(Phase.EXECUTION, phaseStart);
+      }
       setShellStatus(Status.EXECUTION_RESULT_PROCESSING);
-      if (result != null) {
-        if (result instanceof ExitShellRequest) {
-          exitShellRequest = (ExitShellRequest) result;
-          // Give ProcessManager a chance to close down its threads
-          // before the overall OSGi framework is terminated
-          // (ROO-1938)
-          executionStrategy.terminate();
-        } else if (result instanceof Iterable<?>) {
-          for (final Object o : (Iterable<?>) result) {
-            logger.info(o.toString());
+      phaseStart = CommandProfiler.startPhase(Phase.RESULT);
+      try {
+        if (result != null) {
+          if (result instanceof ExitShellRequest) {
+            exitShellRequest = (ExitShellRequest) result;
+            // Give ProcessManager a chance to close down its threads
+            // before the overall OSGi framework is terminated
+            // (ROO-1938)
+            executionStrategy.terminate();
+          } else if (result instanceof Iterable<?>) {
+            for (final Object o : (Iterable<?>) result) {
+              logger.info(o.toString());
+            }
+          } else {
+            logger.info(result.toString());
           }
-        } else {
-          logger.info(result.toString());
         }
-      }
 
-      logCommandIfRequired(line, true);
+        logCommandIfRequired(line, true);
+      } finally {
+        CommandProfiler.endPhase(Phase.RESULT, phaseStart);
+      }
+      success = true;
       setShellStatus(Status.EXECUTION_SUCCESS, line, parseResult);
       // ROO-3581: When command success, execute command listener SUCCESS
       try {
@@ -347,6 +370,9 @@ public abstract class AbstractShell extends AbstractShellStatusPublisher impleme
       }
       return false;
     } finally {
+      if (profiled) {
+        CommandProfiler.end(success);
+      }
       setShellStatus(Status.USER_INPUT);
     }
   }
@@ -39,6 +39,8 @@ import org.osgi.framework.BundleContext;
 import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.springframework.roo.support.logging.HandlerUtils;
+import org.springframework.roo.support.profile.CommandProfile.Phase;
+import org.springframework.roo.support.profile.CommandProfiler;
 import org.springframework.roo.support.util.AnsiEscapeCode;
 import org.springframework.roo.support.util.CollectionUtils;
 import org.springframework.roo.support.util.XmlUtils;
@@ -1166,6 +1168,7 @@ public class SimpleParser implements Parser {
                     available == null,
                     "More than one availability indicator is defined for '"
                         + method.toGenericString() + "'");
+                final long phaseStart = CommandProfiler.startPhase(Phase.AVAILABILITY);
                 try {
                   available = (Boolean) mt.getMethod().invoke(mt.getTarget());
                   // We should "break" here, but we loop over
@@ -1173,6 +1176,8 @@ public class SimpleParser implements Parser {
                   // indicators are defined
                 } catch (final Exception e) {
                   available = false;
+                } finally {
+                  CommandProfiler.endPhase(Phase.AVAILABILITY, phaseStart);
                 }
               }
             }
@@ -0,0 +1,160 @@
+package org.springframework.roo.support.profile;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * Timings and counters recorded by the {@link CommandProfiler} while a shell
+ * command was executed.
+ * <p>
+ * Phases may nest inside each other: for example metadata notifications and
+ * deferred file writes happen during the file monitor rescans and the undo
+ * flushes, so the phase times of a command don't add up to its total time.
+ * Nested occurrences of the same phase are only timed once.
+ *
+ * @since 2.0
+ */
+public class CommandProfile {
+
+  /**
+   * The timed phases of a command.
+   */
+  public enum Phase {
+    PARSE("parse"), AVAILABILITY("availability"), EXECUTION("execution"), COMMAND("command"),
+    UNDO_FLUSH("undo flush"), DEFERRED_WRITES("deferred writes"), RESCAN("rescan"),
+    NOTIFICATION("notification"), RESULT("result");
+
+    private final String label;
+
+    private Phase(final String label) {
+      this.label = label;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+  }
+
+  /**
+   * The events counted during a command.
+   */
+  public enum Counter {
+    METADATA_GETS("metadata gets"), NOTIFICATIONS("notifications"),
+    FILES_CREATED("files created"), FILES_UPDATED("files updated"),
+    FILES_DELETED("files deleted"), ITD_WRITES("itd writes"), SCANS("scans"),
+    SCANNED_CHANGES("scanned changes");
+
+    private final String label;
+
+    private Counter(final String label) {
+      this.label = label;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+  }
+
+  private final String command;
+  private final long startTime;
+  private final long startNanos;
+  private final long[] phaseNanos = new long[Phase.values().length];
+  private final int[] phaseDepths = new int[Phase.values().length];
+  private final long[] counts = new long[Counter.values().length];
+  private long peakHeapBytes;
+  private long totalNanos;
+  private boolean success;
+
+  CommandProfile(final String command) {
+    this.command = command;
+    startTime = System.currentTimeMillis();
+    startNanos = System.nanoTime();
+    for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+      }
+    }
+  }
+
+  void finish(final boolean success) {
+    this.success = success;
+    totalNanos = System.nanoTime() - startNanos;
+    recordPeakHeap();
+  }
+
+  /**
+   * Records the peak heap usage since the command started. It must be called
+   * before a nested command starts, as it resets the peak usages.
+   */
+  void recordPeakHeap() {
+    long peakUsage = 0;
+    for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        peakUsage += pool.getPeakUsage().getUsed();
+      }
+    }
+    peakHeapBytes = Math.max(peakHeapBytes, peakUsage);
+  }
+
+  void increment(final Counter counter, final long delta) {
+    counts[counter.ordinal()] += delta;
+  }
+
+  void enterPhase(final Phase phase) {
+    phaseDepths[phase.ordinal()]++;
+  }
+
+  void exitPhase(final Phase phase, final long elapsedNanos) {
+    // Only the outermost occurrence of a phase is timed
+    if (--phaseDepths[phase.ordinal()] == 0) {
+      phaseNanos[phase.ordinal()] += elapsedNanos;
+    }
+  }
+
+  public String getCommand() {
+    return command;
+  }
+
+  public long getCount(final Counter counter) {
+    return counts[counter.ordinal()];
+  }
+
+  /**
+   * @return the time spent in the given phase, in nanoseconds
+   */
+  public long getPhaseNanos(final Phase phase) {
+    return phaseNanos[phase.ordinal()];
+  }
+
+  /**
+   * Returns the peak heap usage of the JVM while the command was executed,
+   * i.e. the sum of the peak usages of the heap memory pools, which are reset
+   * when the command starts. It's JVM-wide, so it includes the memory used
+   * by other threads and the garbage left by previous commands. As the pools
+   * may peak at different times, it's an upper bound.
+   *
+   * @return the peak heap usage, in bytes
+   */
+  public long getPeakHeapBytes() {
+    return peakHeapBytes;
+  }
+
+  /**
+   * @return the time the command started, in milliseconds since the epoch
+   */
+  public long getStartTime() {
+    return startTime;
+  }
+
+  /**
+   * @return the wall time of the command, in nanoseconds
+   */
+  public long getTotalNanos() {
+    return totalNanos;
+  }
+
+  public boolean isSuccess() {
+    return success;
+  }
+}
@@ -0,0 +1,170 @@
+package org.springframework.roo.support.profile;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.springframework.roo.support.profile.CommandProfile.Counter;
+import org.springframework.roo.support.profile.CommandProfile.Phase;
+
+/**
+ * Records where the time of the shell commands goes. The shell begins a
+ * {@link CommandProfile} on the thread executing a command, and the
+ * components involved in the command add phase timings and counters to it.
+ * Calls made from threads without a command in progress (e.g. background
+ * file scans) are ignored, so instrumented code can call this class
+ * unconditionally.
+ * <p>
+ * The profiles of the most recent commands are kept to be shown by the
+ * <code>command profile</code> command.
+ *
+ * @since 2.0
+ */
+public final class CommandProfiler {
+
+  /**
+   * Returned by {@link #startPhase(Phase)} if no command is being profiled.
+   */
+  public static final long NOT_PROFILED = Long.MIN_VALUE;
+
+  /**
+   * The number of recorded profiles, which can be raised with the
+   * <code>roo.profile.history</code> system property to profile long scripts.
+   */
+  private static final int MAX_PROFILES = Math.max(1, Integer.getInteger("roo.profile.history",
+      100));
+
+  private static final ThreadLocal<LinkedList<CommandProfile>> ACTIVE_PROFILES =
+      new ThreadLocal<LinkedList<CommandProfile>>() {
+        @Override
+        protected LinkedList<CommandProfile> initialValue() {
+          return new LinkedList<CommandProfile>();
+        }
+      };
+
+  private static final LinkedList<CommandProfile> PROFILES = new LinkedList<CommandProfile>();
+
+  /**
+   * Begins the profile of a command on the current thread. Commands can be
+   * nested (e.g. commands run by a script), in which case timings and counters
+   * are recorded on the innermost command.
+   *
+   * @param command the command line being executed
+   */
+  public static void begin(final String command) {
+    final CommandProfile outerProfile = getActiveProfile();
+    if (outerProfile != null) {
+      // The nested command resets the peak heap usage
+      outerProfile.recordPeakHeap();
+    }
+    ACTIVE_PROFILES.get().addFirst(new CommandProfile(command));
+  }
+
+  /**
+   * Removes all the recorded profiles.
+   */
+  public static void clear() {
+    synchronized (PROFILES) {
+      PROFILES.clear();
+    }
+  }
+
+  /**
+   * Ends the innermost profile begun on the current thread and adds it to
+   * the recorded profiles.
+   *
+   * @param success whether the command completed successfully
+   * @return the finished profile, or <code>null</code> if no profile was
+   *         begun on the current thread
+   */
+  public static CommandProfile end(final boolean success) {
+    final LinkedList<CommandProfile> activeProfiles = ACTIVE_PROFILES.get();
+    if (activeProfiles.isEmpty()) {
+      return null;
+    }
+    final CommandProfile profile = activeProfiles.removeFirst();
+    profile.finish(success);
+    synchronized (PROFILES) {
+      PROFILES.addLast(profile);
+      if (PROFILES.size() > MAX_PROFILES) {
+        PROFILES.removeFirst();
+      }
+    }
+    return profile;
+  }
+
+  /**
+   * Ends a phase started by {@link #startPhase(Phase)}.
+   *
+   * @param phase the phase to end
+   * @param start the value returned when the phase was started
+   */
+  public static void endPhase(final Phase phase, final long start) {
+    if (start == NOT_PROFILED) {
+      return;
+    }
+    final CommandProfile profile = getActiveProfile();
+    if (profile != null) {
+      profile.exitPhase(phase, System.nanoTime() - start);
+    }
+  }
+
+  private static CommandProfile getActiveProfile() {
+    return ACTIVE_PROFILES.get().peekFirst();
+  }
+
+  /**
+   * Returns the recorded profiles, oldest first.
+   *
+   * @return a non-<code>null</code> copy of the profiles
+   */
+  public static List<CommandProfile> getProfiles() {
+    synchronized (PROFILES) {
+      return new ArrayList<CommandProfile>(PROFILES);
+    }
+  }
+
+  /**
+   * Adds the given amount to a counter of the command being profiled on the
+   * current thread, if any.
+   *
+   * @param counter the counter to increase
+   * @param delta the amount to add
+   */
+  public static void increment(final Counter counter, final long delta) {
+    final CommandProfile profile = getActiveProfile();
+    if (profile != null) {
+      profile.increment(counter, delta);
+    }
+  }
+
+  /**
+   * Increments by one a counter of the command being profiled on the current
+   * thread, if any.
+   *
+   * @param counter the counter to increase
+   */
+  public static void increment(final Counter counter) {
+    increment(counter, 1);
+  }
+
+  /**
+   * Starts timing a phase of the command being profiled on the current
+   * thread. Callers must pass the returned value to
+   * {@link #endPhase(Phase, long)}, typically in a finally block.
+   *
+   * @param phase the phase to start
+   * @return the start of the phase, or {@link #NOT_PROFILED} if there's no
+   *         command being profiled
+   */
+  public static long startPhase(final Phase phase) {
+    final CommandProfile profile = getActiveProfile();
+    if (profile == null) {
+      return NOT_PROFILED;
+    }
+    profile.enterPhase(phase);
+    return System.nanoTime();
+  }
+
+  private CommandProfiler() {}
+}
@@ -0,0 +1,134 @@
+package org.springframework.roo.support.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.roo.support.profile.CommandProfile.Counter;
+import org.springframework.roo.support.profile.CommandProfile.Phase;
+
+/**
+ * Unit test of {@link CommandProfiler}
+ *
+ * @since 2.0
+ */
+public class CommandProfilerTest {
+
+  @Before
+  public void setUp() {
+    CommandProfiler.clear();
+  }
+
+  @After
+  public void tearDown() {
+    while (CommandProfiler.end(false) != null) {
+      // Discard any profile left open by a failed test
+    }
+    CommandProfiler.clear();
+  }
+
+  @Test
+  public void testCallsWithoutCommandAreIgnored() {
+    final long start = CommandProfiler.startPhase(Phase.RESCAN);
+    CommandProfiler.increment(Counter.METADATA_GETS);
+    CommandProfiler.endPhase(Phase.RESCAN, start);
+
+    assertEquals(CommandProfiler.NOT_PROFILED, start);
+    assertNull(CommandProfiler.end(true));
+    assertTrue(CommandProfiler.getProfiles().isEmpty());
+  }
+
+  @Test
+  public void testCountersAreRecorded() {
+    CommandProfiler.begin("entity jpa --class ~.Foo");
+    CommandProfiler.increment(Counter.METADATA_GETS);
+    CommandProfiler.increment(Counter.METADATA_GETS);
+    CommandProfiler.increment(Counter.SCANNED_CHANGES, 5);
+    final CommandProfile profile = CommandProfiler.end(true);
+
+    assertEquals("entity jpa --class ~.Foo", profile.getCommand());
+    assertTrue(profile.isSuccess());
+    assertEquals(2, profile.getCount(Counter.METADATA_GETS));
+    assertEquals(5, profile.getCount(Counter.SCANNED_CHANGES));
+    assertEquals(0, profile.getCount(Counter.ITD_WRITES));
+    assertTrue(profile.getPeakHeapBytes() > 0);
+  }
+
+  @Test
+  public void testNestedCommandsAreRecordedSeparately() {
+    CommandProfiler.begin("script --file foo.roo");
+    CommandProfiler.begin("project setup");
+    CommandProfiler.increment(Counter.FILES_CREATED);
+    final CommandProfile inner = CommandProfiler.end(false);
+    final CommandProfile outer = CommandProfiler.end(true);
+
+    assertEquals(1, inner.getCount(Counter.FILES_CREATED));
+    assertFalse(inner.isSuccess());
+    assertEquals(0, outer.getCount(Counter.FILES_CREATED));
+    final List<CommandProfile> profiles = CommandProfiler.getProfiles();
+    assertEquals(2, profiles.size());
+    assertEquals("project setup", profiles.get(0).getCommand());
+    assertEquals("script --file foo.roo", profiles.get(1).getCommand());
+  }
+
+  @Test
+  public void testPeakHeapIncludesNestedCommands() {
+    CommandProfiler.begin("script --file foo.roo");
+    byte[] allocation = new byte[32 * 1024 * 1024];
+    CommandProfiler.begin("project setup");
+    final CommandProfile inner = CommandProfiler.end(true);
+    final CommandProfile outer = CommandProfiler.end(true);
+
+    // The peak of the outer command covers what it allocated before the
+    // nested command reset the peak usages
+    assertTrue(outer.getPeakHeapBytes() >= allocation.length);
+    assertTrue(inner.getPeakHeapBytes() > 0);
+  }
+
+  @Test
+  public void testNestedPhaseIsTimedOnce() throws Exception {
+    CommandProfiler.begin("jpa setup");
+    final long outer = CommandProfiler.startPhase(Phase.NOTIFICATION);
+    final long inner = CommandProfiler.startPhase(Phase.NOTIFICATION);
+    Thread.sleep(5);
+    CommandProfiler.endPhase(Phase.NOTIFICATION, inner);
+    Thread.sleep(5);
+    CommandProfiler.endPhase(Phase.NOTIFICATION, outer);
+    final CommandProfile profile = CommandProfiler.end(true);
+
+    final long phaseNanos = profile.getPhaseNanos(Phase.NOTIFICATION);
+    assertTrue(phaseNanos >= 10000000);
+    assertTrue(phaseNanos <= profile.getTotalNanos());
+    assertEquals(0, profile.getPhaseNanos(Phase.PARSE));
+  }
+
+  @Test
+  public void testPhaseThatThrowsIsTimed() throws Exception {
+    CommandProfiler.begin("jpa setup");
+    try {
+      final long start = CommandProfiler.startPhase(Phase.COMMAND);
+      try {
+        Thread.sleep(5);
+        throw new IllegalStateException("Command failed");
+      } finally {
+        CommandProfiler.endPhase(Phase.COMMAND, start);
+      }
+    } catch (final IllegalStateException expected) {
+    }
+    final long failed = CommandProfiler.startPhase(Phase.COMMAND);
+    Thread.sleep(5);
+    CommandProfiler.endPhase(Phase.COMMAND, failed);
+    final CommandProfile profile = CommandProfiler.end(false);
+
+    // The phase was left by the failed occurrence, so the next one is timed
+    // too
+    assertTrue(profile.getPhaseNanos(Phase.COMMAND) >= 10000000);
+    assertFalse(profile.isSuccess());
+  }
+}